@@ -2,6 +2,7 @@ plugins {
     java
     alias(libs.plugins.spring.boot)
     alias(libs.plugins.spring.dependency.management)
+    alias(libs.plugins.jmh)
     id("jacoco")
 }
 
@@ -23,6 +24,12 @@ dependencyManagement {
 
 dependencies {
     implementation(libs.spring.boot.starter.web)
+    // Tomcat 옆에 띄우는 WebFlux 포인트 API (point.reactive.enabled)
+    implementation(libs.spring.boot.starter.webflux)
+    implementation(libs.caffeine)
+    implementation(libs.h2)
+    implementation(libs.spring.boot.starter.actuator)
+    runtimeOnly(libs.micrometer.registry.prometheus)
     compileOnly(libs.lombok)
     annotationProcessor(libs.lombok)
     annotationProcessor(libs.spring.boot.configuration.processor)
@@ -31,13 +38,38 @@ dependencies {
 
 // about source and compilation
 java {
-    sourceCompatibility = JavaVersion.VERSION_17
+    toolchain {
+        // 가상 스레드 (spring.threads.virtual.enabled)
+        languageVersion = JavaLanguageVersion.of(21)
+    }
 }
 
 with(extensions.getByType(JacocoPluginExtension::class.java)) {
     toolVersion = "0.8.7"
 }
 
+// benchmark tasks (src/jmh/java, ./gradlew jmh)
+jmh {
+    jmhVersion = libs.versions.jmh
+    warmupIterations = 2
+    iterations = 3
+    fork = 1
+    jvmArgs = listOf("-Xmx6g")
+    threads = (findProperty("jmh.threads") ?: "1").toString().toInt()
+    // 회귀 추적용 결과 (build/results/jmh/results.json)
+    resultFormat = "JSON"
+}
+// PointServiceBenchmark 를 스레드 수(1, 8, 32)별로 실행 (build/results/jmh/point-service-t*.json)
+val jmhPointService by tasks.registering(JavaExec::class) {
+    description = "Runs PointServiceBenchmark once per thread count and writes JSON results."
+    group = "benchmark"
+    dependsOn(tasks.named("jmhJar"))
+    classpath = files(tasks.named("jmhJar"))
+    mainClass = "io.hhplus.tdd.point.PointServiceBenchmark"
+    workingDir = projectDir
+    args = listOfNotNull(findProperty("jmh.pointService.include")?.toString())
+}
+
 // bundling tasks
 tasks.getByName("bootJar") {
     enabled = true
@@ -48,5 +80,21 @@ tasks.getByName("jar") {
 // test tasks
 tasks.test {
     ignoreFailures = true
-    useJUnitPlatform()
+    useJUnitPlatform {
+        excludeTags("load")
+    }
+}
+val loadTest by tasks.registering(Test::class) {
+    description = "Runs load tests tagged with @Tag(\"load\")."
+    group = "verification"
+    testClassesDirs = sourceSets.test.get().output.classesDirs
+    classpath = sourceSets.test.get().runtimeClasspath
+    ignoreFailures = true
+    useJUnitPlatform {
+        includeTags("load")
+    }
+    jvmArgs("-Djdk.tracePinnedThreads=short")
+    testLogging {
+        showStandardStreams = true
+    }
 }
@@ -0,0 +1,69 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Field;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 사용자 한 명의 내역 조회 지연 시간 비교 (PointHistoryTable 전체 스캔 vs 사용자별 인덱스 vs 컬럼형 저장소).
+ * 사용자당 내역 수는 100건으로 고정하고 전체 내역 수만 늘립니다.
+ * 테이블의 insert 는 호출마다 최대 300ms 를 쉬기 때문에, 데이터는 테이블 내부 리스트에 직접 채웁니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PointHistoryLookupBenchmark {
+
+    private static final int HISTORIES_PER_USER = 100;
+
+    @Param({"10000", "1000000", "10000000"})
+    public int totalRows;
+
+    private PointHistoryTableRepository tableRepository;
+    private IndexedPointHistoryRepository indexedRepository;
+    private ColumnarPointHistoryRepository columnarRepository;
+    private int userCount;
+
+    @Setup(Level.Trial)
+    @SuppressWarnings("unchecked")
+    public void setUp() throws ReflectiveOperationException {
+        PointHistoryTable table = new PointHistoryTable();
+        Field tableField = PointHistoryTable.class.getDeclaredField("table");
+        tableField.setAccessible(true);
+        List<PointHistory> rows = (List<PointHistory>) tableField.get(table);
+
+        tableRepository = new PointHistoryTableRepository(table);
+        indexedRepository = new IndexedPointHistoryRepository(table);
+        columnarRepository = new ColumnarPointHistoryRepository(new PointHistoryStoreProperties(false, 65_536));
+        userCount = totalRows / HISTORIES_PER_USER;
+
+        long millis = System.currentTimeMillis();
+        for (int i = 0; i < totalRows; i++) {
+            TransactionType type = i % 3 == 0 ? TransactionType.USE : TransactionType.CHARGE;
+            PointHistory history = new PointHistory(i + 1, i % userCount, 100L, type, millis);
+            rows.add(history);
+            indexedRepository.index(history);
+            columnarRepository.insert(history.userId(), history.amount(), history.type(), history.updateMillis());
+        }
+    }
+
+    @Benchmark
+    public List<PointHistory> tableScan() {
+        return tableRepository.selectAllByUserId(ThreadLocalRandom.current().nextInt(userCount));
+    }
+
+    @Benchmark
+    public List<PointHistory> indexedLookup() {
+        return indexedRepository.selectAllByUserId(ThreadLocalRandom.current().nextInt(userCount));
+    }
+
+    @Benchmark
+    public List<PointHistory> columnarLookup() {
+        return columnarRepository.selectAllByUserId(ThreadLocalRandom.current().nextInt(userCount));
+    }
+}
@@ -0,0 +1,112 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.TransactionType;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * WAL 기록 처리량과 시작 시 복구 시간.
+ * <ul>
+ *     <li>append : 레코드 한 건 기록 (fsync 는 syncInterval 마다 모아서)</li>
+ *     <li>replay / restore : RECORDS(1천만) 건이 들어 있는 WAL 을 읽기만 할 때 / 지연 없는 테이블에 다시 채울 때</li>
+ * </ul>
+ */
+public class PointWalBenchmark {
+
+    private static final int RECORDS = 10_000_000;
+    private static final int USERS = 100_000;
+
+    @State(Scope.Benchmark)
+    public static class AppendState {
+
+        @Param({"0", "5"})
+        public long syncIntervalMillis;
+
+        private Path directory;
+        private PointWriteAheadLog wal;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            directory = Files.createTempDirectory("point-wal-append");
+            wal = new PointWriteAheadLog(new PointWalProperties(true, directory.toString(), DataSize.ofMegabytes(64),
+                    Duration.ofMillis(syncIntervalMillis), false));
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            wal.close();
+            delete(directory);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class ReplayState {
+
+        private Path directory;
+        private PointWriteAheadLog wal;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            directory = Files.createTempDirectory("point-wal-replay");
+            PointWalProperties properties = new PointWalProperties(true, directory.toString(), DataSize.ofMegabytes(64), Duration.ofMillis(100), false);
+            PointWriteAheadLog writer = new PointWriteAheadLog(properties);
+            for (int i = 0; i < RECORDS; i++) {
+                writer.append(i % USERS, 100L, i % 3 == 0 ? TransactionType.USE : TransactionType.CHARGE, i, 0L);
+            }
+            writer.close();
+            wal = new PointWriteAheadLog(properties);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            wal.close();
+            delete(directory);
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @Threads(4)
+    public long append(AppendState state) {
+        long userId = ThreadLocalRandom.current().nextInt(USERS);
+        return state.wal.append(userId, 100L, TransactionType.CHARGE, System.currentTimeMillis(), 100L);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 1)
+    @Measurement(iterations = 3)
+    public long replay(ReplayState state) {
+        long[] sum = {0};
+        state.wal.replay(0L, record -> sum[0] += record.delta());
+        return sum[0];
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 1)
+    @Measurement(iterations = 3)
+    public long restore(ReplayState state) {
+        return state.wal.restore(new UserPointTableRepository(new StubUserPointTable()), new PointHistoryTableRepository(new StubPointHistoryTable()));
+    }
+
+    private static void delete(Path directory) throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path path : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+import org.h2.jdbcx.JdbcConnectionPool;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 저장소 엔진별 처리량 비교.
+ * <ul>
+ *     <li>TABLE : 지연 없는 StubUserPointTable / StubPointHistoryTable 위의 기본 어댑터 (엔진 자체 비용만)</li>
+ *     <li>PRIMITIVE : OpenAddressingUserPointRepository / ColumnarPointHistoryRepository</li>
+ *     <li>JDBC : H2 메모리 DB (PreparedStatement, insertAll 은 JDBC 배치)</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class StorageEngineBenchmark {
+
+    private static final int USERS = 10_000;
+    private static final int BATCH = 100;
+
+    public enum Engine { TABLE, PRIMITIVE, JDBC }
+
+    @Param({"TABLE", "PRIMITIVE", "JDBC"})
+    public Engine engine;
+
+    private UserPointRepository userPointRepository;
+    private PointHistoryRepository pointHistoryRepository;
+    private JdbcConnectionPool connectionPool;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        switch (engine) {
+            case TABLE -> {
+                userPointRepository = new UserPointTableRepository(new StubUserPointTable());
+                pointHistoryRepository = new IndexedPointHistoryRepository(new StubPointHistoryTable());
+            }
+            case PRIMITIVE -> {
+                userPointRepository = new OpenAddressingUserPointRepository(new UserPointStoreProperties(false, USERS, 64));
+                pointHistoryRepository = new ColumnarPointHistoryRepository(new PointHistoryStoreProperties(false, 65_536));
+            }
+            case JDBC -> {
+                connectionPool = JdbcConnectionPool.create("jdbc:h2:mem:" + UUID.randomUUID(), "sa", "");
+                connectionPool.setMaxConnections(64);
+                userPointRepository = new JdbcUserPointRepository(connectionPool);
+                pointHistoryRepository = new JdbcPointHistoryRepository(connectionPool, BATCH);
+            }
+        }
+        for (long id = 0; id < USERS; id++) {
+            userPointRepository.insertOrUpdate(id, 1_000L);
+            pointHistoryRepository.insert(id, 1_000L, TransactionType.CHARGE, System.currentTimeMillis());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (connectionPool != null) {
+            connectionPool.dispose();
+        }
+    }
+
+    @Benchmark
+    public UserPoint selectUserPoint() {
+        return userPointRepository.selectById(ThreadLocalRandom.current().nextInt(USERS));
+    }
+
+    @Benchmark
+    public UserPoint upsertUserPoint() {
+        return userPointRepository.insertOrUpdate(ThreadLocalRandom.current().nextInt(USERS), 500L);
+    }
+
+    @Benchmark
+    public PointHistory insertHistory() {
+        return pointHistoryRepository.insert(ThreadLocalRandom.current().nextInt(USERS), 100L, TransactionType.USE, System.currentTimeMillis());
+    }
+
+    /**
+     * 한 번에 BATCH 건 (처리량 x BATCH = 초당 저장 건수)
+     */
+    @Benchmark
+    public List<PointHistory> insertHistoryBatch() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long millis = System.currentTimeMillis();
+        List<NewPointHistory> histories = new ArrayList<>(BATCH);
+        for (int i = 0; i < BATCH; i++) {
+            histories.add(new NewPointHistory(random.nextInt(USERS), 100L, TransactionType.CHARGE, millis));
+        }
+        return pointHistoryRepository.insertAll(histories);
+    }
+
+    @Benchmark
+    public List<PointHistory> selectHistories() {
+        return pointHistoryRepository.selectByUserId(ThreadLocalRandom.current().nextInt(USERS),
+                new PointHistoryQuery(null, 100, null, null, null));
+    }
+}
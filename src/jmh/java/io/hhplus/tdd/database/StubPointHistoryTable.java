@@ -0,0 +1,39 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 지연 시간이 없는 PointHistoryTable. 사용자별 목록에 바로 저장합니다.
+ */
+public class StubPointHistoryTable extends PointHistoryTable {
+
+    private final ConcurrentHashMap<Long, List<PointHistory>> table = new ConcurrentHashMap<>();
+    private final AtomicLong cursor = new AtomicLong(1);
+
+    @Override
+    public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+        PointHistory pointHistory = new PointHistory(cursor.getAndIncrement(), userId, amount, type, updateMillis);
+        List<PointHistory> histories = table.computeIfAbsent(userId, id -> new ArrayList<>());
+        synchronized (histories) {
+            histories.add(pointHistory);
+        }
+        return pointHistory;
+    }
+
+    @Override
+    public List<PointHistory> selectAllByUserId(long userId) {
+        List<PointHistory> histories = table.get(userId);
+        if (histories == null) {
+            return List.of();
+        }
+        synchronized (histories) {
+            return List.copyOf(histories);
+        }
+    }
+}
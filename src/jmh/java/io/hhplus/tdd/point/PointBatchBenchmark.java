@@ -0,0 +1,61 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 정산 작업 한 번(users 명 x 사용자당 opsPerUser 건 충전)을 처리하는 시간 비교.
+ * single 은 건마다 charge 를 호출하고(모든 건을 동시에 요청), batch 는 applyBatch 한 번으로 처리합니다.
+ * 테이블의 지연 시간(조회 최대 200ms, 저장 최대 300ms)을 그대로 포함합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+public class PointBatchBenchmark {
+
+    @Param({"100", "1000"})
+    public int users;
+
+    @Param({"1", "10"})
+    public int opsPerUser;
+
+    private PointService pointService;
+    private List<PointBatchOperation> operations;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        pointService = new PointServiceImpl(new PointHistoryTable(), new UserPointTable());
+        operations = new ArrayList<>(users * opsPerUser);
+        for (int op = 0; op < opsPerUser; op++) {
+            for (long userId = 0; userId < users; userId++) {
+                operations.add(new PointBatchOperation(userId, TransactionType.CHARGE, 1L));
+            }
+        }
+    }
+
+    @Benchmark
+    public List<UserPoint> single() {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<CompletableFuture<UserPoint>> futures = new ArrayList<>(operations.size());
+            for (PointBatchOperation operation : operations) {
+                futures.add(CompletableFuture.supplyAsync(() -> pointService.charge(operation.userId(), operation.amount()), executor));
+            }
+            return futures.stream().map(CompletableFuture::join).toList();
+        }
+    }
+
+    @Benchmark
+    public List<PointBatchResult> batch() {
+        return pointService.applyBatch(operations);
+    }
+}
@@ -0,0 +1,180 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.StubPointHistoryTable;
+import io.hhplus.tdd.database.StubUserPointTable;
+import io.hhplus.tdd.database.UserPointTable;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.results.format.ResultFormatType;
+
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PointServiceImpl 의 charge / use / get / getHistories 지연 시간.
+ * <ul>
+ *     <li>tables : STUB(지연 없는 테이블, 서비스 자체 비용) / THROTTLED(실제 UserPointTable, PointHistoryTable)</li>
+ *     <li>skew : UNIFORM(모든 사용자 균등) / ZIPFIAN(소수의 사용자에게 요청이 몰림, s = 1)</li>
+ *     <li>historySize : 시작할 때 사용자마다 넣어 두는 내역 수</li>
+ * </ul>
+ * 스레드 수는 main 으로 실행할 때 THREADS 마다 한 번씩 돌립니다. (./gradlew jmh 는 jmh.threads 설정 한 가지)
+ * 잔고는 반복마다 USER_POINT_LIMIT 의 절반으로 되돌려서 충전/사용이 한도에 걸리지 않게 합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+public class PointServiceBenchmark {
+
+    private static final int USERS = 10_000;
+    private static final long INITIAL_POINT = PointServiceImpl.USER_POINT_LIMIT / 2;
+    private static final int[] THREADS = {1, 8, 32};
+
+    public enum Tables {STUB, THROTTLED}
+
+    public enum Skew {UNIFORM, ZIPFIAN}
+
+    @Param({"STUB", "THROTTLED"})
+    public Tables tables;
+
+    @Param({"UNIFORM", "ZIPFIAN"})
+    public Skew skew;
+
+    @Param({"10", "100"})
+    public int historySize;
+
+    private UserPointTable userPointTable;
+    private PointService pointService;
+    private double[] zipfianCdf;
+
+    @Setup(Level.Trial)
+    public void setUp() throws ReflectiveOperationException {
+        PointHistoryTable pointHistoryTable;
+        if (tables == Tables.STUB) {
+            userPointTable = new StubUserPointTable();
+            pointHistoryTable = new StubPointHistoryTable();
+        } else {
+            userPointTable = new UserPointTable();
+            pointHistoryTable = new PointHistoryTable();
+        }
+        pointService = new PointServiceImpl(pointHistoryTable, userPointTable);
+        seedHistories(pointHistoryTable);
+        zipfianCdf = zipfianCdf(USERS);
+    }
+
+    @Setup(Level.Iteration)
+    public void resetBalances() throws ReflectiveOperationException {
+        for (long id = 0; id < USERS; id++) {
+            seedBalance(id, INITIAL_POINT);
+        }
+    }
+
+    @Benchmark
+    public UserPoint charge() {
+        return pointService.charge(nextUserId(), 1L);
+    }
+
+    @Benchmark
+    public UserPoint use() {
+        return pointService.use(nextUserId(), 1L);
+    }
+
+    @Benchmark
+    public UserPoint get() {
+        return pointService.get(nextUserId());
+    }
+
+    @Benchmark
+    public List<PointHistory> getHistories() {
+        return pointService.getHistories(nextUserId());
+    }
+
+    private long nextUserId() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (skew == Skew.UNIFORM) {
+            return random.nextInt(USERS);
+        }
+        int index = Arrays.binarySearch(zipfianCdf, random.nextDouble());
+        return index >= 0 ? index : -index - 1;
+    }
+
+    // 순위 k 인 사용자가 뽑힐 확률이 1/k 에 비례하는 누적 분포
+    private static double[] zipfianCdf(int users) {
+        double[] cdf = new double[users];
+        double sum = 0;
+        for (int k = 1; k <= users; k++) {
+            sum += 1.0 / k;
+            cdf[k - 1] = sum;
+        }
+        for (int i = 0; i < users; i++) {
+            cdf[i] /= sum;
+        }
+        cdf[users - 1] = 1.0;
+        return cdf;
+    }
+
+    // 실제 테이블은 insert 마다 최대 300ms 를 쉬므로, 테이블 내부 필드에 직접 채웁니다.
+    @SuppressWarnings("unchecked")
+    private void seedHistories(PointHistoryTable pointHistoryTable) throws ReflectiveOperationException {
+        long millis = System.currentTimeMillis();
+        if (pointHistoryTable instanceof StubPointHistoryTable) {
+            for (int i = 0; i < historySize; i++) {
+                for (long id = 0; id < USERS; id++) {
+                    pointHistoryTable.insert(id, 1L, TransactionType.CHARGE, millis);
+                }
+            }
+            return;
+        }
+        List<PointHistory> rows = (List<PointHistory>) field(PointHistoryTable.class, "table").get(pointHistoryTable);
+        long cursor = 1;
+        for (int i = 0; i < historySize; i++) {
+            for (long id = 0; id < USERS; id++) {
+                rows.add(new PointHistory(cursor++, id, 1L, TransactionType.CHARGE, millis));
+            }
+        }
+        field(PointHistoryTable.class, "cursor").setLong(pointHistoryTable, cursor);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void seedBalance(long id, long point) throws ReflectiveOperationException {
+        if (userPointTable instanceof StubUserPointTable) {
+            userPointTable.insertOrUpdate(id, point);
+            return;
+        }
+        Map<Long, UserPoint> rows = (Map<Long, UserPoint>) field(UserPointTable.class, "table").get(userPointTable);
+        rows.put(id, new UserPoint(id, point, System.currentTimeMillis()));
+    }
+
+    private static Field field(Class<?> type, String name) throws NoSuchFieldException {
+        Field field = type.getDeclaredField(name);
+        field.setAccessible(true);
+        return field;
+    }
+
+    /**
+     * 스레드 수별로 실행하고 결과를 build/results/jmh/point-service-t{스레드 수}.json 에 남깁니다.
+     * 추가 인자는 include 패턴으로 사용합니다. (예: "charge|use")
+     */
+    public static void main(String[] args) throws RunnerException {
+        String include = args.length > 0 ? args[0] : "";
+        for (int threads : THREADS) {
+            ChainedOptionsBuilder options = new OptionsBuilder()
+                    .include(PointServiceBenchmark.class.getSimpleName() + "\\.(" + (include.isEmpty() ? ".*" : include) + ")$")
+                    .threads(threads)
+                    .forks(1)
+                    .jvmArgs("-Xmx6g")
+                    .resultFormat(ResultFormatType.JSON)
+                    .result("build/results/jmh/point-service-t" + threads + ".json");
+            new Runner(options.build()).run();
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.StubPointHistoryTable;
+import io.hhplus.tdd.database.StubUserPointTable;
+import io.hhplus.tdd.database.UserPointTable;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Field;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 적은 수의 사용자 사이에서(모든 사용자가 서로 주고받는 조밀한 그래프) 32 스레드가 동시에 이체할 때의 처리량.
+ * transfer 는 POST /point/transfer 의 두 락 이체, useThenCharge 는 use 뒤에 charge 를 부르는 기존 방식입니다.
+ * (charge 가 실패하면 보낸 쪽에 다시 charge 해서 되돌립니다.)
+ * 양방향 이체가 계속 겹치므로 락 순서가 잘못되었다면 transfer 가 멈춥니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 5)
+@Threads(32)
+public class PointTransferBenchmark {
+
+    private static final long INITIAL_POINT = PointServiceImpl.USER_POINT_LIMIT / 2;
+
+    public enum Tables {STUB, THROTTLED}
+
+    @Param({"STUB", "THROTTLED"})
+    public Tables tables;
+
+    @Param({"8", "64"})
+    public int users;
+
+    private PointService pointService;
+
+    @Setup(Level.Trial)
+    public void setUp() throws ReflectiveOperationException {
+        UserPointTable userPointTable = tables == Tables.STUB ? new StubUserPointTable() : new UserPointTable();
+        PointHistoryTable pointHistoryTable = tables == Tables.STUB ? new StubPointHistoryTable() : new PointHistoryTable();
+        pointService = new PointServiceImpl(pointHistoryTable, userPointTable);
+        for (long id = 0; id < users; id++) {
+            seedBalance(userPointTable, id);
+        }
+    }
+
+    @Benchmark
+    public PointTransferResult transfer() {
+        long[] pair = nextPair();
+        return pointService.transfer(pair[0], pair[1], 1L);
+    }
+
+    @Benchmark
+    public UserPoint useThenCharge() {
+        long[] pair = nextPair();
+        pointService.use(pair[0], 1L);
+        try {
+            return pointService.charge(pair[1], 1L);
+        } catch (PointException e) {
+            return pointService.charge(pair[0], 1L);
+        }
+    }
+
+    // 서로 다른 두 사용자 (방향도 무작위)
+    private long[] nextPair() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long from = random.nextInt(users);
+        long to = (from + 1 + random.nextInt(users - 1)) % users;
+        return new long[]{from, to};
+    }
+
+    // 실제 테이블은 저장마다 최대 300ms 를 쉬므로, 테이블 내부 필드에 직접 채웁니다.
+    @SuppressWarnings("unchecked")
+    private static void seedBalance(UserPointTable userPointTable, long id) throws ReflectiveOperationException {
+        if (userPointTable instanceof StubUserPointTable) {
+            userPointTable.insertOrUpdate(id, INITIAL_POINT);
+            return;
+        }
+        Field field = UserPointTable.class.getDeclaredField("table");
+        field.setAccessible(true);
+        ((Map<Long, UserPoint>) field.get(userPointTable)).put(id, new UserPoint(id, INITIAL_POINT, System.currentTimeMillis()));
+    }
+}
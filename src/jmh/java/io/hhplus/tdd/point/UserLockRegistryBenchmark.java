@@ -0,0 +1,46 @@
+package io.hhplus.tdd.point;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 락 관리 방식별 처리량과 보관 중인 락 수/힙 사용량 비교.
+ * 매 호출마다 [0, distinctIds) 범위의 사용자 id 를 무작위로 골라 빈 임계 영역을 실행합니다.
+ * 힙 사용량은 각 반복이 끝난 뒤 GC 를 한 번 돌리고 출력합니다. (할당량은 -prof gc 로 확인)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Threads(8)
+public class UserLockRegistryBenchmark {
+
+    @Param({"PER_USER", "REF_COUNTED", "STRIPED"})
+    public UserLockMode mode;
+
+    @Param({"1000", "100000", "10000000"})
+    public int distinctIds;
+
+    private UserLockRegistry registry;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        registry = UserLockRegistry.of(new UserLockProperties(mode, 1024));
+    }
+
+    @TearDown(Level.Iteration)
+    public void reportFootprint() {
+        System.gc();
+        long usedHeap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+        System.out.printf("%n[%s, %d ids] 보관 중인 락: %d, 사용 중인 힙: %d MB%n",
+                mode, distinctIds, registry.size(), usedHeap / (1024 * 1024));
+    }
+
+    @Benchmark
+    public long executeWithLock() {
+        long userId = ThreadLocalRandom.current().nextInt(distinctIds);
+        return registry.executeWithLock(userId, () -> userId);
+    }
+}
@@ -0,0 +1,224 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * PointHistoryTable 대신 쓰는 컬럼형 내역 저장소.
+ * 내역을 PointHistory 객체로 두지 않고 chunkRows 행씩 묶은 컬럼(userId / amount / updateMillis / type)에 원시 값으로 기록하며,
+ * 조회 결과로 돌려줄 행만 PointHistory 로 만듭니다. id 는 행 번호 + 1 이므로 따로 저장하지 않습니다.
+ * offHeap 이면 컬럼을 direct buffer 에 두어 힙을 거의 쓰지 않습니다(사용자별 행 번호 인덱스만 힙에 남습니다).
+ * <p>
+ * 추가는 한 번에 한 스레드만 하고, 조회는 락 없이 사용자별 count 까지만 읽습니다.
+ * (컬럼 기록과 배열 교체가 volatile count 기록보다 먼저 일어나므로 count 까지의 행은 항상 보입니다.)
+ */
+public class ColumnarPointHistoryRepository implements PointHistoryRepository {
+
+    private static final TransactionType[] TYPES = TransactionType.values();
+    private static final int INITIAL_CHUNKS = 16;
+
+    private final int chunkShift;
+    private final int chunkMask;
+    private final boolean offHeap;
+    private final ConcurrentHashMap<Long, UserRows> rowsByUser = new ConcurrentHashMap<>();
+    private volatile Chunk[] chunks = new Chunk[INITIAL_CHUNKS];
+    private int size;
+
+    public ColumnarPointHistoryRepository(PointHistoryStoreProperties properties) {
+        int chunkRows = Integer.highestOneBit(Math.max(properties.chunkRows(), 1)); // 행 번호를 비트 연산으로 나누도록 2의 거듭제곱
+        this.chunkShift = Integer.numberOfTrailingZeros(chunkRows);
+        this.chunkMask = chunkRows - 1;
+        this.offHeap = properties.offHeap();
+    }
+
+    @Override
+    public synchronized PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+        int row = size;
+        if (row == Integer.MAX_VALUE) {
+            throw new IllegalStateException("내역 저장소가 가득 찼습니다.");
+        }
+        chunkForAppend(row).set(row & chunkMask, userId, amount, type, updateMillis);
+        rowsByUser.computeIfAbsent(userId, k -> new UserRows()).append(row);
+        size = row + 1;
+        return new PointHistory(row + 1L, userId, amount, type, updateMillis);
+    }
+
+    @Override
+    public List<PointHistory> selectAllByUserId(long userId) {
+        UserRows rows = rowsByUser.get(userId);
+        if (rows == null) {
+            return List.of();
+        }
+        int count = rows.count;
+        int[] indexes = rows.rows;
+        Chunk[] current = chunks;
+        List<PointHistory> histories = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            histories.add(materialize(current, indexes[i]));
+        }
+        return histories;
+    }
+
+    /**
+     * 조건 검사는 컬럼 값으로 하고, 조건에 맞는 행만 PointHistory 로 만듭니다.
+     */
+    @Override
+    public void forEachByUserId(long userId, PointHistoryQuery query, Consumer<PointHistory> consumer) {
+        UserRows rows = rowsByUser.get(userId);
+        if (rows == null) {
+            return;
+        }
+        int count = rows.count;
+        int[] indexes = rows.rows;
+        Chunk[] current = chunks;
+        int remaining = query.limit();
+        int start = query.after() == null ? 0 : firstIndexAfter(indexes, count, query.after());
+        for (int i = start; i < count && remaining > 0; i++) {
+            int row = indexes[i];
+            Chunk chunk = current[row >>> chunkShift];
+            int offset = row & chunkMask;
+            if (query.type() != null && chunk.type(offset) != query.type().ordinal()) {
+                continue;
+            }
+            long millis = chunk.updateMillis(offset);
+            if ((query.fromMillis() != null && millis < query.fromMillis())
+                    || (query.toMillis() != null && millis >= query.toMillis())) {
+                continue;
+            }
+            consumer.accept(materialize(current, row));
+            remaining--;
+        }
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * 컬럼에 할당한 바이트 수 (offHeap 이면 힙 밖의 메모리)
+     */
+    public long allocatedBytes() {
+        long bytes = 0;
+        for (Chunk chunk : chunks) {
+            if (chunk != null) {
+                bytes += chunk.bytes();
+            }
+        }
+        return bytes;
+    }
+
+    private PointHistory materialize(Chunk[] current, int row) {
+        Chunk chunk = current[row >>> chunkShift];
+        int offset = row & chunkMask;
+        return new PointHistory(row + 1L, chunk.userId(offset), chunk.amount(offset), TYPES[chunk.type(offset)],
+                chunk.updateMillis(offset));
+    }
+
+    // 사용자별 행 번호는 추가 순서 = id 순서이므로 커서 위치는 이진 탐색으로 찾습니다.
+    private static int firstIndexAfter(int[] rows, int count, long id) {
+        int low = 0;
+        int high = count;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (rows[mid] + 1L <= id) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private Chunk chunkForAppend(int row) {
+        int index = row >>> chunkShift;
+        Chunk[] current = chunks;
+        if (index == current.length) {
+            current = Arrays.copyOf(current, current.length * 2);
+        }
+        if (current[index] == null) {
+            current[index] = new Chunk(chunkMask + 1, offHeap);
+            chunks = current; // 새 청크를 조회 스레드에 공개
+        }
+        return current[index];
+    }
+
+    /**
+     * chunkRows 행의 컬럼 묶음. 컬럼마다 ByteBuffer 하나를 둡니다.
+     */
+    private static final class Chunk {
+
+        private final ByteBuffer userIds;
+        private final ByteBuffer amounts;
+        private final ByteBuffer updateMillis;
+        private final ByteBuffer types;
+
+        Chunk(int rows, boolean offHeap) {
+            this.userIds = allocate(rows * Long.BYTES, offHeap);
+            this.amounts = allocate(rows * Long.BYTES, offHeap);
+            this.updateMillis = allocate(rows * Long.BYTES, offHeap);
+            this.types = allocate(rows, offHeap);
+        }
+
+        void set(int offset, long userId, long amount, TransactionType type, long millis) {
+            userIds.putLong(offset * Long.BYTES, userId);
+            amounts.putLong(offset * Long.BYTES, amount);
+            updateMillis.putLong(offset * Long.BYTES, millis);
+            types.put(offset, (byte) type.ordinal());
+        }
+
+        long userId(int offset) {
+            return userIds.getLong(offset * Long.BYTES);
+        }
+
+        long amount(int offset) {
+            return amounts.getLong(offset * Long.BYTES);
+        }
+
+        long updateMillis(int offset) {
+            return updateMillis.getLong(offset * Long.BYTES);
+        }
+
+        int type(int offset) {
+            return types.get(offset);
+        }
+
+        long bytes() {
+            return (long) userIds.capacity() + amounts.capacity() + updateMillis.capacity() + types.capacity();
+        }
+
+        private static ByteBuffer allocate(int bytes, boolean offHeap) {
+            ByteBuffer buffer = offHeap ? ByteBuffer.allocateDirect(bytes) : ByteBuffer.allocate(bytes);
+            return buffer.order(ByteOrder.nativeOrder());
+        }
+    }
+
+    /**
+     * 사용자 한 명의 행 번호 목록. 추가는 insert 의 락 안에서만 합니다.
+     */
+    private static final class UserRows {
+
+        private static final int INITIAL_CAPACITY = 8;
+
+        private volatile int[] rows = new int[INITIAL_CAPACITY];
+        private volatile int count;
+
+        void append(int row) {
+            int index = count;
+            int[] current = rows;
+            if (index == current.length) {
+                current = Arrays.copyOf(current, index * 2);
+            }
+            current[index] = row;
+            rows = current;
+            count = index + 1;
+        }
+    }
+}
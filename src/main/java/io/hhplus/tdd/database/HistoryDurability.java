@@ -0,0 +1,10 @@
+package io.hhplus.tdd.database;
+
+/**
+ * 포인트 내역 기록의 응답 시점
+ * - ACK_ON_ENQUEUE : 내역이 기록 대기열에 들어가면 바로 응답 (저장 실패는 로그로만 남습니다)
+ * - ACK_ON_INSERT : 내역이 PointHistoryTable 에 저장된 뒤 응답
+ */
+public enum HistoryDurability {
+    ACK_ON_ENQUEUE, ACK_ON_INSERT
+}
@@ -0,0 +1,52 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * 사용자별 인덱스를 두는 포인트 내역 저장소.
+ * 저장은 PointHistoryTable 에 그대로 하고, 저장된 내역을 사용자별 세그먼트에도 추가해서
+ * 조회를 전체 테이블 스캔이 아닌 해당 사용자의 내역 수에 비례하게 만듭니다.
+ * 이 저장소를 거치지 않고 테이블에 직접 넣은 내역은 인덱스에 보이지 않습니다.
+ */
+public class IndexedPointHistoryRepository implements PointHistoryRepository {
+
+    private final PointHistoryTable pointHistoryTable;
+    private final ConcurrentHashMap<Long, UserHistorySegment> segments = new ConcurrentHashMap<>();
+
+    public IndexedPointHistoryRepository(PointHistoryTable pointHistoryTable) {
+        this.pointHistoryTable = pointHistoryTable;
+    }
+
+    @Override
+    public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+        PointHistory history = pointHistoryTable.insert(userId, amount, type, updateMillis);
+        index(history);
+        return history;
+    }
+
+    @Override
+    public List<PointHistory> selectAllByUserId(long userId) {
+        UserHistorySegment segment = segments.get(userId);
+        return segment == null ? List.of() : segment.toList(userId);
+    }
+
+    @Override
+    public void forEachByUserId(long userId, PointHistoryQuery query, Consumer<PointHistory> consumer) {
+        UserHistorySegment segment = segments.get(userId);
+        if (segment != null) {
+            segment.forEach(userId, query, consumer);
+        }
+    }
+
+    /**
+     * 이미 테이블에 있는 내역을 인덱스에 추가합니다.
+     */
+    void index(PointHistory history) {
+        segments.computeIfAbsent(history.userId(), k -> new UserHistorySegment()).append(history);
+    }
+}
@@ -0,0 +1,164 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * JDBC(H2) 내역 저장소.
+ * id 는 DB 의 자동 증가 대신 이 저장소가 미리 정해서 넣으므로, insertAll 은 생성된 키를 다시 읽지 않고
+ * 한 트랜잭션의 JDBC 배치(batchSize 행씩)로 보냅니다. 배치 중 하나라도 실패하면 묶음 전체를 되돌립니다.
+ * 같은 사용자의 insert 는 호출하는 쪽(사용자별 락)에서 직렬화되므로 사용자별 id 는 저장 순서대로 증가합니다.
+ */
+public class JdbcPointHistoryRepository implements PointHistoryRepository {
+
+    private static final String CREATE_TABLE = """
+            CREATE TABLE IF NOT EXISTS point_history (
+                id BIGINT PRIMARY KEY,
+                user_id BIGINT NOT NULL,
+                amount BIGINT NOT NULL,
+                type VARCHAR(10) NOT NULL,
+                update_millis BIGINT NOT NULL
+            )""";
+    private static final String CREATE_INDEX = "CREATE INDEX IF NOT EXISTS point_history_user_id ON point_history (user_id, id)";
+    private static final String SELECT_MAX_ID = "SELECT COALESCE(MAX(id), 0) FROM point_history";
+    private static final String INSERT = "INSERT INTO point_history (id, user_id, amount, type, update_millis) VALUES (?, ?, ?, ?, ?)";
+    private static final String SELECT_BY_USER_ID = "SELECT id, amount, type, update_millis FROM point_history WHERE user_id = ?";
+
+    private final DataSource dataSource;
+    private final int batchSize;
+    private final AtomicLong lastId;
+
+    public JdbcPointHistoryRepository(DataSource dataSource, int batchSize) {
+        this.dataSource = dataSource;
+        this.batchSize = Math.max(batchSize, 1);
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute(CREATE_TABLE);
+            statement.execute(CREATE_INDEX);
+            try (ResultSet resultSet = statement.executeQuery(SELECT_MAX_ID)) {
+                resultSet.next();
+                this.lastId = new AtomicLong(resultSet.getLong(1));
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("point_history 테이블을 만들지 못했습니다.", e);
+        }
+    }
+
+    @Override
+    public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+        PointHistory history = new PointHistory(lastId.incrementAndGet(), userId, amount, type, updateMillis);
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(INSERT)) {
+            bind(statement, history);
+            statement.executeUpdate();
+            return history;
+        } catch (SQLException e) {
+            throw new IllegalStateException("포인트 내역을 저장하지 못했습니다. userId=" + userId, e);
+        }
+    }
+
+    @Override
+    public List<PointHistory> insertAll(List<NewPointHistory> histories) {
+        if (histories.isEmpty()) {
+            return List.of();
+        }
+        long firstId = lastId.getAndAdd(histories.size()) + 1;
+        List<PointHistory> inserted = new ArrayList<>(histories.size());
+        for (int i = 0; i < histories.size(); i++) {
+            NewPointHistory history = histories.get(i);
+            inserted.add(new PointHistory(firstId + i, history.userId(), history.amount(), history.type(), history.updateMillis()));
+        }
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement statement = connection.prepareStatement(INSERT)) {
+                for (int i = 0; i < inserted.size(); i++) {
+                    bind(statement, inserted.get(i));
+                    statement.addBatch();
+                    if ((i + 1) % batchSize == 0) {
+                        statement.executeBatch();
+                    }
+                }
+                statement.executeBatch();
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+            return inserted;
+        } catch (SQLException e) {
+            throw new IllegalStateException("포인트 내역 " + histories.size() + "건을 저장하지 못했습니다.", e);
+        }
+    }
+
+    @Override
+    public List<PointHistory> selectAllByUserId(long userId) {
+        List<PointHistory> histories = new ArrayList<>();
+        forEachByUserId(userId, PointHistoryQuery.all(), histories::add);
+        return histories;
+    }
+
+    /**
+     * 조회 조건을 WHERE 절로 바꿔 DB 에서 거릅니다.
+     */
+    @Override
+    public void forEachByUserId(long userId, PointHistoryQuery query, Consumer<PointHistory> consumer) {
+        StringBuilder sql = new StringBuilder(SELECT_BY_USER_ID);
+        List<Object> parameters = new ArrayList<>();
+        parameters.add(userId);
+        if (query.after() != null) {
+            sql.append(" AND id > ?");
+            parameters.add(query.after());
+        }
+        if (query.fromMillis() != null) {
+            sql.append(" AND update_millis >= ?");
+            parameters.add(query.fromMillis());
+        }
+        if (query.toMillis() != null) {
+            sql.append(" AND update_millis < ?");
+            parameters.add(query.toMillis());
+        }
+        if (query.type() != null) {
+            sql.append(" AND type = ?");
+            parameters.add(query.type().name());
+        }
+        sql.append(" ORDER BY id");
+        if (query.limit() != PointHistoryQuery.NO_LIMIT) {
+            sql.append(" LIMIT ?");
+            parameters.add(query.limit());
+        }
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(sql.toString())) {
+            for (int i = 0; i < parameters.size(); i++) {
+                statement.setObject(i + 1, parameters.get(i));
+            }
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    consumer.accept(new PointHistory(resultSet.getLong(1), userId, resultSet.getLong(2),
+                            TransactionType.valueOf(resultSet.getString(3)), resultSet.getLong(4)));
+                }
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("포인트 내역을 조회하지 못했습니다. userId=" + userId, e);
+        }
+    }
+
+    private static void bind(PreparedStatement statement, PointHistory history) throws SQLException {
+        statement.setLong(1, history.id());
+        statement.setLong(2, history.userId());
+        statement.setLong(3, history.amount());
+        statement.setString(4, history.type().name());
+        statement.setLong(5, history.updateMillis());
+    }
+}
@@ -0,0 +1,21 @@
+package io.hhplus.tdd.database;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * jdbc 저장소 설정 (point.jdbc.*). 잔고나 내역 저장소 engine 이 jdbc 일 때만 씁니다.
+ *
+ * @param url            JDBC URL (기본값은 프로세스 안의 H2 메모리 DB)
+ * @param maxConnections 커넥션 풀 크기
+ * @param batchSize      insertAll 이 한 번에 보내는 최대 행 수
+ */
+@ConfigurationProperties(prefix = "point.jdbc")
+public record JdbcStoreProperties(
+        @DefaultValue("jdbc:h2:mem:point;DB_CLOSE_DELAY=-1") String url,
+        @DefaultValue("sa") String username,
+        @DefaultValue("") String password,
+        @DefaultValue("32") int maxConnections,
+        @DefaultValue("1000") int batchSize
+) {
+}
@@ -0,0 +1,66 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.UserPoint;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * JDBC(H2) 잔고 저장소. 잔고 한 건을 user_point 테이블의 한 행으로 저장합니다.
+ */
+public class JdbcUserPointRepository implements UserPointRepository {
+
+    private static final String CREATE_TABLE = """
+            CREATE TABLE IF NOT EXISTS user_point (
+                id BIGINT PRIMARY KEY,
+                point BIGINT NOT NULL,
+                update_millis BIGINT NOT NULL
+            )""";
+    private static final String SELECT_BY_ID = "SELECT point, update_millis FROM user_point WHERE id = ?";
+    private static final String UPSERT = "MERGE INTO user_point (id, point, update_millis) KEY (id) VALUES (?, ?, ?)";
+
+    private final DataSource dataSource;
+
+    public JdbcUserPointRepository(DataSource dataSource) {
+        this.dataSource = dataSource;
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute(CREATE_TABLE);
+        } catch (SQLException e) {
+            throw new IllegalStateException("user_point 테이블을 만들지 못했습니다.", e);
+        }
+    }
+
+    @Override
+    public UserPoint selectById(long id) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(SELECT_BY_ID)) {
+            statement.setLong(1, id);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next()
+                        ? new UserPoint(id, resultSet.getLong(1), resultSet.getLong(2))
+                        : UserPoint.empty(id);
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("잔고를 조회하지 못했습니다. id=" + id, e);
+        }
+    }
+
+    @Override
+    public UserPoint insertOrUpdate(long id, long amount) {
+        UserPoint userPoint = new UserPoint(id, amount, System.currentTimeMillis());
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(UPSERT)) {
+            statement.setLong(1, id);
+            statement.setLong(2, amount);
+            statement.setLong(3, userPoint.updateMillis());
+            statement.executeUpdate();
+            return userPoint;
+        } catch (SQLException e) {
+            throw new IllegalStateException("잔고를 저장하지 못했습니다. id=" + id, e);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package io.hhplus.tdd.database;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
+
+/**
+ * 락을 사용하지 않는 고정 크기 링 버퍼 (생산자 여러 명, 소비자 한 명).
+ * 슬롯마다 시퀀스 번호를 두어 생산자는 CAS 로 자리를 예약하고, 소비자는 시퀀스가 채워진 순서대로 꺼냅니다.
+ * 같은 생산자(혹은 같은 락 안의 생산자들)가 넣은 순서는 꺼낼 때도 유지됩니다.
+ */
+public class MpscRingBuffer<E> {
+
+    private final int mask;
+    private final Object[] items;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private long head; // 소비자 스레드 전용
+
+    public MpscRingBuffer(int capacity) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("capacity 는 2 이상의 2의 거듭제곱이어야 합니다: " + capacity);
+        }
+        this.mask = capacity - 1;
+        this.items = new Object[capacity];
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * @return 버퍼가 가득 차 있으면 false
+     */
+    public boolean offer(E item) {
+        while (true) {
+            long position = tail.get();
+            int index = (int) (position & mask);
+            long diff = sequences.get(index) - position;
+            if (diff == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    items[index] = item;
+                    sequences.set(index, position + 1); // 소비자에게 공개
+                    return true;
+                }
+            } else if (diff < 0) {
+                return false;
+            }
+            // diff > 0 : 다른 생산자가 먼저 자리를 가져감
+        }
+    }
+
+    /**
+     * 소비자 스레드에서만 호출합니다.
+     *
+     * @return 꺼낸 개수
+     */
+    @SuppressWarnings("unchecked")
+    public int drain(Consumer<E> consumer, int limit) {
+        int drained = 0;
+        while (drained < limit) {
+            int index = (int) (head & mask);
+            if (sequences.get(index) != head + 1) {
+                break;
+            }
+            E item = (E) items[index];
+            items[index] = null;
+            sequences.set(index, head + items.length); // 생산자에게 슬롯 반환
+            head++;
+            consumer.accept(item);
+            drained++;
+        }
+        return drained;
+    }
+
+    public boolean isEmpty() {
+        return sequences.get((int) (head & mask)) != head + 1;
+    }
+
+    public int capacity() {
+        return items.length;
+    }
+}
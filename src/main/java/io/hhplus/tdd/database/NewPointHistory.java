@@ -0,0 +1,14 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.TransactionType;
+
+/**
+ * 아직 id 가 정해지지 않은, 저장할 포인트 내역
+ */
+public record NewPointHistory(
+        long userId,
+        long amount,
+        TransactionType type,
+        long updateMillis
+) {
+}
@@ -0,0 +1,248 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.UserPoint;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * long 키 open addressing(선형 탐사) 잔고 저장소.
+ * 사용자 한 명을 슬롯 하나(id | point | updateMillis, 24바이트)에 원시 값으로 두므로 Long 키와 UserPoint 객체,
+ * 해시 노드를 만들지 않습니다. offHeap 이면 슬롯을 direct buffer 에 두어 힙과 GC 대상에서 빠집니다.
+ * <p>
+ * id 의 해시로 세그먼트를 나누고, 세그먼트마다 StampedLock 을 둡니다. 조회는 낙관적 읽기(seqlock)로 락 없이 읽고,
+ * 읽는 사이에 기록이 있었으면 읽기 락으로 다시 읽습니다. 슬롯을 지우지 않고 사용률이 절반을 넘으면 두 배로 늘리므로
+ * 탐사는 항상 빈 슬롯에서 끝납니다.
+ */
+public class OpenAddressingUserPointRepository implements UserPointRepository {
+
+    private static final int SLOT_BYTES = 24;
+    private static final long EMPTY = Long.MIN_VALUE; // 빈 슬롯 표시이므로 이 값은 id 로 쓸 수 없음
+    private static final int MIN_SEGMENT_CAPACITY = 16;
+    private static final int MAX_SEGMENT_CAPACITY = 1 << 26; // 세그먼트 버퍼 하나가 int 범위(2GB)를 넘지 않도록
+
+    private final Segment[] segments;
+    private final int segmentShift;
+
+    public OpenAddressingUserPointRepository(UserPointStoreProperties properties) {
+        int segmentCount = Integer.highestOneBit(Math.max(properties.segments(), 1));
+        int perSegment = Math.max(properties.initialCapacity() / segmentCount, 1);
+        if (perSegment > MAX_SEGMENT_CAPACITY / 2) {
+            throw new IllegalArgumentException(String.format(
+                    "세그먼트 하나에 담을 수 있는 사용자는 %d명 이하입니다. point.user-point.store.segments 를 늘려 주세요. (initial-capacity=%d, segments=%d)",
+                    MAX_SEGMENT_CAPACITY / 2, properties.initialCapacity(), segmentCount));
+        } // 사용률 절반을 넘지 않고 담을 수 없으면 시작부터 가득 찬 세그먼트가 됨
+        int capacity = segmentCapacity(perSegment);
+        this.segments = new Segment[segmentCount];
+        this.segmentShift = Long.SIZE - Integer.numberOfTrailingZeros(segmentCount); // 해시의 상위 비트로 세그먼트 선택
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment(capacity, properties.offHeap());
+        }
+    }
+
+    @Override
+    public UserPoint selectById(long id) {
+        long hash = hash(checkId(id));
+        UserPoint userPoint = segmentFor(hash).get(id, (int) hash);
+        return userPoint == null ? UserPoint.empty(id) : userPoint;
+    }
+
+    @Override
+    public UserPoint insertOrUpdate(long id, long amount) {
+        return put(id, amount, System.currentTimeMillis());
+    }
+
+    UserPoint put(long id, long point, long updateMillis) {
+        long hash = hash(checkId(id));
+        segmentFor(hash).put(id, (int) hash, point, updateMillis);
+        return new UserPoint(id, point, updateMillis);
+    }
+
+    public long size() {
+        long size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    /**
+     * 슬롯에 할당한 바이트 수 (offHeap 이면 힙 밖의 메모리)
+     */
+    public long allocatedBytes() {
+        long bytes = 0;
+        for (Segment segment : segments) {
+            bytes += segment.allocatedBytes();
+        }
+        return bytes;
+    }
+
+    // 사용자 수의 2~4배(2의 거듭제곱)로 잡되 MAX_SEGMENT_CAPACITY 를 넘지 않습니다. (슬롯 버퍼 크기 capacity * SLOT_BYTES 가 int 를 넘지 않도록)
+    static int segmentCapacity(int perSegment) {
+        return Math.min(MAX_SEGMENT_CAPACITY, Math.max(MIN_SEGMENT_CAPACITY, Integer.highestOneBit(perSegment) << 2));
+    }
+
+    private Segment segmentFor(long hash) {
+        return segments.length == 1 ? segments[0] : segments[(int) (hash >>> segmentShift)];
+    }
+
+    private static long checkId(long id) {
+        if (id == EMPTY) {
+            throw new IllegalArgumentException("사용할 수 없는 id 입니다. id=" + id);
+        }
+        return id;
+    }
+
+    // 연속된 id 가 이웃 슬롯에 몰리지 않도록 섞습니다 (피보나치 해싱).
+    private static long hash(long id) {
+        long h = id * 0x9E3779B97F4A7C15L;
+        return h ^ (h >>> 29);
+    }
+
+    private static final class Segment {
+
+        private final StampedLock lock = new StampedLock();
+        private final boolean offHeap;
+        private volatile Slots slots;
+        private int size;
+
+        Segment(int capacity, boolean offHeap) {
+            this.offHeap = offHeap;
+            this.slots = new Slots(capacity, offHeap);
+        }
+
+        UserPoint get(long id, int hash) {
+            long stamp = lock.tryOptimisticRead();
+            if (stamp != 0) {
+                UserPoint userPoint = slots.find(id, hash);
+                if (lock.validate(stamp)) {
+                    return userPoint;
+                }
+            }
+            stamp = lock.readLock();
+            try {
+                return slots.find(id, hash);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        void put(long id, int hash, long point, long updateMillis) {
+            long stamp = lock.writeLock();
+            try {
+                Slots current = slots;
+                int slot = current.indexOf(id, hash);
+                if (current.idAt(slot) == EMPTY) {
+                    if ((size + 1) * 2 > current.capacity()) {
+                        current = resize(current);
+                        slot = current.indexOf(id, hash);
+                    }
+                    size++;
+                }
+                current.set(slot, id, point, updateMillis);
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        int size() {
+            long stamp = lock.readLock();
+            try {
+                return size;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        long allocatedBytes() {
+            return (long) slots.capacity() * SLOT_BYTES;
+        }
+
+        // 쓰기 락 안에서만 호출합니다. 새 슬롯을 다 채운 뒤에 공개하므로 낙관적 읽기는 이전 것이든 새 것이든 온전한 표를 봅니다.
+        private Slots resize(Slots current) {
+            if (current.capacity() >= MAX_SEGMENT_CAPACITY) {
+                throw new IllegalStateException("잔고 저장소 세그먼트가 가득 찼습니다. point.user-point.store.segments 를 늘려 주세요.");
+            }
+            Slots resized = new Slots(current.capacity() * 2, offHeap);
+            for (int slot = 0; slot < current.capacity(); slot++) {
+                long id = current.idAt(slot);
+                if (id != EMPTY) {
+                    resized.set(resized.indexOf(id, (int) hash(id)), id, current.pointAt(slot), current.updateMillisAt(slot));
+                }
+            }
+            slots = resized;
+            return resized;
+        }
+    }
+
+    /**
+     * 슬롯 배열. 슬롯 i 는 버퍼의 i * 24 바이트부터 id, point, updateMillis 순서입니다.
+     */
+    private static final class Slots {
+
+        private final ByteBuffer buffer;
+        private final int mask;
+
+        Slots(int capacity, boolean offHeap) {
+            ByteBuffer allocated = offHeap ? ByteBuffer.allocateDirect(capacity * SLOT_BYTES) : ByteBuffer.allocate(capacity * SLOT_BYTES);
+            this.buffer = allocated.order(ByteOrder.nativeOrder());
+            this.mask = capacity - 1;
+            for (int slot = 0; slot < capacity; slot++) {
+                buffer.putLong(slot * SLOT_BYTES, EMPTY);
+            }
+        }
+
+        int capacity() {
+            return mask + 1;
+        }
+
+        /**
+         * @return id 가 있는 슬롯, 없으면 id 를 넣을 빈 슬롯
+         */
+        int indexOf(long id, int hash) {
+            int slot = hash & mask;
+            for (int probe = 0; probe <= mask; probe++) {
+                long found = idAt(slot);
+                if (found == id || found == EMPTY) {
+                    return slot;
+                }
+                slot = (slot + 1) & mask;
+            }
+            throw new IllegalStateException("빈 슬롯이 없습니다.");
+        }
+
+        UserPoint find(long id, int hash) {
+            int slot = hash & mask;
+            for (int probe = 0; probe <= mask; probe++) { // 낙관적 읽기 중에는 표가 바뀌고 있을 수 있으므로 탐사 횟수를 제한
+                long found = idAt(slot);
+                if (found == id) {
+                    return new UserPoint(id, pointAt(slot), updateMillisAt(slot));
+                }
+                if (found == EMPTY) {
+                    return null;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return null;
+        }
+
+        long idAt(int slot) {
+            return buffer.getLong(slot * SLOT_BYTES);
+        }
+
+        long pointAt(int slot) {
+            return buffer.getLong(slot * SLOT_BYTES + 8);
+        }
+
+        long updateMillisAt(int slot) {
+            return buffer.getLong(slot * SLOT_BYTES + 16);
+        }
+
+        void set(int slot, long id, long point, long updateMillis) {
+            buffer.putLong(slot * SLOT_BYTES, id);
+            buffer.putLong(slot * SLOT_BYTES + 8, point);
+            buffer.putLong(slot * SLOT_BYTES + 16, updateMillis);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+
+import java.util.List;
+
+/**
+ * insertAll 이 중간에 실패했지만 그 앞의 내역은 이미 저장된 경우.
+ * 한 트랜잭션으로 묶어 저장하지 않는 저장소(기본 구현)에서만 던지며, 저장된 내역은 넣은 순서대로 inserted 에 담깁니다.
+ */
+public class PartialInsertException extends RuntimeException {
+
+    private final List<PointHistory> inserted;
+
+    public PartialInsertException(List<PointHistory> inserted, Throwable cause) {
+        super("포인트 내역 " + inserted.size() + "건만 저장하고 실패했습니다.", cause);
+        this.inserted = List.copyOf(inserted);
+    }
+
+    public List<PointHistory> getInserted() {
+        return inserted;
+    }
+}
@@ -0,0 +1,63 @@
+package io.hhplus.tdd.database;
+
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+
+/**
+ * WAL 레코드를 반영한 사용자별 잔고. 스냅숏의 원본이며, 복구할 때 스냅숏 위에 WAL 의 나머지를 쌓는 데 씁니다.
+ * 사용자마다 마지막으로 반영한 seq 를 함께 두어, 이미 반영한 레코드는 다시 반영하지 않습니다.
+ */
+public class PointBalances {
+
+    private final ConcurrentHashMap<Long, Balance> balances = new ConcurrentHashMap<>();
+    private volatile long watermark; // 이 seq 까지의 레코드는 모두 반영돼 있음
+
+    /**
+     * 레코드를 반영합니다. 사용자의 마지막 seq 보다 앞선 레코드는 무시합니다.
+     */
+    public void apply(PointWalRecord record) {
+        balances.compute(record.userId(), (userId, previous) -> {
+            if (previous == null) {
+                return new Balance(userId, record.delta(), record.updateMillis(), record.seq());
+            }
+            if (record.seq() <= previous.seq()) {
+                return previous;
+            }
+            return new Balance(userId, previous.point() + record.delta(), record.updateMillis(), record.seq());
+        });
+    }
+
+    void put(Balance balance) {
+        balances.put(balance.userId(), balance);
+    }
+
+    public long watermark() {
+        return watermark;
+    }
+
+    void watermark(long watermark) {
+        this.watermark = watermark;
+    }
+
+    public int size() {
+        return balances.size();
+    }
+
+    /**
+     * 잠그지 않고 읽으므로, 읽는 동안 바뀐 사용자는 바뀐 뒤의 값이 보일 수 있습니다.
+     */
+    Collection<Balance> values() {
+        return balances.values();
+    }
+
+    public void forEach(BiConsumer<Long, Long> consumer) {
+        balances.forEach((userId, balance) -> consumer.accept(userId, balance.point()));
+    }
+
+    /**
+     * @param seq 이 잔고에 마지막으로 반영한 레코드의 seq
+     */
+    public record Balance(long userId, long point, long updateMillis, long seq) {
+    }
+}
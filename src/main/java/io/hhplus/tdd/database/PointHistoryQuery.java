@@ -0,0 +1,35 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+
+/**
+ * 포인트 내역 조회 조건. null 인 조건은 적용하지 않습니다.
+ *
+ * @param after      이 id 보다 큰 내역부터 (커서)
+ * @param limit      최대 건수
+ * @param fromMillis updateMillis 하한 (포함)
+ * @param toMillis   updateMillis 상한 (미포함)
+ * @param type       트랜잭션 종류
+ */
+public record PointHistoryQuery(
+        Long after,
+        int limit,
+        Long fromMillis,
+        Long toMillis,
+        TransactionType type
+) {
+
+    public static final int NO_LIMIT = Integer.MAX_VALUE; // 건수를 제한하지 않는 limit
+
+    public static PointHistoryQuery all() {
+        return new PointHistoryQuery(null, NO_LIMIT, null, null, null);
+    }
+
+    public boolean matches(PointHistory history) {
+        return (after == null || history.id() > after)
+                && (fromMillis == null || history.updateMillis() >= fromMillis)
+                && (toMillis == null || history.updateMillis() < toMillis)
+                && (type == null || history.type() == type);
+    }
+}
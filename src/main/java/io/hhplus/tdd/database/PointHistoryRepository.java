@@ -0,0 +1,64 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * 포인트 내역 저장소.
+ * PointHistoryTable 은 변경할 수 없으므로, 조회 최적화 같은 저장소 수준의 기능은 이 인터페이스의 구현체로 감쌉니다.
+ */
+public interface PointHistoryRepository {
+
+    PointHistory insert(long userId, long amount, TransactionType type, long updateMillis);
+
+    /**
+     * 여러 내역을 넣은 순서대로 저장합니다. 기본 구현은 insert 를 차례로 호출하며,
+     * 한 번에 모아 저장할 수 있는 저장소(JDBC 배치 등)는 이 메서드를 다시 구현합니다.
+     * 기본 구현은 중간에 실패하면 그 앞까지 저장된 내역을 담아 PartialInsertException 을 던집니다.
+     * 묶음 전체를 한 트랜잭션으로 저장하는 구현은 실패하면 아무것도 저장하지 않은 것이므로 다른 예외를 던집니다.
+     *
+     * @return 저장된 내역 (넣은 순서)
+     */
+    default List<PointHistory> insertAll(List<NewPointHistory> histories) {
+        List<PointHistory> inserted = new ArrayList<>(histories.size());
+        for (NewPointHistory history : histories) {
+            try {
+                inserted.add(insert(history.userId(), history.amount(), history.type(), history.updateMillis()));
+            } catch (RuntimeException e) {
+                if (inserted.isEmpty()) {
+                    throw e;
+                }
+                throw new PartialInsertException(inserted, e);
+            }
+        }
+        return inserted;
+    }
+
+    List<PointHistory> selectAllByUserId(long userId);
+
+    /**
+     * 조건에 맞는 내역을 id 순서대로 하나씩 넘깁니다. 목록을 따로 만들지 않으므로 스트리밍 응답에 사용합니다.
+     */
+    default void forEachByUserId(long userId, PointHistoryQuery query, Consumer<PointHistory> consumer) {
+        int remaining = query.limit();
+        for (PointHistory history : selectAllByUserId(userId)) {
+            if (remaining <= 0) {
+                return;
+            }
+            if (query.matches(history)) {
+                consumer.accept(history);
+                remaining--;
+            }
+        }
+    }
+
+    default List<PointHistory> selectByUserId(long userId, PointHistoryQuery query) {
+        List<PointHistory> histories = new ArrayList<>(Math.min(query.limit(), 1024));
+        forEachByUserId(userId, query, histories::add);
+        return histories;
+    }
+}
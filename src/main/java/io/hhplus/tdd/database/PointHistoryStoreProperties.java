@@ -0,0 +1,18 @@
+package io.hhplus.tdd.database;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * 내역 저장소 설정 (point.history-store.*).
+ * 저장소 종류는 point.history-store.engine 으로 고릅니다 (table: PointHistoryTable, columnar: ColumnarPointHistoryRepository).
+ *
+ * @param offHeap   columnar 저장소의 컬럼을 힙 밖(direct buffer)에 둘지 여부
+ * @param chunkRows columnar 저장소가 한 번에 할당하는 행 수 (2의 거듭제곱으로 내림)
+ */
+@ConfigurationProperties(prefix = "point.history-store")
+public record PointHistoryStoreProperties(
+        @DefaultValue("false") boolean offHeap,
+        @DefaultValue("65536") int chunkRows
+) {
+}
@@ -0,0 +1,191 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointRejectedException;
+import io.hhplus.tdd.point.TransactionType;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 포인트 내역 group-commit 기록기.
+ * 여러 사용자의 내역을 링 버퍼에 모아 전용 스레드 하나가 순서대로 PointHistoryRepository 에 저장하고, 모아서 저장한 묶음 단위로 완료를 알립니다.
+ * 같은 사용자의 내역은 사용자별 락 안에서 넣기 때문에 넣은 순서대로 저장되고, 내역 id 도 사용자별로 증가합니다.
+ * 묶음은 PointHistoryRepository.insertAll 한 번으로 저장하므로, insertAll 을 따로 구현하지 않은 저장소(기본 table 엔진 등)는
+ * insert 를 한 건씩 부르게 되어 묶어서 얻는 이득이 없고 대기열은 insert 한 번의 속도로만 비워집니다.
+ */
+@Component
+public class PointHistoryWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(PointHistoryWriter.class);
+    private static final long OFFER_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    private final PointHistoryRepository pointHistoryRepository;
+    private final PointHistoryWriterProperties properties;
+    private final MpscRingBuffer<PendingHistory> ringBuffer;
+    private final Thread writerThread;
+    private final ReentrantLock drainLock = new ReentrantLock(); // 기록기 스레드가 끝난 뒤 남은 내역을 한 스레드만 꺼내도록
+    private volatile boolean running;
+
+    public PointHistoryWriter(PointHistoryRepository pointHistoryRepository, PointHistoryWriterProperties properties) {
+        this.pointHistoryRepository = pointHistoryRepository;
+        this.properties = properties;
+        if (properties.enabled()) {
+            this.ringBuffer = new MpscRingBuffer<>(properties.capacity());
+            this.running = true;
+            this.writerThread = new Thread(this::runWriter, "point-history-writer");
+            this.writerThread.setDaemon(true);
+            this.writerThread.start();
+        } else {
+            this.ringBuffer = null;
+            this.writerThread = null;
+        }
+    }
+
+    public boolean isEnabled() {
+        return properties.enabled();
+    }
+
+    public boolean isAckOnInsert() {
+        return properties.durability() == HistoryDurability.ACK_ON_INSERT;
+    }
+
+    /**
+     * 내역을 기록 대기열에 넣습니다. 대기열이 가득 차 있으면 offerTimeout 까지 잠들었다 깨며 자리가 나기를 기다리고,
+     * 그래도 자리가 없으면 PointRejectedException(POINT_HISTORY_QUEUE_FULL)으로 거절합니다. (사용자 락을 잡은 채 무한정 돌지 않도록)
+     * shutdown 과 겹치면 기록기 스레드를 기다리지 않고, 기록기 스레드가 아직 꺼내지 않은 내역은 저장하지 않고 future 를 실패로 끝냅니다.
+     *
+     * @return 내역이 저장되면 완료되는 future
+     */
+    public CompletableFuture<PointHistory> append(long userId, long amount, TransactionType type, long updateMillis) {
+        if (!running) {
+            throw new IllegalStateException("포인트 내역 기록기가 동작하고 있지 않습니다.");
+        }
+        PendingHistory pending = new PendingHistory(userId, amount, type, updateMillis, new CompletableFuture<>(), new AtomicBoolean());
+        long deadline = 0L;
+        while (!ringBuffer.offer(pending)) {
+            if (!running) {
+                throw new IllegalStateException("포인트 내역 기록기가 동작하고 있지 않습니다.");
+            }
+            long now = System.nanoTime();
+            if (deadline == 0L) {
+                deadline = now + properties.offerTimeout().toNanos();
+            } else if (now - deadline >= 0) {
+                throw new PointRejectedException("포인트 내역 대기열이 가득 찼습니다. 잠시 후 다시 시도해 주십시오.", "POINT_HISTORY_QUEUE_FULL");
+            }
+            LockSupport.unpark(writerThread);
+            LockSupport.parkNanos(this, OFFER_PARK_NANOS);
+        }
+        LockSupport.unpark(writerThread);
+        if (!running && pending.claim()) { // running 을 확인한 뒤 shutdown 이 시작되었으면 기록기 스레드가 이 내역을 꺼내지 못했을 수 있습니다.
+            pending.future().completeExceptionally(new IllegalStateException("포인트 내역 기록기가 멈춰 내역을 저장하지 못했습니다."));
+        }
+        return pending.future();
+    }
+
+    private void runWriter() {
+        List<PendingHistory> batch = new ArrayList<>(properties.maxBatchSize());
+        List<NewPointHistory> histories = new ArrayList<>(properties.maxBatchSize());
+        while (running || !ringBuffer.isEmpty()) {
+            if (ringBuffer.drain(batch::add, properties.maxBatchSize()) == 0) {
+                LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(1));
+                continue;
+            }
+            commit(batch, histories);
+            batch.clear();
+            histories.clear();
+        }
+    }
+
+    /**
+     * 묶음을 insertAll 한 번으로 저장합니다. 묶음 전체가 저장된 뒤 한꺼번에 완료를 알립니다.
+     * 트랜잭션이 없는 저장소가 중간에 실패하면(PartialInsertException) 이미 저장된 앞의 내역은 저장된 것으로, 나머지만 실패로 알립니다.
+     * 그 외의 실패는 아무것도 저장되지 않은 것이므로 묶음 전체를 실패로 알립니다.
+     */
+    private void commit(List<PendingHistory> batch, List<NewPointHistory> histories) {
+        batch.removeIf(pending -> !pending.claim()); // append 가 이미 실패로 알린 내역은 저장하지 않습니다.
+        if (batch.isEmpty()) {
+            return;
+        }
+        for (PendingHistory pending : batch) {
+            histories.add(new NewPointHistory(pending.userId(), pending.amount(), pending.type(), pending.updateMillis()));
+        }
+        List<PointHistory> inserted;
+        RuntimeException failure = null;
+        try {
+            inserted = pointHistoryRepository.insertAll(histories);
+        } catch (PartialInsertException e) {
+            inserted = e.getInserted();
+            failure = e;
+        } catch (RuntimeException e) {
+            inserted = List.of();
+            failure = e;
+        }
+        for (int i = 0; i < inserted.size(); i++) {
+            batch.get(i).future().complete(inserted.get(i));
+        }
+        if (failure != null) {
+            log.error("포인트 내역 {}건 중 {}건을 저장하지 못했습니다.", batch.size(), batch.size() - inserted.size(), failure);
+            for (int i = inserted.size(); i < batch.size(); i++) {
+                batch.get(i).future().completeExceptionally(failure);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (writerThread == null) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(writerThread);
+        failRemaining();
+    }
+
+    // 기록기 스레드가 끝나기를 기다린 뒤, 링 버퍼에 남은 내역을 모두 실패로 알립니다. (기다리던 호출이 멈춰 있지 않도록)
+    private void failRemaining() {
+        try {
+            writerThread.join(TimeUnit.SECONDS.toMillis(30));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writerThread.isAlive()) {
+            return; // 아직 저장 중이면 기록기 스레드가 마저 꺼냅니다.
+        }
+        drainLock.lock();
+        try {
+            IllegalStateException stopped = new IllegalStateException("포인트 내역 기록기가 멈춰 내역을 저장하지 못했습니다.");
+            ringBuffer.drain(pending -> {
+                if (pending.claim()) {
+                    pending.future().completeExceptionally(stopped);
+                }
+            }, Integer.MAX_VALUE);
+        } finally {
+            drainLock.unlock();
+        }
+    }
+
+    private record PendingHistory(
+            long userId,
+            long amount,
+            TransactionType type,
+            long updateMillis,
+            CompletableFuture<PointHistory> future,
+            AtomicBoolean claimed
+    ) {
+
+        // 기록기 스레드(저장)와 append/shutdown(실패 처리) 중 먼저 가져간 쪽만 이 내역을 처리합니다.
+        boolean claim() {
+            return claimed.compareAndSet(false, true);
+        }
+    }
+}
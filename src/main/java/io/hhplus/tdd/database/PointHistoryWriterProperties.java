@@ -0,0 +1,29 @@
+package io.hhplus.tdd.database;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * 포인트 내역 group-commit 설정 (point.history-writer.*)
+ *
+ * @param enabled      false 면 기존처럼 요청 스레드가 락 안에서 직접 내역을 저장합니다.
+ * @param durability   응답 시점
+ * @param capacity     대기열 크기 (2의 거듭제곱)
+ * @param maxBatchSize 한 번에 모아서 저장하는 최대 내역 수
+ * @param offerTimeout 대기열이 가득 찼을 때 자리가 나기를 기다리는 최대 시간. 넘으면 429(POINT_HISTORY_QUEUE_FULL)로 거절합니다.
+ */
+@ConfigurationProperties(prefix = "point.history-writer")
+public record PointHistoryWriterProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("ACK_ON_INSERT") HistoryDurability durability,
+        @DefaultValue("8192") int capacity,
+        @DefaultValue("256") int maxBatchSize,
+        @DefaultValue("1s") Duration offerTimeout
+) {
+
+    public static PointHistoryWriterProperties disabled() {
+        return new PointHistoryWriterProperties(false, HistoryDurability.ACK_ON_INSERT, 8192, 256, Duration.ofSeconds(1));
+    }
+}
@@ -0,0 +1,83 @@
+package io.hhplus.tdd.database;
+
+import org.h2.jdbcx.JdbcConnectionPool;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 저장소 구현체 선택
+ * <ul>
+ *     <li>point.user-point.store.engine : table(기본) / open-addressing / jdbc</li>
+ *     <li>point.history-store.engine : table(기본) / columnar / jdbc</li>
+ * </ul>
+ */
+@Configuration
+public class PointRepositoryConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "point.user-point.store.engine", havingValue = "table", matchIfMissing = true)
+    public UserPointRepository userPointTableRepository(UserPointTable userPointTable) {
+        return new UserPointTableRepository(userPointTable);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "point.user-point.store.engine", havingValue = "open-addressing")
+    public UserPointRepository openAddressingUserPointRepository(UserPointStoreProperties properties) {
+        return new OpenAddressingUserPointRepository(properties);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "point.history-store.engine", havingValue = "columnar")
+    public PointHistoryRepository columnarPointHistoryRepository(PointHistoryStoreProperties properties) {
+        return new ColumnarPointHistoryRepository(properties);
+    }
+
+    /**
+     * PointHistoryTable 에 저장하는 저장소 (기본)
+     */
+    @Configuration
+    @ConditionalOnProperty(name = "point.history-store.engine", havingValue = "table", matchIfMissing = true)
+    static class TableHistoryRepositoryConfig {
+
+        @Bean
+        @ConditionalOnProperty(name = "point.history-index.enabled", havingValue = "true", matchIfMissing = true)
+        public PointHistoryRepository indexedPointHistoryRepository(PointHistoryTable pointHistoryTable) {
+            return new IndexedPointHistoryRepository(pointHistoryTable);
+        }
+
+        @Bean
+        @ConditionalOnProperty(name = "point.history-index.enabled", havingValue = "false")
+        public PointHistoryRepository pointHistoryTableRepository(PointHistoryTable pointHistoryTable) {
+            return new PointHistoryTableRepository(pointHistoryTable);
+        }
+    }
+
+    /**
+     * JDBC(H2) 저장소. 잔고와 내역 중 하나라도 jdbc 면 커넥션 풀을 만듭니다.
+     */
+    @Configuration
+    @ConditionalOnExpression("'${point.user-point.store.engine:table}' == 'jdbc' or '${point.history-store.engine:table}' == 'jdbc'")
+    static class JdbcRepositoryConfig {
+
+        @Bean(destroyMethod = "dispose")
+        public JdbcConnectionPool pointConnectionPool(JdbcStoreProperties properties) {
+            JdbcConnectionPool connectionPool = JdbcConnectionPool.create(properties.url(), properties.username(), properties.password());
+            connectionPool.setMaxConnections(properties.maxConnections());
+            return connectionPool;
+        }
+
+        @Bean
+        @ConditionalOnProperty(name = "point.user-point.store.engine", havingValue = "jdbc")
+        public UserPointRepository jdbcUserPointRepository(JdbcConnectionPool pointConnectionPool) {
+            return new JdbcUserPointRepository(pointConnectionPool);
+        }
+
+        @Bean
+        @ConditionalOnProperty(name = "point.history-store.engine", havingValue = "jdbc")
+        public PointHistoryRepository jdbcPointHistoryRepository(JdbcConnectionPool pointConnectionPool, JdbcStoreProperties properties) {
+            return new JdbcPointHistoryRepository(pointConnectionPool, properties.batchSize());
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package io.hhplus.tdd.database;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * 잔고 스냅숏 설정 (point.snapshot.*). point.wal.enabled 일 때만 동작합니다.
+ *
+ * @param enabled   true 면 interval 마다 전체 잔고를 스냅숏으로 남기고, 시작할 때 스냅숏 뒤의 WAL 만 다시 반영합니다.
+ * @param directory 스냅숏 파일을 둘 디렉터리
+ * @param interval  스냅숏 간격
+ */
+@ConfigurationProperties(prefix = "point.snapshot")
+public record PointSnapshotProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("data/snapshot") String directory,
+        @DefaultValue("1m") Duration interval
+) {
+}
@@ -0,0 +1,256 @@
+package io.hhplus.tdd.database;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * 전체 잔고(PointBalances)를 주기적으로 스냅숏 파일(snapshot-{watermark}.bin)로 남기고, 오래된 WAL 세그먼트를 지웁니다.
+ * <pre>
+ * header  : magic(4) | version(4) | watermark(8)
+ * entry   : userId(8) | point(8) | updateMillis(8) | seq(8)      (사용자 수만큼)
+ * trailer : count(8) | crc32c(4)                                 (header + entry 전체의 crc)
+ * </pre>
+ * 잔고는 ConcurrentHashMap 을 잠그지 않고 읽으므로 기록 중인 요청을 막지 않습니다. 읽는 사이에 바뀐 사용자는
+ * watermark 뒤의 값이 들어갈 수 있지만, entry 의 seq 로 복구할 때 같은 레코드를 두 번 반영하지 않습니다.
+ * 바로 앞 스냅숏 하나는 남겨 두고, WAL 은 그 스냅숏의 watermark 까지만 지웁니다(최신 스냅숏이 깨졌을 때 대비).
+ */
+public class PointSnapshotter {
+
+    private static final Logger log = LoggerFactory.getLogger(PointSnapshotter.class);
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final String SNAPSHOT_SUFFIX = ".bin";
+    private static final int MAGIC = 0x50534E50; // "PSNP"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 16;
+    private static final int ENTRY_SIZE = 32;
+    private static final int TRAILER_SIZE = 12;
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    private final Path directory;
+    private final PointSnapshotProperties properties;
+    private final PointBalances balances = new PointBalances();
+    private final Timer duration;
+    private final AtomicLong lastSize = new AtomicLong();
+    private final AtomicLong lastUsers = new AtomicLong();
+
+    private ScheduledExecutorService scheduler;
+    private PointWriteAheadLog writeAheadLog;
+
+    public PointSnapshotter(PointSnapshotProperties properties, MeterRegistry registry) {
+        this.properties = properties;
+        this.directory = Path.of(properties.directory());
+        this.duration = Timer.builder("point.snapshot.duration")
+                .description("잔고 스냅숏을 쓰는 데 걸린 시간")
+                .register(registry);
+        Gauge.builder("point.snapshot.size", lastSize, AtomicLong::get)
+                .description("마지막 스냅숏 파일 크기")
+                .baseUnit("bytes")
+                .register(registry);
+        Gauge.builder("point.snapshot.users", lastUsers, AtomicLong::get)
+                .description("마지막 스냅숏에 담긴 사용자 수")
+                .register(registry);
+    }
+
+    public PointBalances balances() {
+        return balances;
+    }
+
+    /**
+     * 가장 최근의 온전한 스냅숏을 읽어 balances 를 채웁니다. 깨진 스냅숏은 건너뛰고 그 앞의 것을 읽습니다.
+     *
+     * @return 읽은 스냅숏의 watermark (없으면 0)
+     */
+    public long load() {
+        try {
+            Files.createDirectories(directory);
+            List<Path> snapshots = snapshots();
+            for (int i = snapshots.size() - 1; i >= 0; i--) {
+                Path path = snapshots.get(i);
+                if (read(path)) {
+                    log.info("스냅숏을 읽었습니다. file={}, 사용자 {}명, watermark={}", path.getFileName(), balances.size(), balances.watermark());
+                    return balances.watermark();
+                }
+                log.warn("깨진 스냅숏을 건너뜁니다. file={}", path.getFileName());
+            }
+            return 0L;
+        } catch (IOException e) {
+            throw new UncheckedIOException("스냅숏을 읽지 못했습니다. directory=" + directory, e);
+        }
+    }
+
+    /**
+     * interval 마다 스냅숏을 남기기 시작합니다. WAL 복구가 끝난 뒤에 호출합니다.
+     */
+    public void start(PointWriteAheadLog writeAheadLog) {
+        this.writeAheadLog = writeAheadLog;
+        long intervalMillis = properties.interval().toMillis();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "point-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.scheduler.scheduleWithFixedDelay(this::snapshotQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 지금의 잔고로 스냅숏을 남기고, 바로 앞 스냅숏까지만 남긴 채 오래된 스냅숏과 WAL 세그먼트를 지웁니다.
+     *
+     * @return 새 스냅숏 파일
+     */
+    public synchronized Path snapshot() {
+        long started = System.nanoTime();
+        long watermark = writeAheadLog.lastSeq(); // 이 seq 까지는 balances 에 반영된 뒤에 lastSeq 가 올라감
+        Path target = directory.resolve(String.format("%s%020d%s", SNAPSHOT_PREFIX, watermark, SNAPSHOT_SUFFIX));
+        Path temp = directory.resolve(target.getFileName() + ".tmp");
+        long users;
+        try {
+            users = write(temp, watermark);
+            writeAheadLog.sync(); // watermark 뒤의 값이 들어간 사용자의 레코드도 디스크에 있어야 함
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            lastSize.set(Files.size(target));
+            lastUsers.set(users);
+            compact();
+        } catch (IOException e) {
+            throw new UncheckedIOException("스냅숏을 남기지 못했습니다. file=" + target, e);
+        }
+        long elapsed = System.nanoTime() - started;
+        duration.record(elapsed, TimeUnit.NANOSECONDS);
+        log.info("스냅숏 - 사용자 {}명, {}bytes, watermark={}, {}ms", users, lastSize.get(), watermark,
+                TimeUnit.NANOSECONDS.toMillis(elapsed));
+        return target;
+    }
+
+    /**
+     * 스케줄을 멈추고, 다음 시작이 빠르도록 마지막 스냅숏을 남깁니다.
+     */
+    public void close() {
+        if (scheduler == null) {
+            return;
+        }
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        snapshotQuietly();
+    }
+
+    private long write(Path path, long watermark) throws IOException {
+        CRC32C crc = new CRC32C();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_SIZE);
+        long count = 0;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE)) {
+            buffer.putInt(MAGIC).putInt(VERSION).putLong(watermark);
+            for (PointBalances.Balance balance : balances.values()) {
+                if (buffer.remaining() < ENTRY_SIZE) {
+                    flush(channel, buffer, crc);
+                }
+                buffer.putLong(balance.userId()).putLong(balance.point()).putLong(balance.updateMillis()).putLong(balance.seq());
+                count++;
+            }
+            flush(channel, buffer, crc);
+            buffer.putLong(count).putInt((int) crc.getValue());
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        return count;
+    }
+
+    private static void flush(FileChannel channel, ByteBuffer buffer, CRC32C crc) throws IOException {
+        buffer.flip();
+        crc.update(buffer.duplicate());
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private boolean read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_SIZE + TRAILER_SIZE || (size - HEADER_SIZE - TRAILER_SIZE) % ENTRY_SIZE != 0) {
+                return false;
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            int body = (int) (size - TRAILER_SIZE);
+            long count = (body - HEADER_SIZE) / ENTRY_SIZE;
+            CRC32C crc = new CRC32C();
+            crc.update(buffer.slice(0, body));
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION
+                    || buffer.getLong(body) != count || buffer.getInt(body + 8) != (int) crc.getValue()) {
+                return false;
+            }
+            for (int offset = HEADER_SIZE; offset < body; offset += ENTRY_SIZE) {
+                balances.put(new PointBalances.Balance(buffer.getLong(offset), buffer.getLong(offset + 8),
+                        buffer.getLong(offset + 16), buffer.getLong(offset + 24)));
+            }
+            balances.watermark(buffer.getLong(8));
+            return true;
+        }
+    }
+
+    private void compact() throws IOException {
+        List<Path> snapshots = snapshots();
+        if (snapshots.size() < 2) {
+            return;
+        }
+        Path previous = snapshots.get(snapshots.size() - 2);
+        for (Path path : snapshots.subList(0, snapshots.size() - 2)) {
+            Files.deleteIfExists(path);
+        }
+        int deleted = writeAheadLog.compact(watermark(previous));
+        if (deleted > 0) {
+            log.info("WAL 세그먼트 {}개를 지웠습니다. (watermark={})", deleted, watermark(previous));
+        }
+    }
+
+    private List<Path> snapshots() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.startsWith(SNAPSHOT_PREFIX) && name.endsWith(SNAPSHOT_SUFFIX);
+                    })
+                    .sorted(Comparator.comparing(path -> path.getFileName().toString())) // 자릿수를 맞춘 watermark 순
+                    .toList();
+        }
+    }
+
+    private static long watermark(Path snapshot) {
+        String name = snapshot.getFileName().toString();
+        return Long.parseLong(name.substring(SNAPSHOT_PREFIX.length(), name.length() - SNAPSHOT_SUFFIX.length()));
+    }
+
+    private void snapshotQuietly() {
+        try {
+            snapshot();
+        } catch (RuntimeException e) {
+            log.warn("스냅숏을 남기지 못했습니다. 다음 주기에 다시 시도합니다.", e);
+        }
+    }
+}
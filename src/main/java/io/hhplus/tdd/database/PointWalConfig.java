@@ -0,0 +1,36 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointCommitListener;
+import io.hhplus.tdd.point.PointLedger;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * point.wal.enabled 면 WAL 로 테이블을 복구한 뒤 충전/사용을 WAL 에 기록합니다.
+ * point.snapshot.enabled 면 최근 스냅숏을 먼저 읽고 그 뒤의 WAL 만 반영하며, 이후 주기적으로 스냅숏을 남깁니다.
+ * 복구는 이 bean 을 만들 때(서비스가 요청을 받기 전) 끝나며, 다시 저장한 내역은 PointLedger 요약에도 반영합니다.
+ */
+@Configuration
+public class PointWalConfig {
+
+    @Bean
+    public PointCommitListener pointCommitListener(PointWalProperties properties, PointSnapshotProperties snapshotProperties,
+                                                   UserPointRepository userPointRepository, PointHistoryRepository pointHistoryRepository,
+                                                   PointLedger pointLedger, MeterRegistry meterRegistry) {
+        if (!properties.enabled()) {
+            return PointCommitListener.NONE;
+        }
+        PointSnapshotter snapshotter = null;
+        if (snapshotProperties.enabled()) {
+            snapshotter = new PointSnapshotter(snapshotProperties, meterRegistry);
+            snapshotter.load();
+        }
+        PointWriteAheadLog writeAheadLog = new PointWriteAheadLog(properties, snapshotter);
+        writeAheadLog.restore(userPointRepository, pointHistoryRepository, pointLedger::record);
+        if (snapshotter != null) {
+            snapshotter.start(writeAheadLog);
+        }
+        return writeAheadLog;
+    }
+}
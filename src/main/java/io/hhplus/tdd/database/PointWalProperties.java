@@ -0,0 +1,26 @@
+package io.hhplus.tdd.database;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * 포인트 변경 WAL 설정 (point.wal.*)
+ *
+ * @param enabled      충전/사용을 WAL 에 기록하고, 시작할 때 WAL 로 테이블을 복구할지 여부
+ * @param directory    세그먼트 파일을 둘 디렉터리
+ * @param segmentSize  세그먼트 파일 하나의 크기. 가득 차면 다음 세그먼트로 넘어갑니다.
+ * @param syncInterval 모아서 fsync 하는 간격 (0 이면 기록할 때마다 fsync)
+ * @param awaitSync    true 면 fsync 가 끝난 뒤에 응답합니다.
+ */
+@ConfigurationProperties(prefix = "point.wal")
+public record PointWalProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("data/wal") String directory,
+        @DefaultValue("64MB") DataSize segmentSize,
+        @DefaultValue("5ms") Duration syncInterval,
+        @DefaultValue("true") boolean awaitSync
+) {
+}
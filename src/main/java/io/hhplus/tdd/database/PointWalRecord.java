@@ -0,0 +1,70 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.TransactionType;
+
+import java.nio.ByteBuffer;
+import java.util.zip.CRC32C;
+
+/**
+ * WAL 레코드 한 건. 파일에는 고정 길이(SIZE 바이트)로 기록합니다.
+ * <pre>
+ * 0  seq(8) | 8 userId(8) | 16 amount(8) | 24 balance(8) | 32 updateMillis(8) | 40 type(1) | 41 padding(3) | 44 crc32c(4)
+ * </pre>
+ * seq 가 0 이거나 crc 가 맞지 않으면 기록되지 않은(또는 쓰다 만) 자리로 보고 거기서 읽기를 멈춥니다.
+ *
+ * @param balance 이 변경을 반영한 뒤의 잔고
+ */
+public record PointWalRecord(
+        long seq,
+        long userId,
+        long amount,
+        TransactionType type,
+        long updateMillis,
+        long balance
+) {
+
+    public static final int SIZE = 48;
+    private static final int CRC_OFFSET = 44;
+    private static final TransactionType[] TYPES = TransactionType.values();
+
+    /**
+     * 잔고에 더할 값 (사용은 음수)
+     */
+    public long delta() {
+        return type == TransactionType.CHARGE ? amount : -amount;
+    }
+
+    void writeTo(ByteBuffer buffer, int offset) {
+        buffer.putLong(offset, seq);
+        buffer.putLong(offset + 8, userId);
+        buffer.putLong(offset + 16, amount);
+        buffer.putLong(offset + 24, balance);
+        buffer.putLong(offset + 32, updateMillis);
+        buffer.put(offset + 40, (byte) type.ordinal());
+        buffer.put(offset + 41, (byte) 0);
+        buffer.putShort(offset + 42, (short) 0);
+        buffer.putInt(offset + CRC_OFFSET, checksum(buffer, offset));
+    }
+
+    /**
+     * @return 유효한 레코드가 없으면 null
+     */
+    static PointWalRecord readFrom(ByteBuffer buffer, int offset) {
+        long seq = buffer.getLong(offset);
+        if (seq <= 0 || buffer.getInt(offset + CRC_OFFSET) != checksum(buffer, offset)) {
+            return null;
+        }
+        int type = buffer.get(offset + 40);
+        if (type < 0 || type >= TYPES.length) {
+            return null;
+        }
+        return new PointWalRecord(seq, buffer.getLong(offset + 8), buffer.getLong(offset + 16),
+                TYPES[type], buffer.getLong(offset + 32), buffer.getLong(offset + 24));
+    }
+
+    private static int checksum(ByteBuffer buffer, int offset) {
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(offset, CRC_OFFSET));
+        return (int) crc.getValue();
+    }
+}
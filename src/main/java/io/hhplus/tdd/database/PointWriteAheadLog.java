@@ -0,0 +1,380 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointCommitListener;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * 충전/사용을 고정 길이 레코드(PointWalRecord)로 남기는 append-only 로그.
+ * 세그먼트 파일을 통째로 메모리 매핑(MappedByteBuffer)해 두고 기록은 메모리 복사만 하며,
+ * fsync 는 syncInterval 마다 전용 스레드가 그 사이에 쌓인 레코드를 한 번에 합니다(group fsync).
+ * 세그먼트가 가득 차면 fsync 후 다음 세그먼트(wal-{첫 seq}.log)로 넘어갑니다.
+ * PointSnapshotter 를 주면 기록한 레코드를 잔고에도 반영해 두고, 복구는 스냅숏 뒤의 레코드만 다시 반영합니다.
+ * 스냅숏 앞의 세그먼트는 지워지므로, 그 앞의 내역은 사용자별 이월 내역(스냅숏 시점 잔고의 CHARGE) 한 건으로 복구합니다.
+ */
+public class PointWriteAheadLog implements PointCommitListener {
+
+    private static final Logger log = LoggerFactory.getLogger(PointWriteAheadLog.class);
+    private static final String SEGMENT_PREFIX = "wal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final int RESTORE_BATCH_SIZE = 1_000;
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final PointWalProperties properties;
+    private final ReentrantLock appendLock = new ReentrantLock(); // fsync 중에도 기록하도록 synchronized 대신 사용
+    private final ConcurrentLinkedQueue<PendingSync> pendingSyncs = new ConcurrentLinkedQueue<>();
+    private final ScheduledExecutorService syncer;
+    private final PointSnapshotter snapshotter; // null 이면 스냅숏 없이 WAL 전체로 복구
+    private final PointBalances balances;
+
+    private FileChannel channel;
+    private MappedByteBuffer segment;
+    private long nextSeq = 1;
+    private volatile long writtenSeq;
+    private final AtomicLong syncedSeq = new AtomicLong(); // sync 와 세그먼트 넘김이 락 없이도 뒤로 되돌리지 않도록 최댓값으로만 올림
+
+    public PointWriteAheadLog(PointWalProperties properties) {
+        this(properties, null);
+    }
+
+    /**
+     * @param snapshotter 스냅숏을 이미 읽어 둔(load) snapshotter
+     */
+    public PointWriteAheadLog(PointWalProperties properties, PointSnapshotter snapshotter) {
+        this.properties = properties;
+        this.snapshotter = snapshotter;
+        this.balances = snapshotter != null ? snapshotter.balances() : null;
+        this.directory = Path.of(properties.directory());
+        long requested = Math.max(PointWalRecord.SIZE, Math.min(properties.segmentSize().toBytes(), Integer.MAX_VALUE));
+        this.segmentBytes = (int) (requested / PointWalRecord.SIZE * PointWalRecord.SIZE);
+        try {
+            Files.createDirectories(directory);
+            openLastSegment();
+        } catch (IOException e) {
+            throw new UncheckedIOException("WAL 을 열지 못했습니다. directory=" + directory, e);
+        }
+        if (properties.syncInterval().isZero()) {
+            this.syncer = null;
+        } else {
+            long intervalMicros = TimeUnit.NANOSECONDS.toMicros(properties.syncInterval().toNanos());
+            this.syncer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "point-wal-sync");
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.syncer.scheduleWithFixedDelay(this::syncQuietly, intervalMicros, intervalMicros, TimeUnit.MICROSECONDS);
+        }
+    }
+
+    @Override
+    public CompletableFuture<Void> onCommit(long userId, long amount, TransactionType type, long updateMillis, long balance) {
+        long seq = append(userId, amount, type, updateMillis, balance);
+        if (!properties.awaitSync() || seq <= syncedSeq.get()) {
+            return DONE;
+        }
+        PendingSync pending = new PendingSync(seq, new CompletableFuture<>());
+        pendingSyncs.add(pending);
+        if (seq <= syncedSeq.get()) { // 넣는 사이에 fsync 가 끝났을 수 있음
+            completeSynced();
+        }
+        return pending.synced();
+    }
+
+    /**
+     * 레코드를 기록합니다. syncInterval 이 0 이면 바로 fsync 합니다.
+     *
+     * @return 기록한 레코드의 seq
+     */
+    public long append(long userId, long amount, TransactionType type, long updateMillis, long balance) {
+        boolean rotated = false;
+        appendLock.lock();
+        try {
+            if (segment.remaining() < PointWalRecord.SIZE) {
+                rotate();
+                rotated = true;
+            }
+            long seq = nextSeq++;
+            PointWalRecord record = new PointWalRecord(seq, userId, amount, type, updateMillis, balance);
+            record.writeTo(segment, segment.position());
+            segment.position(segment.position() + PointWalRecord.SIZE);
+            if (balances != null) {
+                balances.apply(record); // 스냅숏이 lastSeq 까지는 반영돼 있다고 보므로 writtenSeq 보다 먼저
+            }
+            writtenSeq = seq;
+            if (syncer == null) {
+                segment.force();
+                markSynced(seq);
+            }
+            return seq;
+        } catch (IOException e) {
+            throw new UncheckedIOException("WAL 에 기록하지 못했습니다.", e);
+        } finally {
+            appendLock.unlock();
+            if (rotated) {
+                completeSynced(); // 넘기기 전에 fsync 한 이전 세그먼트의 레코드를 기다리던 요청
+            }
+        }
+    }
+
+    /**
+     * 지금까지 기록한 레코드를 디스크에 내립니다.
+     */
+    public void sync() {
+        long target = writtenSeq;
+        if (target <= syncedSeq.get()) {
+            completeSynced();
+            return;
+        }
+        MappedByteBuffer current;
+        appendLock.lock();
+        try {
+            current = segment; // 이전 세그먼트는 넘어갈 때 이미 fsync 했음
+        } finally {
+            appendLock.unlock();
+        }
+        current.force();
+        markSynced(target);
+        completeSynced();
+    }
+
+    public long lastSeq() {
+        return writtenSeq;
+    }
+
+    /**
+     * afterSeq 보다 뒤의 레코드를 seq 순서대로 읽습니다.
+     */
+    public void replay(long afterSeq, Consumer<PointWalRecord> consumer) {
+        try {
+            for (Path path : segments()) {
+                try (FileChannel readChannel = FileChannel.open(path, StandardOpenOption.READ)) {
+                    MappedByteBuffer buffer = readChannel.map(FileChannel.MapMode.READ_ONLY, 0, readChannel.size());
+                    for (int offset = 0; offset + PointWalRecord.SIZE <= buffer.capacity(); offset += PointWalRecord.SIZE) {
+                        PointWalRecord record = PointWalRecord.readFrom(buffer, offset);
+                        if (record == null) {
+                            break;
+                        }
+                        if (record.seq() > afterSeq) {
+                            consumer.accept(record);
+                        }
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("WAL 을 읽지 못했습니다.", e);
+        }
+    }
+
+    /**
+     * WAL 로 테이블을 다시 채웁니다. 내역은 기록 순서대로 insertAll 로 묶어 넣고, 잔고는 사용자별 변경 합계를 한 번만 저장합니다.
+     * 스냅숏이 있으면 스냅숏의 잔고에서 시작해 watermark 뒤의 레코드만 다시 반영합니다. watermark 까지의 내역은 남아 있지 않으므로
+     * 사용자마다 watermark 시점의 잔고를 이월 내역(CHARGE) 한 건으로 먼저 넣어, 복구한 내역의 합계가 잔고와 같게 합니다.
+     * 저장소의 공개 API 만 사용하므로 UserPointTable / PointHistoryTable 의 지연 시간이 그대로 걸립니다.
+     *
+     * @return 다시 반영한 레코드 수
+     */
+    public long restore(UserPointRepository userPointRepository, PointHistoryRepository pointHistoryRepository) {
+        return restore(userPointRepository, pointHistoryRepository, history -> {
+        });
+    }
+
+    /**
+     * @param restoredHistory 다시 저장한 내역을 넣은 순서대로 받습니다. (PointLedger 요약에 반영하는 데 사용)
+     */
+    public long restore(UserPointRepository userPointRepository, PointHistoryRepository pointHistoryRepository,
+                        Consumer<PointHistory> restoredHistory) {
+        long started = System.nanoTime();
+        PointBalances restored = balances != null ? balances : new PointBalances();
+        long[] replayed = {0};
+        List<NewPointHistory> histories = new ArrayList<>(RESTORE_BATCH_SIZE);
+        Consumer<NewPointHistory> insert = history -> {
+            histories.add(history);
+            if (histories.size() == RESTORE_BATCH_SIZE) {
+                pointHistoryRepository.insertAll(List.copyOf(histories)).forEach(restoredHistory);
+                histories.clear();
+            }
+        };
+        if (restored.watermark() > 0) {
+            openingBalances(restored).forEach(insert);
+        }
+        replay(restored.watermark(), record -> {
+            insert.accept(new NewPointHistory(record.userId(), record.amount(), record.type(), record.updateMillis()));
+            restored.apply(record);
+            replayed[0]++;
+        });
+        pointHistoryRepository.insertAll(List.copyOf(histories)).forEach(restoredHistory);
+        restored.forEach(userPointRepository::insertOrUpdate);
+        log.info("WAL 복구 - 레코드 {}건(watermark={} 이후), 사용자 {}명, {}ms", replayed[0], restored.watermark(),
+                restored.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        return replayed[0];
+    }
+
+    /**
+     * 스냅숏의 사용자별 잔고에서 watermark 뒤의 레코드를 빼 watermark 시점의 잔고를 구합니다.
+     * 스냅숏을 쓰는 동안 바뀐 사용자는 watermark 뒤의 레코드(entry 의 seq 까지)가 이미 들어 있고, 그 레코드는 내역으로 다시 복구되기 때문입니다.
+     *
+     * @return 잔고가 있는 사용자의 이월 내역 (사용자 id 순서)
+     */
+    private List<NewPointHistory> openingBalances(PointBalances snapshot) {
+        Map<Long, PointBalances.Balance> entries = new HashMap<>();
+        for (PointBalances.Balance balance : snapshot.values()) {
+            entries.put(balance.userId(), balance);
+        }
+        Map<Long, Long> included = new HashMap<>();
+        replay(snapshot.watermark(), record -> {
+            PointBalances.Balance entry = entries.get(record.userId());
+            if (entry != null && record.seq() <= entry.seq()) {
+                included.merge(record.userId(), record.delta(), Long::sum);
+            }
+        });
+        return entries.values().stream()
+                .sorted(Comparator.comparingLong(PointBalances.Balance::userId))
+                .filter(entry -> entry.point() - included.getOrDefault(entry.userId(), 0L) > 0)
+                .map(entry -> new NewPointHistory(entry.userId(), entry.point() - included.getOrDefault(entry.userId(), 0L),
+                        TransactionType.CHARGE, entry.updateMillis()))
+                .toList();
+    }
+
+    /**
+     * 레코드가 모두 upToSeq 이하인 세그먼트 파일을 지웁니다. 기록 중인 마지막 세그먼트는 남깁니다.
+     *
+     * @return 지운 세그먼트 수
+     */
+    public int compact(long upToSeq) {
+        try {
+            List<Path> segments = segments();
+            int deleted = 0;
+            for (int i = 0; i + 1 < segments.size() && firstSeq(segments.get(i + 1)) - 1 <= upToSeq; i++) {
+                Files.deleteIfExists(segments.get(i));
+                deleted++;
+            }
+            return deleted;
+        } catch (IOException e) {
+            throw new UncheckedIOException("WAL 세그먼트를 지우지 못했습니다.", e);
+        }
+    }
+
+    public void close() {
+        if (snapshotter != null) {
+            snapshotter.close();
+        }
+        if (syncer != null) {
+            syncer.shutdown();
+            try {
+                syncer.awaitTermination(1, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        sync();
+        appendLock.lock();
+        try {
+            channel.close();
+        } catch (IOException e) {
+            log.warn("WAL 세그먼트를 닫지 못했습니다.", e);
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    // 마지막 세그먼트를 열고 유효한 마지막 레코드 다음 자리부터 이어서 기록합니다. 쓰다 만 레코드는 덮어씁니다.
+    private void openLastSegment() throws IOException {
+        List<Path> segments = segments();
+        if (segments.isEmpty()) {
+            openSegment(1L);
+            return;
+        }
+        Path last = segments.get(segments.size() - 1);
+        channel = FileChannel.open(last, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(channel.size(), segmentBytes));
+        long lastSeq = firstSeq(last) - 1;
+        int offset = 0;
+        for (; offset + PointWalRecord.SIZE <= segment.capacity(); offset += PointWalRecord.SIZE) {
+            PointWalRecord record = PointWalRecord.readFrom(segment, offset);
+            if (record == null) {
+                break;
+            }
+            lastSeq = record.seq();
+        }
+        segment.position(offset);
+        nextSeq = lastSeq + 1;
+        writtenSeq = lastSeq;
+        syncedSeq.set(lastSeq);
+    }
+
+    // appendLock 안에서 부릅니다. 기다리던 요청은 락을 푼 뒤 append 가 완료시킵니다.
+    private void rotate() throws IOException {
+        segment.force();
+        markSynced(writtenSeq);
+        channel.close();
+        openSegment(nextSeq);
+    }
+
+    private void openSegment(long firstSeq) throws IOException {
+        Path path = directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, firstSeq, SEGMENT_SUFFIX));
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+                    })
+                    .sorted() // 파일 이름의 seq 는 자릿수를 맞춰 두었으므로 이름순 = seq 순
+                    .toList();
+        }
+    }
+
+    private static long firstSeq(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private void syncQuietly() {
+        try {
+            sync();
+        } catch (RuntimeException e) {
+            log.warn("WAL fsync 에 실패했습니다. 기다리던 요청은 실패로 응답하고 다음 주기에 다시 시도합니다.", e);
+            pendingSyncs.removeIf(pending -> pending.synced().completeExceptionally(e));
+        }
+    }
+
+    private void markSynced(long seq) {
+        syncedSeq.accumulateAndGet(seq, Math::max);
+    }
+
+    private void completeSynced() {
+        long synced = syncedSeq.get();
+        pendingSyncs.removeIf(pending -> pending.seq() <= synced && pending.synced().complete(null));
+    }
+
+    private record PendingSync(long seq, CompletableFuture<Void> synced) {
+    }
+}
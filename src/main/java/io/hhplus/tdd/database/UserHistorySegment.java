@@ -0,0 +1,92 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * 사용자 한 명의 포인트 내역을 원시 타입 배열로 보관하는 append-only 세그먼트.
+ * 추가는 한 번에 한 스레드만 하고, 조회는 락 없이 size 까지만 읽습니다.
+ * (배열 교체와 원소 기록이 volatile size 기록보다 먼저 일어나므로 size 까지의 원소는 항상 보입니다.)
+ */
+class UserHistorySegment {
+
+    private static final int INITIAL_CAPACITY = 8;
+    private static final TransactionType[] TYPES = TransactionType.values();
+
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private long[] amounts = new long[INITIAL_CAPACITY];
+    private long[] updateMillis = new long[INITIAL_CAPACITY];
+    private byte[] types = new byte[INITIAL_CAPACITY];
+    private volatile int size;
+
+    synchronized void append(PointHistory history) {
+        int index = size;
+        if (index == ids.length) {
+            int capacity = index * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            amounts = Arrays.copyOf(amounts, capacity);
+            updateMillis = Arrays.copyOf(updateMillis, capacity);
+            types = Arrays.copyOf(types, capacity);
+        }
+        ids[index] = history.id();
+        amounts[index] = history.amount();
+        updateMillis[index] = history.updateMillis();
+        types[index] = (byte) history.type().ordinal();
+        size = index + 1;
+    }
+
+    int size() {
+        return size;
+    }
+
+    List<PointHistory> toList(long userId) {
+        int count = size;
+        List<PointHistory> histories = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            histories.add(get(userId, i));
+        }
+        return histories;
+    }
+
+    /**
+     * id 는 추가 순서대로 증가하므로 커서 위치는 이진 탐색으로 찾습니다.
+     */
+    void forEach(long userId, PointHistoryQuery query, Consumer<PointHistory> consumer) {
+        int count = size;
+        int remaining = query.limit();
+        for (int i = query.after() == null ? 0 : firstIndexAfter(query.after(), count); i < count && remaining > 0; i++) {
+            if (query.type() != null && types[i] != query.type().ordinal()) {
+                continue;
+            }
+            if ((query.fromMillis() != null && updateMillis[i] < query.fromMillis())
+                    || (query.toMillis() != null && updateMillis[i] >= query.toMillis())) {
+                continue;
+            }
+            consumer.accept(get(userId, i));
+            remaining--;
+        }
+    }
+
+    private int firstIndexAfter(long id, int count) {
+        int low = 0;
+        int high = count;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (ids[mid] <= id) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    PointHistory get(long userId, int index) {
+        return new PointHistory(ids[index], userId, amounts[index], TYPES[types[index]], updateMillis[index]);
+    }
+}
@@ -0,0 +1,86 @@
+package io.hhplus.tdd.database;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.hhplus.tdd.point.UserPoint;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * 잔고 저장소(UserPointRepository) 앞단의 read-through / write-through 잔고 캐시.
+ * 조회는 캐시에 없을 때만 저장소를 읽고, 저장은 저장소에 쓴 결과를 그대로 캐시에 넣습니다.
+ * 크기는 maximumSize 로 제한되며 W-TinyLFU(Caffeine) 로 자주 조회되는 사용자를 남깁니다.
+ * 캐시에는 잔고의 future 를 넣고 저장소는 그 밖에서 읽으므로, 느린 조회가 Caffeine 의 compute(해시 bin 락) 안에서 실행되지 않습니다.
+ * 서비스를 거치지 않고 저장소를 직접 바꾼 경우에는 invalidate 를 호출해야 합니다.
+ */
+@Component
+public class UserPointCache {
+
+    private final UserPointRepository userPointRepository;
+    private final AsyncCache<Long, UserPoint> cache;
+
+    public UserPointCache(UserPointRepository userPointRepository, UserPointCacheProperties properties) {
+        this.userPointRepository = userPointRepository;
+        this.cache = properties.isEnabled()
+                ? Caffeine.newBuilder().maximumSize(properties.maximumSize()).recordStats().buildAsync()
+                : null;
+    }
+
+    public boolean isEnabled() {
+        return cache != null;
+    }
+
+    /**
+     * 잔고를 조회합니다. 같은 사용자를 동시에 처음 조회하면 저장소는 한 번만 읽습니다.
+     * 캐시에는 비어 있는 future 만 넣고, 저장소는 처음 조회한 스레드가 compute 밖에서 읽습니다.
+     * (가상 스레드가 캐리어를 붙잡거나, 같은 bin 의 다른 사용자 조회가 기다리지 않도록) 읽기에 실패하면 Caffeine 이 항목을 지웁니다.
+     */
+    public UserPoint get(long id) {
+        if (cache == null) {
+            return userPointRepository.selectById(id);
+        }
+        CompletableFuture<UserPoint> created = new CompletableFuture<>();
+        CompletableFuture<UserPoint> cached = cache.get(id, (key, executor) -> created);
+        if (cached == created) {
+            try {
+                created.complete(userPointRepository.selectById(id));
+            } catch (RuntimeException e) {
+                created.completeExceptionally(e);
+            }
+        }
+        try {
+            return cached.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    /**
+     * 저장소에 저장한 뒤 캐시도 같은 값으로 바꿉니다.
+     * 같은 사용자에 대한 호출은 호출하는 쪽(사용자별 락)에서 직렬화되어 있어야 합니다.
+     */
+    public UserPoint insertOrUpdate(long id, long amount) {
+        UserPoint saved = userPointRepository.insertOrUpdate(id, amount);
+        if (cache != null) {
+            cache.put(id, CompletableFuture.completedFuture(saved)); // 진행 중인 조회가 있어도 이 값으로 바꿉니다.
+        }
+        return saved;
+    }
+
+    public void invalidate(long id) {
+        if (cache != null) {
+            cache.synchronous().invalidate(id);
+        }
+    }
+
+    public UserPointCacheStats stats() {
+        if (cache == null) {
+            return new UserPointCacheStats(0, 0, 0, 0);
+        }
+        CacheStats stats = cache.synchronous().stats();
+        return new UserPointCacheStats(stats.hitCount(), stats.missCount(), stats.evictionCount(), cache.synchronous().estimatedSize());
+    }
+}
@@ -0,0 +1,23 @@
+package io.hhplus.tdd.database;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * 잔고 조회 캐시 설정 (point.user-point.cache.*)
+ *
+ * @param maximumSize 캐시에 보관할 최대 사용자 수. 0 이면 캐시를 쓰지 않고 매번 테이블에서 읽습니다.
+ */
+@ConfigurationProperties(prefix = "point.user-point.cache")
+public record UserPointCacheProperties(
+        @DefaultValue("0") long maximumSize
+) {
+
+    public static UserPointCacheProperties disabled() {
+        return new UserPointCacheProperties(0);
+    }
+
+    public boolean isEnabled() {
+        return maximumSize > 0;
+    }
+}
@@ -0,0 +1,12 @@
+package io.hhplus.tdd.database;
+
+/**
+ * 잔고 조회 캐시 통계
+ *
+ * @param hits      캐시에서 바로 응답한 조회 수
+ * @param misses    테이블에서 읽어 온 조회 수
+ * @param evictions 용량 초과로 밀려난 사용자 수
+ * @param size      현재 캐시에 있는 사용자 수 (근사값)
+ */
+public record UserPointCacheStats(long hits, long misses, long evictions, long size) {
+}
@@ -0,0 +1,17 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.UserPoint;
+
+/**
+ * 잔고 저장소.
+ * UserPointTable 은 변경할 수 없으므로, 다른 저장 방식은 이 인터페이스의 구현체로 추가합니다.
+ */
+public interface UserPointRepository {
+
+    /**
+     * @return 저장된 잔고가 없으면 잔고 0
+     */
+    UserPoint selectById(long id);
+
+    UserPoint insertOrUpdate(long id, long amount);
+}
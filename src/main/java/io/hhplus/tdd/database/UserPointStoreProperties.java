@@ -0,0 +1,21 @@
+package io.hhplus.tdd.database;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * 잔고 저장소 설정 (point.user-point.store.*).
+ * 저장소 종류는 point.user-point.store.engine 으로 고릅니다
+ * (table: UserPointTable, open-addressing: OpenAddressingUserPointRepository).
+ *
+ * @param offHeap         open-addressing 저장소의 슬롯을 힙 밖(direct buffer)에 둘지 여부
+ * @param initialCapacity 처음에 공간을 잡아 둘 사용자 수
+ * @param segments        락을 나눠 잡는 세그먼트 수 (2의 거듭제곱으로 내림)
+ */
+@ConfigurationProperties(prefix = "point.user-point.store")
+public record UserPointStoreProperties(
+        @DefaultValue("false") boolean offHeap,
+        @DefaultValue("65536") int initialCapacity,
+        @DefaultValue("64") int segments
+) {
+}
@@ -0,0 +1,366 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.UserPoint;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 잔고 저장소(UserPointRepository) 앞단의 write-behind 버퍼.
+ * 잔고는 메모리에 즉시 반영되고(이 버퍼가 기준 값), 변경된 사용자의 최신 잔고만 flushInterval 마다 저장소에 저장합니다.
+ * 같은 사용자가 flush 사이에 여러 번 변경되어도 insertOrUpdate 는 한 번만 호출됩니다.
+ * 한 번의 flush 는 사용자별 insertOrUpdate 를 flushThreads 개 스레드에 나눠 실행하므로, 테이블 반영 지연은
+ * flushInterval + ⌈변경된 사용자 수 / flushThreads⌉ × insertOrUpdate 시간까지입니다. flush 가 flushInterval 보다 오래 걸리면 경고 로그를 남깁니다.
+ * <p>
+ * 마지막 변경까지 저장되었고 maxIdle 동안 조회/변경이 없던 사용자의 메모리 잔고는 flush 뒤에(maxIdle 에 한 번) 내려서,
+ * 한 번이라도 다녀간 사용자가 모두 메모리에 남지 않게 합니다. 내릴 잔고는 compare-and-set 으로 표시하므로
+ * 그 사이 바뀐 잔고는 내리지 않고, 표시된 잔고를 바꾸려던 요청은 저장소에서 다시 읽은 잔고로 다시 시도합니다.
+ */
+@Component
+public class UserPointWriteBehindBuffer {
+
+    private static final Logger log = LoggerFactory.getLogger(UserPointWriteBehindBuffer.class);
+    private static final long EVICTED = -1L; // BalanceCell.compareAndSet 이 내린 잔고에서 돌려주는 값
+
+    private final UserPointRepository userPointRepository;
+    private final UserPointWriteProperties properties;
+
+    private final ConcurrentHashMap<Long, BalanceCell> balances = new ConcurrentHashMap<>();
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService flusher;
+    private final ExecutorService flushExecutor; // 사용자별 insertOrUpdate 를 나눠 실행
+    private final ReentrantLock flushLock = new ReentrantLock(); // 저장소 I/O 를 기다리므로 synchronized 대신 사용
+    private final long maxIdleNanos;
+    private long nextEvictionNanos; // flushLock 안에서만 사용
+
+    public UserPointWriteBehindBuffer(UserPointRepository userPointRepository, UserPointWriteProperties properties) {
+        this.userPointRepository = userPointRepository;
+        this.properties = properties;
+        this.maxIdleNanos = properties.maxIdle().toNanos();
+        this.nextEvictionNanos = System.nanoTime() + maxIdleNanos;
+        if (properties.isWriteBehind()) {
+            long intervalMillis = properties.flushInterval().toMillis();
+            this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "point-write-behind");
+                thread.setDaemon(true);
+                return thread;
+            });
+            AtomicInteger threadCount = new AtomicInteger();
+            this.flushExecutor = Executors.newFixedThreadPool(Math.max(1, properties.flushThreads()), runnable -> {
+                Thread thread = new Thread(runnable, "point-write-behind-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.flusher.scheduleWithFixedDelay(this::flushQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        } else {
+            this.flusher = null;
+            this.flushExecutor = null;
+        }
+    }
+
+    public boolean isEnabled() {
+        return properties.isWriteBehind();
+    }
+
+    /**
+     * 메모리 잔고를 조회합니다. 처음 조회하는 사용자는 저장소에서 한 번 읽어 옵니다.
+     */
+    public UserPoint get(long id) {
+        return cell(id).toUserPoint(id);
+    }
+
+    /**
+     * 잔고를 메모리에 반영하고 다음 flush 대상으로 표시합니다.
+     * 같은 사용자에 대한 호출은 호출하는 쪽(사용자별 락)에서 직렬화되어 있어야 합니다.
+     */
+    public UserPoint update(long id, long point) {
+        BalanceCell cell;
+        do {
+            cell = cell(id);
+        } while (!cell.set(point, System.currentTimeMillis())); // 내린 잔고면 다시 읽어 옴
+        dirty.add(id);
+        return cell.toUserPoint(id);
+    }
+
+    /**
+     * 메모리 잔고 값만 조회합니다.
+     */
+    public long current(long id) {
+        return cell(id).point();
+    }
+
+    /**
+     * 메모리 잔고가 expected 일 때만 point 로 바꿉니다. 락 없이 잔고를 바꾸는 쪽에서 사용합니다.
+     *
+     * @return 다른 스레드가 먼저 바꿔서 실패하면 false
+     */
+    public boolean compareAndSet(long id, long expected, long point) {
+        long version;
+        do {
+            version = cell(id).compareAndSet(expected, point, System.currentTimeMillis());
+        } while (version == EVICTED); // 내린 잔고면 다시 읽어 옴
+        if (version == 0) {
+            return false;
+        }
+        dirty.add(id);
+        return true;
+    }
+
+    /**
+     * 아직 저장소에 반영되지 않은 사용자 수
+     */
+    public int pendingCount() {
+        return dirty.size();
+    }
+
+    /**
+     * 변경된 사용자의 최신 잔고를 저장소에 저장합니다. 사용자별 저장은 flushThreads 개 스레드에서 나눠 실행하고 모두 끝날 때까지 기다립니다.
+     * 저장하지 못한 사용자는 다음 flush 에서 다시 저장하고, 나머지 사용자를 모두 저장한 뒤 처음 실패를 던집니다.
+     *
+     * @return 저장한 사용자 수
+     */
+    public int flush() {
+        flushLock.lock();
+        try {
+            long started = System.nanoTime();
+            List<Long> ids = List.copyOf(dirty);
+            if (ids.isEmpty()) {
+                evictIdle();
+                return 0;
+            }
+            Executor executor = flushExecutor != null ? flushExecutor : Runnable::run;
+            List<CompletableFuture<Boolean>> writes = new ArrayList<>(ids.size());
+            for (Long id : ids) {
+                writes.add(CompletableFuture.supplyAsync(() -> write(id), executor));
+            }
+            int flushed = 0;
+            RuntimeException failure = null;
+            for (CompletableFuture<Boolean> write : writes) {
+                try {
+                    flushed += write.join() ? 1 : 0;
+                } catch (CompletionException e) {
+                    if (failure == null) {
+                        failure = e.getCause() instanceof RuntimeException cause ? cause : e;
+                    }
+                }
+            }
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+            if (elapsedMillis > properties.flushInterval().toMillis()) {
+                log.warn("write-behind flush 가 {}ms 걸렸습니다. ({}명) 테이블 반영이 flush-interval 보다 늦습니다.", elapsedMillis, ids.size());
+            }
+            if (failure != null) {
+                throw failure;
+            }
+            evictIdle();
+            return flushed;
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    // 사용자 한 명의 최신 잔고를 저장합니다. 이미 저장되어 변경 표시가 없거나 저장된 뒤 내린 잔고면 false
+    private boolean write(long id) {
+        if (!dirty.remove(id)) {
+            return false;
+        }
+        BalanceCell cell = balances.get(id);
+        if (cell == null) {
+            return false;
+        }
+        try {
+            long version = cell.version();
+            userPointRepository.insertOrUpdate(id, cell.point());
+            cell.saved(version);
+            return true;
+        } catch (RuntimeException e) {
+            dirty.add(id); // 다음 flush 에서 다시 시도
+            throw e;
+        }
+    }
+
+    /**
+     * 메모리 잔고를 버리고 다음 조회 때 저장소에서 다시 읽도록 합니다. 아직 저장되지 않은 잔고는 먼저 저장합니다.
+     */
+    public void invalidate(long id) {
+        flushLock.lock();
+        try {
+            BalanceCell cell = balances.get(id);
+            if (cell == null) {
+                return;
+            }
+            cell.evict(); // 저장하는 동안 바뀌지 않도록 먼저 표시
+            dirty.remove(id);
+            if (!cell.isSaved()) {
+                userPointRepository.insertOrUpdate(id, cell.point());
+            }
+            balances.remove(id, cell);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * 메모리에 올라와 있는 사용자 수
+     */
+    public int residentCount() {
+        return balances.size();
+    }
+
+    // maxIdle 에 한 번, 마지막 변경까지 저장되었고 maxIdle 동안 조회/변경이 없던 잔고를 내립니다. flushLock 안에서 부릅니다.
+    private void evictIdle() {
+        long now = System.nanoTime();
+        if (maxIdleNanos <= 0 || now - nextEvictionNanos < 0) {
+            return;
+        }
+        nextEvictionNanos = now + maxIdleNanos;
+        balances.forEach((id, cell) -> {
+            if (now - cell.lastAccessNanos() >= maxIdleNanos && cell.evictIfSaved()) {
+                balances.remove(id, cell);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (flusher != null) {
+            flusher.shutdown();
+            try {
+                flusher.awaitTermination(properties.flushInterval().toMillis() * 2, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        int flushed = flush();
+        if (flushExecutor != null) {
+            flushExecutor.shutdown();
+        }
+        log.info("write-behind 버퍼 종료 - {}명의 잔고를 저장했습니다.", flushed);
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.warn("write-behind flush 에 실패했습니다. 다음 주기에 다시 시도합니다.", e);
+        }
+    }
+
+    BalanceCell cell(long id) {
+        BalanceCell cell = balances.get(id);
+        if (cell != null) {
+            cell.touch();
+            return cell;
+        }
+        UserPoint loaded = userPointRepository.selectById(id); // 저장소 조회는 락 밖에서
+        BalanceCell loadedCell = new BalanceCell(loaded.point(), loaded.updateMillis());
+        BalanceCell existing = balances.putIfAbsent(id, loadedCell);
+        return existing != null ? existing : loadedCell;
+    }
+
+    /**
+     * 사용자 한 명의 메모리 잔고. 잔고, 저장 시각, 변경 순번, 내림 표시를 한 객체로 바꿔 넷이 항상 함께 보이게 합니다.
+     * 내림 표시가 된 잔고는 더 바꾸지 않으므로, 바꾸려던 쪽은 지도에서 새로 읽어 온 잔고로 다시 시도합니다.
+     */
+    static final class BalanceCell {
+        private final AtomicReference<Balance> balance;
+        private final AtomicLong savedVersion = new AtomicLong(); // 저장소에 저장한 마지막 변경 순번
+        private volatile long lastAccessNanos = System.nanoTime();
+
+        BalanceCell(long point, long updateMillis) {
+            this.balance = new AtomicReference<>(new Balance(point, updateMillis, 0L, false));
+        }
+
+        long point() {
+            return balance.get().point();
+        }
+
+        long version() {
+            return balance.get().version();
+        }
+
+        long lastAccessNanos() {
+            return lastAccessNanos;
+        }
+
+        void touch() {
+            lastAccessNanos = System.nanoTime();
+        }
+
+        boolean isSaved() {
+            return version() == savedVersion.get();
+        }
+
+        void saved(long version) {
+            savedVersion.accumulateAndGet(version, Math::max);
+        }
+
+        // 내린 잔고면 false
+        boolean set(long point, long updateMillis) {
+            while (true) {
+                Balance current = balance.get();
+                if (current.evicted()) {
+                    return false;
+                }
+                Balance updated = new Balance(point, updateMillis, current.version() + 1, false);
+                if (balance.compareAndSet(current, updated)) {
+                    return true;
+                }
+            }
+        }
+
+        // 잔고가 expected 가 아니면 0, 내린 잔고면 EVICTED, 바꾸면 새 순번
+        long compareAndSet(long expected, long point, long updateMillis) {
+            while (true) {
+                Balance current = balance.get();
+                if (current.evicted()) {
+                    return EVICTED;
+                }
+                if (current.point() != expected) {
+                    return 0L;
+                }
+                Balance updated = new Balance(point, updateMillis, current.version() + 1, false);
+                if (balance.compareAndSet(current, updated)) {
+                    return updated.version();
+                }
+            }
+        }
+
+        void evict() {
+            balance.updateAndGet(current -> current.evicted() ? current : new Balance(current.point(), current.updateMillis(), current.version(), true));
+        }
+
+        // 마지막 변경까지 저장되었으면 내림 표시를 합니다. 그 사이 바뀌면 표시하지 않습니다.
+        boolean evictIfSaved() {
+            Balance current = balance.get();
+            if (current.evicted() || current.version() != savedVersion.get()) {
+                return false;
+            }
+            return balance.compareAndSet(current, new Balance(current.point(), current.updateMillis(), current.version(), true));
+        }
+
+        UserPoint toUserPoint(long id) {
+            Balance current = balance.get();
+            return new UserPoint(id, current.point(), current.updateMillis());
+        }
+    }
+
+    private record Balance(long point, long updateMillis, long version, boolean evicted) {
+    }
+}
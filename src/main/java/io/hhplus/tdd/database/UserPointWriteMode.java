@@ -0,0 +1,10 @@
+package io.hhplus.tdd.database;
+
+/**
+ * 포인트 잔고 저장 방식
+ * - SYNC : 충전/사용마다 UserPointTable 에 즉시 저장
+ * - WRITE_BEHIND : 메모리 잔고에 즉시 반영하고, 사용자별 최신 잔고만 주기적으로 모아서 저장
+ */
+public enum UserPointWriteMode {
+    SYNC, WRITE_BEHIND
+}
@@ -0,0 +1,37 @@
+package io.hhplus.tdd.database;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * 포인트 잔고 저장 설정 (point.user-point.*)
+ *
+ * @param writeMode     저장 방식
+ * @param flushInterval WRITE_BEHIND 모드에서 flush 를 시작하는 주기. 테이블 반영 지연은 이 값에 flush 한 번이 걸리는 시간
+ *                      (변경된 사용자 수 / flushThreads × insertOrUpdate 한 번의 시간)이 더해집니다.
+ * @param flushThreads  flush 할 때 사용자별 insertOrUpdate 를 나눠 실행하는 스레드 수
+ * @param maxIdle       저장이 끝났고 이 시간 동안 조회/변경이 없던 사용자의 메모리 잔고는 flush 뒤에 내립니다. (0 이면 내리지 않음)
+ *                      내린 사용자는 다음 조회 때 저장소에서 다시 읽습니다.
+ */
+@ConfigurationProperties(prefix = "point.user-point")
+public record UserPointWriteProperties(
+        @DefaultValue("SYNC") UserPointWriteMode writeMode,
+        @DefaultValue("100ms") Duration flushInterval,
+        @DefaultValue("16") int flushThreads,
+        @DefaultValue("10m") Duration maxIdle
+) {
+
+    public static UserPointWriteProperties sync() {
+        return new UserPointWriteProperties(UserPointWriteMode.SYNC, Duration.ofMillis(100), 16, Duration.ZERO);
+    }
+
+    public static UserPointWriteProperties writeBehind(Duration flushInterval) {
+        return new UserPointWriteProperties(UserPointWriteMode.WRITE_BEHIND, flushInterval, 16, Duration.ofMinutes(10));
+    }
+
+    public boolean isWriteBehind() {
+        return writeMode == UserPointWriteMode.WRITE_BEHIND;
+    }
+}
@@ -0,0 +1,17 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * async 전략 설정 (point.async.*)
+ *
+ * @param threads     조회/내역 저장/잔고 저장 단계를 실행하는 전용 스레드 수
+ * @param maxInFlight 동시에 받아 둘 수 있는 충전/사용 요청 수. 넘으면 429 로 거절합니다.
+ */
+@ConfigurationProperties(prefix = "point.async")
+public record AsyncExecutorProperties(
+        @DefaultValue("64") int threads,
+        @DefaultValue("4096") int maxInFlight
+) {
+}
@@ -0,0 +1,21 @@
+package io.hhplus.tdd.point;
+
+/**
+ * async 전략 실행기 상태
+ *
+ * @param threads    전용 스레드 수
+ * @param active     단계를 실행 중인 스레드 수
+ * @param queueDepth 실행기 대기열에 있는 단계 수
+ * @param inFlight   받아서 아직 응답하지 않은 요청 수 (사용자 차례를 기다리는 요청 포함)
+ * @param completed  실행한 단계 수
+ * @param rejected   maxInFlight 를 넘어 거절한 요청 수
+ */
+public record AsyncExecutorStats(
+        int threads,
+        int active,
+        int queueDepth,
+        int inFlight,
+        long completed,
+        long rejected
+) {
+}
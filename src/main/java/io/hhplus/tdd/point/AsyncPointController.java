@@ -0,0 +1,47 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 충전/사용의 비동기(Spring MVC async) 버전.
+ * 요청 스레드는 future 를 반환하고 바로 풀려나며, 응답은 future 가 완료될 때 나갑니다.
+ * 비동기 구현체(sharded, async 전략)가 없으면 동기 PointService 를 그대로 호출합니다.
+ */
+@RestController
+@RequestMapping("/point/async")
+public class AsyncPointController {
+
+    private final AsyncPointService asyncPointService;
+    private final PointIdempotencyStore idempotencyStore;
+    private final PointRateLimiter rateLimiter;
+
+    public AsyncPointController(ObjectProvider<AsyncPointService> asyncPointService, PointService pointService,
+                                PointIdempotencyStore idempotencyStore, PointRateLimiter rateLimiter) {
+        this.asyncPointService = asyncPointService.getIfAvailable(() -> AsyncPointService.blocking(pointService));
+        this.idempotencyStore = idempotencyStore;
+        this.rateLimiter = rateLimiter;
+    }
+
+    @PatchMapping("{id}/charge")
+    public CompletableFuture<UserPoint> charge(
+            @PathVariable long id,
+            @RequestBody long amount,
+            @RequestHeader(value = PointController.IDEMPOTENCY_KEY, required = false) String idempotencyKey
+    ) {
+        return idempotencyStore.executeAsync(idempotencyKey, id, TransactionType.CHARGE, amount,
+                () -> rateLimiter.executeAsync(id, TransactionType.CHARGE, () -> asyncPointService.chargeAsync(id, amount)));
+    }
+
+    @PatchMapping("{id}/use")
+    public CompletableFuture<UserPoint> use(
+            @PathVariable long id,
+            @RequestBody long amount,
+            @RequestHeader(value = PointController.IDEMPOTENCY_KEY, required = false) String idempotencyKey
+    ) {
+        return idempotencyStore.executeAsync(idempotencyKey, id, TransactionType.USE, amount,
+                () -> rateLimiter.executeAsync(id, TransactionType.USE, () -> asyncPointService.useAsync(id, amount)));
+    }
+}
@@ -0,0 +1,39 @@
+package io.hhplus.tdd.point;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 충전/사용 결과를 future 로 돌려주는 PointService.
+ * 요청 스레드는 명령을 넘기고 바로 반환되며, 결과는 future 가 완료될 때 응답됩니다.
+ */
+public interface AsyncPointService {
+
+    CompletableFuture<UserPoint> chargeAsync(long id, long amount);
+
+    CompletableFuture<UserPoint> useAsync(long id, long amount);
+
+    /**
+     * 동기 PointService 를 호출 스레드에서 실행하고 결과를 완료된 future 로 감쌉니다.
+     */
+    static AsyncPointService blocking(PointService pointService) {
+        return new AsyncPointService() {
+            @Override
+            public CompletableFuture<UserPoint> chargeAsync(long id, long amount) {
+                try {
+                    return CompletableFuture.completedFuture(pointService.charge(id, amount));
+                } catch (RuntimeException e) {
+                    return CompletableFuture.failedFuture(e);
+                }
+            }
+
+            @Override
+            public CompletableFuture<UserPoint> useAsync(long id, long amount) {
+                try {
+                    return CompletableFuture.completedFuture(pointService.use(id, amount));
+                } catch (RuntimeException e) {
+                    return CompletableFuture.failedFuture(e);
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,213 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.PointHistoryRepository;
+import io.hhplus.tdd.database.PointHistoryWriter;
+import io.hhplus.tdd.database.UserPointCache;
+import io.hhplus.tdd.database.UserPointWriteBehindBuffer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 충전/사용을 잔고 조회 → 검증/내역 저장 → 잔고 저장 단계로 나누어 전용 실행기에서 이어 붙이는 PointService.
+ * 요청 스레드와 실행기 스레드 모두 한 단계가 끝날 때까지만 붙잡히고, 단계 사이에는 아무 스레드도 기다리지 않습니다.
+ * <p>
+ * 한 사용자의 요청은 앞 요청의 잔고 저장이 끝난 뒤에 조회 단계를 시작하므로(사용자별 차례) 락이 필요 없습니다.
+ * 실행기는 스레드 수와 대기열 크기가 정해져 있고, 받아 둔 요청이 maxInFlight 를 넘으면 429(POINT_ASYNC_QUEUE_FULL)로 거절합니다.
+ * 받아 둔 요청은 한 번에 한 단계만 대기열에 있으므로 대기열 크기를 maxInFlight 로 두면 중간 단계가 거절되는 일은 없습니다.
+ * 조회 기능은 PointServiceImpl 과 같습니다.
+ */
+@Service
+@ConditionalOnProperty(name = "point.service.strategy", havingValue = "async")
+public class ExecutorPointService extends PointServiceImpl implements AsyncPointService {
+
+    private final PointHistoryWriter pointHistoryWriter;
+    private final PointMetrics pointMetrics;
+    private final ThreadPoolExecutor executor;
+    private final Semaphore permits;
+    private final int maxInFlight;
+    private final UserTurns turns = new UserTurns();
+    private final LongAdder rejected = new LongAdder();
+
+    public ExecutorPointService(PointHistoryRepository pointHistoryRepository, UserPointCache userPointCache,
+                                UserPointWriteBehindBuffer writeBehindBuffer, PointHistoryWriter pointHistoryWriter,
+                                PointLedger pointLedger, PointMetrics pointMetrics, PointCommitListener commitListener,
+                                AsyncExecutorProperties properties, PointBatchProperties batchProperties) {
+        super(pointHistoryRepository, userPointCache, writeBehindBuffer, pointHistoryWriter, pointLedger, new NoOpUserLockRegistry(), pointMetrics,
+                HotUserDetector.disabled(), commitListener, batchProperties);
+        this.pointHistoryWriter = pointHistoryWriter;
+        this.pointMetrics = pointMetrics;
+        this.maxInFlight = properties.maxInFlight();
+        this.permits = new Semaphore(properties.maxInFlight());
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(properties.threads(), properties.threads(), 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.maxInFlight()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "point-async-" + threadIndex.getAndIncrement());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @Override
+    public CompletableFuture<UserPoint> chargeAsync(long id, long amount) {
+        return execute(new PointBatchOperation(id, TransactionType.CHARGE, amount));
+    }
+
+    @Override
+    public CompletableFuture<UserPoint> useAsync(long id, long amount) {
+        return execute(new PointBatchOperation(id, TransactionType.USE, amount));
+    }
+
+    @Override
+    public UserPoint charge(long id, long amount) {
+        return await(chargeAsync(id, amount));
+    }
+
+    @Override
+    public UserPoint use(long id, long amount) {
+        return await(useAsync(id, amount));
+    }
+
+    // 사용자 묶음도 그 사용자의 차례에 실행해 단건 요청과 순서가 섞이지 않게 합니다. 묶음은 maxInFlight 에 세지 않으므로 넘겨받은 실행기에서 돌립니다.
+    @Override
+    CompletableFuture<List<PointBatchResult>> submitUserBatch(long id, List<PointBatchOperation> operations, Executor executor) {
+        return inTurn(id, () -> CompletableFuture.supplyAsync(() -> applyUserBatch(id, operations), executor));
+    }
+
+    // 사용자별 차례를 두 사용자에 걸쳐 잡는 방법이 없으므로 이체는 지원하지 않습니다.
+    @Override
+    public PointTransferResult transfer(long fromUserId, long toUserId, long amount) {
+        throw transferNotSupported("async");
+    }
+
+    public AsyncExecutorStats stats() {
+        return new AsyncExecutorStats(executor.getCorePoolSize(), executor.getActiveCount(), executor.getQueue().size(),
+                maxInFlight - permits.availablePermits(), executor.getCompletedTaskCount(), rejected.sum());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            executor.awaitTermination(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private CompletableFuture<UserPoint> execute(PointBatchOperation operation) {
+        long started = System.nanoTime();
+        if (!permits.tryAcquire()) {
+            rejected.increment();
+            pointMetrics.recordError(operation.type(), "POINT_ASYNC_QUEUE_FULL");
+            return CompletableFuture.failedFuture(
+                    new PointRejectedException("요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해 주십시오.", "POINT_ASYNC_QUEUE_FULL"));
+        }
+        return inTurn(operation.userId(), () -> commit(operation, started))
+                .thenCompose(this::acknowledge)
+                .whenComplete((userPoint, e) -> {
+                    permits.release();
+                    if (e != null) {
+                        pointMetrics.recordError(operation.type(), errorCode(unwrap(e)));
+                    }
+                    pointMetrics.record(operation.type(), PointMetrics.Phase.TOTAL, System.nanoTime() - started);
+                });
+    }
+
+    /**
+     * 잔고 조회, 검증과 내역 저장, 잔고 저장을 각각 실행기의 한 단계로 이어 붙입니다.
+     * 잔고 저장까지 끝나면 반환한 future 가 완료되고, 그때 같은 사용자의 다음 요청이 시작됩니다.
+     */
+    private CompletableFuture<Committed> commit(PointBatchOperation operation, long started) {
+        long id = operation.userId();
+        TransactionType type = operation.type();
+        return CompletableFuture.supplyAsync(() -> {
+                    pointMetrics.recordLockWait(type, System.nanoTime() - started); // 사용자 차례와 실행기 대기열에서 기다린 시간
+                    long selectStarted = System.nanoTime();
+                    UserPoint userPoint = selectUserPoint(id);
+                    pointMetrics.record(type, PointMetrics.Phase.SELECT, System.nanoTime() - selectStarted);
+                    return userPoint;
+                }, executor)
+                .thenApplyAsync(userPoint -> {
+                    long newAmount = applyOperation(userPoint.point(), operation); // 검증 규칙과 오류 코드는 charge/use 와 같습니다.
+                    long insertStarted = System.nanoTime();
+                    CompletableFuture<PointHistory> history;
+                    try {
+                        history = insertHistory(id, operation.amount(), type);
+                    } catch (Exception e) {
+                        throw new PointException(historyFailureMessage(type), "HISTORY_TABLE_INSERT_FAILED");
+                    }
+                    pointMetrics.record(type, PointMetrics.Phase.HISTORY_INSERT, System.nanoTime() - insertStarted);
+                    return new Inserted(newAmount, history);
+                }, executor)
+                .thenCompose(inserted -> afterHistory(inserted, type)) // 내역이 저장되지 않으면 잔고를 바꾸지 않습니다.
+                .thenApplyAsync(inserted -> {
+                    long saveStarted = System.nanoTime();
+                    UserPoint saved = save(id, inserted.point());
+                    pointMetrics.record(type, PointMetrics.Phase.SAVE, System.nanoTime() - saveStarted);
+                    return new Committed(saved, logCommit(id, operation.amount(), type, saved));
+                }, executor);
+    }
+
+    // ACK_ON_INSERT 모드에서는 내역 저장이 끝난 뒤에 잔고 저장 단계로 넘어갑니다. 기다리는 동안 스레드를 붙잡지 않습니다.
+    private CompletableFuture<Inserted> afterHistory(Inserted inserted, TransactionType type) {
+        if (!pointHistoryWriter.isEnabled() || !pointHistoryWriter.isAckOnInsert()) {
+            return CompletableFuture.completedFuture(inserted);
+        }
+        return inserted.history().handle((ignored, e) -> {
+            if (e != null) {
+                throw new PointException(historyFailureMessage(type), "HISTORY_TABLE_INSERT_FAILED");
+            }
+            return inserted;
+        });
+    }
+
+    // WAL 기록이 끝나면 응답합니다. 기다리는 동안 스레드를 붙잡지 않습니다.
+    private CompletableFuture<UserPoint> acknowledge(Committed committed) {
+        return committed.durable().handle((ignored, e) -> {
+            if (e != null) {
+                throw walWriteFailed();
+            }
+            return committed.userPoint();
+        });
+    }
+
+    /**
+     * 사용자별 차례. 앞 작업의 future 가 (성공이든 실패든) 끝나야 task 를 시작합니다.
+     * 차례를 기다리는 동안에는 future 에 이어 붙여만 두므로 스레드를 쓰지 않습니다.
+     */
+    private <T> CompletableFuture<T> inTurn(long id, Supplier<CompletableFuture<T>> task) {
+        return turns.run(id, task);
+    }
+
+    private static String historyFailureMessage(TransactionType type) {
+        return type == TransactionType.CHARGE ? "포인트 충전 내역을 저장 하지 못했습니다." : "포인트 사용 내역을 저장 하지 못했습니다.";
+    }
+
+    private static RuntimeException unwrap(Throwable e) {
+        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        return cause instanceof RuntimeException runtimeException ? runtimeException : new CompletionException(cause);
+    }
+
+    private static UserPoint await(CompletableFuture<UserPoint> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    private record Inserted(long point, CompletableFuture<PointHistory> history) {
+    }
+
+    private record Committed(UserPoint userPoint, CompletableFuture<Void> durable) {
+    }
+}
@@ -0,0 +1,190 @@
+package io.hhplus.tdd.point;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * 사용자별 락 대기 수와 대기 시간을 최근 window 동안 집계해 경합이 심한(핫) 사용자를 찾습니다.
+ * 집계는 window / 2 길이의 칸 두 개(현재, 직전)로 나눠 두고, 칸을 바꾸기 직전에 두 칸(= window)으로 핫 유저 목록을 다시 계산합니다.
+ * 최근 두 칸에 나타난 사용자만 보관하므로 메모리는 요청이 있었던 사용자 수에 비례합니다.
+ * 다시 계산한 topK 는 PointMetrics 의 사용자별 경합 gauge(point.lock.hot_user.*)로도 내보냅니다.
+ */
+@Component
+public class HotUserDetector {
+
+    private final HotUserProperties properties;
+    private final PointMetrics pointMetrics;
+    private final ConcurrentHashMap<Long, AtomicInteger> depths = new ConcurrentHashMap<>(); // 지금 락을 잡았거나 기다리는 요청 수
+    private final ScheduledExecutorService rotator;
+
+    private volatile ConcurrentHashMap<Long, WindowStats> current = new ConcurrentHashMap<>();
+    private volatile ConcurrentHashMap<Long, WindowStats> previous = new ConcurrentHashMap<>();
+    private volatile Set<Long> hotUsers = Set.of();
+
+    public HotUserDetector(HotUserProperties properties, PointMetrics pointMetrics) {
+        this.properties = properties;
+        this.pointMetrics = pointMetrics;
+        if (properties.enabled()) {
+            long halfMillis = Math.max(1, properties.window().toMillis() / 2);
+            this.rotator = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "point-hot-user");
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.rotator.scheduleAtFixedRate(this::rotate, halfMillis, halfMillis, TimeUnit.MILLISECONDS);
+        } else {
+            this.rotator = null;
+        }
+    }
+
+    public static HotUserDetector disabled() {
+        return new HotUserDetector(HotUserProperties.disabled(), PointMetrics.noop());
+    }
+
+    public boolean isEnabled() {
+        return properties.enabled();
+    }
+
+    /**
+     * 사용자별 대기 수와 대기 시간을 집계하도록 락 관리자를 감쌉니다. 꺼져 있으면 그대로 돌려줍니다.
+     */
+    public UserLockRegistry track(UserLockRegistry delegate) {
+        if (!properties.enabled()) {
+            return delegate;
+        }
+        return new UserLockRegistry() {
+            @Override
+            public <T> T executeWithLock(long userId, Supplier<T> action) {
+                long requested = System.nanoTime();
+                enter(userId);
+                try {
+                    return delegate.executeWithLock(userId, () -> {
+                        stats(userId).waitNanos.add(System.nanoTime() - requested);
+                        return action.get();
+                    });
+                } finally {
+                    exit(userId);
+                }
+            }
+
+            @Override
+            public long lockOrder(long userId) {
+                return delegate.lockOrder(userId);
+            }
+
+            @Override
+            public int size() {
+                return delegate.size();
+            }
+        };
+    }
+
+    /**
+     * combining 이 켜져 있고 최근 구간에서 핫 유저로 판정된 사용자인지
+     */
+    public boolean shouldCombine(long userId) {
+        return properties.combining() && hotUsers.contains(userId);
+    }
+
+    /**
+     * 모아서 반영한 요청 수를 대기 수로 기록합니다. 모아서 반영하는 동안에는 락 대기가 줄어들기 때문에,
+     * 이 값이 없으면 다음 구간에 핫 유저에서 빠졌다가 다시 들어오기를 반복합니다.
+     */
+    public void recordCombined(long userId, int combined) {
+        if (properties.enabled()) {
+            stats(userId).maxDepth.accumulate(combined);
+        }
+    }
+
+    /**
+     * 최근 window 동안 락 대기 시간이 가장 길었던 topK 명
+     */
+    public List<HotUserStats> topK() {
+        return topK(previous, current);
+    }
+
+    private List<HotUserStats> topK(Map<Long, WindowStats> previous, Map<Long, WindowStats> current) {
+        return merged(previous, current).entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<Long, HotUserStats> entry) -> entry.getValue().totalWaitMillis()).reversed()
+                        .thenComparing(entry -> entry.getValue().maxQueueDepth(), Comparator.reverseOrder()))
+                .limit(properties.topK())
+                .map(Map.Entry::getValue)
+                .toList();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (rotator != null) {
+            rotator.shutdownNow();
+        }
+    }
+
+    // 칸을 바꾼 뒤에 계산하면 방금 끝난 칸(window 의 절반)만 보게 되므로, 바꾸기 전에 직전 칸과 현재 칸으로 계산합니다.
+    void rotate() {
+        List<HotUserStats> topK = topK(previous, current);
+        previous = current;
+        current = new ConcurrentHashMap<>();
+        pointMetrics.recordHotUsers(topK);
+        hotUsers = topK.stream()
+                .filter(stats -> stats.maxQueueDepth() >= properties.depthThreshold())
+                .map(HotUserStats::userId)
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    // 카운터를 만들고 올리는 일과 exit 가 0 이 된 카운터를 지우는 일이 모두 같은 키의 compute 안에서 일어나므로, 지워진 카운터를 올리는 일이 없습니다.
+    private void enter(long userId) {
+        int[] depth = {0};
+        depths.compute(userId, (id, count) -> {
+            AtomicInteger counter = count == null ? new AtomicInteger() : count;
+            depth[0] = counter.incrementAndGet();
+            return counter;
+        });
+        WindowStats stats = stats(userId);
+        stats.requests.increment();
+        stats.maxDepth.accumulate(depth[0]);
+    }
+
+    private void exit(long userId) {
+        depths.computeIfPresent(userId, (id, depth) -> depth.decrementAndGet() == 0 ? null : depth);
+    }
+
+    private WindowStats stats(long userId) {
+        return current.computeIfAbsent(userId, id -> new WindowStats());
+    }
+
+    private Map<Long, HotUserStats> merged(Map<Long, WindowStats> previous, Map<Long, WindowStats> current) {
+        Map<Long, HotUserStats> merged = new HashMap<>();
+        for (Map<Long, WindowStats> window : List.of(previous, current)) {
+            window.forEach((userId, stats) -> merged.merge(userId, stats.toHotUserStats(userId, hotUsers.contains(userId)), (a, b) ->
+                    new HotUserStats(userId, a.requests() + b.requests(), Math.max(a.maxQueueDepth(), b.maxQueueDepth()),
+                            a.totalWaitMillis() + b.totalWaitMillis(), a.combining())));
+        }
+        return merged;
+    }
+
+    private static final class WindowStats {
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder waitNanos = new LongAdder();
+        private final LongAccumulator maxDepth = new LongAccumulator(Math::max, 0);
+
+        private HotUserStats toHotUserStats(long userId, boolean combining) {
+            return new HotUserStats(userId, requests.sum(), (int) maxDepth.get(),
+                    TimeUnit.NANOSECONDS.toMillis(waitNanos.sum()), combining);
+        }
+    }
+}
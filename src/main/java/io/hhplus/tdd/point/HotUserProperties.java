@@ -0,0 +1,29 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * 핫 유저 감지 설정 (point.hot-user.*)
+ *
+ * @param enabled        사용자별 대기 수/대기 시간 집계 여부
+ * @param window         집계 구간. window / 2 마다 오래된 절반을 버립니다.
+ * @param topK           GET /point/stats/hot-users 로 보여 줄 사용자 수
+ * @param depthThreshold 구간 안에서 동시에 기다린 요청 수가 이 값 이상이면 핫 유저로 봅니다.
+ * @param combining      true 면 핫 유저의 충전/사용을 모아서 한 번에 반영합니다.
+ */
+@ConfigurationProperties(prefix = "point.hot-user")
+public record HotUserProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("10s") Duration window,
+        @DefaultValue("10") int topK,
+        @DefaultValue("4") int depthThreshold,
+        @DefaultValue("false") boolean combining
+) {
+
+    public static HotUserProperties disabled() {
+        return new HotUserProperties(false, Duration.ofSeconds(10), 10, 4, false);
+    }
+}
@@ -0,0 +1,18 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 집계 구간 안의 사용자별 경합 정도
+ *
+ * @param requests      락을 잡은 요청 수
+ * @param maxQueueDepth 같은 사용자의 요청이 동시에 몰린 최대 수 (락을 잡은 요청 포함)
+ * @param totalWaitMillis 락을 기다린 시간 합계
+ * @param combining     현재 모아서 반영하는 중인지 여부
+ */
+public record HotUserStats(
+        long userId,
+        long requests,
+        int maxQueueDepth,
+        long totalWaitMillis,
+        boolean combining
+) {
+}
@@ -0,0 +1,19 @@
+package io.hhplus.tdd.point;
+
+import java.util.function.Supplier;
+
+/**
+ * 락을 잡지 않습니다. 샤드 스레드처럼 호출하는 쪽에서 이미 사용자별로 직렬화되어 있을 때만 사용합니다.
+ */
+class NoOpUserLockRegistry implements UserLockRegistry {
+
+    @Override
+    public <T> T executeWithLock(long userId, Supplier<T> action) {
+        return action.get();
+    }
+
+    @Override
+    public int size() {
+        return 0;
+    }
+}
@@ -0,0 +1,202 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.PointHistoryRepository;
+import io.hhplus.tdd.database.PointHistoryWriter;
+import io.hhplus.tdd.database.UserPointCache;
+import io.hhplus.tdd.database.UserPointWriteBehindBuffer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 사용자별 락 없이 메모리 잔고(AtomicLong)를 compare-and-set 으로 바꾸는 PointService.
+ * 최대 잔고/잔고 부족 검사는 CAS 루프 안에서 매번 다시 하므로, 검사한 값과 바꾸는 값 사이에 다른 요청이 끼어들 수 없습니다.
+ * 내역은 CAS 에 성공한 요청이 기다리지 않고 바로 group-commit 기록기의 대기열에 넣으므로, 같은 사용자의 내역은 잔고를 바꾼(CAS) 순서가 아니라
+ * 대기열에 넣은 순서로 쌓입니다. 동시에 바꾼 요청끼리는 순서가 뒤바뀔 수 있지만 저장된 내역의 합계는 잔고와 같습니다.
+ * 내역을 저장하지 못하면 바꾼 잔고를 CAS 로 되돌리고, 그 사이 다른 요청이 잔고를 써서 되돌릴 수 없으면 HISTORY_COMPENSATION_FAILED 로 알립니다.
+ * 이때는 잔고에 남은 변경의 내역이 없어 내역 합계와 잔고가 어긋나므로, 에러 로그를 보고 내역을 직접 맞춰야 합니다.
+ * 잔고는 write-behind 버퍼가 사용자별 최신 값만 테이블에 저장하므로 point.user-point.write-mode=WRITE_BEHIND 가 필요하고,
+ * 내역을 넣는 동안 요청이 저장소 insert 를 기다리지 않도록 point.history-writer.enabled=true 가 필요합니다.
+ * 조회 기능은 PointServiceImpl 과 같습니다.
+ */
+@Service
+@ConditionalOnProperty(name = "point.service.strategy", havingValue = "optimistic")
+public class OptimisticPointService extends PointServiceImpl {
+
+    private static final Logger log = LoggerFactory.getLogger(OptimisticPointService.class);
+
+    private final UserPointWriteBehindBuffer writeBehindBuffer;
+    private final PointMetrics pointMetrics;
+    private final LongAdder updates = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+    private final LongAccumulator maxRetries = new LongAccumulator(Math::max, 0);
+
+    public OptimisticPointService(PointHistoryRepository pointHistoryRepository, UserPointCache userPointCache,
+                                  UserPointWriteBehindBuffer writeBehindBuffer, PointHistoryWriter pointHistoryWriter,
+                                  PointLedger pointLedger, UserLockRegistry userLockRegistry, PointMetrics pointMetrics,
+                                  PointCommitListener commitListener, PointBatchProperties batchProperties) {
+        super(pointHistoryRepository, userPointCache, writeBehindBuffer, pointHistoryWriter, pointLedger, userLockRegistry, pointMetrics,
+                HotUserDetector.disabled(), commitListener, batchProperties);
+        if (!writeBehindBuffer.isEnabled()) {
+            throw new IllegalStateException("optimistic 전략은 point.user-point.write-mode=WRITE_BEHIND 에서만 사용할 수 있습니다.");
+        }
+        if (!pointHistoryWriter.isEnabled()) {
+            throw new IllegalStateException("optimistic 전략은 point.history-writer.enabled=true 에서만 사용할 수 있습니다.");
+        }
+        this.writeBehindBuffer = writeBehindBuffer;
+        this.pointMetrics = pointMetrics;
+    }
+
+    @Override
+    public UserPoint charge(long id, long amount) {
+        long started = System.nanoTime();
+        try {
+            return compareAndCharge(id, amount);
+        } catch (RuntimeException e) {
+            pointMetrics.recordError(TransactionType.CHARGE, errorCode(e));
+            throw e;
+        } finally {
+            pointMetrics.record(TransactionType.CHARGE, PointMetrics.Phase.TOTAL, System.nanoTime() - started);
+        }
+    }
+
+    @Override
+    public UserPoint use(long id, long amount) {
+        long started = System.nanoTime();
+        try {
+            return compareAndUse(id, amount);
+        } catch (RuntimeException e) {
+            pointMetrics.recordError(TransactionType.USE, errorCode(e));
+            throw e;
+        } finally {
+            pointMetrics.record(TransactionType.USE, PointMetrics.Phase.TOTAL, System.nanoTime() - started);
+        }
+    }
+
+    private UserPoint compareAndCharge(long id, long amount) {
+        if (amount <= 0) {
+            throw new PointException("충전 금액은 0 혹은 마이너스 일 수 없습니다", "CHARGE_POINT_IS_OVER_ZERO");
+        } // 충전금액이 0 혹은 마이너스 일 경우
+
+        int attempts = 0;
+        long current;
+        do {
+            if (attempts++ > 0) {
+                retries.increment();
+            }
+            current = writeBehindBuffer.current(id);
+            if (current + amount > USER_POINT_LIMIT) {
+                throw userPointLimitExceeded();
+            } // 충전 후 금액이 최대 잔고를 넘을 경우
+        } while (!writeBehindBuffer.compareAndSet(id, current, current + amount));
+
+        recordUpdate(attempts);
+        UserPoint userPoint = new UserPoint(id, current + amount, System.currentTimeMillis());
+        commitHistory(id, amount, TransactionType.CHARGE, -amount, "포인트 충전 내역을 저장 하지 못했습니다.");
+        awaitCommit(logCommit(id, amount, TransactionType.CHARGE, userPoint));
+        return userPoint;
+    }
+
+    private UserPoint compareAndUse(long id, long amount) {
+        if (amount <= 0) {
+            throw new PointException("사용 금액은 0 혹은 마이너스 일 수 없습니다.", "USE_AMOUNT_IS_OVER_ZERO");
+        } // 사용금액이 0 혹은 마이너스 일 경우
+
+        int attempts = 0;
+        long current;
+        do {
+            if (attempts++ > 0) {
+                retries.increment();
+            }
+            current = writeBehindBuffer.current(id);
+            if (current < amount) {
+                throw needChargeAmount();
+            }
+        } while (!writeBehindBuffer.compareAndSet(id, current, current - amount));
+
+        recordUpdate(attempts);
+        UserPoint userPoint = new UserPoint(id, current - amount, System.currentTimeMillis());
+        commitHistory(id, amount, TransactionType.USE, amount, "포인트 사용 내역을 저장 하지 못했습니다.");
+        awaitCommit(logCommit(id, amount, TransactionType.USE, userPoint)); // CAS 순서와 기록 순서가 다를 수 있어 복구는 변경 합계로 합니다.
+        return userPoint;
+    }
+
+    // 잔고를 CAS 로만 바꾸므로 일괄 처리도 건별 charge/use 로 적용합니다. 실패는 applyBatch 가 건별 결과로 셉니다.
+    @Override
+    List<PointBatchResult> applyUserBatch(long id, List<PointBatchOperation> operations) {
+        List<PointBatchResult> results = new ArrayList<>(operations.size());
+        for (PointBatchOperation operation : operations) {
+            try {
+                UserPoint userPoint;
+                if (operation.type() == TransactionType.CHARGE) {
+                    userPoint = compareAndCharge(id, operation.amount());
+                } else if (operation.type() == TransactionType.USE) {
+                    userPoint = compareAndUse(id, operation.amount());
+                } else {
+                    throw new PointException("거래 유형은 CHARGE 또는 USE 여야 합니다.", "TRANSACTION_TYPE_INVALID");
+                }
+                results.add(PointBatchResult.success(operation, userPoint));
+            } catch (PointException e) {
+                results.add(PointBatchResult.failure(operation, e));
+            }
+        }
+        return results;
+    }
+
+    // 두 잔고를 한 번의 CAS 로 바꿀 수 없으므로 이체는 지원하지 않습니다.
+    @Override
+    public PointTransferResult transfer(long fromUserId, long toUserId, long amount) {
+        throw transferNotSupported("optimistic");
+    }
+
+    public OptimisticPointStats stats() {
+        return new OptimisticPointStats(updates.sum(), retries.sum(), maxRetries.get());
+    }
+
+    // 잔고를 바꾼 뒤 내역을 저장하고, 저장하지 못하면(ACK_ON_INSERT 대기 실패 포함) 바꾼 만큼 되돌립니다.
+    private void commitHistory(long id, long amount, TransactionType type, long compensation, String failureMessage) {
+        CompletableFuture<PointHistory> history;
+        try {
+            history = insertHistory(id, amount, type);
+        } catch (PointRejectedException e) {
+            PointException failed = compensate(id, compensation, failureMessage);
+            throw failed.isAfterCommit() ? failed : e; // 되돌렸으면 내역 대기열이 가득 차 거절된 것을 그대로 알립니다.
+        } catch (Exception e) {
+            throw compensate(id, compensation, failureMessage);
+        }
+        try {
+            awaitHistory(history, failureMessage);
+        } catch (PointException e) {
+            throw compensate(id, compensation, failureMessage);
+        }
+    }
+
+    /**
+     * 바꾼 잔고를 CAS 로 되돌리고 돌려줄 예외를 만듭니다.
+     * 그 사이 다른 요청이 충전된 포인트를 써서 되돌리면 음수가 되거나(충전 취소) 최대 잔고를 넘으면(사용 취소) 되돌리지 않습니다.
+     */
+    private PointException compensate(long id, long delta, String failureMessage) {
+        long current;
+        do {
+            current = writeBehindBuffer.current(id);
+            long compensated = current + delta;
+            if (compensated < 0 || compensated > USER_POINT_LIMIT) {
+                log.error("내역 저장 실패를 되돌리지 못했습니다. userId={}, point={}, delta={}", id, current, delta);
+                return historyCompensationFailed();
+            }
+        } while (!writeBehindBuffer.compareAndSet(id, current, current + delta));
+        return new PointException(failureMessage, "HISTORY_TABLE_INSERT_FAILED");
+    }
+
+    private void recordUpdate(int attempts) {
+        updates.increment();
+        maxRetries.accumulate(attempts - 1);
+    }
+}
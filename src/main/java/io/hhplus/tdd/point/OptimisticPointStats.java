@@ -0,0 +1,19 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 낙관적 잔고 갱신 통계
+ *
+ * @param updates   성공한 충전/사용 수
+ * @param retries   CAS 실패로 다시 시도한 횟수
+ * @param maxRetries 한 번의 충전/사용에서 가장 많이 다시 시도한 횟수
+ */
+public record OptimisticPointStats(
+        long updates,
+        long retries,
+        long maxRetries
+) {
+
+    public double retriesPerUpdate() {
+        return updates == 0 ? 0 : (double) retries / updates;
+    }
+}
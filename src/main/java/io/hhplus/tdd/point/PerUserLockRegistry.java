@@ -0,0 +1,29 @@
+package io.hhplus.tdd.point;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * 사용자마다 락 객체를 하나씩 만들어 계속 보관합니다.
+ */
+public class PerUserLockRegistry implements UserLockRegistry {
+
+    private final ConcurrentHashMap<Long, ReentrantLock> lockMap = new ConcurrentHashMap<>();
+
+    @Override
+    public <T> T executeWithLock(long userId, Supplier<T> action) {
+        ReentrantLock lock = lockMap.computeIfAbsent(userId, k -> new ReentrantLock());
+        lock.lock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        return lockMap.size();
+    }
+}
@@ -0,0 +1,11 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 일괄 처리할 충전/사용 한 건
+ */
+public record PointBatchOperation(
+        long userId,
+        TransactionType type,
+        long amount
+) {
+}
@@ -0,0 +1,19 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * 일괄 처리 설정 (point.batch.*)
+ *
+ * @param parallelism 일괄 요청 하나가 동시에 처리하는 사용자 수. 사용자가 더 많으면 나머지는 앞 사용자가 끝날 때까지 기다립니다.
+ */
+@ConfigurationProperties(prefix = "point.batch")
+public record PointBatchProperties(
+        @DefaultValue("64") int parallelism
+) {
+
+    public static PointBatchProperties defaults() {
+        return new PointBatchProperties(64);
+    }
+}
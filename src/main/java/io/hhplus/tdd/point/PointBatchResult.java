@@ -0,0 +1,36 @@
+package io.hhplus.tdd.point;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+/**
+ * 일괄 처리 한 건의 결과. 요청과 같은 순서로 응답합니다.
+ *
+ * @param point        성공한 경우 이 건을 반영한 뒤의 잔고
+ * @param updateMillis 성공한 경우 잔고를 저장한 시각
+ * @param code         실패한 경우 PointException 의 code
+ * @param message      실패한 경우 PointException 의 message
+ * @param afterCommit  실패했지만 잔고를 이미 바꿨거나 바꿨는지 알 수 없는 경우 true (응답에는 넣지 않음)
+ */
+public record PointBatchResult(
+        long userId,
+        TransactionType type,
+        long amount,
+        boolean success,
+        Long point,
+        Long updateMillis,
+        String code,
+        String message,
+        @JsonIgnore boolean afterCommit
+) {
+
+    static PointBatchResult success(PointBatchOperation operation, UserPoint userPoint) {
+        return new PointBatchResult(operation.userId(), operation.type(), operation.amount(), true, userPoint.point(), userPoint.updateMillis(), null, null, false);
+    }
+
+    static PointBatchResult failure(PointBatchOperation operation, Throwable cause) {
+        if (cause instanceof PointException e) {
+            return new PointBatchResult(operation.userId(), operation.type(), operation.amount(), false, null, null, e.getCode(), e.getMessage(), e.isAfterCommit());
+        }
+        return new PointBatchResult(operation.userId(), operation.type(), operation.amount(), false, null, null, "500", "에러가 발생했습니다.", true);
+    }
+}
@@ -0,0 +1,19 @@
+package io.hhplus.tdd.point;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 충전/사용이 반영된 직후(사용자별 락 안에서) 호출됩니다. 같은 사용자의 호출 순서는 반영 순서와 같습니다.
+ */
+public interface PointCommitListener {
+
+    PointCommitListener NONE = (userId, amount, type, updateMillis, balance) -> PointCommitListener.DONE;
+
+    CompletableFuture<Void> DONE = CompletableFuture.completedFuture(null);
+
+    /**
+     * @param balance 이 변경을 반영한 뒤의 잔고
+     * @return 변경이 안전하게 기록되면 완료되는 future. 서비스는 락을 푼 뒤에 기다립니다.
+     */
+    CompletableFuture<Void> onCommit(long userId, long amount, TransactionType type, long updateMillis, long balance);
+}
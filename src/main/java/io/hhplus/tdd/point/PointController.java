@@ -1,11 +1,19 @@
 package io.hhplus.tdd.point;
 
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.hhplus.tdd.ErrorResponse;
+import io.hhplus.tdd.database.PointHistoryQuery;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 @RestController
@@ -13,10 +21,22 @@ import java.util.List;
 public class PointController {
 
     private static final Logger log = LoggerFactory.getLogger(PointController.class);
+    private static final int STREAM_FLUSH_ROWS = 1_000;
+    // @RequestParam 의 defaultValue 는 문자열 상수여야 하므로 limit 기본값을 문자열로 둡니다.
+    private static final String DEFAULT_PAGE_LIMIT = PointServiceImpl.HISTORY_PAGE_LIMIT + "";
+    private static final String DEFAULT_STREAM_LIMIT = PointHistoryQuery.NO_LIMIT + "";
+    static final String IDEMPOTENCY_KEY = "Idempotency-Key";
     private final PointService pointService;
+    private final ObjectMapper objectMapper;
+    private final PointIdempotencyStore idempotencyStore;
+    private final PointRateLimiter rateLimiter;
 
-    public PointController(final PointService pointService) {
+    public PointController(final PointService pointService, final ObjectMapper objectMapper, final PointIdempotencyStore idempotencyStore,
+                           final PointRateLimiter rateLimiter) {
         this.pointService = pointService;
+        this.objectMapper = objectMapper;
+        this.idempotencyStore = idempotencyStore;
+        this.rateLimiter = rateLimiter;
     }
 
     @GetMapping("{id}")
@@ -26,26 +46,116 @@ public class PointController {
         return pointService.get(id);
     }
 
-    @GetMapping("{id}/histories")
+    // 조회 조건이 하나라도 있으면 historyPage 로 갑니다.
+    @GetMapping(value = "{id}/histories", params = {"!after", "!limit", "!from", "!to", "!type"})
     public List<PointHistory> history(
             @PathVariable long id
     ) {
         return pointService.getHistories(id);
     }
 
+    /**
+     * 조건에 맞는 내역을 id 순서로 limit 건까지 응답합니다. limit 없이 조건만 주면 한 번에 조회할 수 있는 최대 건수만큼 응답합니다.
+     */
+    @GetMapping("{id}/histories")
+    public PointHistoryPage historyPage(
+            @PathVariable long id,
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = DEFAULT_PAGE_LIMIT) int limit,
+            @RequestParam(required = false) Long from,
+            @RequestParam(required = false) Long to,
+            @RequestParam(required = false) TransactionType type
+    ) {
+        return pointService.getHistoryPage(id, new PointHistoryQuery(after, limit, from, to, type));
+    }
+
+    /**
+     * 내역을 목록으로 모으지 않고 한 줄에 하나씩(NDJSON) 바로 응답에 씁니다.
+     * 응답을 쓰기 시작한 뒤에는 오류로 응답할 수 없으므로 limit 은 쓰기 전에 검사합니다.
+     */
+    @GetMapping(value = "{id}/histories/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public StreamingResponseBody historyStream(
+            @PathVariable long id,
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = DEFAULT_STREAM_LIMIT) int limit,
+            @RequestParam(required = false) Long from,
+            @RequestParam(required = false) Long to,
+            @RequestParam(required = false) TransactionType type
+    ) {
+        if (limit <= 0) {
+            throw PointServiceImpl.historyStreamLimitInvalid();
+        }
+        PointHistoryQuery query = new PointHistoryQuery(after, limit, from, to, type);
+        return outputStream -> {
+            JsonGenerator generator = objectMapper.createGenerator(outputStream, JsonEncoding.UTF8);
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            int[] written = {0};
+            pointService.streamHistories(id, query, history -> {
+                try {
+                    generator.writeObject(history);
+                    generator.writeRaw('\n');
+                    if (++written[0] % STREAM_FLUSH_ROWS == 0) {
+                        generator.flush();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            generator.close();
+        };
+    }
+
+    @GetMapping("{id}/summary")
+    public PointLedgerSummary summary(
+            @PathVariable long id,
+            @RequestParam(defaultValue = "false") boolean audit
+    ) {
+        return pointService.getSummary(id, audit);
+    }
+
+    /**
+     * 같은 Idempotency-Key 로 다시 보낸 요청은 다시 충전하지 않고 처음 요청의 결과를 응답합니다.
+     * 충전/사용/이체/일괄 요청은 요청 수 제한(point.rate-limit)을 넘으면 락을 기다리지 않고 429 로 거절합니다.
+     * 제한은 Idempotency-Key 를 확인한 뒤에 검사하므로, 이미 받은 키의 재시도는 제한에 걸리지 않고 처음 요청의 결과를 받습니다.
+     */
     @PatchMapping("{id}/charge")
     public UserPoint charge(
             @PathVariable long id,
-            @RequestBody long amount
+            @RequestBody long amount,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey
     ) {
-        return pointService.charge(id, amount);
+        return idempotencyStore.execute(idempotencyKey, id, TransactionType.CHARGE, amount,
+                () -> rateLimiter.execute(id, TransactionType.CHARGE, () -> pointService.charge(id, amount)));
     }
 
     @PatchMapping("{id}/use")
     public UserPoint use(
             @PathVariable long id,
-            @RequestBody long amount
+            @RequestBody long amount,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey
+    ) {
+        return idempotencyStore.execute(idempotencyKey, id, TransactionType.USE, amount,
+                () -> rateLimiter.execute(id, TransactionType.USE, () -> pointService.use(id, amount)));
+    }
+
+    /**
+     * 여러 사용자의 충전/사용을 한 번에 처리합니다. 건별 성공/실패를 요청과 같은 순서로 응답합니다.
+     * 요청 수 제한은 묶음에 들어 있는 사용자마다 한 번씩 검사하고, 한 명이라도 넘으면 묶음 전체를 429 로 거절합니다.
+     */
+    @PostMapping("batch")
+    public List<PointBatchResult> batch(
+            @RequestBody List<PointBatchOperation> operations
+    ) {
+        return rateLimiter.executeAll(operations.stream().map(PointBatchOperation::userId).toList(), () -> pointService.applyBatch(operations));
+    }
+
+    /**
+     * 두 사용자의 잔고와 내역을 한 번에 바꿉니다. 어느 한쪽이라도 실패하면 둘 다 바뀌지 않습니다.
+     */
+    @PostMapping("transfer")
+    public PointTransferResult transfer(
+            @RequestBody PointTransferRequest request
     ) {
-        return pointService.use(id, amount);
+        return rateLimiter.execute(request.fromUserId(), () -> pointService.transfer(request.fromUserId(), request.toUserId(), request.amount()));
     }
 }
@@ -4,10 +4,27 @@ import io.hhplus.tdd.ErrorResponse;
 
 public class PointException extends RuntimeException {
     private final String code;
+    private final boolean afterCommit;
 
     public PointException(String message, String code) {
+        this(message, code, false);
+    }
+
+    /**
+     * @param afterCommit 잔고를 이미 바꾼 뒤의 실패면 true. 같은 Idempotency-Key 의 재시도를 다시 처리하면 두 번 반영될 수 있습니다.
+     */
+    public PointException(String message, String code, boolean afterCommit) {
         super(message);
         this.code = code;
+        this.afterCommit = afterCommit;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public boolean isAfterCommit() {
+        return afterCommit;
     }
 
     public ErrorResponse getErrorResponse() {
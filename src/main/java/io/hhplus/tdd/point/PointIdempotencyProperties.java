@@ -0,0 +1,27 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Idempotency-Key 저장소 설정 (point.idempotency.*)
+ *
+ * @param maximumSize 보관할 최대 키 수. 0 이면 Idempotency-Key 헤더를 무시하고 매번 처리합니다.
+ * @param ttl         처리 결과를 보관하는 시간 (요청을 받은 시각부터)
+ */
+@ConfigurationProperties(prefix = "point.idempotency")
+public record PointIdempotencyProperties(
+        @DefaultValue("0") long maximumSize,
+        @DefaultValue("10m") Duration ttl
+) {
+
+    public static PointIdempotencyProperties disabled() {
+        return new PointIdempotencyProperties(0, Duration.ZERO);
+    }
+
+    public boolean isEnabled() {
+        return maximumSize > 0;
+    }
+}
@@ -0,0 +1,12 @@
+package io.hhplus.tdd.point;
+
+/**
+ * Idempotency-Key 저장소 통계
+ *
+ * @param replayed  처리 중이거나 처리된 결과를 그대로 돌려준 중복 요청 수
+ * @param conflicts 같은 키로 다른 요청(사용자/유형/금액)을 보내 거절한 수
+ * @param evictions 용량 초과나 만료로 지워진 키 수
+ * @param size      보관 중인 키 수 (근사값)
+ */
+public record PointIdempotencyStats(long replayed, long conflicts, long evictions, long size) {
+}
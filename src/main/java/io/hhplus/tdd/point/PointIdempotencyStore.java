@@ -0,0 +1,120 @@
+package io.hhplus.tdd.point;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Idempotency-Key 헤더로 충전/사용 재시도를 한 번만 처리합니다.
+ * 사용자 id 와 키를 묶어 처음 요청의 결과 future 를 보관하고, 같은 키로 다시 온 요청은 사용자 락을 다시 기다리지 않고
+ * 그 future 를 기다립니다(처리 중이면 처리가 끝날 때까지, 끝났으면 바로). 실패한 요청은 서비스가 잔고를 바꾸기 전의 실패로 알린 경우
+ * (PointException 중 afterCommit 이 아닌 것: 입력/잔액 검증 실패, 되돌린 내역 저장 실패, 429 거절 등)에만 지워서 재시도하면 다시 처리합니다.
+ * 잔고를 바꾼 뒤의 실패(WAL 저장 실패, 되돌리기 실패)나 어디서 났는지 모르는 예외는 실패 결과를 보관해, 같은 키의 재시도가 두 번 반영되지 않게 합니다.
+ * <p>
+ * 크기는 maximumSize 로 제한되고 요청을 받은 뒤 ttl 이 지나면 지워집니다(Caffeine). 처리 중인 키가 용량 때문에 밀려나면
+ * 그 뒤의 재시도는 새 요청으로 처리되므로, maximumSize 는 ttl 동안 받는 요청 수보다 넉넉하게 잡아야 합니다.
+ */
+@Component
+public class PointIdempotencyStore {
+
+    static final int MAX_KEY_LENGTH = 255;
+
+    private final Cache<Key, Entry> cache;
+    private final LongAdder replayed = new LongAdder();
+    private final LongAdder conflicts = new LongAdder();
+
+    public PointIdempotencyStore(PointIdempotencyProperties properties) {
+        this.cache = properties.isEnabled()
+                ? Caffeine.newBuilder().maximumSize(properties.maximumSize()).expireAfterWrite(properties.ttl()).recordStats().build()
+                : null;
+    }
+
+    public boolean isEnabled() {
+        return cache != null;
+    }
+
+    /**
+     * key 가 없거나 저장소를 쓰지 않으면 action 을 그대로 실행합니다.
+     */
+    public UserPoint execute(String key, long userId, TransactionType type, long amount, Supplier<UserPoint> action) {
+        if (key == null || cache == null) {
+            return action.get();
+        }
+        try {
+            return executeAsync(key, userId, type, amount, () -> CompletableFuture.completedFuture(action.get())).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 처음 받은 키면 action 을 실행하고 결과 future 를 보관합니다. 이미 받은 키면 action 을 실행하지 않고 보관한 future 를 돌려줍니다.
+     * 같은 키로 사용자/유형/금액이 다른 요청이 오면 IDEMPOTENCY_KEY_REUSED 로 거절합니다.
+     */
+    public CompletableFuture<UserPoint> executeAsync(String key, long userId, TransactionType type, long amount,
+                                                     Supplier<CompletableFuture<UserPoint>> action) {
+        if (key == null || cache == null) {
+            return action.get();
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            return CompletableFuture.failedFuture(new PointException(
+                    String.format("Idempotency-Key 는 1자 이상 %d자 이하여야 합니다.", MAX_KEY_LENGTH), "IDEMPOTENCY_KEY_INVALID"));
+        }
+
+        Key cacheKey = new Key(userId, key);
+        Entry entry = new Entry(type, amount, new CompletableFuture<>());
+        Entry existing = cache.asMap().putIfAbsent(cacheKey, entry);
+        if (existing != null) {
+            if (existing.type() != type || existing.amount() != amount) {
+                conflicts.increment();
+                return CompletableFuture.failedFuture(new PointException("같은 Idempotency-Key 로 다른 요청을 보낼 수 없습니다.", "IDEMPOTENCY_KEY_REUSED"));
+            }
+            replayed.increment();
+            return existing.result();
+        }
+
+        CompletableFuture<UserPoint> result;
+        try {
+            result = action.get();
+        } catch (RuntimeException e) {
+            result = CompletableFuture.failedFuture(e);
+        }
+        result.whenComplete((userPoint, e) -> {
+            if (e == null) {
+                entry.result().complete(userPoint);
+                return;
+            }
+            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            if (changedNothing(cause)) {
+                cache.asMap().remove(cacheKey, entry); // 기다리던 중복 요청은 같은 실패를 받고, 이후 재시도는 다시 처리
+            }
+            entry.result().completeExceptionally(cause);
+        });
+        return entry.result();
+    }
+
+    static boolean changedNothing(Throwable failure) {
+        return failure instanceof PointException e && !e.isAfterCommit();
+    }
+
+    public PointIdempotencyStats stats() {
+        if (cache == null) {
+            return new PointIdempotencyStats(0, 0, 0, 0);
+        }
+        return new PointIdempotencyStats(replayed.sum(), conflicts.sum(), cache.stats().evictionCount(), cache.estimatedSize());
+    }
+
+    private record Key(long userId, String idempotencyKey) {
+    }
+
+    private record Entry(TransactionType type, long amount, CompletableFuture<UserPoint> result) {
+    }
+}
@@ -0,0 +1,124 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.PointHistoryRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 사용자별 포인트 내역 요약(충전 합계, 사용 합계, 내역 수, 마지막 id)을 저장될 때마다 갱신합니다.
+ * 내역 조회 시 전체 내역을 다시 합산하지 않고 요약과 내역 수/마지막 id 만 비교해 검증할 수 있습니다.
+ * 요약 갱신은 순서와 무관하게 같은 결과가 나오도록 합계와 최댓값으로만 계산합니다.
+ */
+@Component
+public class PointLedger {
+
+    private static final Logger log = LoggerFactory.getLogger(PointLedger.class);
+    private static final int AUDIT_ATTEMPTS = 3;
+
+    private final PointHistoryRepository pointHistoryRepository;
+    private final ConcurrentHashMap<Long, PointLedgerSummary> summaries = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService auditor;
+
+    public PointLedger(PointHistoryRepository pointHistoryRepository, PointLedgerProperties properties) {
+        this.pointHistoryRepository = pointHistoryRepository;
+        long intervalMillis = properties.auditInterval().toMillis();
+        if (intervalMillis > 0) {
+            this.auditor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "point-ledger-audit");
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.auditor.scheduleWithFixedDelay(this::auditAll, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        } else {
+            this.auditor = null;
+        }
+    }
+
+    /**
+     * 저장이 끝난 내역을 요약에 반영합니다.
+     */
+    public void record(PointHistory history) {
+        if (history == null) {
+            return;
+        }
+        summaries.compute(history.userId(), (userId, summary) ->
+                (summary == null ? PointLedgerSummary.empty(userId) : summary).plus(history));
+    }
+
+    /**
+     * @return 서비스를 통해 저장된 내역이 없으면 null
+     */
+    public PointLedgerSummary summary(long userId) {
+        return summaries.get(userId);
+    }
+
+    /**
+     * 요약이 조회한 내역 목록과 같은 상태를 가리키는지 확인합니다. (O(1))
+     */
+    public boolean matches(PointLedgerSummary summary, List<PointHistory> histories) {
+        return summary != null
+                && summary.count() == histories.size()
+                && summary.lastHistoryId() == histories.get(histories.size() - 1).id();
+    }
+
+    /**
+     * 전체 내역을 다시 합산해 요약을 만듭니다.
+     */
+    public static PointLedgerSummary replay(long userId, List<PointHistory> histories) {
+        PointLedgerSummary summary = PointLedgerSummary.empty(userId);
+        for (PointHistory history : histories) {
+            summary = summary.plus(history);
+        }
+        return summary;
+    }
+
+    /**
+     * 전체 내역을 다시 합산해 요약과 비교합니다.
+     * 합산하는 동안 요약이 바뀌면 다시 시도하고, 그래도 저장 중인 내역이 있으면 일시적으로 불일치로 보일 수 있습니다.
+     *
+     * @return 다시 합산한 요약
+     */
+    public PointLedgerSummary audit(long userId) {
+        PointLedgerSummary replayed = null;
+        for (int attempt = 0; attempt < AUDIT_ATTEMPTS; attempt++) {
+            PointLedgerSummary before = summaries.get(userId);
+            replayed = replay(userId, pointHistoryRepository.selectAllByUserId(userId));
+            PointLedgerSummary after = summaries.get(userId);
+            if (before != after) {
+                continue; // 합산 중에 새 내역이 저장됨
+            }
+            if (after != null && !after.equals(replayed)) {
+                throw new PointException("포인트 내역 요약이 실제 내역과 일치하지 않습니다.", "HISTORY_LEDGER_MISMATCH");
+            }
+            return replayed;
+        }
+        return replayed;
+    }
+
+    private void auditAll() {
+        for (Long userId : summaries.keySet()) {
+            try {
+                audit(userId);
+            } catch (PointException e) {
+                log.warn("포인트 내역 요약 감사 실패 - userId={}, summary={}", userId, summaries.get(userId));
+            } catch (RuntimeException e) {
+                log.warn("포인트 내역 요약 감사 중 오류가 발생했습니다. userId={}", userId, e);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (auditor != null) {
+            auditor.shutdownNow();
+        }
+    }
+}
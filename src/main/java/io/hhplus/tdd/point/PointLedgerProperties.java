@@ -0,0 +1,21 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * 포인트 내역 요약 설정 (point.ledger.*)
+ *
+ * @param auditInterval 요약과 전체 내역을 주기적으로 대조하는 간격 (0 이면 주기 감사를 하지 않습니다)
+ */
+@ConfigurationProperties(prefix = "point.ledger")
+public record PointLedgerProperties(
+        @DefaultValue("0s") Duration auditInterval
+) {
+
+    public static PointLedgerProperties disabled() {
+        return new PointLedgerProperties(Duration.ZERO);
+    }
+}
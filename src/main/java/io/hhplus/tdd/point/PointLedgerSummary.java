@@ -0,0 +1,32 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 사용자별 포인트 내역 요약
+ *
+ * @param chargeTotal   충전 합계
+ * @param useTotal      사용 합계
+ * @param count         내역 수
+ * @param lastHistoryId 마지막 내역 id
+ */
+public record PointLedgerSummary(
+        long userId,
+        long chargeTotal,
+        long useTotal,
+        long count,
+        long lastHistoryId
+) {
+
+    public static PointLedgerSummary empty(long userId) {
+        return new PointLedgerSummary(userId, 0, 0, 0, 0);
+    }
+
+    public long balance() {
+        return chargeTotal - useTotal;
+    }
+
+    public PointLedgerSummary plus(PointHistory history) {
+        long charge = history.type() == TransactionType.CHARGE ? history.amount() : 0;
+        long use = history.type() == TransactionType.USE ? history.amount() : 0;
+        return new PointLedgerSummary(userId, chargeTotal + charge, useTotal + use, count + 1, Math.max(lastHistoryId, history.id()));
+    }
+}
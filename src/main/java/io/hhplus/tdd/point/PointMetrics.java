@@ -0,0 +1,198 @@
+package io.hhplus.tdd.point;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * 충전/사용 구간별 지연 시간과 오류 수.
+ * <ul>
+ *     <li>point.operation (timer, type / phase) : lock_wait, select, history_insert, save, total 구간별 히스토그램</li>
+ *     <li>point.lock.contended (counter, type) : 락을 CONTENDED_NANOS 이상 기다린 횟수</li>
+ *     <li>point.lock.hot_user.wait / point.lock.hot_user.depth (gauge, user) : HotUserDetector 가 고른 topK 사용자의 최근 window 락 대기 시간(ms)과 최대 동시 요청 수.
+ *     topK 에서 빠진 사용자의 gauge 는 지우므로 사용자 태그는 topK 개를 넘지 않습니다.</li>
+ *     <li>point.errors (counter, type / code) : PointException 코드별 실패 수</li>
+ *     <li>point.reads (counter, endpoint / result) : 잔고/내역 조회 중 직접 읽은 수(loaded)와 진행 중인 조회를 함께 기다린 수(coalesced)</li>
+ *     <li>point.shard.queue.depth (gauge, shard) : sharded 전략의 샤드별 대기열에 쌓인 명령 수</li>
+ * </ul>
+ * 태그 조합은 미리 만들어 두므로 호출마다 태그나 meter 를 만들지 않습니다. (사용자별 gauge 는 핫 유저 목록을 다시 계산할 때만 바뀝니다)
+ */
+@Component
+public class PointMetrics {
+
+    static final long CONTENDED_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    public enum Phase {
+        LOCK_WAIT("lock_wait"),
+        SELECT("select"),
+        HISTORY_INSERT("history_insert"),
+        SAVE("save"),
+        TOTAL("total");
+
+        private final String tag;
+
+        Phase(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    public enum ReadEndpoint {
+        BALANCE("balance"),
+        HISTORIES("histories");
+
+        private final String tag;
+
+        ReadEndpoint(String tag) {
+            this.tag = tag;
+        }
+
+        public String tag() {
+            return tag;
+        }
+    }
+
+    private final MeterRegistry registry;
+    private final Timer[][] timers; // [TransactionType][Phase]
+    private final Counter[] contended; // [TransactionType]
+    private final ConcurrentHashMap<String, Counter>[] errors; // [TransactionType] code -> counter
+    private final Counter[][] reads; // [ReadEndpoint][loaded, coalesced]
+    private final Map<Long, HotUserGauges> hotUsers = new HashMap<>(); // recordHotUsers 안에서만 바꿈
+
+    @SuppressWarnings("unchecked")
+    public PointMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        TransactionType[] types = TransactionType.values();
+        Phase[] phases = Phase.values();
+        this.timers = new Timer[types.length][phases.length];
+        this.contended = new Counter[types.length];
+        this.errors = new ConcurrentHashMap[types.length];
+        for (TransactionType type : types) {
+            for (Phase phase : phases) {
+                timers[type.ordinal()][phase.ordinal()] = Timer.builder("point.operation")
+                        .description("충전/사용 구간별 소요 시간")
+                        .tag("type", type.name())
+                        .tag("phase", phase.tag)
+                        .publishPercentileHistogram()
+                        .register(registry);
+            }
+            contended[type.ordinal()] = Counter.builder("point.lock.contended")
+                    .description("사용자 락을 기다린 횟수")
+                    .tag("type", type.name())
+                    .register(registry);
+            errors[type.ordinal()] = new ConcurrentHashMap<>();
+        }
+        this.reads = new Counter[ReadEndpoint.values().length][2];
+        for (ReadEndpoint endpoint : ReadEndpoint.values()) {
+            reads[endpoint.ordinal()][0] = readCounter(endpoint, "loaded");
+            reads[endpoint.ordinal()][1] = readCounter(endpoint, "coalesced");
+        }
+    }
+
+    /**
+     * 계측하지 않을 때(단위 테스트 등) 사용합니다. 등록된 registry 가 없어 기록은 버려집니다.
+     */
+    public static PointMetrics noop() {
+        return new PointMetrics(new CompositeMeterRegistry());
+    }
+
+    public void record(TransactionType type, Phase phase, long nanos) {
+        timers[type.ordinal()][phase.ordinal()].record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordLockWait(TransactionType type, long nanos) {
+        record(type, Phase.LOCK_WAIT, nanos);
+        if (nanos >= CONTENDED_NANOS) {
+            contended[type.ordinal()].increment();
+        }
+    }
+
+    public void recordError(TransactionType type, String code) {
+        ConcurrentHashMap<String, Counter> counters = errors[type.ordinal()];
+        Counter counter = counters.get(code); // 처음 보는 코드일 때만 등록
+        if (counter == null) {
+            counter = counters.computeIfAbsent(code, key -> Counter.builder("point.errors")
+                    .description("PointException 코드별 실패 수")
+                    .tag("type", type.name())
+                    .tag("code", key)
+                    .register(registry));
+        }
+        counter.increment();
+    }
+
+    public void recordRead(ReadEndpoint endpoint, boolean coalesced) {
+        reads[endpoint.ordinal()][coalesced ? 1 : 0].increment();
+    }
+
+    /**
+     * 핫 유저 topK 의 사용자별 경합 gauge 를 갱신합니다. 목록에서 빠진 사용자의 gauge 는 registry 에서 지웁니다.
+     */
+    public synchronized void recordHotUsers(List<HotUserStats> topK) {
+        Set<Long> userIds = topK.stream().map(HotUserStats::userId).collect(Collectors.toSet());
+        hotUsers.entrySet().removeIf(entry -> {
+            if (userIds.contains(entry.getKey())) {
+                return false;
+            }
+            entry.getValue().remove(registry);
+            return true;
+        });
+        for (HotUserStats stats : topK) {
+            HotUserGauges gauges = hotUsers.computeIfAbsent(stats.userId(), userId -> new HotUserGauges(registry, userId));
+            gauges.waitMillis.set(stats.totalWaitMillis());
+            gauges.depth.set(stats.maxQueueDepth());
+        }
+    }
+
+    /**
+     * 샤드 대기열의 크기를 point.shard.queue.depth 로 내보냅니다. 샤드를 만들 때 한 번 부릅니다.
+     */
+    public void registerShardQueue(int shard, BlockingQueue<?> queue) {
+        Gauge.builder("point.shard.queue.depth", queue, BlockingQueue::size)
+                .description("sharded 전략의 샤드별 대기열에 쌓인 명령 수")
+                .tag("shard", String.valueOf(shard))
+                .register(registry);
+    }
+
+    private Counter readCounter(ReadEndpoint endpoint, String result) {
+        return Counter.builder("point.reads")
+                .description("잔고/내역 조회 수 (coalesced : 진행 중인 같은 사용자 조회의 결과를 함께 받은 수)")
+                .tag("endpoint", endpoint.tag)
+                .tag("result", result)
+                .register(registry);
+    }
+
+    private static final class HotUserGauges {
+        private final AtomicLong waitMillis = new AtomicLong();
+        private final AtomicLong depth = new AtomicLong();
+        private final Gauge waitGauge;
+        private final Gauge depthGauge;
+
+        private HotUserGauges(MeterRegistry registry, long userId) {
+            this.waitGauge = Gauge.builder("point.lock.hot_user.wait", waitMillis, AtomicLong::get)
+                    .description("핫 유저의 최근 window 동안 락 대기 시간 합계(ms)")
+                    .tag("user", String.valueOf(userId))
+                    .register(registry);
+            this.depthGauge = Gauge.builder("point.lock.hot_user.depth", depth, AtomicLong::get)
+                    .description("핫 유저의 최근 window 동안 동시에 몰린 최대 요청 수")
+                    .tag("user", String.valueOf(userId))
+                    .register(registry);
+        }
+
+        private void remove(MeterRegistry registry) {
+            registry.remove(waitGauge);
+            registry.remove(depthGauge);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * 충전/사용/이체/일괄 요청 수 제한 설정 (point.rate-limit.*)
+ *
+ * @param enabled          false 면 제한하지 않습니다.
+ * @param userRate         사용자 한 명이 초당 보낼 수 있는 충전/사용/이체 요청 수
+ * @param userBurst        사용자 한 명이 한꺼번에 보낼 수 있는 요청 수 (토큰 버킷 크기)
+ * @param userMaxInFlight  사용자 한 명이 동시에 처리 중일 수 있는 요청 수. 0 이하면 제한하지 않습니다.
+ * @param globalRate       전체 사용자를 합쳐 초당 받을 수 있는 요청 수
+ * @param globalBurst      전체 토큰 버킷 크기
+ * @param maxTrackedUsers  사용자별 버킷을 이 수보다 많이 보관하면 가득 찬(오래 요청이 없던) 버킷을 지웁니다.
+ */
+@ConfigurationProperties(prefix = "point.rate-limit")
+public record PointRateLimitProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("20") double userRate,
+        @DefaultValue("20") int userBurst,
+        @DefaultValue("4") int userMaxInFlight,
+        @DefaultValue("5000") double globalRate,
+        @DefaultValue("5000") int globalBurst,
+        @DefaultValue("100000") int maxTrackedUsers
+) {
+
+    public static PointRateLimitProperties disabled() {
+        return new PointRateLimitProperties(false, 0, 0, 0, 0, 0, 0);
+    }
+}
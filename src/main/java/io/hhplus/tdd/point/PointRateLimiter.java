@@ -0,0 +1,328 @@
+package io.hhplus.tdd.point;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * 충전/사용/이체/일괄 요청을 사용자별 처리 중 요청 수, 사용자별 토큰 버킷, 전체 토큰 버킷으로 제한합니다.
+ * 버킷 하나는 "다음 토큰이 생기는 시각"(GCRA 의 theoretical arrival time) long 값 하나이고, compare-and-set 으로만 바꾸므로 락이 없습니다.
+ * 사용자별 처리 중 요청 수도 AtomicInteger 의 compare-and-set 으로 받고 돌려줍니다.
+ * 토큰이 없으면 기다리지 않고 바로 429(POINT_RATE_LIMITED / POINT_GLOBAL_RATE_LIMITED)로 거절합니다.
+ * 토큰은 초당 요청 수만 제한하므로, 저장소가 느려 한 사용자의 처리량이 user-rate 보다 낮으면 그 사이의 요청은 락 앞에 쌓입니다.
+ * 그래서 사용자별로 처리 중인 요청 수도 userMaxInFlight 로 제한해(POINT_IN_FLIGHT_LIMITED), 락 앞에 쌓이는 요청 스레드 수에 상한을 둡니다.
+ * <p>
+ * 처리 중 자리와 사용자별 버킷을 먼저 검사하므로 한 사용자의 초과 요청은 전체 토큰을 쓰지 않습니다.
+ * 뒤의 검사에서 거절되면 앞에서 받은 자리와 사용자 토큰은 돌려줍니다.
+ * 일괄 요청은 사용자마다 자리와 사용자 토큰을 받고 전체 토큰은 요청 하나로 하나만 받으므로, global-burst 보다 많은 사용자를 담아도 됩니다.
+ * 거래 유형을 넘긴 충전/사용의 거절은 point.errors 에도 코드별로 셉니다.
+ */
+@Component
+public class PointRateLimiter {
+
+    private static final long SWEPT = Long.MIN_VALUE; // sweep 이 지우기로 표시한 버킷
+
+    private final boolean enabled;
+    private final long userIntervalNanos;
+    private final long userCapacityNanos;
+    private final long globalIntervalNanos;
+    private final long globalCapacityNanos;
+    private final int maxTrackedUsers;
+    private final int userMaxInFlight;
+    private final LongSupplier nanoTime;
+    private final PointMetrics pointMetrics;
+    private final ConcurrentHashMap<Long, AtomicLong> userBuckets = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, AtomicInteger> userInFlight = new ConcurrentHashMap<>(); // 처리 중인 요청이 없으면 지움
+    private final AtomicLong globalBucket;
+    private final AtomicLong nextSweepAt; // 이 시각 전에는 sweep 하지 않음
+    private final Counter userRejected;
+    private final Counter globalRejected;
+    private final Counter inFlightRejected;
+
+    @Autowired
+    public PointRateLimiter(PointRateLimitProperties properties, MeterRegistry registry, PointMetrics pointMetrics) {
+        this(properties, registry, pointMetrics, System::nanoTime);
+    }
+
+    PointRateLimiter(PointRateLimitProperties properties, MeterRegistry registry, PointMetrics pointMetrics, LongSupplier nanoTime) {
+        this.enabled = properties.enabled();
+        this.userIntervalNanos = intervalNanos(properties.userRate());
+        this.userCapacityNanos = userIntervalNanos * Math.max(properties.userBurst(), 1);
+        this.globalIntervalNanos = intervalNanos(properties.globalRate());
+        this.globalCapacityNanos = globalIntervalNanos * Math.max(properties.globalBurst(), 1);
+        this.maxTrackedUsers = properties.maxTrackedUsers();
+        this.userMaxInFlight = properties.userMaxInFlight();
+        this.nanoTime = nanoTime;
+        this.pointMetrics = pointMetrics;
+        this.globalBucket = new AtomicLong(nanoTime.getAsLong());
+        this.nextSweepAt = new AtomicLong(nanoTime.getAsLong());
+        this.userRejected = rejectedCounter(registry, "user");
+        this.globalRejected = rejectedCounter(registry, "global");
+        this.inFlightRejected = rejectedCounter(registry, "in-flight");
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 제한을 통과하면 action 을 실행하고, 끝나면 처리 중 자리를 돌려줍니다. 통과하지 못하면 PointRejectedException 을 던집니다.
+     */
+    public <T> T execute(long userId, Supplier<T> action) {
+        acquire(userId);
+        try {
+            return action.get();
+        } finally {
+            release(userId);
+        }
+    }
+
+    /**
+     * 충전/사용용 execute. 거절하면 point.errors 에 type 과 거절 코드로 셉니다.
+     */
+    public <T> T execute(long userId, TransactionType type, Supplier<T> action) {
+        acquire(userId, type);
+        try {
+            return action.get();
+        } finally {
+            release(userId);
+        }
+    }
+
+    /**
+     * 충전/사용용 execute 와 같지만 처리 중 자리는 action 이 돌려준 future 가 끝날 때 돌려줍니다.
+     */
+    public <T> CompletableFuture<T> executeAsync(long userId, TransactionType type, Supplier<CompletableFuture<T>> action) {
+        acquire(userId, type);
+        CompletableFuture<T> result;
+        try {
+            result = action.get();
+        } catch (RuntimeException e) {
+            release(userId);
+            throw e;
+        }
+        return result.whenComplete((value, e) -> release(userId));
+    }
+
+    /**
+     * 여러 사용자의 요청을 함께 처리하는 일괄 요청용. 사용자마다(중복 없이) 처리 중 자리와 사용자 토큰을 받고, 전체 토큰은 하나만 받습니다.
+     * 한 명이라도 거절되면 그때까지 받은 자리와 사용자 토큰을 모두 돌려주고 PointRejectedException 을 던집니다.
+     */
+    public <T> T executeAll(Collection<Long> userIds, Supplier<T> action) {
+        if (!enabled) {
+            return action.get();
+        }
+        long now = nanoTime.getAsLong();
+        List<Long> admitted = new ArrayList<>();
+        List<AtomicLong> userTokens = new ArrayList<>();
+        try {
+            for (long userId : new TreeSet<>(userIds)) {
+                userTokens.add(admitUser(userId, now));
+                admitted.add(userId);
+            }
+            if (!tryTake(globalBucket, now, globalIntervalNanos, globalCapacityNanos)) {
+                throw globalRateLimited();
+            }
+        } catch (PointRejectedException e) {
+            userTokens.forEach(this::refundUserToken);
+            admitted.forEach(this::exit);
+            throw e;
+        }
+        sweepIfDue(now);
+        try {
+            return action.get();
+        } finally {
+            admitted.forEach(this::exit);
+        }
+    }
+
+    /**
+     * 처리 중 자리와 토큰을 하나씩 받습니다. 없으면 PointRejectedException 을 던집니다. 받았으면 끝난 뒤 release 를 불러야 합니다.
+     */
+    void acquire(long userId) {
+        if (!enabled) {
+            return;
+        }
+        long now = nanoTime.getAsLong();
+        AtomicLong userBucket = admitUser(userId, now);
+        if (!tryTake(globalBucket, now, globalIntervalNanos, globalCapacityNanos)) {
+            refundUserToken(userBucket);
+            exit(userId);
+            throw globalRateLimited();
+        }
+        sweepIfDue(now);
+    }
+
+    /**
+     * 처리 중 자리와 사용자 토큰을 받고 그 버킷을 돌려줍니다. 토큰이 없으면 받은 자리를 돌려주고 PointRejectedException 을 던집니다.
+     */
+    private AtomicLong admitUser(long userId, long now) {
+        if (!enter(userId)) {
+            inFlightRejected.increment();
+            throw new PointRejectedException("같은 사용자의 요청이 아직 처리 중입니다. 잠시 후 다시 시도해 주십시오.", "POINT_IN_FLIGHT_LIMITED");
+        }
+        AtomicLong userBucket = takeUserToken(userId, now);
+        if (userBucket == null) {
+            exit(userId);
+            userRejected.increment();
+            throw new PointRejectedException("같은 사용자의 요청이 너무 많습니다. 잠시 후 다시 시도해 주십시오.", "POINT_RATE_LIMITED");
+        }
+        return userBucket;
+    }
+
+    // 쓰지 못한 사용자 토큰을 돌려줌
+    private void refundUserToken(AtomicLong userBucket) {
+        userBucket.getAndUpdate(current -> current == SWEPT ? current : current - userIntervalNanos);
+    }
+
+    private PointRejectedException globalRateLimited() {
+        globalRejected.increment();
+        return new PointRejectedException("요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해 주십시오.", "POINT_GLOBAL_RATE_LIMITED");
+    }
+
+    private void acquire(long userId, TransactionType type) {
+        try {
+            acquire(userId);
+        } catch (PointRejectedException e) {
+            pointMetrics.recordError(type, e.getCode());
+            throw e;
+        }
+    }
+
+    void release(long userId) {
+        if (enabled) {
+            exit(userId);
+        }
+    }
+
+    int inFlight(long userId) {
+        AtomicInteger count = userInFlight.get(userId);
+        return count == null ? 0 : Math.max(count.get(), 0);
+    }
+
+    int trackedUsers() {
+        return userBuckets.size();
+    }
+
+    /**
+     * 사용자 토큰을 받으면 그 버킷을, 없으면 null 을 돌려줍니다.
+     * sweep 이 지우기로 표시한(SWEPT) 버킷을 받았으면 지도에서 떼어 내고 새 버킷에서 다시 받습니다.
+     * 표시와 토큰 받기가 모두 compare-and-set 이므로, 토큰을 받은 버킷은 지워지지 않고 지워질 버킷에서는 토큰을 받지 못합니다.
+     */
+    private AtomicLong takeUserToken(long userId, long now) {
+        while (true) {
+            AtomicLong bucket = userBuckets.computeIfAbsent(userId, id -> new AtomicLong(now));
+            long current = bucket.get();
+            if (current == SWEPT) {
+                userBuckets.remove(userId, bucket);
+                continue;
+            }
+            long next = Math.max(current, now) + userIntervalNanos;
+            if (next - now > userCapacityNanos) {
+                return null;
+            }
+            if (bucket.compareAndSet(current, next)) {
+                return bucket;
+            }
+        }
+    }
+
+    /**
+     * 다음 토큰 시각을 interval 만큼 미룹니다. 미룬 시각이 now 에서 capacity 를 넘으면 버킷이 빈 것입니다.
+     */
+    private static boolean tryTake(AtomicLong bucket, long now, long intervalNanos, long capacityNanos) {
+        while (true) {
+            long current = bucket.get();
+            long next = Math.max(current, now) + intervalNanos;
+            if (next - now > capacityNanos) {
+                return false;
+            }
+            if (bucket.compareAndSet(current, next)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 처리 중 자리를 compare-and-set 으로 하나 받습니다. userMaxInFlight 가 0 이하면 처리 중 요청 수는 제한하지 않습니다.
+     * exit 는 0 이 된 카운터를 -1 로 표시한 뒤에 지우므로, 표시된 카운터를 받았으면 지도에서 떼어 내고 새 카운터에서 다시 받습니다.
+     */
+    private boolean enter(long userId) {
+        if (userMaxInFlight <= 0) {
+            return true;
+        }
+        while (true) {
+            AtomicInteger count = userInFlight.computeIfAbsent(userId, id -> new AtomicInteger());
+            int current = count.get();
+            if (current < 0) {
+                userInFlight.remove(userId, count);
+                continue;
+            }
+            if (current >= userMaxInFlight) {
+                return false;
+            }
+            if (count.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    // 자리를 받은 요청만 부르므로 카운터는 1 이상이고 지도에 남아 있습니다.
+    private void exit(long userId) {
+        if (userMaxInFlight <= 0) {
+            return;
+        }
+        AtomicInteger count = userInFlight.get(userId);
+        if (count != null && count.decrementAndGet() == 0 && count.compareAndSet(0, -1)) {
+            userInFlight.remove(userId, count);
+        }
+    }
+
+    // 보관한 버킷이 maxTrackedUsers 를 넘어도 sweep 은 사용자 버킷이 가득 차는 데 걸리는 시간(userCapacityNanos)에 한 번만 합니다.
+    // 대부분의 버킷이 아직 차는 중이면 sweep 이 지우는 것이 없으므로, 요청마다 전체 지도를 훑지 않도록 시각으로 거릅니다.
+    private void sweepIfDue(long now) {
+        if (userBuckets.size() <= maxTrackedUsers) {
+            return;
+        }
+        long due = nextSweepAt.get();
+        if (now - due < 0 || !nextSweepAt.compareAndSet(due, now + userCapacityNanos)) {
+            return;
+        }
+        sweep(now);
+    }
+
+    // 다음 토큰 시각이 지난 버킷은 가득 찬 버킷이라 새로 만든 것과 같으므로 지워도 됩니다.
+    // 그 사이 토큰을 받은 버킷은 값이 바뀌어 표시하지 못하므로 지우지 않습니다.
+    private void sweep(long now) {
+        userBuckets.forEach((userId, bucket) -> {
+            long current = bucket.get();
+            if (current != SWEPT && current - now <= 0 && bucket.compareAndSet(current, SWEPT)) {
+                userBuckets.remove(userId, bucket);
+            }
+        });
+    }
+
+    private static long intervalNanos(double rate) {
+        return rate > 0 ? Math.max((long) (TimeUnit.SECONDS.toNanos(1) / rate), 1L) : 1L;
+    }
+
+    private static Counter rejectedCounter(MeterRegistry registry, String scope) {
+        return Counter.builder("point.rate.limited")
+                .description("요청 수 제한으로 거절한 충전/사용/이체/일괄 요청 수")
+                .tag("scope", scope)
+                .register(registry);
+    }
+}
@@ -0,0 +1,17 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 조회 종류별 single-flight 통계
+ *
+ * @param endpoint  balance (GET /point/{id}) / histories (GET /point/{id}/histories)
+ * @param loaded    저장소에서 직접 읽은 조회 수
+ * @param coalesced 같은 사용자에 대해 진행 중인 조회의 결과를 함께 받은 수
+ * @param inFlight  지금 진행 중인 조회 수
+ */
+public record PointReadStats(
+        String endpoint,
+        long loaded,
+        long coalesced,
+        int inFlight
+) {
+}
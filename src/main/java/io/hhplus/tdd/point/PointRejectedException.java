@@ -0,0 +1,11 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 처리 용량을 넘어 요청을 받지 않을 때 던집니다. (429 Too Many Requests)
+ */
+public class PointRejectedException extends PointException {
+
+    public PointRejectedException(String message, String code) {
+        super(message, code);
+    }
+}
@@ -1,10 +1,18 @@
 package io.hhplus.tdd.point;
 
+import io.hhplus.tdd.database.PointHistoryQuery;
+
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface PointService {
     UserPoint charge(long id, long amount);
     UserPoint use(long id, long amount);
     UserPoint get(long id);
     List<PointHistory> getHistories(long id);
+    PointHistoryPage getHistoryPage(long id, PointHistoryQuery query);
+    void streamHistories(long id, PointHistoryQuery query, Consumer<PointHistory> consumer);
+    PointLedgerSummary getSummary(long id, boolean audit);
+    List<PointBatchResult> applyBatch(List<PointBatchOperation> operations);
+    PointTransferResult transfer(long fromUserId, long toUserId, long amount);
 }
@@ -1,84 +1,224 @@
 package io.hhplus.tdd.point;
 
 import io.hhplus.tdd.ErrorResponse;
+import io.hhplus.tdd.database.NewPointHistory;
+import io.hhplus.tdd.database.PartialInsertException;
+import io.hhplus.tdd.database.PointHistoryQuery;
+import io.hhplus.tdd.database.PointHistoryRepository;
 import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.PointHistoryTableRepository;
+import io.hhplus.tdd.database.PointHistoryWriter;
+import io.hhplus.tdd.database.PointHistoryWriterProperties;
+import io.hhplus.tdd.database.UserPointCache;
+import io.hhplus.tdd.database.UserPointCacheProperties;
+import io.hhplus.tdd.database.UserPointRepository;
 import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.database.UserPointTableRepository;
+import io.hhplus.tdd.database.UserPointWriteBehindBuffer;
+import io.hhplus.tdd.database.UserPointWriteProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 
 @Service
+@ConditionalOnProperty(name = "point.service.strategy", havingValue = "locking", matchIfMissing = true)
 public class PointServiceImpl implements PointService {
 
-    private final PointHistoryTable pointHistoryTable;
-    private final UserPointTable userPointTable;
+    private static final Logger log = LoggerFactory.getLogger(PointServiceImpl.class);
+    private final PointHistoryRepository pointHistoryRepository;
+    private final UserPointCache userPointCache;
+    private final UserPointWriteBehindBuffer writeBehindBuffer;
+    private final PointHistoryWriter pointHistoryWriter;
+    private final PointLedger pointLedger;
+    private final UserLockRegistry userLockRegistry;
+    private final PointMetrics pointMetrics;
+    private final HotUserDetector hotUserDetector;
+    private final PointCommitListener commitListener;
+    private final int batchParallelism;
+    private final ConcurrentHashMap<Long, Combiner> combiners = new ConcurrentHashMap<>();
+    private final SingleFlight<UserPoint> balanceReads;
+    private final SingleFlight<List<PointHistory>> historyReads;
 
-    private final long USER_POINT_LIMIT = 3_000_000L;
+    static final long USER_POINT_LIMIT = 3_000_000L;
+    static final int HISTORY_PAGE_LIMIT = 1_000;
+    static final int BATCH_SIZE_LIMIT = 100_000;
+    private static final long COMBINE_POLL_MICROS = 200L;
 
-    private final ConcurrentHashMap<Long, Object> lockMap = new ConcurrentHashMap<>();
-    // private final ConcurrentHashMap<Long, ReentrantLock> reentrantLockMap = new ConcurrentHashMap<>();
     public PointServiceImpl(PointHistoryTable pointHistoryTable, UserPointTable userPointTable) {
-        this.pointHistoryTable = pointHistoryTable;
-        this.userPointTable = userPointTable;
+        this(new PointHistoryTableRepository(pointHistoryTable), new UserPointTableRepository(userPointTable));
+    }
+
+    private PointServiceImpl(PointHistoryRepository pointHistoryRepository, UserPointRepository userPointRepository) {
+        this(pointHistoryRepository, new UserPointCache(userPointRepository, UserPointCacheProperties.disabled()),
+                new UserPointWriteBehindBuffer(userPointRepository, UserPointWriteProperties.sync()),
+                new PointHistoryWriter(pointHistoryRepository, PointHistoryWriterProperties.disabled()),
+                new PointLedger(pointHistoryRepository, PointLedgerProperties.disabled()),
+                new RefCountedUserLockRegistry(),
+                PointMetrics.noop(),
+                HotUserDetector.disabled(),
+                PointCommitListener.NONE);
+    }
+
+    public PointServiceImpl(PointHistoryRepository pointHistoryRepository, UserPointCache userPointCache,
+                            UserPointWriteBehindBuffer writeBehindBuffer, PointHistoryWriter pointHistoryWriter,
+                            PointLedger pointLedger, UserLockRegistry userLockRegistry, PointMetrics pointMetrics,
+                            HotUserDetector hotUserDetector, PointCommitListener commitListener) {
+        this(pointHistoryRepository, userPointCache, writeBehindBuffer, pointHistoryWriter, pointLedger, userLockRegistry, pointMetrics,
+                hotUserDetector, commitListener, PointBatchProperties.defaults());
+    }
+
+    @Autowired
+    public PointServiceImpl(PointHistoryRepository pointHistoryRepository, UserPointCache userPointCache,
+                            UserPointWriteBehindBuffer writeBehindBuffer, PointHistoryWriter pointHistoryWriter,
+                            PointLedger pointLedger, UserLockRegistry userLockRegistry, PointMetrics pointMetrics,
+                            HotUserDetector hotUserDetector, PointCommitListener commitListener, PointBatchProperties batchProperties) {
+        this.pointHistoryRepository = pointHistoryRepository;
+        this.userPointCache = userPointCache;
+        this.writeBehindBuffer = writeBehindBuffer;
+        this.pointHistoryWriter = pointHistoryWriter;
+        this.pointLedger = pointLedger;
+        this.userLockRegistry = hotUserDetector.track(userLockRegistry);
+        this.pointMetrics = pointMetrics;
+        this.hotUserDetector = hotUserDetector;
+        this.commitListener = commitListener;
+        this.batchParallelism = Math.max(1, batchProperties.parallelism());
+        this.balanceReads = new SingleFlight<>(PointMetrics.ReadEndpoint.BALANCE, pointMetrics);
+        this.historyReads = new SingleFlight<>(PointMetrics.ReadEndpoint.HISTORIES, pointMetrics);
     }
 
     @Override
     public UserPoint charge(long id, long amount) {
+        long started = System.nanoTime();
+        try {
+            return doCharge(id, amount, started);
+        } catch (RuntimeException e) {
+            pointMetrics.recordError(TransactionType.CHARGE, errorCode(e));
+            throw e;
+        } finally {
+            pointMetrics.record(TransactionType.CHARGE, PointMetrics.Phase.TOTAL, System.nanoTime() - started);
+        }
+    }
+
+    private UserPoint doCharge(long id, long amount, long started) {
         if (amount <= 0) {
             throw new PointException("충전 금액은 0 혹은 마이너스 일 수 없습니다", "CHARGE_POINT_IS_OVER_ZERO");
         } // 충전금액이 0 혹은 마이너스 일 경우
 
-        Object lock = lockMap.computeIfAbsent(id, k -> new Object());
-        synchronized (lock) {
-            UserPoint userPoint = userPointTable.selectById(id);
+        if (hotUserDetector.shouldCombine(id)) {
+            return combine(id, TransactionType.CHARGE, amount, started);
+        }
+
+        Committed committed = userLockRegistry.executeWithLock(id, () -> {
+            pointMetrics.recordLockWait(TransactionType.CHARGE, System.nanoTime() - started);
+            long selectStarted = System.nanoTime();
+            UserPoint userPoint = selectUserPoint(id);
+            pointMetrics.record(TransactionType.CHARGE, PointMetrics.Phase.SELECT, System.nanoTime() - selectStarted);
 
             if (userPoint.point() + amount > USER_POINT_LIMIT) {
-                throw new PointException(String.format("1인당 포인트 최대 잔고는 %d원 이하여야 합니다.", USER_POINT_LIMIT), "USER_POINT_LIMIT_EXCEEDED");
+                throw userPointLimitExceeded();
             } // 충전 후 금액이 최대 잔고를 넘을 경우
 
             long newAmount = userPoint.point() + amount; // 충전 후 금액
 
+            CompletableFuture<PointHistory> history;
+            long insertStarted = System.nanoTime();
             try {
-                pointHistoryTable.insert(id, amount, TransactionType.CHARGE, System.currentTimeMillis()); // 포인트 충전 내역 저장
+                history = insertHistory(id, amount, TransactionType.CHARGE); // 포인트 충전 내역 저장
+            } catch (PointRejectedException e) {
+                throw e; // 내역 대기열이 가득 차 거절된 요청은 429 로 알립니다.
             } catch (Exception e) {
                 throw new PointException("포인트 충전 내역을 저장 하지 못했습니다.", "HISTORY_TABLE_INSERT_FAILED");
             } // 어느 예외라도 터져서 포인트 충전 내역을을 저장하지 못하였을 경우
+            awaitHistory(history, "포인트 충전 내역을 저장 하지 못했습니다."); // ACK_ON_INSERT 는 내역이 저장되어야 잔고를 바꿉니다.
+            pointMetrics.record(TransactionType.CHARGE, PointMetrics.Phase.HISTORY_INSERT, System.nanoTime() - insertStarted);
 
-            return userPointTable.insertOrUpdate(userPoint.id(), newAmount);
-        }
+            long saveStarted = System.nanoTime();
+            UserPoint saved = save(userPoint.id(), newAmount);
+            pointMetrics.record(TransactionType.CHARGE, PointMetrics.Phase.SAVE, System.nanoTime() - saveStarted);
+            return new Committed(saved, logCommit(id, amount, TransactionType.CHARGE, saved));
+        });
+        awaitCommit(committed.durable());
+        return committed.userPoint();
     }
 
     @Override
     public UserPoint use(long id, long amount) {
-        Object lock = lockMap.computeIfAbsent(id, k -> new Object());
-        synchronized (lock) {
+        long started = System.nanoTime();
+        try {
+            return doUse(id, amount, started);
+        } catch (RuntimeException e) {
+            pointMetrics.recordError(TransactionType.USE, errorCode(e));
+            throw e;
+        } finally {
+            pointMetrics.record(TransactionType.USE, PointMetrics.Phase.TOTAL, System.nanoTime() - started);
+        }
+    }
+
+    private UserPoint doUse(long id, long amount, long started) {
+        if (hotUserDetector.shouldCombine(id)) {
+            return combine(id, TransactionType.USE, amount, started);
+        }
+
+        Committed committed = userLockRegistry.executeWithLock(id, () -> {
+            pointMetrics.recordLockWait(TransactionType.USE, System.nanoTime() - started);
             if (amount <= 0) {
                 throw new PointException("사용 금액은 0 혹은 마이너스 일 수 없습니다.", "USE_AMOUNT_IS_OVER_ZERO");
             } // 사용금액이 0 혹은 마이너스 일 경우
 
-            UserPoint userPoint = userPointTable.selectById(id);
+            long selectStarted = System.nanoTime();
+            UserPoint userPoint = selectUserPoint(id);
+            pointMetrics.record(TransactionType.USE, PointMetrics.Phase.SELECT, System.nanoTime() - selectStarted);
 
             if (userPoint.point() < amount) {
-                throw new PointException("포인트가 부족합니다. 포인트를 충전 해주십시오.", "NEED_CHARGE_AMOUNT");
+                throw needChargeAmount();
             }
 
             long newAmount = userPoint.point() - amount; // 사용 후 금액
 
+            CompletableFuture<PointHistory> history;
+            long insertStarted = System.nanoTime();
             try {
-                pointHistoryTable.insert(id, amount, TransactionType.USE, System.currentTimeMillis()); // 포인트 사용 내역 저장
+                history = insertHistory(id, amount, TransactionType.USE); // 포인트 사용 내역 저장
+            } catch (PointRejectedException e) {
+                throw e; // 내역 대기열이 가득 차 거절된 요청은 429 로 알립니다.
             } catch (Exception e) {
                 throw new PointException("포인트 사용 내역을 저장 하지 못했습니다.", "HISTORY_TABLE_INSERT_FAILED");
             } // 어느 예외라도 터져서 포인트 사용 내역을을 저장하지 못하였을 경우
+            awaitHistory(history, "포인트 사용 내역을 저장 하지 못했습니다."); // ACK_ON_INSERT 는 내역이 저장되어야 잔고를 바꿉니다.
+            pointMetrics.record(TransactionType.USE, PointMetrics.Phase.HISTORY_INSERT, System.nanoTime() - insertStarted);
 
-            return userPointTable.insertOrUpdate(userPoint.id(), newAmount);
-        }
+            long saveStarted = System.nanoTime();
+            UserPoint saved = save(userPoint.id(), newAmount);
+            pointMetrics.record(TransactionType.USE, PointMetrics.Phase.SAVE, System.nanoTime() - saveStarted);
+            return new Committed(saved, logCommit(id, amount, TransactionType.USE, saved));
+        });
+        awaitCommit(committed.durable());
+        return committed.userPoint();
     }
 
     @Override
     public UserPoint get(long id) {
-        UserPoint userPoint = userPointTable.selectById(id);
+        UserPoint userPoint = balanceReads.load(id, this::selectUserPoint); // 같은 사용자의 동시 조회는 한 번만 읽습니다.
         if (userPoint.point() < 0) {
             throw new PointException("포인트 조회 중 오류가 발생했습니다. 포인트는 음수일 수 없습니다.", "POINT_IS_OVER_ZERO");
         }
@@ -87,10 +227,18 @@ public class PointServiceImpl implements PointService {
 
     @Override
     public List<PointHistory> getHistories(long id) {
-        List<PointHistory> histories = pointHistoryTable.selectAllByUserId(id);
+        List<PointHistory> histories = historyReads.load(id, pointHistoryRepository::selectAllByUserId); // 같은 사용자의 동시 조회는 한 번만 읽습니다.
         if (histories.isEmpty()) {
             throw new PointException("해당 ID의 포인트 충전 혹은 사용 내역이 없습니다", "HISTORY_TABLE_SELECT_FAILED");
         }
+        PointLedgerSummary summary = pointLedger.summary(id);
+        if (pointLedger.matches(summary, histories)) {
+            if (summary.balance() < 0) {
+                throw new PointException("해당 ID의 포인트 충전 및 사용 내역에 문제가 있습니다. 최종 합계가 0 미만일 수 없습니다.", "HISTORY_TABLE_FINAL_AMOUNT_IS_OVER_ZERO");
+            }
+            return histories;
+        } // 요약과 내역 수/마지막 id 가 같으면 전체 내역을 다시 합산하지 않습니다.
+
         boolean isEqual = false;
         for (PointHistory pointHistory : histories)
             if (pointHistory.userId() != id) {
@@ -114,4 +262,525 @@ public class PointServiceImpl implements PointService {
         }
         return histories;
     }
-}
\ No newline at end of file
+
+    @Override
+    public PointHistoryPage getHistoryPage(long id, PointHistoryQuery query) {
+        if (query.limit() <= 0 || query.limit() > HISTORY_PAGE_LIMIT) {
+            throw new PointException(String.format("한 번에 조회할 수 있는 내역은 1건 이상 %d건 이하입니다.", HISTORY_PAGE_LIMIT), "HISTORY_PAGE_LIMIT_INVALID");
+        }
+        List<PointHistory> histories = pointHistoryRepository.selectByUserId(id, query);
+        Long nextCursor = histories.size() < query.limit() ? null : histories.get(histories.size() - 1).id();
+        return new PointHistoryPage(histories, nextCursor);
+    }
+
+    @Override
+    public void streamHistories(long id, PointHistoryQuery query, Consumer<PointHistory> consumer) {
+        pointHistoryRepository.forEachByUserId(id, query, consumer);
+    }
+
+    @Override
+    public PointLedgerSummary getSummary(long id, boolean audit) {
+        if (audit) {
+            return pointLedger.audit(id);
+        }
+        PointLedgerSummary summary = pointLedger.summary(id);
+        if (summary == null) {
+            return PointLedger.replay(id, pointHistoryRepository.selectAllByUserId(id)); // 서비스를 거치지 않은 내역만 있는 경우
+        }
+        return summary;
+    }
+
+    /**
+     * 사용자별로 묶어서 사용자마다 락 한 번, 잔고 조회 한 번, 잔고 저장 한 번으로 처리합니다.
+     * 서로 다른 사용자는 batchParallelism 명까지 병렬로 처리하고, 한 사용자의 작업은 요청 순서대로 적용합니다.
+     * 사용자 수만큼 스레드를 띄우지 않으므로 큰 묶음 하나가 저장소와 락 저장소에 동시 호출을 쏟아 붓지 않습니다.
+     */
+    @Override
+    public List<PointBatchResult> applyBatch(List<PointBatchOperation> operations) {
+        if (operations == null || operations.isEmpty() || operations.size() > BATCH_SIZE_LIMIT) {
+            throw new PointException(String.format("일괄 처리 건수는 1건 이상 %d건 이하여야 합니다.", BATCH_SIZE_LIMIT), "BATCH_SIZE_INVALID");
+        }
+
+        Map<Long, List<PointBatchOperation>> operationsByUser = new LinkedHashMap<>();
+        for (PointBatchOperation operation : operations) {
+            operationsByUser.computeIfAbsent(operation.userId(), userId -> new ArrayList<>()).add(operation);
+        }
+
+        Map<Long, Iterator<PointBatchResult>> resultsByUser = new LinkedHashMap<>();
+        int parallelism = Math.min(batchParallelism, operationsByUser.size());
+        try (ExecutorService executor = Executors.newFixedThreadPool(parallelism, Thread.ofVirtual().factory())) { // 테이블 I/O 를 기다리는 작업이라 가상 스레드 사용
+            Map<Long, CompletableFuture<List<PointBatchResult>>> futures = new LinkedHashMap<>();
+            operationsByUser.forEach((userId, userOperations) ->
+                    futures.put(userId, submitUserBatch(userId, userOperations, executor)));
+            futures.forEach((userId, future) ->
+                    resultsByUser.put(userId, joinUserBatch(future, operationsByUser.get(userId)).iterator()));
+        }
+
+        List<PointBatchResult> results = new ArrayList<>(operations.size());
+        for (PointBatchOperation operation : operations) {
+            PointBatchResult result = resultsByUser.get(operation.userId()).next();
+            if (!result.success() && operation.type() != null) {
+                pointMetrics.recordError(operation.type(), result.code());
+            }
+            results.add(result);
+        }
+        return results;
+    }
+
+    // 한 사용자의 작업 묶음을 실행할 곳을 정합니다.
+    CompletableFuture<List<PointBatchResult>> submitUserBatch(long id, List<PointBatchOperation> operations, Executor executor) {
+        return CompletableFuture.supplyAsync(() -> applyUserBatch(id, operations), executor);
+    }
+
+    /**
+     * 한 사용자의 작업을 요청 순서대로 적용합니다. 실패한 건은 잔고를 바꾸지 않고 다음 건으로 넘어갑니다.
+     * 검증은 메모리에서 먼저 모두 끝내고, 통과한 건의 내역은 insertAll 한 번으로(기록기를 쓰면 대기열에 모두 넣은 뒤 함께) 저장합니다.
+     * 내역이 앞에서부터 저장된 건까지만 잔고에 넣고, 처음으로 저장하지 못한 건부터 뒤의 건은 HISTORY_TABLE_INSERT_FAILED 로 알립니다.
+     * 마지막에 잔고를 저장하지 못하면 저장된 내역마다 반대 내역을 남기고 묶음 전체를 실패로 알립니다.
+     */
+    List<PointBatchResult> applyUserBatch(long id, List<PointBatchOperation> operations) {
+        return applyUserBatch(id, operations, () -> {
+        });
+    }
+
+    // onLocked 는 사용자 락을 잡은 직후에 불립니다. (합쳐 처리한 요청의 락 대기 시간 기록용)
+    private List<PointBatchResult> applyUserBatch(long id, List<PointBatchOperation> operations, Runnable onLocked) {
+        List<CompletableFuture<Void>> durables = new ArrayList<>(operations.size());
+        List<PointBatchResult> results = userLockRegistry.executeWithLock(id, () -> {
+            onLocked.run();
+            List<PointBatchResult> applied = new ArrayList<>(operations.size());
+            List<Integer> accepted = new ArrayList<>(operations.size()); // 검증을 통과한 건의 위치
+            UserPoint userPoint = selectUserPoint(id);
+            long point = userPoint.point();
+            for (PointBatchOperation operation : operations) {
+                try {
+                    long newAmount = applyOperation(point, operation);
+                    accepted.add(applied.size());
+                    applied.add(PointBatchResult.success(operation, new UserPoint(id, newAmount, 0L))); // 저장 시각은 저장한 뒤에 채웁니다.
+                    point = newAmount;
+                } catch (PointException e) {
+                    applied.add(PointBatchResult.failure(operation, e));
+                }
+            }
+
+            int stored = insertHistories(id, accepted.stream().map(operations::get).toList());
+            point = stored == 0 ? userPoint.point() : applied.get(accepted.get(stored - 1)).point();
+            PointException notStored = new PointException("포인트 내역을 저장 하지 못했습니다.", "HISTORY_TABLE_INSERT_FAILED");
+            for (int i = stored; i < accepted.size(); i++) {
+                applied.set(accepted.get(i), PointBatchResult.failure(operations.get(accepted.get(i)), notStored));
+            }
+
+            if (stored > 0) {
+                UserPoint saved;
+                try {
+                    saved = save(id, point);
+                } catch (RuntimeException e) {
+                    applied.stream().filter(PointBatchResult::success).forEach(result -> reverseHistory(id, result.amount(), result.type()));
+                    throw new PointException("포인트 잔고를 저장하지 못했습니다.", "BATCH_SAVE_FAILED");
+                }
+                for (int i = 0; i < applied.size(); i++) {
+                    PointBatchResult result = applied.get(i);
+                    if (!result.success()) {
+                        durables.add(null);
+                        continue;
+                    }
+                    UserPoint committed = new UserPoint(id, result.point(), saved.updateMillis());
+                    applied.set(i, PointBatchResult.success(operations.get(i), committed));
+                    durables.add(logCommit(id, result.amount(), result.type(), committed));
+                }
+            }
+            return applied;
+        });
+
+        // 변경 기록(WAL)은 락 밖에서 기다립니다.
+        for (int i = 0; i < durables.size(); i++) {
+            if (durables.get(i) == null) {
+                continue;
+            }
+            try {
+                awaitCommit(durables.get(i));
+            } catch (PointException e) {
+                results.set(i, PointBatchResult.failure(operations.get(i), e));
+            }
+        }
+        return results;
+    }
+
+    // 한 건을 적용한 뒤의 잔고를 계산합니다. 검증 규칙과 오류 코드는 charge/use 와 같습니다.
+    static long applyOperation(long point, PointBatchOperation operation) {
+        if (operation.type() == TransactionType.CHARGE) {
+            if (operation.amount() <= 0) {
+                throw new PointException("충전 금액은 0 혹은 마이너스 일 수 없습니다", "CHARGE_POINT_IS_OVER_ZERO");
+            }
+            if (point + operation.amount() > USER_POINT_LIMIT) {
+                throw userPointLimitExceeded();
+            }
+            return point + operation.amount();
+        }
+        if (operation.type() == TransactionType.USE) {
+            if (operation.amount() <= 0) {
+                throw new PointException("사용 금액은 0 혹은 마이너스 일 수 없습니다.", "USE_AMOUNT_IS_OVER_ZERO");
+            }
+            if (point < operation.amount()) {
+                throw needChargeAmount();
+            }
+            return point - operation.amount();
+        }
+        throw new PointException("거래 유형은 CHARGE 또는 USE 여야 합니다.", "TRANSACTION_TYPE_INVALID");
+    }
+
+    // 사용자 묶음 전체가 실패하면(락/잔고 저장 실패, 대기열 거절 등) 그 사용자의 모든 건을 같은 이유로 실패 처리합니다.
+    private static List<PointBatchResult> joinUserBatch(CompletableFuture<List<PointBatchResult>> future, List<PointBatchOperation> operations) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            return operations.stream().map(operation -> PointBatchResult.failure(operation, cause)).toList();
+        }
+    }
+
+    /**
+     * fromUserId 의 포인트를 toUserId 로 옮깁니다.
+     * 두 사용자의 락을 UserLockRegistry.executeWithLocks 의 정해진 순서로 잡으므로 반대 방향의 이체가 동시에 와도 교착 상태가 생기지 않습니다.
+     * 락 안에서 두 내역(보낸 쪽 USE, 받은 쪽 CHARGE)을 먼저 저장하고 두 잔고를 저장합니다. 중간에 실패하면 잔고는 이체 전 값으로 되돌리고,
+     * 이미 저장된 내역에는 반대 내역을 남겨 내역 합계와 잔고를 맞춥니다. (테이블은 지울 수 없으므로)
+     * 보낸 쪽 잔고를 되돌리지 못하면 그 쪽 내역은 남겨 두고 TRANSFER_ROLLBACK_FAILED 로 알립니다.
+     */
+    @Override
+    public PointTransferResult transfer(long fromUserId, long toUserId, long amount) {
+        if (amount <= 0) {
+            throw new PointException("이체 금액은 0 혹은 마이너스 일 수 없습니다.", "TRANSFER_AMOUNT_IS_OVER_ZERO");
+        }
+        if (fromUserId == toUserId) {
+            throw new PointException("자기 자신에게는 이체할 수 없습니다.", "TRANSFER_TO_SELF");
+        }
+
+        TransferCommitted committed = userLockRegistry.executeWithLocks(fromUserId, toUserId, () -> {
+            UserPoint from = selectUserPoint(fromUserId);
+            UserPoint to = selectUserPoint(toUserId);
+            if (from.point() < amount) {
+                throw needChargeAmount();
+            }
+            if (to.point() + amount > USER_POINT_LIMIT) {
+                throw userPointLimitExceeded();
+            }
+
+            insertTransferHistories(fromUserId, toUserId, amount);
+            UserPoint savedFrom;
+            try {
+                savedFrom = save(fromUserId, from.point() - amount);
+            } catch (RuntimeException e) {
+                reverseHistory(fromUserId, amount, TransactionType.USE);
+                reverseHistory(toUserId, amount, TransactionType.CHARGE);
+                throw new PointException("포인트 이체 잔고를 저장하지 못했습니다.", "TRANSFER_SAVE_FAILED");
+            }
+            UserPoint savedTo;
+            try {
+                savedTo = save(toUserId, to.point() + amount);
+            } catch (RuntimeException e) {
+                reverseHistory(toUserId, amount, TransactionType.CHARGE);
+                rollbackTransfer(from, savedFrom, amount);
+                throw new PointException("포인트 이체 잔고를 저장하지 못했습니다.", "TRANSFER_SAVE_FAILED");
+            }
+            CompletableFuture<Void> durable = CompletableFuture.allOf(
+                    logCommit(fromUserId, amount, TransactionType.USE, savedFrom),
+                    logCommit(toUserId, amount, TransactionType.CHARGE, savedTo));
+            return new TransferCommitted(new PointTransferResult(savedFrom, savedTo), durable);
+        });
+        awaitCommit(committed.durable());
+        return committed.result();
+    }
+
+    /**
+     * 두 내역을 충전/사용과 같은 경로(insertHistory)로 저장해, 기록기를 쓰면 같은 대기열에서 내역 id 와 사용자별 순서가 정해지게 합니다.
+     * 한쪽만 저장되면(ACK_ON_INSERT 모드에서는 저장 완료까지 확인) 저장된 쪽 내역을 되돌립니다.
+     */
+    private void insertTransferHistories(long fromUserId, long toUserId, long amount) {
+        CompletableFuture<PointHistory> used;
+        try {
+            used = insertHistory(fromUserId, amount, TransactionType.USE);
+        } catch (PointRejectedException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new PointException("포인트 이체 내역을 저장 하지 못했습니다.", "HISTORY_TABLE_INSERT_FAILED");
+        }
+        CompletableFuture<PointHistory> charged;
+        try {
+            charged = insertHistory(toUserId, amount, TransactionType.CHARGE);
+        } catch (Exception e) {
+            reverseHistory(fromUserId, amount, TransactionType.USE);
+            if (e instanceof PointRejectedException rejected) {
+                throw rejected;
+            }
+            throw new PointException("포인트 이체 내역을 저장 하지 못했습니다.", "HISTORY_TABLE_INSERT_FAILED");
+        }
+        boolean usedStored = isStored(used);
+        boolean chargedStored = isStored(charged);
+        if (usedStored && chargedStored) {
+            return;
+        }
+        if (usedStored) {
+            reverseHistory(fromUserId, amount, TransactionType.USE);
+        }
+        if (chargedStored) {
+            reverseHistory(toUserId, amount, TransactionType.CHARGE);
+        }
+        throw new PointException("포인트 이체 내역을 저장 하지 못했습니다.", "HISTORY_TABLE_INSERT_FAILED");
+    }
+
+    // ACK_ON_INSERT 모드가 아니면 저장 완료를 기다리지 않으므로 넣은 내역은 저장된 것으로 봅니다.
+    private boolean isStored(CompletableFuture<PointHistory> history) {
+        try {
+            awaitHistory(history, "포인트 이체 내역을 저장 하지 못했습니다.");
+            return true;
+        } catch (PointException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 보낸 쪽 잔고만 저장된 뒤 받는 쪽 잔고를 저장하지 못한 경우 보낸 쪽 잔고를 이체 전으로 되돌리고, 되돌렸을 때만 USE 내역에 반대 내역을 남깁니다.
+     * 되돌리지 못하면 USE 내역은 빠져나간 잔고와 맞으므로 그대로 두고, 그 변경을 기록한 뒤 TRANSFER_ROLLBACK_FAILED 로 알립니다.
+     */
+    private void rollbackTransfer(UserPoint from, UserPoint savedFrom, long amount) {
+        try {
+            save(from.id(), from.point());
+        } catch (RuntimeException e) {
+            log.error("이체 잔고를 되돌리지 못했습니다. from={}, saved={}", from, savedFrom, e);
+            logCommit(from.id(), amount, TransactionType.USE, savedFrom); // 락 안이라 기다리지 않습니다. 실패는 어차피 알립니다.
+            throw new PointException("포인트 이체를 되돌리지 못했습니다. 보낸 사용자의 잔고에 이체가 반영되어 있습니다.", "TRANSFER_ROLLBACK_FAILED", true);
+        }
+        reverseHistory(from.id(), amount, TransactionType.USE);
+    }
+
+    /**
+     * 핫 유저의 충전/사용은 사용자별 대기열에 넣고, 먼저 들어온 스레드 하나(combiner)가 쌓인 요청을 applyUserBatch 로 한 번에 반영합니다.
+     * 잔고 조회와 저장은 한 번씩만 하고, 한도/잔액 검사는 요청 순서대로 건별로 합니다. 나머지 스레드는 자기 결과가 나올 때까지 기다립니다.
+     */
+    private UserPoint combine(long id, TransactionType type, long amount, long started) {
+        Combiner combiner = combiners.computeIfAbsent(id, key -> new Combiner());
+        PendingOperation pending = new PendingOperation(new PointBatchOperation(id, type, amount), started, new CompletableFuture<>());
+        combiner.queue.add(pending);
+        while (!pending.result().isDone()) {
+            if (combiner.running.compareAndSet(false, true)) {
+                try {
+                    combineAll(id, combiner);
+                } finally {
+                    combiner.running.set(false);
+                }
+                combiners.remove(id, combiner); // 대기열이 비어 있을 때 지워도, 이미 이 객체를 가진 스레드는 스스로 처리합니다.
+            } else {
+                awaitCombined(pending.result());
+            }
+        }
+
+        PointBatchResult result = pending.result().join();
+        if (!result.success()) {
+            throw new PointException(result.message(), result.code(), result.afterCommit());
+        }
+        return new UserPoint(id, result.point(), result.updateMillis());
+    }
+
+    private void combineAll(long id, Combiner combiner) {
+        List<PendingOperation> drained = new ArrayList<>();
+        PendingOperation next;
+        while ((next = combiner.queue.poll()) != null) {
+            drained.add(next);
+        }
+        if (drained.isEmpty()) {
+            return;
+        }
+        hotUserDetector.recordCombined(id, drained.size());
+        try {
+            List<PointBatchResult> results = applyUserBatch(id, drained.stream().map(PendingOperation::operation).toList(), () -> {
+                long locked = System.nanoTime();
+                drained.forEach(pending -> pointMetrics.recordLockWait(pending.operation().type(), locked - pending.started()));
+            });
+            for (int i = 0; i < drained.size(); i++) {
+                drained.get(i).result().complete(results.get(i));
+            }
+        } catch (RuntimeException e) {
+            drained.forEach(pending -> pending.result().complete(PointBatchResult.failure(pending.operation(), e)));
+        }
+    }
+
+    // combiner 가 방금 끝나서 아무도 처리하지 않는 경우를 위해, 잠깐씩만 기다리고 다시 combiner 가 되어 봅니다.
+    private static void awaitCombined(CompletableFuture<PointBatchResult> result) {
+        try {
+            result.get(COMBINE_POLL_MICROS, TimeUnit.MICROSECONDS);
+        } catch (TimeoutException | ExecutionException ignored) {
+            // 다시 확인
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PointException("포인트 처리를 기다리는 중 중단되었습니다.", "POINT_COMBINE_INTERRUPTED");
+        }
+    }
+
+    // WRITE_BEHIND 모드에서는 버퍼가 기준 잔고이고, SYNC 모드에서는 캐시를 거쳐 테이블을 읽고 씁니다.
+    UserPoint selectUserPoint(long id) {
+        return writeBehindBuffer.isEnabled() ? writeBehindBuffer.get(id) : userPointCache.get(id);
+    }
+
+    UserPoint save(long id, long amount) {
+        UserPoint saved = writeBehindBuffer.isEnabled() ? writeBehindBuffer.update(id, amount) : userPointCache.insertOrUpdate(id, amount);
+        forgetReads(id);
+        return saved;
+    }
+
+    // 바뀐 뒤에 시작한 조회가 바뀌기 전에 시작된 조회의 결과를 받지 않도록 합니다.
+    void forgetReads(long id) {
+        balanceReads.forget(id);
+        historyReads.forget(id);
+    }
+
+    public List<PointReadStats> readStats() {
+        return List.of(balanceReads.stats(), historyReads.stats());
+    }
+
+    // group-commit 기록기를 쓰면 내역은 대기열에만 넣고, 실제 저장은 기록기 스레드가 합니다.
+    CompletableFuture<PointHistory> insertHistory(long id, long amount, TransactionType type) {
+        CompletableFuture<PointHistory> history = pointHistoryWriter.isEnabled()
+                ? pointHistoryWriter.append(id, amount, type, System.currentTimeMillis())
+                : CompletableFuture.completedFuture(pointHistoryRepository.insert(id, amount, type, System.currentTimeMillis()));
+        history.thenAccept(pointLedger::record); // 저장이 끝난 내역만 요약에 반영
+        forgetReads(id); // 잔고를 save 로 바꾸지 않는 전략(optimistic)도 여기서 떼어 냅니다.
+        return history;
+    }
+
+    /**
+     * 한 사용자의 묶음 내역을 한 번에 저장하고, 앞에서부터 저장된 건수를 돌려줍니다.
+     * 기록기를 쓰면 모두 대기열에 넣은 뒤 ACK_ON_INSERT 일 때만 함께 기다리고, 저장된 앞부분 뒤에 저장된 내역은 반대 내역으로 되돌립니다.
+     * 기록기가 없으면 insertAll 한 번으로 저장하고, PartialInsertException 이면 저장된 앞부분까지만 셉니다.
+     */
+    private int insertHistories(long id, List<PointBatchOperation> operations) {
+        if (operations.isEmpty()) {
+            return 0;
+        }
+        if (pointHistoryWriter.isEnabled()) {
+            List<CompletableFuture<PointHistory>> histories = new ArrayList<>(operations.size());
+            try {
+                for (PointBatchOperation operation : operations) {
+                    histories.add(insertHistory(id, operation.amount(), operation.type()));
+                }
+            } catch (RuntimeException e) {
+                log.error("포인트 내역을 대기열에 넣지 못했습니다. userId={}", id, e);
+            }
+            int stored = 0;
+            for (int i = 0; i < histories.size(); i++) {
+                try {
+                    awaitHistory(histories.get(i), "포인트 내역을 저장 하지 못했습니다.");
+                } catch (PointException e) {
+                    continue;
+                }
+                if (stored == i) {
+                    stored++;
+                } else {
+                    reverseHistory(id, operations.get(i).amount(), operations.get(i).type());
+                }
+            }
+            return stored;
+        }
+
+        long now = System.currentTimeMillis();
+        List<PointHistory> inserted;
+        try {
+            inserted = pointHistoryRepository.insertAll(operations.stream()
+                    .map(operation -> new NewPointHistory(id, operation.amount(), operation.type(), now))
+                    .toList());
+        } catch (PartialInsertException e) {
+            log.error("포인트 내역 {}건 중 {}건만 저장했습니다. userId={}", operations.size(), e.getInserted().size(), id, e);
+            inserted = e.getInserted();
+        } catch (RuntimeException e) {
+            log.error("포인트 내역을 저장하지 못했습니다. userId={}", id, e);
+            inserted = List.of();
+        }
+        inserted.forEach(pointLedger::record);
+        if (!inserted.isEmpty()) {
+            forgetReads(id);
+        }
+        return inserted.size();
+    }
+
+    // 저장된 내역에 반대 내역을 남겨 내역 합계를 잔고에 맞춥니다. (테이블은 지울 수 없으므로)
+    void reverseHistory(long id, long amount, TransactionType type) {
+        TransactionType reversed = type == TransactionType.CHARGE ? TransactionType.USE : TransactionType.CHARGE;
+        try {
+            insertHistory(id, amount, reversed).exceptionally(e -> {
+                log.error("내역을 되돌리지 못했습니다. userId={}, amount={}, type={}", id, amount, type, e);
+                return null;
+            });
+        } catch (RuntimeException e) {
+            log.error("내역을 되돌리지 못했습니다. userId={}, amount={}, type={}", id, amount, type, e);
+        }
+    }
+
+    // ACK_ON_INSERT 모드에서만 내역 저장 완료를 기다립니다. 잔고를 저장하기 전에(락 안에서) 불러, 내역 저장이 실패하면 잔고를 바꾸지 않습니다.
+    // 락을 잡은 채 기다리는 것이 이 모드의 비용이고, 락을 먼저 푸는 것은 ACK_ON_ENQUEUE 뿐입니다.
+    void awaitHistory(CompletableFuture<PointHistory> history, String failureMessage) {
+        if (!pointHistoryWriter.isEnabled() || !pointHistoryWriter.isAckOnInsert()) {
+            return;
+        }
+        try {
+            history.join();
+        } catch (CompletionException e) {
+            throw new PointException(failureMessage, "HISTORY_TABLE_INSERT_FAILED");
+        }
+    }
+
+    // 잔고를 저장한 뒤(사용자별 락 안에서) 변경을 알립니다. WAL 을 쓰면 여기서 기록됩니다.
+    CompletableFuture<Void> logCommit(long id, long amount, TransactionType type, UserPoint saved) {
+        return commitListener.onCommit(id, amount, type, saved.updateMillis(), saved.point());
+    }
+
+    void awaitCommit(CompletableFuture<Void> durable) {
+        try {
+            durable.join();
+        } catch (CompletionException e) {
+            throw walWriteFailed();
+        }
+    }
+
+    // 잔고를 바꾼 뒤의 실패이므로 afterCommit 으로 표시합니다.
+    static PointException walWriteFailed() {
+        return new PointException("포인트 변경 기록을 저장하지 못했습니다.", "POINT_WAL_WRITE_FAILED", true);
+    }
+
+    static PointException historyCompensationFailed() {
+        return new PointException("포인트 내역을 저장하지 못했고, 그 사이 잔고가 바뀌어 되돌리지 못했습니다.", "HISTORY_COMPENSATION_FAILED", true);
+    }
+
+    static PointException historyStreamLimitInvalid() {
+        return new PointException("스트리밍할 내역 수(limit)는 1건 이상이어야 합니다.", "HISTORY_STREAM_LIMIT_INVALID");
+    }
+
+    static PointException userPointLimitExceeded() {
+        return new PointException(String.format("1인당 포인트 최대 잔고는 %d원 이하여야 합니다.", USER_POINT_LIMIT), "USER_POINT_LIMIT_EXCEEDED");
+    }
+
+    static PointException needChargeAmount() {
+        return new PointException("포인트가 부족합니다. 포인트를 충전 해주십시오.", "NEED_CHARGE_AMOUNT");
+    }
+
+    static PointException transferNotSupported(String strategy) {
+        return new PointException(strategy + " 전략에서는 이체를 지원하지 않습니다. (point.service.strategy=locking 에서 사용)", "TRANSFER_NOT_SUPPORTED");
+    }
+
+    static String errorCode(RuntimeException e) {
+        return e instanceof PointException pointException ? pointException.getCode() : "500";
+    }
+
+    private static final class Combiner {
+        private final ConcurrentLinkedQueue<PendingOperation> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean running = new AtomicBoolean();
+    }
+
+    private record PendingOperation(PointBatchOperation operation, long started, CompletableFuture<PointBatchResult> result) {
+    }
+
+    // 락 안에서 저장한 잔고와, 락 밖에서 기다릴 변경 기록 결과
+    private record Committed(UserPoint userPoint, CompletableFuture<Void> durable) {
+    }
+
+    private record TransferCommitted(PointTransferResult result, CompletableFuture<Void> durable) {
+    }
+}
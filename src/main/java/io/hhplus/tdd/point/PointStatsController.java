@@ -0,0 +1,95 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.UserPointCache;
+import io.hhplus.tdd.database.UserPointCacheStats;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * 동시성 전략별 내부 통계 조회
+ */
+@RestController
+@RequestMapping("/point/stats")
+public class PointStatsController {
+
+    private final ObjectProvider<OptimisticPointService> optimisticPointService;
+    private final ObjectProvider<ShardedPointService> shardedPointService;
+    private final ObjectProvider<ExecutorPointService> executorPointService;
+    private final UserPointCache userPointCache;
+    private final HotUserDetector hotUserDetector;
+    private final PointIdempotencyStore idempotencyStore;
+    private final PointServiceImpl pointService;
+
+    public PointStatsController(ObjectProvider<OptimisticPointService> optimisticPointService,
+                                ObjectProvider<ShardedPointService> shardedPointService,
+                                ObjectProvider<ExecutorPointService> executorPointService,
+                                UserPointCache userPointCache,
+                                HotUserDetector hotUserDetector,
+                                PointIdempotencyStore idempotencyStore,
+                                PointServiceImpl pointService) {
+        this.optimisticPointService = optimisticPointService;
+        this.shardedPointService = shardedPointService;
+        this.executorPointService = executorPointService;
+        this.userPointCache = userPointCache;
+        this.hotUserDetector = hotUserDetector;
+        this.idempotencyStore = idempotencyStore;
+        this.pointService = pointService;
+    }
+
+    @GetMapping("optimistic")
+    public OptimisticPointStats optimistic() {
+        OptimisticPointService service = optimisticPointService.getIfAvailable();
+        if (service == null) {
+            throw new PointException("optimistic 전략을 사용하고 있지 않습니다.", "STATS_NOT_AVAILABLE");
+        }
+        return service.stats();
+    }
+
+    @GetMapping("shards")
+    public List<ShardStats> shards() {
+        ShardedPointService service = shardedPointService.getIfAvailable();
+        if (service == null) {
+            throw new PointException("sharded 전략을 사용하고 있지 않습니다.", "STATS_NOT_AVAILABLE");
+        }
+        return service.stats();
+    }
+
+    @GetMapping("async")
+    public AsyncExecutorStats async() {
+        ExecutorPointService service = executorPointService.getIfAvailable();
+        if (service == null) {
+            throw new PointException("async 전략을 사용하고 있지 않습니다.", "STATS_NOT_AVAILABLE");
+        }
+        return service.stats();
+    }
+
+    @GetMapping("cache")
+    public UserPointCacheStats cache() {
+        return userPointCache.stats();
+    }
+
+    /**
+     * 잔고/내역 조회 중 진행 중인 같은 사용자 조회의 결과를 함께 받은 수
+     */
+    @GetMapping("reads")
+    public List<PointReadStats> reads() {
+        return pointService.readStats();
+    }
+
+    @GetMapping("idempotency")
+    public PointIdempotencyStats idempotency() {
+        return idempotencyStore.stats();
+    }
+
+    @GetMapping("hot-users")
+    public List<HotUserStats> hotUsers() {
+        if (!hotUserDetector.isEnabled()) {
+            throw new PointException("핫 유저 감지를 사용하고 있지 않습니다. (point.hot-user.enabled)", "STATS_NOT_AVAILABLE");
+        }
+        return hotUserDetector.topK();
+    }
+}
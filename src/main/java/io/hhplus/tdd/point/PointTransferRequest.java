@@ -0,0 +1,11 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 포인트 이체 요청. fromUserId 의 포인트 amount 를 toUserId 로 옮깁니다.
+ */
+public record PointTransferRequest(
+        long fromUserId,
+        long toUserId,
+        long amount
+) {
+}
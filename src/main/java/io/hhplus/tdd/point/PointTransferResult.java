@@ -0,0 +1,13 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 포인트 이체 결과
+ *
+ * @param from 보낸 사용자의 이체 후 잔고
+ * @param to   받은 사용자의 이체 후 잔고
+ */
+public record PointTransferResult(
+        UserPoint from,
+        UserPoint to
+) {
+}
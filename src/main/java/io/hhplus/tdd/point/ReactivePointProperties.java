@@ -0,0 +1,21 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * WebFlux 포인트 API 설정 (point.reactive.*)
+ *
+ * @param enabled     true 면 Tomcat 과 별도로 Reactor Netty 서버를 띄워 같은 포인트 API 를 Mono/Flux 로 응답합니다.
+ * @param port        Reactor Netty 서버 포트 (0 이면 임의의 빈 포트)
+ * @param threads     테이블을 호출하는 bounded elastic 스케줄러의 최대 스레드 수
+ * @param queuedTasks 스레드가 모두 바쁠 때 스케줄러에 쌓아 둘 수 있는 작업 수. 넘으면 429 로 거절합니다.
+ */
+@ConfigurationProperties(prefix = "point.reactive")
+public record ReactivePointProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("8081") int port,
+        @DefaultValue("64") int threads,
+        @DefaultValue("100000") int queuedTasks
+) {
+}
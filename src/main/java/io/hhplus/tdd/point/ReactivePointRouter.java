@@ -0,0 +1,95 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.ErrorResponse;
+import io.hhplus.tdd.database.PointHistoryQuery;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * PointController 의 조회/내역/내역 스트림/충전/사용과 같은 경로를 WebFlux 함수형 라우터로 응답합니다.
+ * 오류 응답은 ApiControllerAdvice 와 같습니다. (거절은 429, 나머지는 500)
+ * <ul>
+ *     <li>GET /point/{id}/histories : MVC 와 같이 전체 내역을 합산해 검증해야 하므로 목록으로 읽은 뒤 한 줄에 하나씩(NDJSON) 보냅니다.</li>
+ *     <li>GET /point/{id}/histories/stream : 검증하지 않고 저장소에서 읽는 대로 하나씩 보냅니다. 응답을 쓰기 시작한 뒤의 실패는 상태 코드로 알릴 수 없습니다.</li>
+ * </ul>
+ */
+@Component
+@ConditionalOnProperty(name = "point.reactive.enabled", havingValue = "true")
+public class ReactivePointRouter {
+
+    private final ReactivePointService pointService;
+    private final PointIdempotencyStore idempotencyStore;
+    private final PointRateLimiter rateLimiter;
+
+    public ReactivePointRouter(ReactivePointService pointService, PointIdempotencyStore idempotencyStore, PointRateLimiter rateLimiter) {
+        this.pointService = pointService;
+        this.idempotencyStore = idempotencyStore;
+        this.rateLimiter = rateLimiter;
+    }
+
+    public RouterFunction<ServerResponse> routes() {
+        return RouterFunctions.route()
+                .GET("/point/{id}", this::point)
+                .GET("/point/{id}/histories", this::histories)
+                .GET("/point/{id}/histories/stream", this::historyStream)
+                .PATCH("/point/{id}/charge", request -> mutate(request, TransactionType.CHARGE))
+                .PATCH("/point/{id}/use", request -> mutate(request, TransactionType.USE))
+                .onError(Exception.class, (e, request) -> error(e))
+                .build();
+    }
+
+    // 결과를 먼저 받은 뒤 응답을 만듭니다. body(publisher) 로 넘기면 실패가 응답을 쓰는 중에 나서 onError 를 거치지 않습니다.
+    private Mono<ServerResponse> point(ServerRequest request) {
+        return pointService.get(id(request)).flatMap(userPoint -> ServerResponse.ok().bodyValue(userPoint));
+    }
+
+    private Mono<ServerResponse> histories(ServerRequest request) {
+        return pointService.getHistories(id(request)).flatMap(histories ->
+                ServerResponse.ok().contentType(MediaType.APPLICATION_NDJSON).body(Flux.fromIterable(histories), PointHistory.class));
+    }
+
+    private Mono<ServerResponse> historyStream(ServerRequest request) {
+        PointHistoryQuery query = new PointHistoryQuery(
+                request.queryParam("after").map(Long::valueOf).orElse(null),
+                request.queryParam("limit").map(Integer::valueOf).orElse(PointHistoryQuery.NO_LIMIT),
+                request.queryParam("from").map(Long::valueOf).orElse(null),
+                request.queryParam("to").map(Long::valueOf).orElse(null),
+                request.queryParam("type").map(TransactionType::valueOf).orElse(null));
+        if (query.limit() <= 0) {
+            return Mono.error(PointServiceImpl.historyStreamLimitInvalid());
+        }
+        return ServerResponse.ok().contentType(MediaType.APPLICATION_NDJSON)
+                .body(pointService.streamHistories(id(request), query), PointHistory.class);
+    }
+
+    // 같은 Idempotency-Key 로 다시 보낸 요청은 처음 요청의 결과를 응답하고, 요청 수 제한을 넘으면 429 로 거절합니다.
+    private Mono<ServerResponse> mutate(ServerRequest request, TransactionType type) {
+        long id = id(request);
+        String idempotencyKey = request.headers().firstHeader(PointController.IDEMPOTENCY_KEY);
+        Mono<UserPoint> result = request.bodyToMono(Long.class).flatMap(amount ->
+                Mono.fromFuture(() -> idempotencyStore.executeAsync(idempotencyKey, id, type, amount,
+                        () -> rateLimiter.executeAsync(id, type, () -> (type == TransactionType.CHARGE
+                                ? pointService.charge(id, amount)
+                                : pointService.use(id, amount)).toFuture())), true));
+        return result.flatMap(userPoint -> ServerResponse.ok().bodyValue(userPoint));
+    }
+
+    private static Mono<ServerResponse> error(Throwable e) {
+        if (e instanceof PointRejectedException rejected) {
+            return ServerResponse.status(HttpStatus.TOO_MANY_REQUESTS).bodyValue(rejected.getErrorResponse());
+        }
+        return ServerResponse.status(HttpStatus.INTERNAL_SERVER_ERROR).bodyValue(new ErrorResponse("500", "에러가 발생했습니다."));
+    }
+
+    private static long id(ServerRequest request) {
+        return Long.parseLong(request.pathVariable("id"));
+    }
+}
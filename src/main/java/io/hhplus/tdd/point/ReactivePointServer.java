@@ -0,0 +1,54 @@
+package io.hhplus.tdd.point;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.http.server.reactive.ReactorHttpHandlerAdapter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+/**
+ * Tomcat(PointController) 옆에 ReactivePointRouter 를 응답하는 Reactor Netty 서버를 point.reactive.port 로 띄웁니다.
+ * 애플리케이션은 서블릿 애플리케이션 그대로이므로, 스프링 부트가 WebFlux 서버를 띄우지 않아 여기서 직접 띄웁니다.
+ * JSON 은 MVC 와 같은 ObjectMapper 로 씁니다.
+ */
+@Component
+@ConditionalOnProperty(name = "point.reactive.enabled", havingValue = "true")
+public class ReactivePointServer {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactivePointServer.class);
+
+    private final DisposableServer server;
+
+    public ReactivePointServer(ReactivePointRouter router, ObjectMapper objectMapper, ReactivePointProperties properties) {
+        HandlerStrategies strategies = HandlerStrategies.builder()
+                .codecs(configurer -> {
+                    configurer.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
+                    configurer.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+                })
+                .build();
+        HttpHandler httpHandler = RouterFunctions.toHttpHandler(router.routes(), strategies);
+        this.server = HttpServer.create()
+                .port(properties.port())
+                .handle(new ReactorHttpHandlerAdapter(httpHandler))
+                .bindNow();
+        log.info("WebFlux 포인트 API 를 {} 포트로 시작했습니다.", server.port());
+    }
+
+    public int port() {
+        return server.port();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        server.disposeNow();
+    }
+}
@@ -0,0 +1,30 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.PointHistoryQuery;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * PointController 의 조회/내역/충전/사용을 Mono 로 돌려주는 PointService.
+ * 구독하는 스레드(Netty 이벤트 루프)는 막지 않습니다.
+ */
+public interface ReactivePointService {
+
+    Mono<UserPoint> get(long id);
+
+    /**
+     * PointService.getHistories 와 같이 검증한(내역 없음, 합계 음수 등) 전체 내역. 검증 실패는 응답을 쓰기 전에 알 수 있도록 목록으로 돌려줍니다.
+     */
+    Mono<List<PointHistory>> getHistories(long id);
+
+    /**
+     * PointService.streamHistories 와 같이 조건에 맞는 내역을 목록으로 모으지 않고 하나씩 내보냅니다. 검증하지 않습니다.
+     */
+    Flux<PointHistory> streamHistories(long id, PointHistoryQuery query);
+
+    Mono<UserPoint> charge(long id, long amount);
+
+    Mono<UserPoint> use(long id, long amount);
+}
@@ -0,0 +1,134 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.PointHistoryQuery;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * 설정된 PointService 를 bounded elastic 스케줄러에서 호출하는 ReactivePointService.
+ * 테이블 API 는 블로킹이므로 Netty 이벤트 루프 대신 threads 개로 묶인 스케줄러 스레드에서 호출하고,
+ * 스레드가 모두 바쁘면 queuedTasks 까지 쌓아 두었다가 넘으면 429(POINT_REACTIVE_QUEUE_FULL)로 거절합니다.
+ * 충전/사용의 거절은 PointService 에 닿지 않으므로 여기서 point.errors 에 셉니다.
+ * <p>
+ * 한 사용자의 충전/사용은 사용자별 차례(UserTurns)에 이어 붙여 앞 요청이 끝난 뒤에 스케줄러로 넘기므로,
+ * 같은 사용자의 요청이 스케줄러 스레드를 붙잡은 채 사용자 락을 기다리지 않습니다.
+ * 차례는 구독 취소와 상관없이 앞 요청이 실제로 끝나야 넘어갑니다.
+ * 락은 PointService 가 그대로 잡으므로 MVC 쪽 요청과 섞여도 잔고는 맞습니다.
+ */
+@Service
+@ConditionalOnProperty(name = "point.reactive.enabled", havingValue = "true")
+public class ReactivePointServiceImpl implements ReactivePointService {
+
+    private static final int STREAM_PAGE_SIZE = 256; // 내역 스트림이 한 번에 읽는 내역 수
+
+    private final PointService pointService;
+    private final Scheduler scheduler;
+    private final PointMetrics pointMetrics;
+    private final UserTurns turns = new UserTurns();
+
+    @Autowired
+    public ReactivePointServiceImpl(PointService pointService, ReactivePointProperties properties, PointMetrics pointMetrics) {
+        this(pointService, Schedulers.newBoundedElastic(properties.threads(), properties.queuedTasks(), "point-reactive"), pointMetrics);
+    }
+
+    ReactivePointServiceImpl(PointService pointService, Scheduler scheduler, PointMetrics pointMetrics) {
+        this.pointService = pointService;
+        this.scheduler = scheduler;
+        this.pointMetrics = pointMetrics;
+    }
+
+    @Override
+    public Mono<UserPoint> get(long id) {
+        return blocking(() -> pointService.get(id));
+    }
+
+    // 검증하려면 전체 내역을 합산해야 하므로 MVC 의 GET /point/{id}/histories 와 같이 목록으로 읽습니다.
+    @Override
+    public Mono<List<PointHistory>> getHistories(long id) {
+        return blocking(() -> pointService.getHistories(id));
+    }
+
+    /**
+     * 내역을 STREAM_PAGE_SIZE 건씩 커서(after)로 나눠 읽으며 하나씩 내보냅니다.
+     * 다음 페이지는 구독자가 앞 페이지를 다 받고 더 요청할 때 스케줄러에서 읽으므로, 페이지 사이에는 스케줄러 스레드를 붙잡지 않고
+     * 느린 클라이언트 때문에 내역이 메모리에 한 페이지보다 많이 쌓이지 않습니다. 구독을 취소하면 다음 페이지를 읽지 않습니다.
+     */
+    @Override
+    public Flux<PointHistory> streamHistories(long id, PointHistoryQuery query) {
+        if (query.limit() <= 0) {
+            return Flux.error(PointServiceImpl.historyStreamLimitInvalid());
+        }
+        return readPage(id, query, query.after(), query.limit())
+                .expand(page -> page.hasNext() ? readPage(id, query, page.histories().nextCursor(), page.remaining()) : Mono.empty())
+                .concatMapIterable(page -> page.histories().histories(), 1);
+    }
+
+    @Override
+    public Mono<UserPoint> charge(long id, long amount) {
+        return inTurn(id, TransactionType.CHARGE, () -> pointService.charge(id, amount));
+    }
+
+    @Override
+    public Mono<UserPoint> use(long id, long amount) {
+        return inTurn(id, TransactionType.USE, () -> pointService.use(id, amount));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.dispose();
+    }
+
+    private Mono<UserPoint> inTurn(long id, TransactionType type, Supplier<UserPoint> call) {
+        return Mono.defer(() -> {
+            CompletableFuture<UserPoint> result = turns.run(id, () -> blocking(call, type).toFuture());
+            return Mono.fromFuture(result, true); // 구독을 취소해도 차례는 요청이 끝날 때 넘깁니다.
+        });
+    }
+
+    // after 다음부터 remaining 건까지 중 한 페이지를 읽습니다.
+    private Mono<StreamPage> readPage(long id, PointHistoryQuery query, Long after, int remaining) {
+        PointHistoryQuery pageQuery = new PointHistoryQuery(after, Math.min(remaining, STREAM_PAGE_SIZE), query.fromMillis(), query.toMillis(), query.type());
+        return blocking(() -> pointService.getHistoryPage(id, pageQuery))
+                .map(page -> new StreamPage(page, remaining - page.histories().size()));
+    }
+
+    private <T> Mono<T> blocking(Supplier<T> call) {
+        return blocking(call, null);
+    }
+
+    // type 이 있으면(충전/사용) 거절을 point.errors 에도 셉니다.
+    private <T> Mono<T> blocking(Supplier<T> call, TransactionType type) {
+        return Mono.fromSupplier(call)
+                .subscribeOn(scheduler)
+                .onErrorMap(RejectedExecutionException.class, e -> {
+                    PointRejectedException rejected = queueFull();
+                    if (type != null) {
+                        pointMetrics.recordError(type, rejected.getCode());
+                    }
+                    return rejected;
+                });
+    }
+
+    private static PointRejectedException queueFull() {
+        return new PointRejectedException("요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해 주십시오.", "POINT_REACTIVE_QUEUE_FULL");
+    }
+
+    // 내역 스트림의 한 페이지와 그 뒤에 더 보낼 수 있는 내역 수
+    private record StreamPage(PointHistoryPage histories, int remaining) {
+
+        boolean hasNext() {
+            return histories.nextCursor() != null && remaining > 0;
+        }
+    }
+}
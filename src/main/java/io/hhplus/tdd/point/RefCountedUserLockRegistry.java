@@ -0,0 +1,42 @@
+package io.hhplus.tdd.point;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * 락을 쓰고 있거나 기다리는 스레드 수를 세어, 아무도 쓰지 않는 사용자의 락은 바로 지웁니다.
+ * 참조 수 증감은 ConcurrentHashMap 의 compute 안에서 일어나므로 지워진 락을 누가 다시 잡는 일은 없습니다.
+ */
+public class RefCountedUserLockRegistry implements UserLockRegistry {
+
+    private final ConcurrentHashMap<Long, RefCountedLock> locks = new ConcurrentHashMap<>();
+
+    @Override
+    public <T> T executeWithLock(long userId, Supplier<T> action) {
+        RefCountedLock lock = locks.compute(userId, (id, current) -> {
+            RefCountedLock acquired = current == null ? new RefCountedLock() : current;
+            acquired.references++;
+            return acquired;
+        });
+        try {
+            lock.lock();
+            try {
+                return action.get();
+            } finally {
+                lock.unlock();
+            }
+        } finally {
+            locks.computeIfPresent(userId, (id, current) -> --current.references == 0 ? null : current);
+        }
+    }
+
+    @Override
+    public int size() {
+        return locks.size();
+    }
+
+    private static final class RefCountedLock extends ReentrantLock {
+        private int references; // compute 안에서만 변경
+    }
+}
@@ -0,0 +1,17 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * sharded 전략 설정 (point.shard.*)
+ *
+ * @param count           샤드(단일 스레드 실행기) 수
+ * @param mailboxCapacity 샤드별 대기열 크기. 가득 차면 429 로 거절합니다.
+ */
+@ConfigurationProperties(prefix = "point.shard")
+public record ShardProperties(
+        @DefaultValue("8") int count,
+        @DefaultValue("1024") int mailboxCapacity
+) {
+}
@@ -0,0 +1,16 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 샤드별 상태
+ *
+ * @param queueDepth 대기 중인 명령 수
+ * @param completed  처리한 명령 수
+ * @param rejected   대기열이 가득 차 거절한 명령 수
+ */
+public record ShardStats(
+        int shard,
+        int queueDepth,
+        long completed,
+        long rejected
+) {
+}
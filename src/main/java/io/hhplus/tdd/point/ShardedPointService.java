@@ -0,0 +1,156 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.PointHistoryRepository;
+import io.hhplus.tdd.database.PointHistoryWriter;
+import io.hhplus.tdd.database.UserPointCache;
+import io.hhplus.tdd.database.UserPointWriteBehindBuffer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 충전/사용 명령을 userId % N 으로 고른 단일 스레드 샤드에서 실행하는 PointService.
+ * 한 사용자의 명령은 항상 같은 샤드 스레드에서 차례로 실행되므로 락이 필요 없고, 다른 샤드끼리는 병렬로 실행됩니다.
+ * 샤드 대기열은 크기가 정해져 있어 가득 차면 기다리지 않고 429(POINT_COMMAND_QUEUE_FULL)로 거절합니다.
+ * 샤드별 대기열 길이는 GET /point/stats/shards 와 point.shard.queue.depth gauge 로 확인할 수 있습니다.
+ * 조회 기능은 PointServiceImpl 과 같습니다.
+ */
+@Service
+@ConditionalOnProperty(name = "point.service.strategy", havingValue = "sharded")
+public class ShardedPointService extends PointServiceImpl implements AsyncPointService {
+
+    private final List<Shard> shards;
+    private final PointMetrics pointMetrics;
+
+    public ShardedPointService(PointHistoryRepository pointHistoryRepository, UserPointCache userPointCache,
+                               UserPointWriteBehindBuffer writeBehindBuffer, PointHistoryWriter pointHistoryWriter,
+                               PointLedger pointLedger, PointMetrics pointMetrics, PointCommitListener commitListener,
+                               ShardProperties properties) {
+        super(pointHistoryRepository, userPointCache, writeBehindBuffer, pointHistoryWriter, pointLedger, new NoOpUserLockRegistry(), pointMetrics,
+                HotUserDetector.disabled(), commitListener);
+        this.pointMetrics = pointMetrics;
+        this.shards = new ArrayList<>(properties.count());
+        for (int i = 0; i < properties.count(); i++) {
+            Shard shard = new Shard(i, properties.mailboxCapacity());
+            pointMetrics.registerShardQueue(i, shard.executor.getQueue());
+            shards.add(shard);
+        }
+    }
+
+    @Override
+    public CompletableFuture<UserPoint> chargeAsync(long id, long amount) {
+        return submit(id, TransactionType.CHARGE, () -> super.charge(id, amount));
+    }
+
+    @Override
+    public CompletableFuture<UserPoint> useAsync(long id, long amount) {
+        return submit(id, TransactionType.USE, () -> super.use(id, amount));
+    }
+
+    @Override
+    public UserPoint charge(long id, long amount) {
+        return await(chargeAsync(id, amount));
+    }
+
+    @Override
+    public UserPoint use(long id, long amount) {
+        return await(useAsync(id, amount));
+    }
+
+    // 사용자 묶음도 그 사용자의 샤드에서 실행합니다. 샤드 스레드가 곧 사용자별 직렬화이므로 락은 없습니다.
+    // 거절은 applyBatch 가 건별 결과 코드로 point.errors 에 셉니다.
+    @Override
+    CompletableFuture<List<PointBatchResult>> submitUserBatch(long id, List<PointBatchOperation> operations, Executor executor) {
+        try {
+            return shardOf(id).submit(() -> applyUserBatch(id, operations));
+        } catch (PointRejectedException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    // 두 사용자가 서로 다른 샤드에 있으면 한 스레드에서 함께 바꿀 수 없으므로 이체는 지원하지 않습니다.
+    @Override
+    public PointTransferResult transfer(long fromUserId, long toUserId, long amount) {
+        throw transferNotSupported("sharded");
+    }
+
+    public List<ShardStats> stats() {
+        return shards.stream().map(Shard::stats).toList();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        shards.forEach(Shard::shutdown);
+    }
+
+    // 샤드에서 실행한 charge/use 의 실패는 PointServiceImpl 이 세고, 샤드 대기열에 넣지 못한 거절만 여기서 셉니다.
+    private CompletableFuture<UserPoint> submit(long id, TransactionType type, Supplier<UserPoint> command) {
+        try {
+            return shardOf(id).submit(command);
+        } catch (PointRejectedException e) {
+            pointMetrics.recordError(type, e.getCode());
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private Shard shardOf(long id) {
+        return shards.get((int) Math.floorMod(id, (long) shards.size()));
+    }
+
+    private static UserPoint await(CompletableFuture<UserPoint> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static final class Shard {
+        private final int index;
+        private final ThreadPoolExecutor executor;
+        private final LongAdder rejected = new LongAdder();
+
+        private Shard(int index, int mailboxCapacity) {
+            this.index = index;
+            this.executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(mailboxCapacity),
+                    runnable -> {
+                        Thread thread = new Thread(runnable, "point-shard-" + index);
+                        thread.setDaemon(true);
+                        return thread;
+                    },
+                    new ThreadPoolExecutor.AbortPolicy());
+        }
+
+        private <T> CompletableFuture<T> submit(Supplier<T> command) {
+            try {
+                return CompletableFuture.supplyAsync(command, executor);
+            } catch (RejectedExecutionException e) {
+                rejected.increment();
+                throw new PointRejectedException("요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해 주십시오.", "POINT_COMMAND_QUEUE_FULL");
+            }
+        }
+
+        private ShardStats stats() {
+            return new ShardStats(index, executor.getQueue().size(), executor.getCompletedTaskCount(), rejected.sum());
+        }
+
+        private void shutdown() {
+            executor.shutdown();
+            try {
+                executor.awaitTermination(30, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
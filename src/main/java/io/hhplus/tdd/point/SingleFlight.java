@@ -0,0 +1,77 @@
+package io.hhplus.tdd.point;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongFunction;
+
+/**
+ * 같은 사용자에 대한 동시 조회를 하나로 합칩니다(single-flight).
+ * 먼저 온 호출이 저장소를 읽는 동안 뒤에 온 호출은 그 결과를 기다려 함께 받고, 읽기가 끝나면 바로 항목을 지워 결과를 보관하지 않습니다.
+ * <p>
+ * 쓰기가 끝난 뒤 시작한 조회가 쓰기 전에 시작된 조회의 결과를 받지 않도록, 잔고나 내역을 바꾼 쪽은 forget 을 호출합니다.
+ * 그 뒤에 오는 조회는 새로 읽습니다.
+ */
+class SingleFlight<V> {
+
+    private final PointMetrics.ReadEndpoint endpoint;
+    private final PointMetrics pointMetrics;
+    private final ConcurrentHashMap<Long, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder loaded = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+
+    SingleFlight(PointMetrics.ReadEndpoint endpoint, PointMetrics pointMetrics) {
+        this.endpoint = endpoint;
+        this.pointMetrics = pointMetrics;
+    }
+
+    V load(long userId, LongFunction<V> loader) {
+        CompletableFuture<V> created = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(userId, created);
+        if (existing != null) {
+            coalesced.increment();
+            pointMetrics.recordRead(endpoint, true);
+            return await(existing);
+        }
+
+        loaded.increment();
+        pointMetrics.recordRead(endpoint, false);
+        V value;
+        try {
+            value = loader.apply(userId);
+        } catch (RuntimeException | Error e) { // Error 도 알려야 기다리던 호출이 멈춰 있지 않습니다.
+            inFlight.remove(userId, created);
+            created.completeExceptionally(e); // 기다리던 호출도 같은 예외를 받습니다.
+            throw e;
+        }
+        inFlight.remove(userId, created); // 지운 뒤에 온 호출은 새로 읽습니다.
+        created.complete(value);
+        return value;
+    }
+
+    /**
+     * 진행 중인 조회가 있으면 이후의 호출이 그 결과를 받지 않도록 떼어 냅니다. (이미 기다리는 호출은 그대로 받습니다.)
+     */
+    void forget(long userId) {
+        inFlight.remove(userId);
+    }
+
+    PointReadStats stats() {
+        return new PointReadStats(endpoint.tag(), loaded.sum(), coalesced.sum(), inFlight.size());
+    }
+
+    private static <V> V await(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package io.hhplus.tdd.point;
+
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * 고정된 개수의 락을 사용자 id 해시로 나눠 씁니다. 같은 stripe 에 걸린 다른 사용자끼리는 서로 기다립니다.
+ */
+public class StripedUserLockRegistry implements UserLockRegistry {
+
+    private final ReentrantLock[] stripes;
+    private final int mask;
+
+    public StripedUserLockRegistry(int stripes) {
+        int size = Integer.highestOneBit(Math.max(1, stripes - 1)) << 1;
+        this.stripes = new ReentrantLock[size];
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+    }
+
+    @Override
+    public <T> T executeWithLock(long userId, Supplier<T> action) {
+        ReentrantLock lock = stripes[stripeIndex(userId)];
+        lock.lock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 같은 stripe 는 ReentrantLock 이므로 두 번 잡아도 됩니다.
+    @Override
+    public long lockOrder(long userId) {
+        return stripeIndex(userId);
+    }
+
+    @Override
+    public int size() {
+        return stripes.length;
+    }
+
+    int stripeIndex(long userId) {
+        long hash = userId * 0x9E3779B97F4A7C15L; // 연속된 id 가 한 stripe 에 몰리지 않도록 섞음
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+}
@@ -0,0 +1,11 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 사용자별 락 관리 방식
+ * - PER_USER : 사용자마다 락을 만들고 지우지 않음 (사용자 수만큼 메모리가 계속 늘어남)
+ * - REF_COUNTED : 사용 중인 사용자의 락만 보관하고, 마지막 사용자가 반납하면 지움
+ * - STRIPED : 고정된 N개의 락을 사용자 id 해시로 나눠 씀 (메모리 고정, 다른 사용자끼리 기다릴 수 있음)
+ */
+public enum UserLockMode {
+    PER_USER, REF_COUNTED, STRIPED
+}
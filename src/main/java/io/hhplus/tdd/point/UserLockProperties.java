@@ -0,0 +1,16 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * 사용자별 락 설정 (point.lock.*)
+ *
+ * @param stripes STRIPED 모드의 락 개수 (2의 거듭제곱으로 올림)
+ */
+@ConfigurationProperties(prefix = "point.lock")
+public record UserLockProperties(
+        @DefaultValue("REF_COUNTED") UserLockMode mode,
+        @DefaultValue("1024") int stripes
+) {
+}
@@ -0,0 +1,49 @@
+package io.hhplus.tdd.point;
+
+import java.util.function.Supplier;
+
+/**
+ * 사용자 id 별 임계 영역을 제공합니다.
+ * 임계 영역 안에서 테이블 I/O 로 오래 기다리므로, 가상 스레드가 carrier 스레드에 고정(pinning)되지 않도록
+ * synchronized 대신 ReentrantLock 을 사용합니다.
+ */
+public interface UserLockRegistry {
+
+    /**
+     * 해당 사용자의 락을 잡은 상태로 action 을 실행합니다.
+     */
+    <T> T executeWithLock(long userId, Supplier<T> action);
+
+    /**
+     * 두 사용자의 락을 모두 잡은 상태로 action 을 실행합니다.
+     * 인자 순서와 상관없이 lockOrder 가 작은 쪽(같으면 id 가 작은 쪽)부터 잡으므로,
+     * 서로 반대 방향으로 호출해도 교착 상태가 생기지 않습니다.
+     */
+    default <T> T executeWithLocks(long userId, long otherUserId, Supplier<T> action) {
+        int order = Long.compare(lockOrder(userId), lockOrder(otherUserId));
+        boolean userFirst = order < 0 || (order == 0 && userId <= otherUserId);
+        long first = userFirst ? userId : otherUserId;
+        long second = userFirst ? otherUserId : userId;
+        return executeWithLock(first, () -> executeWithLock(second, action));
+    }
+
+    /**
+     * 여러 락을 잡을 때의 순서. 여러 사용자가 락 하나를 나눠 쓰는 구현은 락 단위의 값을 돌려줘야 합니다.
+     */
+    default long lockOrder(long userId) {
+        return userId;
+    }
+
+    /**
+     * 현재 보관 중인 락 객체 수
+     */
+    int size();
+
+    static UserLockRegistry of(UserLockProperties properties) {
+        return switch (properties.mode()) {
+            case PER_USER -> new PerUserLockRegistry();
+            case REF_COUNTED -> new RefCountedUserLockRegistry();
+            case STRIPED -> new StripedUserLockRegistry(properties.stripes());
+        };
+    }
+}
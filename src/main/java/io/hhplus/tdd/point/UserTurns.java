@@ -0,0 +1,31 @@
+package io.hhplus.tdd.point;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * 사용자별 차례. 같은 사용자의 작업은 앞 작업의 future 가 끝난 뒤에 시작하고, 기다리는 동안 어떤 스레드도 붙잡지 않습니다.
+ * 사용자마다 마지막 작업의 future 만 들고 있다가, 뒤에 들어온 작업이 없으면 끝날 때 지웁니다.
+ */
+final class UserTurns {
+
+    private static final CompletableFuture<Void> DONE = CompletableFuture.completedFuture(null);
+
+    private final ConcurrentHashMap<Long, CompletableFuture<Void>> turns = new ConcurrentHashMap<>();
+
+    <T> CompletableFuture<T> run(long id, Supplier<CompletableFuture<T>> task) {
+        CompletableFuture<Void> turn = new CompletableFuture<>();
+        CompletableFuture<Void> previous = turns.put(id, turn);
+        CompletableFuture<T> result = (previous == null ? DONE : previous).thenCompose(ignored -> task.get());
+        result.whenComplete((value, e) -> {
+            turns.remove(id, turn); // 뒤에 들어온 요청이 없을 때만 지웁니다.
+            turn.complete(null);
+        });
+        return result;
+    }
+
+    int size() {
+        return turns.size();
+    }
+}
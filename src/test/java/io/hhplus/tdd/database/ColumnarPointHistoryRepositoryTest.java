@@ -0,0 +1,126 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Field;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ColumnarPointHistoryRepositoryTest {
+
+    @Test
+    @DisplayName("청크 경계를 넘어 저장한 내역을 사용자별로 id 순서대로 조회한다")
+    void 청크를_넘어_사용자별로_조회한다() {
+        // given : 청크 하나에 4행
+        ColumnarPointHistoryRepository repository = new ColumnarPointHistoryRepository(new PointHistoryStoreProperties(true, 4));
+        for (int i = 0; i < 10; i++) {
+            repository.insert(i % 2, 100L + i, i % 3 == 0 ? TransactionType.USE : TransactionType.CHARGE, 1_000L + i);
+        }
+
+        // when
+        List<PointHistory> histories = repository.selectAllByUserId(1L);
+
+        // then
+        assertEquals(10, repository.size());
+        assertEquals(List.of(2L, 4L, 6L, 8L, 10L), histories.stream().map(PointHistory::id).toList());
+        assertEquals(new PointHistory(4L, 1L, 103L, TransactionType.USE, 1_003L), histories.get(1));
+        assertEquals(List.of(), repository.selectAllByUserId(2L));
+    }
+
+    @Test
+    @DisplayName("조회 조건은 IndexedPointHistoryRepository 와 같은 결과를 낸다")
+    void 조회_조건을_적용한다() {
+        // given
+        ColumnarPointHistoryRepository repository = new ColumnarPointHistoryRepository(new PointHistoryStoreProperties(false, 8));
+        for (int i = 0; i < 20; i++) {
+            repository.insert(1L, 10L, i % 2 == 0 ? TransactionType.CHARGE : TransactionType.USE, i);
+        }
+
+        // when
+        List<PointHistory> histories = repository.selectByUserId(1L,
+                new PointHistoryQuery(5L, 3, 4L, 18L, TransactionType.CHARGE));
+
+        // then : id 5 뒤, updateMillis 4 이상 18 미만, CHARGE(짝수 행) 중 3건
+        assertEquals(List.of(7L, 9L, 11L), histories.stream().map(PointHistory::id).toList());
+    }
+
+    @Test
+    @DisplayName("컬럼은 채운 청크만큼만, 행당 25바이트(userId/amount/updateMillis 8B + type 1B)를 할당한다")
+    void 청크만큼만_컬럼을_할당한다() {
+        // given : 청크 하나에 4,096행
+        ColumnarPointHistoryRepository onHeap = new ColumnarPointHistoryRepository(new PointHistoryStoreProperties(false, 4_096));
+        ColumnarPointHistoryRepository offHeap = new ColumnarPointHistoryRepository(new PointHistoryStoreProperties(true, 4_096));
+
+        // when : 두 청크를 채우고 세 번째 청크에 한 행
+        fill(onHeap, 8_193, 100);
+        fill(offHeap, 8_193, 100);
+
+        // then : PointHistory 객체(48B) + 리스트 참조(4B) 대신 행당 25B
+        assertEquals(3L * 4_096 * 25, onHeap.allocatedBytes());
+        assertEquals(onHeap.allocatedBytes(), offHeap.allocatedBytes());
+        assertEquals(8_193, onHeap.size());
+    }
+
+    // 실제 힙 사용량을 System.gc() 사이의 차이로 재므로 GC 설정에 따라 흔들립니다. loadTest 태스크에서만 실행합니다.
+    @Test
+    @Tag("load")
+    @DisplayName("같은 내역 수를 PointHistoryTable 보다 적은 힙으로 보관한다")
+    void PointHistoryTable_보다_적은_힙을_쓴다() throws ReflectiveOperationException {
+        // given
+        int rows = 1_000_000;
+        int users = 10_000;
+
+        // when
+        long before = usedHeap();
+        PointHistoryTable table = new PointHistoryTable();
+        fillTable(table, rows, users);
+        long tableBytes = usedHeap() - before;
+
+        before = usedHeap();
+        ColumnarPointHistoryRepository columnar = new ColumnarPointHistoryRepository(new PointHistoryStoreProperties(false, 65_536));
+        fill(columnar, rows, users);
+        long columnarBytes = usedHeap() - before;
+
+        before = usedHeap();
+        ColumnarPointHistoryRepository offHeap = new ColumnarPointHistoryRepository(new PointHistoryStoreProperties(true, 65_536));
+        fill(offHeap, rows, users);
+        long offHeapBytes = usedHeap() - before;
+
+        // then : 행당 PointHistory 객체(48B) + 리스트 참조(4B) vs 컬럼 25B + 사용자별 행 번호 4B
+        assertTrue(columnarBytes < tableBytes * 0.75, "columnar=" + columnarBytes + ", table=" + tableBytes);
+        assertTrue(offHeapBytes < tableBytes * 0.25, "off-heap=" + offHeapBytes + ", table=" + tableBytes);
+        assertEquals(rows, table.selectAllByUserId(0L).size() * users);
+        assertEquals(rows, columnar.size());
+        assertEquals(rows, offHeap.size());
+    }
+
+    // insert 는 호출마다 최대 300ms 를 쉬므로 테이블 내부 리스트에 직접 채웁니다.
+    @SuppressWarnings("unchecked")
+    private static void fillTable(PointHistoryTable table, int rows, int users) throws ReflectiveOperationException {
+        Field field = PointHistoryTable.class.getDeclaredField("table");
+        field.setAccessible(true);
+        List<PointHistory> histories = (List<PointHistory>) field.get(table);
+        for (int i = 0; i < rows; i++) {
+            histories.add(new PointHistory(i + 1L, i % users, 100L, TransactionType.CHARGE, i));
+        }
+    }
+
+    private static void fill(ColumnarPointHistoryRepository repository, int rows, int users) {
+        for (int i = 0; i < rows; i++) {
+            repository.insert(i % users, 100L, TransactionType.CHARGE, i);
+        }
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,115 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.UserPoint;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OpenAddressingUserPointRepositoryTest {
+
+    @Test
+    @DisplayName("저장하지 않은 사용자는 잔고 0, 저장한 사용자는 마지막 잔고를 조회한다")
+    void 마지막_잔고를_조회한다() {
+        // given
+        OpenAddressingUserPointRepository repository = new OpenAddressingUserPointRepository(new UserPointStoreProperties(false, 16, 4));
+
+        // when
+        repository.insertOrUpdate(1L, 100L);
+        repository.insertOrUpdate(1L, 300L);
+        repository.put(-7L, 50L, 123L);
+
+        // then
+        assertEquals(300L, repository.selectById(1L).point());
+        assertEquals(new UserPoint(-7L, 50L, 123L), repository.selectById(-7L));
+        assertEquals(0L, repository.selectById(2L).point());
+        assertEquals(2L, repository.size());
+        assertThrows(IllegalArgumentException.class, () -> repository.selectById(Long.MIN_VALUE));
+    }
+
+    @Test
+    @DisplayName("처음 잡은 공간보다 많은 사용자를 넣으면 세그먼트를 늘리고 모두 조회된다")
+    void 공간을_늘려도_모두_조회된다() {
+        // given
+        OpenAddressingUserPointRepository repository = new OpenAddressingUserPointRepository(new UserPointStoreProperties(true, 16, 2));
+        long before = repository.allocatedBytes();
+
+        // when
+        for (long id = 0; id < 100_000; id++) {
+            repository.put(id, id * 10, id);
+        }
+
+        // then
+        assertEquals(100_000L, repository.size());
+        assertTrue(repository.allocatedBytes() > before);
+        for (long id = 0; id < 100_000; id++) {
+            assertEquals(new UserPoint(id, id * 10, id), repository.selectById(id));
+        }
+    }
+
+    @Test
+    @DisplayName("세그먼트 크기는 최대 크기를 넘지 않고, 세그먼트 하나에 담을 수 없는 처음 공간은 시작할 때 거절한다")
+    void 세그먼트_최대_크기를_넘지_않는다() {
+        // when
+        int largest = OpenAddressingUserPointRepository.segmentCapacity(1 << 25);
+
+        // then
+        assertEquals(1 << 26, largest); // 슬롯 버퍼 1 << 26 * 24 바이트가 int 범위 안
+        assertEquals(16, OpenAddressingUserPointRepository.segmentCapacity(1));
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> new OpenAddressingUserPointRepository(new UserPointStoreProperties(false, 50_000_000, 1)));
+        assertTrue(exception.getMessage().contains("segments"));
+    }
+
+    @Test
+    @DisplayName("기록 중에 조회해도 point 와 updateMillis 가 서로 다른 기록에서 섞여 보이지 않는다")
+    void 기록_중에도_온전한_값을_읽는다() throws InterruptedException {
+        // given : 사용자를 계속 늘려 세그먼트가 커지는 중에도 읽도록 함
+        OpenAddressingUserPointRepository repository = new OpenAddressingUserPointRepository(new UserPointStoreProperties(false, 16, 2));
+        int readers = 4;
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicInteger torn = new AtomicInteger();
+        CountDownLatch startLatch = new CountDownLatch(1);
+        ExecutorService executorService = Executors.newFixedThreadPool(readers + 1);
+
+        // when
+        executorService.submit(() -> {
+            startLatch.await();
+            for (long value = 1; value <= 200_000; value++) {
+                repository.put(value % 1_000, value, value);
+                repository.put(1_000 + value, value, value);
+            }
+            running.set(false);
+            return null;
+        });
+        for (int i = 0; i < readers; i++) {
+            executorService.submit(() -> {
+                startLatch.await();
+                while (running.get()) {
+                    for (long id = 0; id < 1_000; id++) {
+                        UserPoint userPoint = repository.selectById(id);
+                        if (userPoint.point() != 0 && userPoint.point() != userPoint.updateMillis()) {
+                            torn.incrementAndGet();
+                        }
+                    }
+                }
+                return null;
+            });
+        }
+        startLatch.countDown();
+        executorService.shutdown();
+        assertTrue(executorService.awaitTermination(60, TimeUnit.SECONDS));
+
+        // then
+        assertEquals(0, torn.get());
+        assertEquals(200_000L + 1_000L, repository.size());
+        assertEquals(new UserPoint(0L, 200_000L, 200_000L), repository.selectById(0L));
+    }
+}
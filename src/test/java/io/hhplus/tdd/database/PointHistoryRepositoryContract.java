@@ -0,0 +1,77 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 모든 PointHistoryRepository 구현체가 지켜야 하는 동작. 구현체별 테스트는 PointHistoryRepositoryTest 에 있습니다.
+ */
+abstract class PointHistoryRepositoryContract {
+
+    abstract PointHistoryRepository repository();
+
+    @Test
+    @DisplayName("저장한 내역을 사용자별로 id 순서대로 조회한다")
+    void 사용자별로_id_순서대로_조회한다() {
+        // given
+        PointHistoryRepository repository = repository();
+
+        // when
+        PointHistory first = repository.insert(1L, 100L, TransactionType.CHARGE, 10L);
+        repository.insert(2L, 50L, TransactionType.CHARGE, 11L);
+        PointHistory third = repository.insert(1L, 30L, TransactionType.USE, 12L);
+
+        // then
+        assertTrue(first.id() < third.id());
+        assertEquals(List.of(first, third), repository.selectAllByUserId(1L));
+        assertEquals(new PointHistory(third.id(), 1L, 30L, TransactionType.USE, 12L), third);
+        assertEquals(List.of(), repository.selectAllByUserId(3L));
+    }
+
+    @Test
+    @DisplayName("insertAll 은 넣은 순서대로 저장하고 저장된 내역을 같은 순서로 돌려준다")
+    void insertAll_은_순서대로_저장한다() {
+        // given
+        PointHistoryRepository repository = repository();
+        List<NewPointHistory> histories = List.of(
+                new NewPointHistory(1L, 100L, TransactionType.CHARGE, 1L),
+                new NewPointHistory(2L, 200L, TransactionType.CHARGE, 2L),
+                new NewPointHistory(1L, 50L, TransactionType.USE, 3L));
+
+        // when
+        List<PointHistory> inserted = repository.insertAll(histories);
+
+        // then
+        assertEquals(3, inserted.size());
+        assertEquals(List.of(100L, 200L, 50L), inserted.stream().map(PointHistory::amount).toList());
+        assertTrue(inserted.get(0).id() < inserted.get(1).id() && inserted.get(1).id() < inserted.get(2).id());
+        assertEquals(List.of(inserted.get(0), inserted.get(2)), repository.selectAllByUserId(1L));
+    }
+
+    @Test
+    @DisplayName("조회 조건(커서, 기간, 종류, 건수)을 적용한다")
+    void 조회_조건을_적용한다() {
+        // given
+        PointHistoryRepository repository = repository();
+        List<PointHistory> inserted = repository.insertAll(List.of(
+                new NewPointHistory(1L, 10L, TransactionType.CHARGE, 1L),
+                new NewPointHistory(1L, 10L, TransactionType.USE, 2L),
+                new NewPointHistory(1L, 10L, TransactionType.CHARGE, 3L),
+                new NewPointHistory(1L, 10L, TransactionType.CHARGE, 4L),
+                new NewPointHistory(1L, 10L, TransactionType.CHARGE, 5L),
+                new NewPointHistory(1L, 10L, TransactionType.CHARGE, 6L)));
+
+        // when
+        List<PointHistory> histories = repository.selectByUserId(1L,
+                new PointHistoryQuery(inserted.get(0).id(), 2, 2L, 6L, TransactionType.CHARGE));
+
+        // then : 첫 내역 뒤, updateMillis 2 이상 6 미만, CHARGE 중 2건
+        assertEquals(List.of(inserted.get(2), inserted.get(3)), histories);
+    }
+}
@@ -0,0 +1,70 @@
+package io.hhplus.tdd.database;
+
+import org.h2.jdbcx.JdbcConnectionPool;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+
+import java.util.UUID;
+
+/**
+ * 저장소 엔진별로 PointHistoryRepositoryContract 를 실행합니다.
+ */
+class PointHistoryRepositoryTest {
+
+    @Nested
+    class Table extends PointHistoryRepositoryContract {
+
+        private final PointHistoryRepository repository = new PointHistoryTableRepository(new PointHistoryTable());
+
+        @Override
+        PointHistoryRepository repository() {
+            return repository;
+        }
+    }
+
+    @Nested
+    class Indexed extends PointHistoryRepositoryContract {
+
+        private final PointHistoryRepository repository = new IndexedPointHistoryRepository(new PointHistoryTable());
+
+        @Override
+        PointHistoryRepository repository() {
+            return repository;
+        }
+    }
+
+    @Nested
+    class Columnar extends PointHistoryRepositoryContract {
+
+        private final PointHistoryRepository repository = new ColumnarPointHistoryRepository(new PointHistoryStoreProperties(false, 2));
+
+        @Override
+        PointHistoryRepository repository() {
+            return repository;
+        }
+    }
+
+    @Nested
+    class Jdbc extends PointHistoryRepositoryContract {
+
+        private JdbcConnectionPool connectionPool;
+        private PointHistoryRepository repository;
+
+        @BeforeEach
+        void setUp() {
+            connectionPool = JdbcConnectionPool.create("jdbc:h2:mem:" + UUID.randomUUID(), "sa", "");
+            repository = new JdbcPointHistoryRepository(connectionPool, 2);
+        }
+
+        @AfterEach
+        void tearDown() {
+            connectionPool.dispose();
+        }
+
+        @Override
+        PointHistoryRepository repository() {
+            return repository;
+        }
+    }
+}
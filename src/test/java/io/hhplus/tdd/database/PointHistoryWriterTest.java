@@ -0,0 +1,208 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointRejectedException;
+import io.hhplus.tdd.point.TransactionType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PointHistoryWriterTest {
+
+    private PointHistoryWriter writer;
+
+    @AfterEach
+    void tearDown() {
+        if (writer != null) {
+            writer.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("여러 사용자가 동시에 기록해도 사용자별 내역 id 는 넣은 순서대로 증가한다")
+    void 사용자별_내역_id_는_증가한다() throws Exception {
+        // given
+        PointHistoryTable table = new PointHistoryTable();
+        writer = new PointHistoryWriter(new PointHistoryTableRepository(table), new PointHistoryWriterProperties(true, HistoryDurability.ACK_ON_INSERT, 64, 16, Duration.ofSeconds(1)));
+        int userCount = 4;
+        int perUser = 10;
+        CountDownLatch startLatch = new CountDownLatch(1);
+        ExecutorService executorService = Executors.newFixedThreadPool(userCount);
+        List<CompletableFuture<List<PointHistory>>> results = new ArrayList<>();
+
+        // when
+        for (int user = 0; user < userCount; user++) {
+            long userId = user;
+            CompletableFuture<List<PointHistory>> result = new CompletableFuture<>();
+            results.add(result);
+            executorService.submit(() -> {
+                try {
+                    startLatch.await();
+                    List<CompletableFuture<PointHistory>> futures = new ArrayList<>();
+                    for (int i = 1; i <= perUser; i++) {
+                        futures.add(writer.append(userId, i, TransactionType.CHARGE, System.currentTimeMillis()));
+                    }
+                    result.complete(futures.stream().map(CompletableFuture::join).toList());
+                } catch (Throwable e) {
+                    result.completeExceptionally(e);
+                }
+            });
+        }
+        startLatch.countDown();
+
+        // then
+        for (int user = 0; user < userCount; user++) {
+            List<PointHistory> histories = results.get(user).get(60, TimeUnit.SECONDS);
+            assertEquals(perUser, histories.size());
+            for (int i = 0; i < perUser; i++) {
+                assertEquals(i + 1, histories.get(i).amount());
+                if (i > 0) {
+                    assertTrue(histories.get(i - 1).id() < histories.get(i).id());
+                }
+            }
+            assertEquals(histories, table.selectAllByUserId(user));
+        }
+        executorService.shutdown();
+    }
+
+    @Test
+    @DisplayName("대기열이 가득 차도 기록은 유실되지 않는다")
+    void 대기열이_가득_차도_유실되지_않는다() {
+        // given
+        PointHistoryTable table = new PointHistoryTable();
+        writer = new PointHistoryWriter(new PointHistoryTableRepository(table), new PointHistoryWriterProperties(true, HistoryDurability.ACK_ON_ENQUEUE, 2, 2, Duration.ofSeconds(10)));
+
+        // when
+        List<CompletableFuture<PointHistory>> futures = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            futures.add(writer.append(1L, 100L, TransactionType.CHARGE, System.currentTimeMillis()));
+        }
+        futures.forEach(CompletableFuture::join);
+
+        // then
+        assertEquals(6, table.selectAllByUserId(1L).size());
+    }
+
+    @Test
+    @DisplayName("대기열이 offerTimeout 동안 비워지지 않으면 기다리지 않고 429 로 거절한다")
+    void 대기열이_비워지지_않으면_거절한다() {
+        // given : 기록기가 첫 내역을 저장하는 동안 붙잡아 두고 대기열(2칸)을 채움
+        CountDownLatch release = new CountDownLatch(1);
+        PointHistoryTable table = new PointHistoryTable();
+        PointHistoryRepository repository = new PointHistoryRepository() {
+            @Override
+            public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+                awaitQuietly(release);
+                return table.insert(userId, amount, type, updateMillis);
+            }
+
+            @Override
+            public List<PointHistory> selectAllByUserId(long userId) {
+                return table.selectAllByUserId(userId);
+            }
+        };
+        writer = new PointHistoryWriter(repository, new PointHistoryWriterProperties(true, HistoryDurability.ACK_ON_ENQUEUE, 2, 1, Duration.ofMillis(50)));
+        List<CompletableFuture<PointHistory>> futures = new ArrayList<>();
+        PointRejectedException rejected = null;
+
+        // when
+        for (int i = 0; i < 4 && rejected == null; i++) {
+            try {
+                futures.add(writer.append(1L, 100L, TransactionType.CHARGE, System.currentTimeMillis()));
+            } catch (PointRejectedException e) {
+                rejected = e;
+            }
+        }
+        release.countDown();
+
+        // then
+        assertNotNull(rejected);
+        assertEquals("POINT_HISTORY_QUEUE_FULL", rejected.getCode());
+        futures.forEach(CompletableFuture::join); // 받아 둔 내역은 저장됨
+        assertEquals(futures.size(), table.selectAllByUserId(1L).size());
+    }
+
+    @Test
+    @DisplayName("멈추기 전에 넣은 내역은 저장하고, 멈춘 뒤의 기록은 거절한다")
+    void 멈춘_뒤의_기록은_거절한다() {
+        // given
+        PointHistoryTable table = new PointHistoryTable();
+        writer = new PointHistoryWriter(new PointHistoryTableRepository(table), new PointHistoryWriterProperties(true, HistoryDurability.ACK_ON_INSERT, 64, 16, Duration.ofSeconds(1)));
+        CompletableFuture<PointHistory> before = writer.append(1L, 100L, TransactionType.CHARGE, System.currentTimeMillis());
+
+        // when
+        writer.shutdown();
+
+        // then
+        assertEquals(100L, before.join().amount());
+        assertThrows(IllegalStateException.class, () -> writer.append(1L, 100L, TransactionType.CHARGE, System.currentTimeMillis()));
+    }
+
+    @Test
+    @DisplayName("트랜잭션이 없는 저장소가 묶음 중간에 실패하면 이미 저장된 내역은 성공으로, 나머지만 실패로 알린다")
+    void 묶음_중간에_실패하면_저장된_내역은_성공으로_알린다() throws InterruptedException {
+        // given : 첫 내역을 저장하는 동안 기록기를 붙잡아 두고 다음 세 건을 한 묶음으로 모음
+        List<PointHistory> saved = new ArrayList<>();
+        CountDownLatch release = new CountDownLatch(1);
+        PointHistoryRepository repository = new PointHistoryRepository() {
+            @Override
+            public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+                if (amount == 1L) {
+                    awaitQuietly(release);
+                }
+                if (amount == 3L) {
+                    throw new IllegalStateException("저장 실패");
+                }
+                PointHistory history = new PointHistory(saved.size() + 1, userId, amount, type, updateMillis);
+                saved.add(history);
+                return history;
+            }
+
+            @Override
+            public List<PointHistory> selectAllByUserId(long userId) {
+                return List.copyOf(saved);
+            }
+        };
+        writer = new PointHistoryWriter(repository, new PointHistoryWriterProperties(true, HistoryDurability.ACK_ON_INSERT, 64, 16, Duration.ofSeconds(1)));
+        CompletableFuture<PointHistory> first = writer.append(1L, 1L, TransactionType.CHARGE, 1L);
+        CompletableFuture<PointHistory> second = writer.append(1L, 2L, TransactionType.CHARGE, 2L);
+        CompletableFuture<PointHistory> third = writer.append(1L, 3L, TransactionType.CHARGE, 3L);
+        CompletableFuture<PointHistory> fourth = writer.append(1L, 4L, TransactionType.CHARGE, 4L);
+
+        // when
+        release.countDown();
+
+        // then
+        assertEquals(1L, first.join().amount());
+        assertEquals(2L, second.join().amount());
+        assertThrows(CompletionException.class, third::join);
+        assertThrows(CompletionException.class, fourth::join);
+        assertEquals(List.of(1L, 2L), saved.stream().map(PointHistory::amount).toList());
+    }
+
+    @Test
+    @DisplayName("링 버퍼 크기는 2의 거듭제곱이어야 한다")
+    void 링_버퍼_크기_검증() {
+        assertThrows(IllegalArgumentException.class, () -> new MpscRingBuffer<>(3));
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
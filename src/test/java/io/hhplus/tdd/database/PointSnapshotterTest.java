@@ -0,0 +1,113 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.TransactionType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class PointSnapshotterTest {
+
+    @TempDir
+    Path directory;
+
+    private PointWalProperties walProperties(int recordsPerSegment) {
+        return new PointWalProperties(true, directory.resolve("wal").toString(),
+                DataSize.ofBytes((long) PointWalRecord.SIZE * recordsPerSegment), Duration.ZERO, true);
+    }
+
+    private PointSnapshotProperties snapshotProperties() {
+        return new PointSnapshotProperties(true, directory.resolve("snapshot").toString(), Duration.ofHours(1));
+    }
+
+    private List<String> files(String child) throws IOException {
+        try (Stream<Path> files = Files.list(directory.resolve(child))) {
+            return files.map(path -> path.getFileName().toString()).sorted().toList();
+        }
+    }
+
+    @Test
+    @DisplayName("시작할 때 스냅숏의 잔고에 그 뒤의 WAL 레코드만 다시 반영하고, 스냅숏 앞의 내역은 이월 내역으로 남긴다")
+    void 스냅숏_뒤의_WAL_만_다시_반영한다() {
+        // given
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        PointSnapshotter snapshotter = new PointSnapshotter(snapshotProperties(), registry);
+        snapshotter.load();
+        PointWriteAheadLog wal = new PointWriteAheadLog(walProperties(100), snapshotter);
+        snapshotter.start(wal);
+        wal.append(1L, 100L, TransactionType.CHARGE, 10L, 100L);
+        wal.append(2L, 50L, TransactionType.CHARGE, 11L, 50L);
+        snapshotter.snapshot();
+        wal.append(1L, 30L, TransactionType.USE, 12L, 70L);
+
+        // when : 마지막 스냅숏 없이 멈췄다가 다시 시작
+        UserPointRepository userPointRepository = mock(UserPointRepository.class);
+        PointHistoryRepository pointHistoryRepository = mock(PointHistoryRepository.class);
+        PointSnapshotter restarted = new PointSnapshotter(snapshotProperties(), new SimpleMeterRegistry());
+        long watermark = restarted.load();
+        PointWriteAheadLog reopened = new PointWriteAheadLog(walProperties(100), restarted);
+        long replayed = reopened.restore(userPointRepository, pointHistoryRepository);
+        reopened.close();
+
+        // then
+        assertEquals(2L, watermark);
+        assertEquals(1L, replayed);
+        verify(pointHistoryRepository).insertAll(List.of( // 스냅숏 시점 잔고의 이월 내역 뒤에 그 뒤의 내역
+                new NewPointHistory(1L, 100L, TransactionType.CHARGE, 10L),
+                new NewPointHistory(2L, 50L, TransactionType.CHARGE, 11L),
+                new NewPointHistory(1L, 30L, TransactionType.USE, 12L)));
+        verify(pointHistoryRepository, times(1)).insertAll(anyList());
+        verify(userPointRepository).insertOrUpdate(1L, 70L);
+        verify(userPointRepository).insertOrUpdate(2L, 50L);
+        assertEquals(2.0, registry.get("point.snapshot.users").gauge().value());
+        assertTrue(registry.get("point.snapshot.size").gauge().value() > 0);
+        assertEquals(1L, registry.get("point.snapshot.duration").timer().count());
+        wal.close();
+    }
+
+    @Test
+    @DisplayName("스냅숏을 남기면 바로 앞 스냅숏만 남기고, 그 watermark 까지의 WAL 세그먼트를 지운다")
+    void 오래된_스냅숏과_WAL_세그먼트를_지운다() throws IOException {
+        // given : 세그먼트 하나에 레코드 3건
+        PointSnapshotter snapshotter = new PointSnapshotter(snapshotProperties(), new SimpleMeterRegistry());
+        snapshotter.load();
+        PointWriteAheadLog wal = new PointWriteAheadLog(walProperties(3), snapshotter);
+        snapshotter.start(wal);
+
+        // when
+        for (int i = 1; i <= 8; i++) {
+            wal.append(1L, 1L, TransactionType.CHARGE, i, i);
+            if (i == 4 || i == 7 || i == 8) {
+                snapshotter.snapshot();
+            }
+        }
+
+        // then
+        assertEquals(List.of("wal-00000000000000000007.log"), files("wal"));
+        assertEquals(List.of("snapshot-00000000000000000007.bin", "snapshot-00000000000000000008.bin"), files("snapshot"));
+
+        // 지운 세그먼트 없이도 잔고가 복구된다
+        UserPointRepository userPointRepository = mock(UserPointRepository.class);
+        PointSnapshotter restarted = new PointSnapshotter(snapshotProperties(), new SimpleMeterRegistry());
+        restarted.load();
+        PointWriteAheadLog reopened = new PointWriteAheadLog(walProperties(3), restarted);
+        PointHistoryRepository pointHistoryRepository = mock(PointHistoryRepository.class);
+        assertEquals(0L, reopened.restore(userPointRepository, pointHistoryRepository));
+        verify(userPointRepository).insertOrUpdate(1L, 8L);
+        verify(pointHistoryRepository).insertAll(List.of(new NewPointHistory(1L, 8L, TransactionType.CHARGE, 8L)));
+        reopened.close();
+        wal.close();
+    }
+}
@@ -0,0 +1,173 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointLedger;
+import io.hhplus.tdd.point.PointLedgerProperties;
+import io.hhplus.tdd.point.TransactionType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+class PointWriteAheadLogTest {
+
+    @TempDir
+    Path directory;
+
+    private PointWalProperties properties(int recordsPerSegment, Duration syncInterval) {
+        return new PointWalProperties(true, directory.toString(), DataSize.ofBytes((long) PointWalRecord.SIZE * recordsPerSegment), syncInterval, true);
+    }
+
+    @Test
+    @DisplayName("다시 열면 기록한 레코드를 순서대로 읽고 이어서 기록한다")
+    void 다시_열면_이어서_기록한다() {
+        // given
+        PointWriteAheadLog wal = new PointWriteAheadLog(properties(100, Duration.ofMillis(1)));
+        wal.append(1L, 100L, TransactionType.CHARGE, 10L, 100L);
+        wal.append(2L, 50L, TransactionType.CHARGE, 11L, 50L);
+        wal.onCommit(1L, 30L, TransactionType.USE, 12L, 70L).join();
+        wal.close();
+
+        // when
+        PointWriteAheadLog reopened = new PointWriteAheadLog(properties(100, Duration.ofMillis(1)));
+        long seq = reopened.append(2L, 10L, TransactionType.USE, 13L, 40L);
+        List<PointWalRecord> records = new ArrayList<>();
+        reopened.replay(0L, records::add);
+        reopened.close();
+
+        // then
+        assertEquals(4L, seq);
+        assertEquals(List.of(1L, 2L, 3L, 4L), records.stream().map(PointWalRecord::seq).toList());
+        assertEquals(new PointWalRecord(3L, 1L, 30L, TransactionType.USE, 12L, 70L), records.get(2));
+    }
+
+    @Test
+    @DisplayName("세그먼트가 가득 차면 다음 세그먼트로 넘어가고, 읽을 때는 모든 세그먼트를 이어서 읽는다")
+    void 세그먼트를_넘어가며_기록한다() throws IOException {
+        // given
+        PointWriteAheadLog wal = new PointWriteAheadLog(properties(3, Duration.ZERO));
+
+        // when
+        for (int i = 0; i < 7; i++) {
+            wal.append(1L, 1L, TransactionType.CHARGE, i, i + 1);
+        }
+        List<PointWalRecord> tail = new ArrayList<>();
+        wal.replay(5L, tail::add);
+        wal.close();
+
+        // then
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(3L, files.count());
+        }
+        assertEquals(List.of(6L, 7L), tail.stream().map(PointWalRecord::seq).toList());
+    }
+
+    @Test
+    @DisplayName("세그먼트를 넘어가며 fsync 한 레코드를 기다리던 요청은 다음 fsync 주기를 기다리지 않고 끝난다")
+    void 세그먼트를_넘어가면_기다리던_요청을_끝낸다() {
+        // given : fsync 주기를 길게 잡아 주기적인 fsync 가 끼어들지 않게 함
+        PointWriteAheadLog wal = new PointWriteAheadLog(properties(2, Duration.ofHours(1)));
+        CompletableFuture<Void> first = wal.onCommit(1L, 100L, TransactionType.CHARGE, 1L, 100L);
+        CompletableFuture<Void> second = wal.onCommit(1L, 100L, TransactionType.CHARGE, 2L, 200L);
+
+        // when : 세 번째 레코드가 다음 세그먼트로 넘어감
+        CompletableFuture<Void> third = wal.onCommit(1L, 100L, TransactionType.CHARGE, 3L, 300L);
+
+        // then
+        assertTrue(first.isDone());
+        assertTrue(second.isDone());
+        assertFalse(third.isDone());
+        wal.close();
+        assertTrue(third.isDone());
+    }
+
+    @Test
+    @DisplayName("쓰다 만 레코드는 건너뛰고 그 자리부터 다시 기록한다")
+    void 쓰다_만_레코드는_무시한다() throws IOException {
+        // given
+        PointWriteAheadLog wal = new PointWriteAheadLog(properties(10, Duration.ZERO));
+        wal.append(1L, 100L, TransactionType.CHARGE, 1L, 100L);
+        wal.append(1L, 200L, TransactionType.CHARGE, 2L, 300L);
+        wal.close();
+        Path segment;
+        try (Stream<Path> files = Files.list(directory)) {
+            segment = files.findFirst().orElseThrow();
+        }
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{1, 2, 3}), PointWalRecord.SIZE + 20); // 두 번째 레코드 손상
+        }
+
+        // when
+        PointWriteAheadLog reopened = new PointWriteAheadLog(properties(10, Duration.ZERO));
+        long seq = reopened.append(1L, 5L, TransactionType.USE, 3L, 95L);
+        List<PointWalRecord> records = new ArrayList<>();
+        reopened.replay(0L, records::add);
+        reopened.close();
+
+        // then
+        assertEquals(2L, seq);
+        assertEquals(List.of(100L, 5L), records.stream().map(PointWalRecord::amount).toList());
+    }
+
+    @Test
+    @DisplayName("복구하면 내역은 순서대로 넣고 잔고는 사용자별 변경 합계로 한 번만 저장한다")
+    void WAL_로_테이블을_복구한다() {
+        // given
+        PointWriteAheadLog wal = new PointWriteAheadLog(properties(100, Duration.ZERO));
+        wal.append(1L, 1000L, TransactionType.CHARGE, 1L, 1000L);
+        wal.append(2L, 500L, TransactionType.CHARGE, 2L, 500L);
+        wal.append(1L, 300L, TransactionType.USE, 3L, 700L);
+        UserPointRepository userPointRepository = mock(UserPointRepository.class);
+        PointHistoryRepository pointHistoryRepository = mock(PointHistoryRepository.class);
+
+        // when
+        long restored = wal.restore(userPointRepository, pointHistoryRepository);
+        wal.close();
+
+        // then
+        assertEquals(3L, restored);
+        verify(pointHistoryRepository).insertAll(List.of(
+                new NewPointHistory(1L, 1000L, TransactionType.CHARGE, 1L),
+                new NewPointHistory(2L, 500L, TransactionType.CHARGE, 2L),
+                new NewPointHistory(1L, 300L, TransactionType.USE, 3L)));
+        verify(userPointRepository).insertOrUpdate(1L, 700L);
+        verify(userPointRepository).insertOrUpdate(2L, 500L);
+        verify(userPointRepository, times(2)).insertOrUpdate(anyLong(), anyLong());
+    }
+
+    @Test
+    @DisplayName("복구한 내역은 요약에도 반영되어 이후 감사에서 불일치가 나지 않는다")
+    void 복구한_내역을_요약에_반영한다() {
+        // given
+        PointWriteAheadLog wal = new PointWriteAheadLog(properties(100, Duration.ZERO));
+        wal.append(1L, 1000L, TransactionType.CHARGE, 1L, 1000L);
+        wal.append(1L, 300L, TransactionType.USE, 2L, 700L);
+        ColumnarPointHistoryRepository pointHistoryRepository = new ColumnarPointHistoryRepository(new PointHistoryStoreProperties(false, 16));
+        PointLedger pointLedger = new PointLedger(pointHistoryRepository, PointLedgerProperties.disabled());
+
+        // when
+        wal.restore(mock(UserPointRepository.class), pointHistoryRepository, pointLedger::record);
+        wal.close();
+        pointLedger.record(pointHistoryRepository.insert(1L, 200L, TransactionType.CHARGE, 3L)); // 복구 뒤 새 충전
+
+        // then
+        assertEquals(3L, pointLedger.summary(1L).count());
+        assertEquals(900L, pointLedger.summary(1L).balance());
+        assertDoesNotThrow(() -> pointLedger.audit(1L));
+    }
+}
@@ -0,0 +1,107 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.UserPoint;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+class UserPointCacheTest {
+
+    @Mock
+    private UserPointRepository userPointRepository;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(userPointRepository.selectById(anyLong())).thenAnswer(invocation -> new UserPoint(invocation.getArgument(0), 100L, 1L));
+        when(userPointRepository.insertOrUpdate(anyLong(), anyLong())).thenAnswer(invocation ->
+                new UserPoint(invocation.getArgument(0), invocation.getArgument(1), 2L));
+    }
+
+    @Test
+    @DisplayName("같은 사용자를 다시 조회하면 테이블을 읽지 않는다")
+    void 두번째_조회는_캐시에서_응답한다() {
+        // given
+        UserPointCache cache = new UserPointCache(userPointRepository, new UserPointCacheProperties(100));
+
+        // when
+        cache.get(1L);
+        UserPoint userPoint = cache.get(1L);
+
+        // then
+        assertEquals(100L, userPoint.point());
+        verify(userPointRepository, times(1)).selectById(1L);
+        UserPointCacheStats stats = cache.stats();
+        assertEquals(1L, stats.hits());
+        assertEquals(1L, stats.misses());
+    }
+
+    @Test
+    @DisplayName("저장한 잔고는 테이블과 캐시에 함께 반영된다")
+    void 저장한_잔고가_캐시에_반영된다() {
+        // given
+        UserPointCache cache = new UserPointCache(userPointRepository, new UserPointCacheProperties(100));
+        cache.get(1L);
+
+        // when
+        cache.insertOrUpdate(1L, 500L);
+
+        // then
+        assertEquals(500L, cache.get(1L).point());
+        verify(userPointRepository, times(1)).insertOrUpdate(1L, 500L);
+        verify(userPointRepository, times(1)).selectById(1L);
+    }
+
+    @Test
+    @DisplayName("invalidate 후에는 테이블에서 다시 읽는다")
+    void invalidate_후에는_테이블에서_다시_읽는다() {
+        // given
+        UserPointCache cache = new UserPointCache(userPointRepository, new UserPointCacheProperties(100));
+        cache.insertOrUpdate(1L, 500L);
+
+        // when
+        cache.invalidate(1L);
+        UserPoint userPoint = cache.get(1L);
+
+        // then
+        assertEquals(100L, userPoint.point());
+        verify(userPointRepository, times(1)).selectById(1L);
+    }
+
+    @Test
+    @DisplayName("조회가 실패하면 캐시에 남기지 않고 다음 조회는 다시 읽는다")
+    void 실패한_조회는_캐시에_남기지_않는다() {
+        // given
+        UserPointCache cache = new UserPointCache(userPointRepository, new UserPointCacheProperties(100));
+        when(userPointRepository.selectById(2L)).thenThrow(new IllegalStateException()).thenReturn(new UserPoint(2L, 50L, 1L));
+
+        // when
+        assertThrows(IllegalStateException.class, () -> cache.get(2L));
+        UserPoint userPoint = cache.get(2L);
+
+        // then
+        assertEquals(50L, userPoint.point());
+        verify(userPointRepository, times(2)).selectById(2L);
+    }
+
+    @Test
+    @DisplayName("maximumSize 가 0 이면 매번 테이블에서 읽는다")
+    void 캐시를_끄면_매번_테이블을_읽는다() {
+        // given
+        UserPointCache cache = new UserPointCache(userPointRepository, UserPointCacheProperties.disabled());
+
+        // when
+        cache.get(1L);
+        cache.get(1L);
+
+        // then
+        assertFalse(cache.isEnabled());
+        verify(userPointRepository, times(2)).selectById(1L);
+    }
+}
@@ -0,0 +1,43 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.UserPoint;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 모든 UserPointRepository 구현체가 지켜야 하는 동작. 구현체별 테스트는 UserPointRepositoryTest 에 있습니다.
+ */
+abstract class UserPointRepositoryContract {
+
+    abstract UserPointRepository repository();
+
+    @Test
+    @DisplayName("저장하지 않은 사용자의 잔고는 0 이다")
+    void 저장하지_않은_사용자의_잔고는_0() {
+        // when
+        UserPoint userPoint = repository().selectById(404L);
+
+        // then
+        assertEquals(404L, userPoint.id());
+        assertEquals(0L, userPoint.point());
+    }
+
+    @Test
+    @DisplayName("저장한 잔고를 조회하고, 다시 저장하면 마지막 잔고로 바뀐다")
+    void 마지막으로_저장한_잔고를_조회한다() {
+        // given
+        UserPointRepository repository = repository();
+
+        // when
+        UserPoint first = repository.insertOrUpdate(1L, 100L);
+        UserPoint second = repository.insertOrUpdate(1L, 250L);
+        repository.insertOrUpdate(2L, 30L);
+
+        // then
+        assertEquals(new UserPoint(1L, 100L, first.updateMillis()), first);
+        assertEquals(second, repository.selectById(1L));
+        assertEquals(30L, repository.selectById(2L).point());
+    }
+}
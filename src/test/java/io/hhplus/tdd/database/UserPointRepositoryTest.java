@@ -0,0 +1,59 @@
+package io.hhplus.tdd.database;
+
+import org.h2.jdbcx.JdbcConnectionPool;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+
+import java.util.UUID;
+
+/**
+ * 저장소 엔진별로 UserPointRepositoryContract 를 실행합니다.
+ */
+class UserPointRepositoryTest {
+
+    @Nested
+    class Table extends UserPointRepositoryContract {
+
+        private final UserPointRepository repository = new UserPointTableRepository(new UserPointTable());
+
+        @Override
+        UserPointRepository repository() {
+            return repository;
+        }
+    }
+
+    @Nested
+    class OpenAddressing extends UserPointRepositoryContract {
+
+        private final UserPointRepository repository = new OpenAddressingUserPointRepository(new UserPointStoreProperties(true, 16, 4));
+
+        @Override
+        UserPointRepository repository() {
+            return repository;
+        }
+    }
+
+    @Nested
+    class Jdbc extends UserPointRepositoryContract {
+
+        private JdbcConnectionPool connectionPool;
+        private UserPointRepository repository;
+
+        @BeforeEach
+        void setUp() {
+            connectionPool = JdbcConnectionPool.create("jdbc:h2:mem:" + UUID.randomUUID(), "sa", "");
+            repository = new JdbcUserPointRepository(connectionPool);
+        }
+
+        @AfterEach
+        void tearDown() {
+            connectionPool.dispose();
+        }
+
+        @Override
+        UserPointRepository repository() {
+            return repository;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.UserPoint;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class UserPointWriteBehindBufferTest {
+
+    @Mock
+    private UserPointRepository userPointRepository;
+
+    private UserPointWriteBehindBuffer buffer;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(userPointRepository.selectById(anyLong())).thenAnswer(invocation -> UserPoint.empty(invocation.getArgument(0)));
+        // 주기 flush 가 끼어들지 않도록 주기를 길게 잡고 flush 를 직접 호출합니다.
+        buffer = new UserPointWriteBehindBuffer(userPointRepository,
+                new UserPointWriteProperties(UserPointWriteMode.WRITE_BEHIND, Duration.ofMinutes(1), 8, Duration.ofMinutes(10)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        buffer.shutdown();
+    }
+
+    @Test
+    @DisplayName("flush 는 사용자별 저장을 flushThreads 개 스레드에 나눠 실행하므로, 사용자 수 / 스레드 수 만큼의 저장 시간 안에 끝난다")
+    void 사용자별_저장을_나눠_실행한다() {
+        // given : insertOrUpdate 한 번에 100ms, 사용자 32명, 스레드 8개 (한 명씩 저장하면 3.2초, 나누면 약 0.4초)
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        when(userPointRepository.insertOrUpdate(anyLong(), anyLong())).thenAnswer(invocation -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            TimeUnit.MILLISECONDS.sleep(100);
+            running.decrementAndGet();
+            return new UserPoint(invocation.getArgument(0), invocation.getArgument(1), 0L);
+        });
+        for (long id = 1; id <= 32; id++) {
+            buffer.update(id, id * 10);
+        }
+
+        // when
+        long started = System.nanoTime();
+        int flushed = buffer.flush();
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+
+        // then
+        assertEquals(32, flushed);
+        assertEquals(0, buffer.pendingCount());
+        assertTrue(maxRunning.get() <= 8);
+        assertTrue(elapsedMillis < 1_600, "flush 에 " + elapsedMillis + "ms 걸림");
+        verify(userPointRepository).insertOrUpdate(32L, 320L);
+    }
+
+    @Test
+    @DisplayName("한 사용자의 저장이 실패해도 나머지 사용자는 저장하고, 실패한 사용자는 다음 flush 에서 다시 저장한다")
+    void 실패한_사용자만_다시_저장한다() {
+        // given
+        when(userPointRepository.insertOrUpdate(anyLong(), anyLong())).thenAnswer(invocation ->
+                new UserPoint(invocation.getArgument(0), invocation.getArgument(1), 0L));
+        when(userPointRepository.insertOrUpdate(eq(2L), anyLong())).thenThrow(new RuntimeException()).thenReturn(new UserPoint(2L, 20L, 0L));
+        buffer.update(1L, 10L);
+        buffer.update(2L, 20L);
+        buffer.update(3L, 30L);
+
+        // when
+        assertThrows(RuntimeException.class, () -> buffer.flush());
+        int pending = buffer.pendingCount();
+        int retried = buffer.flush();
+
+        // then
+        assertEquals(1, pending);
+        assertEquals(1, retried);
+        verify(userPointRepository, times(1)).insertOrUpdate(1L, 10L);
+        verify(userPointRepository, times(2)).insertOrUpdate(2L, 20L);
+        verify(userPointRepository, times(1)).insertOrUpdate(3L, 30L);
+    }
+
+    @Test
+    @DisplayName("저장이 끝났고 maxIdle 동안 쓰지 않은 잔고만 flush 뒤에 내리고, 내린 사용자는 다음 조회 때 다시 읽는다")
+    void 저장된_유휴_잔고를_내린다() throws InterruptedException {
+        // given
+        UserPointWriteBehindBuffer idleBuffer = new UserPointWriteBehindBuffer(userPointRepository,
+                new UserPointWriteProperties(UserPointWriteMode.WRITE_BEHIND, Duration.ofMinutes(1), 8, Duration.ofMillis(50)));
+        when(userPointRepository.insertOrUpdate(anyLong(), anyLong())).thenAnswer(invocation ->
+                new UserPoint(invocation.getArgument(0), invocation.getArgument(1), 0L));
+        when(userPointRepository.selectById(1L)).thenReturn(new UserPoint(1L, 0L, 0L), new UserPoint(1L, 10L, 0L));
+        idleBuffer.update(1L, 10L);
+        idleBuffer.update(2L, 20L);
+        idleBuffer.flush();
+
+        // when : 1번은 maxIdle 동안 쓰지 않고, 2번은 방금 조회함
+        TimeUnit.MILLISECONDS.sleep(60);
+        idleBuffer.get(2L);
+        idleBuffer.flush();
+        int resident = idleBuffer.residentCount();
+        UserPoint reloaded = idleBuffer.get(1L);
+        idleBuffer.shutdown();
+
+        // then
+        assertEquals(1, resident);
+        assertEquals(10L, reloaded.point());
+        verify(userPointRepository, times(2)).selectById(1L);
+        verify(userPointRepository, times(1)).selectById(2L);
+    }
+}
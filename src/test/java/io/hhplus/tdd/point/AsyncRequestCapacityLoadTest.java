@@ -0,0 +1,45 @@
+package io.hhplus.tdd.point;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tomcat 스레드를 20개로 묶고 async 전략의 /point/async 로 보냅니다.
+ * 요청 스레드는 future 만 넘기고 풀려나므로, 동시에 처리 중인 요청 수는 Tomcat 스레드 수가 아니라 max-in-flight 로 정해집니다.
+ * 같은 서버의 동기 API(/point/{id}/charge)는 요청 스레드가 결과를 기다리며 붙잡혀 있으므로, 둘을 같은 Tomcat 스레드 수에서 비교합니다.
+ */
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"spring.threads.virtual.enabled=false", "server.tomcat.threads.max=20",
+                "point.service.strategy=async", "point.async.threads=200", "point.async.max-in-flight=2000"}
+)
+class AsyncRequestCapacityLoadTest extends RequestCapacityLoadTestSupport {
+
+    private static final double MIN_SPEEDUP = 2.0; // Tomcat 스레드 20개로 동시에 기다리는 요청 수가 10배 차이 나므로 여유를 두고 잡은 하한
+
+    @Override
+    String mode() {
+        return "async executor (tomcat 20 / executor 200)";
+    }
+
+    @Override
+    String path(long id) {
+        return "/point/async/" + id + "/charge";
+    }
+
+    @Test
+    @DisplayName("같은 Tomcat 스레드 수(20)에서 동기 API 와 비동기 API 의 처리 시간 비교")
+    void 동기_비동기_처리_시간_비교() throws Exception {
+        // when
+        long blockingMillis = sendConcurrently("blocking (tomcat 20)", id -> "/point/" + id + "/charge", 20_000);
+        long asyncMillis = sendConcurrently(mode(), this::path, 30_000);
+
+        // then
+        double speedup = (double) blockingMillis / asyncMillis;
+        System.out.printf("[tomcat 20] 동기 %d ms / 비동기 %d ms / %.1f배%n", blockingMillis, asyncMillis, speedup);
+        assertTrue(speedup >= MIN_SPEEDUP, String.format("비동기 API 가 동기 API 보다 %.1f배 빠릅니다. (기대 %.1f배 이상)", speedup, MIN_SPEEDUP));
+    }
+}
@@ -0,0 +1,147 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.when;
+
+class ExecutorPointServiceTest {
+
+    @Mock
+    private PointHistoryTable pointHistoryTable;
+
+    @Mock
+    private UserPointTable userPointTable;
+
+    private UserPointWriteBehindBuffer writeBehindBuffer;
+    private ExecutorPointService pointService;
+
+    private void setUp(AsyncExecutorProperties properties) {
+        MockitoAnnotations.openMocks(this);
+        when(userPointTable.selectById(anyLong())).thenAnswer(invocation -> UserPoint.empty(invocation.getArgument(0)));
+        when(pointHistoryTable.insert(anyLong(), anyLong(), any(), anyLong())).thenAnswer(invocation ->
+                new PointHistory(1L, invocation.getArgument(0), invocation.getArgument(1), invocation.getArgument(2), invocation.getArgument(3)));
+
+        PointHistoryRepository pointHistoryRepository = new PointHistoryTableRepository(pointHistoryTable);
+        writeBehindBuffer = new UserPointWriteBehindBuffer(new UserPointTableRepository(userPointTable), UserPointWriteProperties.writeBehind(Duration.ofSeconds(10)));
+        pointService = new ExecutorPointService(pointHistoryRepository, new UserPointCache(new UserPointTableRepository(userPointTable), UserPointCacheProperties.disabled()), writeBehindBuffer,
+                new PointHistoryWriter(pointHistoryRepository, PointHistoryWriterProperties.disabled()),
+                new PointLedger(pointHistoryRepository, PointLedgerProperties.disabled()),
+                PointMetrics.noop(),
+                PointCommitListener.NONE,
+                properties,
+                PointBatchProperties.defaults());
+    }
+
+    @AfterEach
+    void tearDown() {
+        pointService.shutdown();
+        writeBehindBuffer.shutdown();
+    }
+
+    @Test
+    @DisplayName("락 없이도 같은 사용자의 동시 충전이 모두 반영된다")
+    void 같은_사용자의_동시_충전이_모두_반영된다() {
+        // given
+        setUp(new AsyncExecutorProperties(4, 4096));
+        long id = 1L;
+        int requests = 2_000;
+
+        // when
+        List<CompletableFuture<UserPoint>> futures = new ArrayList<>(requests);
+        for (int i = 0; i < requests; i++) {
+            futures.add(pointService.chargeAsync(id, 10L));
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+
+        // then : 차례대로 실행되므로 i 번째 응답의 잔고는 (i + 1) * 10
+        for (int i = 0; i < requests; i++) {
+            assertEquals((i + 1) * 10L, futures.get(i).join().point());
+        }
+        assertEquals(requests * 10L, pointService.get(id).point());
+        assertEquals(0, pointService.stats().inFlight());
+    }
+
+    @Test
+    @DisplayName("사용 실패 시 원래 예외가 그대로 전달되고 다음 요청은 계속 처리된다")
+    void 사용_실패_시_원래_예외가_전달된다() {
+        // given
+        setUp(new AsyncExecutorProperties(2, 16));
+
+        // when
+        CompletableFuture<UserPoint> failed = pointService.useAsync(1L, 100L);
+        CompletableFuture<UserPoint> charged = pointService.chargeAsync(1L, 100L);
+
+        // then
+        CompletionException exception = assertThrows(CompletionException.class, failed::join);
+        assertEquals("NEED_CHARGE_AMOUNT", assertInstanceOf(PointException.class, exception.getCause()).getCode());
+        assertEquals(100L, charged.join().point());
+        PointException syncException = assertThrows(PointException.class, () -> pointService.use(1L, 1_000L));
+        assertEquals("NEED_CHARGE_AMOUNT", syncException.getCode());
+    }
+
+    @Test
+    @DisplayName("실행기 스레드 수보다 훨씬 많은 요청을 동시에 받아 두고 처리한다")
+    void 스레드_수보다_많은_요청을_받아_둔다() throws InterruptedException {
+        // given : 내역 저장이 풀릴 때까지 막힘
+        setUp(new AsyncExecutorProperties(2, 1_000));
+        CountDownLatch release = new CountDownLatch(1);
+        when(pointHistoryTable.insert(anyLong(), anyLong(), any(), anyLong())).thenAnswer(invocation -> {
+            release.await();
+            return new PointHistory(1L, invocation.getArgument(0), invocation.getArgument(1), invocation.getArgument(2), invocation.getArgument(3));
+        });
+        int requests = 500;
+
+        // when
+        List<CompletableFuture<UserPoint>> futures = new ArrayList<>(requests);
+        for (int i = 0; i < requests; i++) {
+            futures.add(pointService.chargeAsync(100L + i, 10L));
+        }
+        AsyncExecutorStats blocked = pointService.stats();
+        release.countDown();
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+
+        // then
+        assertEquals(2, blocked.threads());
+        assertEquals(requests, blocked.inFlight());
+        assertTrue(futures.stream().allMatch(future -> future.join().point() == 10L));
+        assertEquals(0, pointService.stats().inFlight());
+    }
+
+    @Test
+    @DisplayName("받아 둔 요청이 max-in-flight 를 넘으면 POINT_ASYNC_QUEUE_FULL 로 거절한다")
+    void 받아_둔_요청이_넘치면_거절한다() {
+        // given
+        setUp(new AsyncExecutorProperties(1, 2));
+        CountDownLatch release = new CountDownLatch(1);
+        when(pointHistoryTable.insert(eq(99L), anyLong(), any(), anyLong())).thenAnswer(invocation -> {
+            release.await();
+            return new PointHistory(1L, 99L, invocation.getArgument(1), invocation.getArgument(2), invocation.getArgument(3));
+        });
+
+        // when
+        CompletableFuture<UserPoint> running = pointService.chargeAsync(99L, 10L);
+        CompletableFuture<UserPoint> waiting = pointService.chargeAsync(99L, 10L);
+        CompletableFuture<UserPoint> rejected = pointService.chargeAsync(99L, 10L);
+        release.countDown();
+
+        // then
+        CompletionException exception = assertThrows(CompletionException.class, rejected::join);
+        PointRejectedException cause = assertInstanceOf(PointRejectedException.class, exception.getCause());
+        assertEquals("POINT_ASYNC_QUEUE_FULL", cause.getCode());
+        assertEquals(10L, running.join().point());
+        assertEquals(20L, waiting.join().point());
+        assertEquals(1L, pointService.stats().rejected());
+    }
+}
@@ -0,0 +1,170 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.*;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HotUserDetectorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final HotUserDetector detector = new HotUserDetector(new HotUserProperties(true, Duration.ofHours(1), 10, 4, true),
+            new PointMetrics(meterRegistry));
+
+    @AfterEach
+    void tearDown() {
+        detector.shutdown();
+    }
+
+    @Test
+    @DisplayName("동시에 몰린 요청 수가 기준 이상인 사용자만 핫 유저가 된다")
+    void 동시에_몰린_사용자만_핫_유저가_된다() throws InterruptedException {
+        // given
+        UserLockRegistry registry = detector.track(new RefCountedUserLockRegistry());
+        int threadCount = 8;
+        CountDownLatch startLatch = new CountDownLatch(1);
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+
+        // when
+        for (int i = 0; i < threadCount; i++) {
+            executorService.submit(() -> {
+                startLatch.await();
+                return registry.executeWithLock(1L, () -> {
+                    sleep(20L);
+                    return null;
+                });
+            });
+        }
+        registry.executeWithLock(2L, () -> null);
+        startLatch.countDown();
+        executorService.shutdown();
+        assertTrue(executorService.awaitTermination(10, TimeUnit.SECONDS));
+        detector.rotate();
+
+        // then
+        List<HotUserStats> topK = detector.topK();
+        assertEquals(1L, topK.get(0).userId());
+        assertEquals(threadCount, topK.get(0).requests());
+        assertTrue(topK.get(0).maxQueueDepth() >= 4);
+        assertTrue(detector.shouldCombine(1L));
+        assertFalse(detector.shouldCombine(2L));
+        assertEquals(topK.get(0).maxQueueDepth(), meterRegistry.get("point.lock.hot_user.depth").tag("user", "1").gauge().value());
+    }
+
+    @Test
+    @DisplayName("핫 유저 목록은 방금 끝난 칸만이 아니라 window 전체(직전 칸과 현재 칸)로 계산한다")
+    void 핫_유저는_window_전체로_계산한다() {
+        // given
+        detector.recordCombined(5L, 6);
+        detector.rotate();
+
+        // when : 새 칸에는 요청이 없음
+        detector.rotate();
+
+        // then : 아직 window 안이므로 핫 유저로 남고, 칸이 한 번 더 바뀌면 빠짐
+        assertTrue(detector.shouldCombine(5L));
+        assertEquals(6.0, meterRegistry.get("point.lock.hot_user.depth").tag("user", "5").gauge().value());
+        detector.rotate();
+        assertFalse(detector.shouldCombine(5L));
+    }
+
+    @Test
+    @DisplayName("핫 유저의 동시 충전/사용은 모아서 반영해도 모두 순서대로 반영된다")
+    void 핫_유저의_요청을_모아서_반영한다() throws InterruptedException {
+        // given
+        long id = 1L;
+        UserPointTable userPointTable = new ConcurrentUserPointTable();
+        PointHistoryTable pointHistoryTable = new ConcurrentPointHistoryTable();
+        PointHistoryRepository pointHistoryRepository = new PointHistoryTableRepository(pointHistoryTable);
+        PointServiceImpl pointService = new PointServiceImpl(pointHistoryRepository,
+                new UserPointCache(new UserPointTableRepository(userPointTable), UserPointCacheProperties.disabled()),
+                new UserPointWriteBehindBuffer(new UserPointTableRepository(userPointTable), UserPointWriteProperties.sync()),
+                new PointHistoryWriter(pointHistoryRepository, PointHistoryWriterProperties.disabled()),
+                new PointLedger(pointHistoryRepository, PointLedgerProperties.disabled()),
+                new RefCountedUserLockRegistry(), PointMetrics.noop(), detector, PointCommitListener.NONE);
+        detector.recordCombined(id, 10);
+        detector.rotate();
+        int threadCount = 16;
+        int chargesPerThread = 50;
+        CountDownLatch startLatch = new CountDownLatch(1);
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+
+        // when
+        for (int i = 0; i < threadCount; i++) {
+            executorService.submit(() -> {
+                startLatch.await();
+                for (int j = 0; j < chargesPerThread; j++) {
+                    pointService.charge(id, 10L);
+                }
+                return null;
+            });
+        }
+        startLatch.countDown();
+        executorService.shutdown();
+        assertTrue(executorService.awaitTermination(30, TimeUnit.SECONDS));
+
+        // then
+        assertTrue(detector.shouldCombine(id));
+        assertEquals(threadCount * chargesPerThread * 10L, pointService.get(id).point());
+        assertEquals(threadCount * chargesPerThread, pointService.getHistories(id).size());
+        PointException exception = assertThrows(PointException.class, () -> pointService.use(id, 1_000_000L));
+        assertEquals("NEED_CHARGE_AMOUNT", exception.getCode());
+        UserPoint charged = pointService.charge(id, 10L);
+        assertEquals(pointService.get(id), charged); // 모아서 반영해도 저장된 잔고와 저장 시각을 그대로 돌려줌
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // 지연 없이 여러 스레드에서 쓸 수 있는 테이블
+    private static class ConcurrentUserPointTable extends UserPointTable {
+        private final ConcurrentHashMap<Long, UserPoint> table = new ConcurrentHashMap<>();
+
+        @Override
+        public UserPoint selectById(Long id) {
+            return table.getOrDefault(id, UserPoint.empty(id));
+        }
+
+        @Override
+        public UserPoint insertOrUpdate(long id, long amount) {
+            UserPoint userPoint = new UserPoint(id, amount, System.currentTimeMillis());
+            table.put(id, userPoint);
+            return userPoint;
+        }
+    }
+
+    private static class ConcurrentPointHistoryTable extends PointHistoryTable {
+        private final CopyOnWriteArrayList<PointHistory> table = new CopyOnWriteArrayList<>();
+        private final AtomicLong cursor = new AtomicLong(1);
+
+        @Override
+        public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+            PointHistory pointHistory = new PointHistory(cursor.getAndIncrement(), userId, amount, type, updateMillis);
+            table.add(pointHistory);
+            return pointHistory;
+        }
+
+        @Override
+        public List<PointHistory> selectAllByUserId(long userId) {
+            return table.stream().filter(pointHistory -> pointHistory.userId() == userId).toList();
+        }
+    }
+}
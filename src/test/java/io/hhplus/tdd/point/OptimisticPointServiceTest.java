@@ -0,0 +1,257 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.when;
+
+class OptimisticPointServiceTest {
+
+    @Mock
+    private PointHistoryTable pointHistoryTable;
+
+    @Mock
+    private UserPointTable userPointTable;
+
+    private final List<PointHistory> inserted = Collections.synchronizedList(new ArrayList<>());
+    private UserPointWriteBehindBuffer writeBehindBuffer;
+    private PointHistoryWriter pointHistoryWriter;
+    private OptimisticPointService pointService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(userPointTable.selectById(anyLong())).thenAnswer(invocation -> UserPoint.empty(invocation.getArgument(0)));
+        when(pointHistoryTable.insert(anyLong(), anyLong(), any(), anyLong())).thenAnswer(invocation -> {
+            PointHistory history = new PointHistory(inserted.size() + 1L, invocation.getArgument(0), invocation.getArgument(1), invocation.getArgument(2), invocation.getArgument(3));
+            inserted.add(history);
+            return history;
+        });
+
+        PointHistoryRepository pointHistoryRepository = new PointHistoryTableRepository(pointHistoryTable);
+        writeBehindBuffer = new UserPointWriteBehindBuffer(new UserPointTableRepository(userPointTable), UserPointWriteProperties.writeBehind(Duration.ofSeconds(10)));
+        pointHistoryWriter = new PointHistoryWriter(pointHistoryRepository, new PointHistoryWriterProperties(true, HistoryDurability.ACK_ON_INSERT, 1024, 64, Duration.ofSeconds(1)));
+        pointService = new OptimisticPointService(pointHistoryRepository, new UserPointCache(new UserPointTableRepository(userPointTable), UserPointCacheProperties.disabled()), writeBehindBuffer,
+                pointHistoryWriter,
+                new PointLedger(pointHistoryRepository, PointLedgerProperties.disabled()),
+                new RefCountedUserLockRegistry(),
+                PointMetrics.noop(),
+                PointCommitListener.NONE,
+                PointBatchProperties.defaults());
+    }
+
+    @AfterEach
+    void tearDown() {
+        pointHistoryWriter.shutdown();
+        writeBehindBuffer.shutdown();
+    }
+
+    @Test
+    @DisplayName("동시에 충전해도 CAS 로 모든 충전이 반영된다")
+    void 동시_충전이_모두_반영된다() throws InterruptedException {
+        // given
+        long id = 1L;
+        int threadCount = 16;
+        int chargesPerThread = 100;
+        CountDownLatch startLatch = new CountDownLatch(1);
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+
+        // when
+        for (int i = 0; i < threadCount; i++) {
+            executorService.submit(() -> {
+                startLatch.await();
+                for (int j = 0; j < chargesPerThread; j++) {
+                    pointService.charge(id, 10L);
+                }
+                return null;
+            });
+        }
+        startLatch.countDown();
+        executorService.shutdown();
+        assertTrue(executorService.awaitTermination(30, TimeUnit.SECONDS));
+
+        // then
+        assertEquals(threadCount * chargesPerThread * 10L, pointService.get(id).point());
+        assertEquals(threadCount * chargesPerThread, pointService.stats().updates());
+    }
+
+    @Test
+    @DisplayName("동시에 사용해도 잔고는 음수가 되지 않는다")
+    void 동시_사용해도_잔고는_음수가_되지_않는다() throws InterruptedException {
+        // given
+        long id = 2L;
+        pointService.charge(id, 1_000L);
+        int threadCount = 16;
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch startLatch = new CountDownLatch(1);
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+
+        // when
+        for (int i = 0; i < threadCount; i++) {
+            executorService.submit(() -> {
+                startLatch.await();
+                for (int j = 0; j < 10; j++) {
+                    try {
+                        pointService.use(id, 10L);
+                    } catch (PointException e) {
+                        rejected.incrementAndGet();
+                    }
+                }
+                return null;
+            });
+        }
+        startLatch.countDown();
+        executorService.shutdown();
+        assertTrue(executorService.awaitTermination(30, TimeUnit.SECONDS));
+
+        // then
+        assertEquals(0L, pointService.get(id).point());
+        assertEquals(60, rejected.get()); // 160번 중 100번만 성공
+    }
+
+    @Test
+    @DisplayName("최대 잔고를 넘는 충전은 CAS 전에 거절된다")
+    void 최대_잔고_초과_충전은_거절된다() {
+        assertThrows(PointException.class, () -> pointService.charge(3L, 3_000_001L));
+        assertEquals(0L, pointService.get(3L).point());
+    }
+
+    @Test
+    @DisplayName("내역을 저장하지 못하면 바꾼 잔고를 되돌린다")
+    void 내역_저장_실패시_잔고를_되돌린다() {
+        // given
+        when(pointHistoryTable.insert(eq(5L), anyLong(), eq(TransactionType.CHARGE), anyLong())).thenThrow(new RuntimeException());
+
+        // when
+        PointException exception = assertThrows(PointException.class, () -> pointService.charge(5L, 100L));
+
+        // then
+        assertEquals("HISTORY_TABLE_INSERT_FAILED", exception.getCode());
+        assertEquals(0L, pointService.get(5L).point());
+    }
+
+    @Test
+    @DisplayName("충전 내역 저장이 실패하기 전에 충전된 포인트를 써 버렸으면 잔고를 음수로 만들지 않고 되돌리기 실패를 알린다")
+    void 되돌릴_수_없으면_음수로_만들지_않는다() throws Exception {
+        // given : 충전 내역 저장이 release 전까지 끝나지 않다가 실패함
+        long id = 4L;
+        CountDownLatch release = new CountDownLatch(1);
+        when(pointHistoryTable.insert(eq(id), anyLong(), eq(TransactionType.CHARGE), anyLong())).thenAnswer(invocation -> {
+            assertTrue(release.await(10, TimeUnit.SECONDS));
+            throw new RuntimeException();
+        });
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        Future<UserPoint> charge = executorService.submit(() -> pointService.charge(id, 100L));
+        while (pointService.get(id).point() != 100L) {
+            Thread.onSpinWait();
+        }
+
+        // when : 충전된 포인트를 사용한 뒤 충전 내역 저장이 실패
+        Future<UserPoint> use = executorService.submit(() -> pointService.use(id, 100L));
+        while (pointService.get(id).point() != 0L) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+
+        // then
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> charge.get(10, TimeUnit.SECONDS));
+        assertEquals("HISTORY_COMPENSATION_FAILED", assertInstanceOf(PointException.class, exception.getCause()).getCode());
+        assertEquals(0L, use.get(10, TimeUnit.SECONDS).point());
+        assertEquals(0L, pointService.get(id).point());
+        executorService.shutdown();
+    }
+
+    @Test
+    @DisplayName("동시에 충전/사용해도 내역은 대기열에 넣은 순서로 모두 쌓여, 내역 합계가 잔고와 같다")
+    void 동시에_바꿔도_내역_합계는_잔고와_같다() throws InterruptedException {
+        // given : 내역 순서는 CAS 순서가 아니라 대기열에 넣은 순서이므로 중간 합계는 보지 않음
+        long id = 6L;
+        int threadCount = 16;
+        CountDownLatch startLatch = new CountDownLatch(1);
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+
+        // when
+        for (int i = 0; i < threadCount; i++) {
+            boolean charging = i % 2 == 0;
+            executorService.submit(() -> {
+                startLatch.await();
+                for (int j = 0; j < 100; j++) {
+                    try {
+                        if (charging) {
+                            pointService.charge(id, 10L);
+                        } else {
+                            pointService.use(id, 10L);
+                        }
+                    } catch (PointException ignored) {
+                        // 잔고 부족
+                    }
+                }
+                return null;
+            });
+        }
+        startLatch.countDown();
+        executorService.shutdown();
+        assertTrue(executorService.awaitTermination(30, TimeUnit.SECONDS));
+
+        // then
+        long balance = 0;
+        for (PointHistory history : inserted) {
+            balance += history.type() == TransactionType.CHARGE ? history.amount() : -history.amount();
+        }
+        assertEquals(pointService.get(id).point(), balance);
+        assertEquals(pointService.stats().updates(), inserted.size());
+    }
+
+    @Test
+    @DisplayName("CAS 를 거치지 않은 변경(락으로 저장, 메모리 잔고 버림) 뒤에도 충전은 기다리지 않고 처리된다")
+    void CAS_를_거치지_않은_변경_뒤에도_처리된다() throws Exception {
+        // given
+        long id = 7L;
+        pointService.charge(id, 100L);
+        writeBehindBuffer.update(id, 300L);
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+
+        // when
+        UserPoint afterUpdate = executorService.submit(() -> pointService.charge(id, 10L)).get(10, TimeUnit.SECONDS);
+        writeBehindBuffer.invalidate(id); // 테이블(mock)에서 다시 읽으면 0
+        UserPoint afterInvalidate = executorService.submit(() -> pointService.charge(id, 50L)).get(10, TimeUnit.SECONDS);
+        executorService.shutdown();
+
+        // then
+        assertEquals(310L, afterUpdate.point());
+        assertEquals(50L, afterInvalidate.point());
+    }
+
+    @Test
+    @DisplayName("내역 기록기를 쓰지 않으면 optimistic 전략을 만들 수 없다")
+    void 기록기가_없으면_만들_수_없다() {
+        PointHistoryRepository pointHistoryRepository = new PointHistoryTableRepository(pointHistoryTable);
+        assertThrows(IllegalStateException.class, () -> new OptimisticPointService(pointHistoryRepository,
+                new UserPointCache(new UserPointTableRepository(userPointTable), UserPointCacheProperties.disabled()), writeBehindBuffer,
+                new PointHistoryWriter(pointHistoryRepository, PointHistoryWriterProperties.disabled()),
+                new PointLedger(pointHistoryRepository, PointLedgerProperties.disabled()),
+                new RefCountedUserLockRegistry(),
+                PointMetrics.noop(),
+                PointCommitListener.NONE,
+                PointBatchProperties.defaults()));
+    }
+}
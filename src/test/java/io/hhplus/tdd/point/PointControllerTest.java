@@ -1,7 +1,8 @@
 package io.hhplus.tdd.point;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.PointHistoryRepository;
+import io.hhplus.tdd.database.UserPointCache;
 import io.hhplus.tdd.database.UserPointTable;
 import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -9,7 +10,10 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.util.List;
+import java.util.UUID;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -32,13 +36,19 @@ class PointControllerTest {
     private UserPointTable userPointTable;
 
     @Autowired
-    private PointHistoryTable pointHistoryTable;
+    private PointHistoryRepository pointHistoryRepository;
+
+    @Autowired
+    private UserPointCache userPointCache;
 
     @BeforeEach
     void setUp() {
         // 테스트 전 데이터 초기화
         userPointTable.insertOrUpdate(1L, 1000L);
         userPointTable.insertOrUpdate(2L, 500L);
+        // 테이블에 직접 넣었으므로 잔고 캐시도 비웁니다.
+        userPointCache.invalidate(1L);
+        userPointCache.invalidate(2L);
     }
 
     @Test
@@ -66,6 +76,25 @@ class PointControllerTest {
                 .andExpect(jsonPath("$.point").value(1500L));
     }
 
+    @Test
+    @DisplayName("같은 Idempotency-Key 로 다시 충전하면 한 번만 충전하고 같은 결과를 응답한다")
+    void 같은_키로_다시_충전하면_한번만_충전한다() throws Exception {
+        long id = 2L;
+        String idempotencyKey = UUID.randomUUID().toString();
+
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(patch("/point/{id}/charge", id)
+                            .header("Idempotency-Key", idempotencyKey)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("100"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.point").value(600L));
+        }
+
+        mockMvc.perform(get("/point/{id}", id))
+                .andExpect(jsonPath("$.point").value(600L));
+    }
+
     @Test
     @DisplayName("포인트 충전 실패 - 0 또는 음수 금액")
     void 포인트_충전_실패_잘못된_금액() throws Exception {
@@ -142,8 +171,8 @@ class PointControllerTest {
         long id = 1L;
 
         // 테스트 데이터 준비: 충전과 사용 내역 생성
-        pointHistoryTable.insert(id, 500L, TransactionType.CHARGE, System.currentTimeMillis());
-        pointHistoryTable.insert(id, 200L, TransactionType.USE, System.currentTimeMillis());
+        pointHistoryRepository.insert(id, 500L, TransactionType.CHARGE, System.currentTimeMillis());
+        pointHistoryRepository.insert(id, 200L, TransactionType.USE, System.currentTimeMillis());
 
         mockMvc.perform(get("/point/{id}/histories", id))
                 .andExpect(status().isOk())
@@ -154,6 +183,105 @@ class PointControllerTest {
                 .andExpect(jsonPath("$[0].updateMillis").exists());
     }
 
+    @Test
+    @DisplayName("포인트 내역 커서 페이지 조회 - GET /point/{id}/histories?after=&limit=")
+    void 포인트_내역_페이지_조회() throws Exception {
+        long id = 5L;
+        long first = pointHistoryRepository.insert(id, 500L, TransactionType.CHARGE, System.currentTimeMillis()).id();
+        long second = pointHistoryRepository.insert(id, 200L, TransactionType.USE, System.currentTimeMillis()).id();
+        pointHistoryRepository.insert(id, 100L, TransactionType.CHARGE, System.currentTimeMillis());
+
+        mockMvc.perform(get("/point/{id}/histories", id).param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.histories", hasSize(2)))
+                .andExpect(jsonPath("$.histories[0].id").value(first))
+                .andExpect(jsonPath("$.nextCursor").value(second));
+
+        mockMvc.perform(get("/point/{id}/histories", id).param("after", String.valueOf(second)).param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.histories", hasSize(1)))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+
+        mockMvc.perform(get("/point/{id}/histories", id).param("type", "USE").param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.histories", hasSize(1)))
+                .andExpect(jsonPath("$.histories[0].amount").value(200L));
+    }
+
+    @Test
+    @DisplayName("limit 없이 조건만 주어도 조건에 맞는 내역만 페이지로 응답한다 - GET /point/{id}/histories?type=")
+    void 포인트_내역_조건만_주어도_페이지로_조회한다() throws Exception {
+        long id = 7L;
+        pointHistoryRepository.insert(id, 500L, TransactionType.CHARGE, System.currentTimeMillis());
+        long used = pointHistoryRepository.insert(id, 200L, TransactionType.USE, System.currentTimeMillis()).id();
+        pointHistoryRepository.insert(id, 100L, TransactionType.CHARGE, System.currentTimeMillis());
+
+        mockMvc.perform(get("/point/{id}/histories", id).param("type", "USE"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.histories", hasSize(1)))
+                .andExpect(jsonPath("$.histories[0].amount").value(200L))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+
+        mockMvc.perform(get("/point/{id}/histories", id).param("after", String.valueOf(used)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.histories", hasSize(1)))
+                .andExpect(jsonPath("$.histories[0].amount").value(100L));
+    }
+
+    @Test
+    @DisplayName("포인트 내역 NDJSON 스트리밍 조회 - GET /point/{id}/histories/stream")
+    void 포인트_내역_스트리밍_조회() throws Exception {
+        long id = 6L;
+        pointHistoryRepository.insert(id, 500L, TransactionType.CHARGE, System.currentTimeMillis());
+        pointHistoryRepository.insert(id, 200L, TransactionType.USE, System.currentTimeMillis());
+
+        MvcResult result = mockMvc.perform(get("/point/{id}/histories/stream", id))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        String[] lines = body.split("\n");
+        Assertions.assertEquals(2, lines.length);
+        Assertions.assertEquals(500L, objectMapper.readValue(lines[0], PointHistory.class).amount());
+    }
+
+    @Test
+    @DisplayName("포인트 내역 스트리밍 조회 실패 - limit 이 0 이하")
+    void 포인트_내역_스트리밍_조회_실패_잘못된_limit() throws Exception {
+        long id = 6L;
+
+        mockMvc.perform(get("/point/{id}/histories/stream", id).param("limit", "-1"))
+                .andExpect(status().isInternalServerError())
+                .andExpect(jsonPath("$.code").value("500"));
+    }
+
+    @Test
+    @DisplayName("포인트 일괄 처리 - POST /point/batch")
+    void 포인트_일괄_처리() throws Exception {
+        List<PointBatchOperation> operations = List.of(
+                new PointBatchOperation(10L, TransactionType.CHARGE, 1000L),
+                new PointBatchOperation(8L, TransactionType.USE, 100L),
+                new PointBatchOperation(10L, TransactionType.USE, 300L)
+        );
+
+        mockMvc.perform(post("/point/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(operations)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(3)))
+                .andExpect(jsonPath("$[0].success").value(true))
+                .andExpect(jsonPath("$[0].point").value(1000L))
+                .andExpect(jsonPath("$[1].success").value(false))
+                .andExpect(jsonPath("$[1].code").value("NEED_CHARGE_AMOUNT"))
+                .andExpect(jsonPath("$[2].point").value(700L));
+
+        mockMvc.perform(get("/point/{id}", 10L))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.point").value(700L));
+    }
+
     @Test
     @DisplayName("포인트 내역 조회 실패 - 내역 없음")
     void 포인트_내역_조회_실패_내역없음() throws Exception {
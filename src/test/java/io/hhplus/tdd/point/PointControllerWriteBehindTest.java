@@ -0,0 +1,73 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.database.UserPointWriteBehindBuffer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * PointControllerTest 의 시나리오(동시성 테스트 포함)를 WRITE_BEHIND 모드로 그대로 다시 실행합니다.
+ * 두 테스트의 실행 시간을 비교하면 SYNC / WRITE_BEHIND 모드의 차이를 볼 수 있습니다.
+ */
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "point.user-point.write-mode=WRITE_BEHIND"
+)
+class PointControllerWriteBehindTest extends PointControllerTest {
+
+    @Autowired
+    private UserPointWriteBehindBuffer writeBehindBuffer;
+
+    @Autowired
+    private UserPointTable userPointTable;
+
+    @Override
+    @BeforeEach
+    void setUp() {
+        // 테이블에 직접 넣은 테스트 데이터를 다시 읽도록 메모리 잔고를 비웁니다.
+        writeBehindBuffer.invalidate(1L);
+        writeBehindBuffer.invalidate(2L);
+        super.setUp();
+    }
+
+    @Test
+    @DisplayName("WRITE_BEHIND 모드에서는 flush 후 테이블에 최신 잔고만 저장된다")
+    void flush_후_테이블에_최신_잔고가_저장된다() {
+        // given
+        long id = 100L;
+        writeBehindBuffer.update(id, 100L);
+        writeBehindBuffer.update(id, 200L);
+        writeBehindBuffer.update(id, 300L);
+
+        // when
+        writeBehindBuffer.flush();
+
+        // then
+        assertEquals(0, writeBehindBuffer.pendingCount());
+        assertEquals(300L, userPointTable.selectById(id).point());
+    }
+
+    @Test
+    @DisplayName("WRITE_BEHIND 모드의 잔고는 flushInterval 이내에 테이블에 반영된다")
+    void flushInterval_이내에_테이블에_반영된다() throws InterruptedException {
+        // given
+        long id = 101L;
+
+        // when
+        writeBehindBuffer.update(id, 500L);
+
+        // then
+        long deadline = System.currentTimeMillis() + 2_000L;
+        long saved = userPointTable.selectById(id).point();
+        while (saved != 500L && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50L);
+            saved = userPointTable.selectById(id).point();
+        }
+        assertEquals(500L, saved);
+    }
+}
@@ -0,0 +1,145 @@
+package io.hhplus.tdd.point;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PointIdempotencyStoreTest {
+
+    private final PointIdempotencyStore store = new PointIdempotencyStore(new PointIdempotencyProperties(1_000, Duration.ofMinutes(1)));
+
+    @Test
+    @DisplayName("처리가 끝난 키로 다시 요청하면 다시 처리하지 않고 처음 결과를 돌려준다")
+    void 끝난_요청은_결과를_다시_돌려준다() {
+        // given
+        AtomicInteger calls = new AtomicInteger();
+        UserPoint first = store.execute("key-1", 1L, TransactionType.CHARGE, 100L, () -> new UserPoint(1L, 100L * calls.incrementAndGet(), 0L));
+
+        // when
+        UserPoint retried = store.execute("key-1", 1L, TransactionType.CHARGE, 100L, () -> new UserPoint(1L, 100L * calls.incrementAndGet(), 0L));
+
+        // then
+        assertEquals(first, retried);
+        assertEquals(1, calls.get());
+        assertEquals(1L, store.stats().replayed());
+    }
+
+    @Test
+    @DisplayName("처리 중인 키로 다시 요청하면 처음 요청의 future 를 기다린다")
+    void 처리_중인_요청은_처음_future_를_기다린다() {
+        // given
+        CompletableFuture<UserPoint> original = new CompletableFuture<>();
+        AtomicInteger calls = new AtomicInteger();
+        CompletableFuture<UserPoint> first = store.executeAsync("key-1", 1L, TransactionType.USE, 10L, () -> {
+            calls.incrementAndGet();
+            return original;
+        });
+
+        // when
+        CompletableFuture<UserPoint> duplicate = store.executeAsync("key-1", 1L, TransactionType.USE, 10L, () -> {
+            calls.incrementAndGet();
+            return CompletableFuture.completedFuture(UserPoint.empty(1L));
+        });
+        assertFalse(duplicate.isDone());
+        original.complete(new UserPoint(1L, 90L, 0L));
+
+        // then
+        assertEquals(new UserPoint(1L, 90L, 0L), first.join());
+        assertEquals(new UserPoint(1L, 90L, 0L), duplicate.join());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    @DisplayName("아무것도 바꾸지 않은 실패는 보관하지 않으므로 같은 키로 재시도하면 다시 처리한다")
+    void 실패한_요청은_다시_처리한다() {
+        // given
+        PointException exception = assertThrows(PointException.class, () -> store.execute("key-1", 1L, TransactionType.USE, 10L, () -> {
+            throw new PointException("포인트가 부족합니다. 포인트를 충전 해주십시오.", "NEED_CHARGE_AMOUNT");
+        }));
+
+        // when
+        UserPoint retried = store.execute("key-1", 1L, TransactionType.USE, 10L, () -> new UserPoint(1L, 0L, 0L));
+
+        // then
+        assertEquals("NEED_CHARGE_AMOUNT", exception.getCode());
+        assertEquals(new UserPoint(1L, 0L, 0L), retried);
+    }
+
+    @Test
+    @DisplayName("잔고를 바꾸기 전의 실패로 알린 내역 저장 실패는 보관하지 않으므로 같은 키로 재시도하면 다시 처리한다")
+    void 잔고를_바꾸기_전의_실패는_다시_처리한다() {
+        // given : 내역을 저장하지 못해 바꾼 잔고를 되돌림
+        PointException exception = assertThrows(PointException.class, () -> store.execute("key-1", 1L, TransactionType.CHARGE, 10L, () -> {
+            throw new PointException("포인트 충전 내역을 저장 하지 못했습니다.", "HISTORY_TABLE_INSERT_FAILED");
+        }));
+
+        // when
+        UserPoint retried = store.execute("key-1", 1L, TransactionType.CHARGE, 10L, () -> new UserPoint(1L, 10L, 0L));
+
+        // then
+        assertEquals("HISTORY_TABLE_INSERT_FAILED", exception.getCode());
+        assertEquals(new UserPoint(1L, 10L, 0L), retried);
+    }
+
+    @Test
+    @DisplayName("잔고나 내역이 바뀌었을 수 있는 실패는 보관하므로 같은 키로 재시도해도 다시 처리하지 않는다")
+    void 바뀌었을_수_있는_실패는_보관한다() {
+        // given : 잔고를 저장한 뒤 WAL 기록에 실패
+        AtomicInteger calls = new AtomicInteger();
+        assertThrows(PointException.class, () -> store.execute("key-1", 1L, TransactionType.CHARGE, 10L, () -> {
+            calls.incrementAndGet();
+            throw PointServiceImpl.walWriteFailed();
+        }));
+
+        // when
+        PointException replayed = assertThrows(PointException.class, () -> store.execute("key-1", 1L, TransactionType.CHARGE, 10L, () -> {
+            calls.incrementAndGet();
+            return new UserPoint(1L, 10L, 0L);
+        }));
+
+        // then
+        assertEquals("POINT_WAL_WRITE_FAILED", replayed.getCode());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    @DisplayName("같은 키로 다른 요청을 보내면 거절하고, 다른 사용자의 같은 키는 따로 처리한다")
+    void 같은_키로_다른_요청은_거절한다() {
+        // given
+        store.execute("key-1", 1L, TransactionType.CHARGE, 100L, () -> new UserPoint(1L, 100L, 0L));
+
+        // when
+        CompletionException exception = assertThrows(CompletionException.class,
+                () -> store.executeAsync("key-1", 1L, TransactionType.CHARGE, 200L, () -> CompletableFuture.completedFuture(UserPoint.empty(1L))).join());
+        UserPoint otherUser = store.execute("key-1", 2L, TransactionType.CHARGE, 200L, () -> new UserPoint(2L, 200L, 0L));
+
+        // then
+        assertEquals("IDEMPOTENCY_KEY_REUSED", assertInstanceOf(PointException.class, exception.getCause()).getCode());
+        assertEquals(200L, otherUser.point());
+        assertEquals(1L, store.stats().conflicts());
+    }
+
+    @Test
+    @DisplayName("저장소를 쓰지 않거나 키가 없으면 매번 처리한다")
+    void 키가_없으면_매번_처리한다() {
+        // given
+        PointIdempotencyStore disabled = new PointIdempotencyStore(PointIdempotencyProperties.disabled());
+        AtomicInteger calls = new AtomicInteger();
+
+        // when
+        disabled.execute("key-1", 1L, TransactionType.CHARGE, 100L, () -> UserPoint.empty(calls.incrementAndGet()));
+        disabled.execute("key-1", 1L, TransactionType.CHARGE, 100L, () -> UserPoint.empty(calls.incrementAndGet()));
+        store.execute(null, 1L, TransactionType.CHARGE, 100L, () -> UserPoint.empty(calls.incrementAndGet()));
+        store.execute(null, 1L, TransactionType.CHARGE, 100L, () -> UserPoint.empty(calls.incrementAndGet()));
+
+        // then
+        assertEquals(4, calls.get());
+        assertFalse(disabled.isEnabled());
+    }
+}
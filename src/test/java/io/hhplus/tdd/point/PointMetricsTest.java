@@ -0,0 +1,79 @@
+package io.hhplus.tdd.point;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class PointMetricsTest {
+
+    private SimpleMeterRegistry registry;
+    private PointMetrics pointMetrics;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        pointMetrics = new PointMetrics(registry);
+    }
+
+    @Test
+    @DisplayName("구간별 소요 시간은 거래 유형과 구간 태그로 기록된다")
+    void 구간별_소요_시간이_기록된다() {
+        // when
+        pointMetrics.record(TransactionType.CHARGE, PointMetrics.Phase.SELECT, TimeUnit.MILLISECONDS.toNanos(5));
+        pointMetrics.record(TransactionType.CHARGE, PointMetrics.Phase.SELECT, TimeUnit.MILLISECONDS.toNanos(15));
+
+        // then
+        var timer = registry.get("point.operation").tag("type", "CHARGE").tag("phase", "select").timer();
+        assertEquals(2L, timer.count());
+        assertEquals(20.0, timer.totalTime(TimeUnit.MILLISECONDS), 0.001);
+        assertEquals(0L, registry.get("point.operation").tag("type", "USE").tag("phase", "select").timer().count());
+    }
+
+    @Test
+    @DisplayName("락을 1ms 이상 기다린 경우만 경합으로 센다")
+    void 락_경합_횟수를_센다() {
+        // when
+        pointMetrics.recordLockWait(TransactionType.USE, TimeUnit.MICROSECONDS.toNanos(10));
+        pointMetrics.recordLockWait(TransactionType.USE, TimeUnit.MILLISECONDS.toNanos(3));
+
+        // then
+        assertEquals(1.0, registry.get("point.lock.contended").tag("type", "USE").counter().count());
+        assertEquals(2L, registry.get("point.operation").tag("type", "USE").tag("phase", "lock_wait").timer().count());
+    }
+
+    @Test
+    @DisplayName("실패는 PointException 코드별로 센다")
+    void 실패를_코드별로_센다() {
+        // when
+        pointMetrics.recordError(TransactionType.USE, "NEED_CHARGE_AMOUNT");
+        pointMetrics.recordError(TransactionType.USE, "NEED_CHARGE_AMOUNT");
+        pointMetrics.recordError(TransactionType.CHARGE, "USER_POINT_LIMIT_EXCEEDED");
+
+        // then
+        assertEquals(2.0, registry.get("point.errors").tag("type", "USE").tag("code", "NEED_CHARGE_AMOUNT").counter().count());
+        assertEquals(1.0, registry.get("point.errors").tag("type", "CHARGE").tag("code", "USER_POINT_LIMIT_EXCEEDED").counter().count());
+    }
+
+    @Test
+    @DisplayName("핫 유저 topK 만 사용자별 경합 gauge 로 내보내고, topK 에서 빠진 사용자의 gauge 는 지운다")
+    void 핫_유저만_사용자별로_내보낸다() {
+        // given
+        pointMetrics.recordHotUsers(List.of(new HotUserStats(1L, 10L, 6, 120L, false), new HotUserStats(2L, 3L, 2, 5L, false)));
+
+        // when
+        pointMetrics.recordHotUsers(List.of(new HotUserStats(1L, 12L, 8, 300L, true)));
+
+        // then
+        assertEquals(300.0, registry.get("point.lock.hot_user.wait").tag("user", "1").gauge().value());
+        assertEquals(8.0, registry.get("point.lock.hot_user.depth").tag("user", "1").gauge().value());
+        assertNull(registry.find("point.lock.hot_user.wait").tag("user", "2").gauge());
+        assertNull(registry.find("point.lock.hot_user.depth").tag("user", "2").gauge());
+    }
+}
@@ -0,0 +1,236 @@
+package io.hhplus.tdd.point;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PointRateLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("사용자별 버스트만큼 받은 뒤에는 거절하고, 다른 사용자는 영향을 받지 않으며, 시간이 지나면 다시 받는다")
+    void 사용자별_버스트를_넘으면_거절한다() {
+        // given : 사용자당 초당 10건(100ms 마다 1개), 버스트 3
+        PointRateLimiter limiter = limiter(new PointRateLimitProperties(true, 10, 3, 0, 1_000, 1_000, 100));
+        for (int i = 0; i < 3; i++) {
+            limiter.acquire(1L);
+        }
+
+        // when
+        PointRejectedException exception = assertThrows(PointRejectedException.class, () -> limiter.acquire(1L));
+        limiter.acquire(2L);
+        advance(100);
+        limiter.acquire(1L);
+
+        // then
+        assertEquals("POINT_RATE_LIMITED", exception.getCode());
+        assertThrows(PointRejectedException.class, () -> limiter.acquire(1L));
+        assertEquals(2.0, registry.counter("point.rate.limited", "scope", "user").count());
+    }
+
+    @Test
+    @DisplayName("전체 버킷이 비면 거절하고, 받았던 사용자 토큰은 돌려준다")
+    void 전체_버킷이_비면_사용자_토큰을_돌려준다() {
+        // given : 사용자당 100ms 마다 1개(버스트 1), 전체 50ms 마다 1개(버스트 2)
+        PointRateLimiter limiter = limiter(new PointRateLimitProperties(true, 10, 1, 0, 20, 2, 100));
+        limiter.acquire(1L);
+        limiter.acquire(2L);
+
+        // when
+        PointRejectedException exception = assertThrows(PointRejectedException.class, () -> limiter.acquire(3L));
+        advance(50);
+
+        // then : 사용자 토큰을 돌려받지 못했다면 3번 사용자는 100ms 가 지나야 받을 수 있음
+        assertEquals("POINT_GLOBAL_RATE_LIMITED", exception.getCode());
+        assertDoesNotThrow(() -> limiter.acquire(3L));
+        assertEquals(1.0, registry.counter("point.rate.limited", "scope", "global").count());
+        assertEquals(0.0, registry.counter("point.rate.limited", "scope", "user").count());
+    }
+
+    @Test
+    @DisplayName("보관하는 사용자 수를 넘으면 가득 찬 버킷만 지운다")
+    void 가득_찬_버킷을_지운다() {
+        // given
+        PointRateLimiter limiter = limiter(new PointRateLimitProperties(true, 10, 1, 0, 1_000, 1_000, 2));
+        limiter.acquire(1L);
+        limiter.acquire(2L);
+        limiter.acquire(3L);
+        assertEquals(3, limiter.trackedUsers()); // 아직 다 차지 않은 버킷은 지우지 않음
+
+        // when
+        advance(1_000);
+        limiter.acquire(4L);
+
+        // then
+        assertEquals(1, limiter.trackedUsers());
+        assertThrows(PointRejectedException.class, () -> limiter.acquire(4L));
+    }
+
+    @Test
+    @DisplayName("처리 중인 요청이 상한에 닿으면 토큰이 남아 있어도 거절하고, 끝난 요청의 자리는 돌려받는다")
+    void 처리_중인_요청_수를_제한한다() {
+        // given : 사용자당 동시에 2건까지
+        PointRateLimiter limiter = limiter(new PointRateLimitProperties(true, 1_000, 1_000, 2, 1_000_000, 1_000_000, 100));
+        limiter.acquire(1L);
+        limiter.acquire(1L);
+
+        // when
+        PointRejectedException exception = assertThrows(PointRejectedException.class, () -> limiter.acquire(1L));
+        limiter.release(1L);
+        UserPoint result = limiter.execute(1L, () -> new UserPoint(1L, 100L, 0L));
+        limiter.release(1L);
+
+        // then
+        assertEquals("POINT_IN_FLIGHT_LIMITED", exception.getCode());
+        assertEquals(new UserPoint(1L, 100L, 0L), result);
+        assertEquals(0, limiter.inFlight(1L));
+        assertEquals(1.0, registry.counter("point.rate.limited", "scope", "in-flight").count());
+    }
+
+    @Test
+    @DisplayName("충전/사용의 거절은 거래 유형과 거절 코드로 point.errors 에도 센다")
+    void 충전_사용의_거절을_실패로_센다() {
+        // given : 사용자당 버스트 1
+        PointRateLimiter limiter = limiter(new PointRateLimitProperties(true, 10, 1, 4, 1_000, 1_000, 100));
+        limiter.execute(1L, TransactionType.CHARGE, () -> null);
+
+        // when
+        assertThrows(PointRejectedException.class, () -> limiter.execute(1L, TransactionType.USE, () -> null));
+
+        // then
+        assertEquals(1.0, registry.get("point.errors").tag("type", "USE").tag("code", "POINT_RATE_LIMITED").counter().count());
+        assertEquals(0, limiter.inFlight(1L));
+    }
+
+    @Test
+    @DisplayName("여러 스레드가 동시에 자리를 받고 돌려줘도 처리 중인 요청 수는 상한을 넘지 않고, 모두 끝나면 0 이 된다")
+    void 동시에_받아도_처리_중_상한을_넘지_않는다() throws InterruptedException {
+        // given : 사용자당 동시에 2건까지, 토큰은 충분
+        PointRateLimiter limiter = limiter(new PointRateLimitProperties(true, 1_000_000, 1_000_000, 2, 1_000_000, 1_000_000, 100));
+        int threadCount = 8;
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        CountDownLatch startLatch = new CountDownLatch(1);
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+
+        // when
+        for (int i = 0; i < threadCount; i++) {
+            executorService.submit(() -> {
+                startLatch.await();
+                for (int j = 0; j < 10_000; j++) {
+                    try {
+                        limiter.execute(1L, () -> maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max) + running.decrementAndGet());
+                    } catch (PointRejectedException e) {
+                        // 상한에 닿은 요청은 거절
+                    }
+                }
+                return null;
+            });
+        }
+        startLatch.countDown();
+        executorService.shutdown();
+        assertTrue(executorService.awaitTermination(30, TimeUnit.SECONDS));
+
+        // then
+        assertTrue(maxRunning.get() <= 2, "동시에 " + maxRunning.get() + "건 처리");
+        assertEquals(0, limiter.inFlight(1L));
+    }
+
+    @Test
+    @DisplayName("일괄 요청은 사용자마다 제한을 검사하고, 한 명이라도 넘으면 받았던 자리를 모두 돌려준다")
+    void 일괄_요청은_사용자마다_검사한다() {
+        // given : 사용자당 버스트 1
+        PointRateLimiter limiter = limiter(new PointRateLimitProperties(true, 10, 1, 4, 1_000, 1_000, 100));
+        limiter.execute(2L, () -> null);
+
+        // when
+        assertThrows(PointRejectedException.class, () -> limiter.executeAll(List.of(1L, 2L, 1L), () -> "처리"));
+        advance(100);
+        String result = limiter.executeAll(List.of(1L, 2L, 1L), () -> "처리");
+
+        // then
+        assertEquals("처리", result);
+        assertEquals(0, limiter.inFlight(1L));
+        assertEquals(0, limiter.inFlight(2L));
+    }
+
+    @Test
+    @DisplayName("일괄 요청은 전체 토큰을 하나만 받아 global-burst 보다 많은 사용자도 받고, 거절된 일괄 요청은 토큰을 쓰지 않는다")
+    void 일괄_요청은_전체_토큰을_하나만_받는다() {
+        // given : 사용자당 버스트 1, 전체 버스트 3
+        PointRateLimiter limiter = limiter(new PointRateLimitProperties(true, 10, 1, 4, 20, 3, 100));
+        List<Long> userIds = LongStream.rangeClosed(1, 10).boxed().toList();
+        limiter.execute(20L, () -> null);
+
+        // when
+        String result = limiter.executeAll(userIds, () -> "처리");
+        PointRejectedException rejected = assertThrows(PointRejectedException.class, () -> limiter.executeAll(List.of(11L, 20L), () -> "처리"));
+        limiter.acquire(11L); // 거절된 일괄 요청이 11번 사용자 토큰을 돌려주지 않았다면 거절
+        PointRejectedException globalRejected = assertThrows(PointRejectedException.class, () -> limiter.acquire(12L));
+
+        // then : 전체 토큰은 20번, 첫 일괄 요청, 11번에 하나씩만 쓰임
+        assertEquals("처리", result);
+        assertEquals("POINT_RATE_LIMITED", rejected.getCode());
+        assertEquals("POINT_GLOBAL_RATE_LIMITED", globalRejected.getCode());
+        assertEquals(0, limiter.inFlight(1L));
+        assertEquals(1, limiter.inFlight(11L));
+        assertEquals(0, limiter.inFlight(20L));
+    }
+
+    @Test
+    @DisplayName("이미 처리한 Idempotency-Key 의 재시도는 제한을 검사하지 않고 처음 결과를 받는다")
+    void 처리한_키의_재시도는_제한하지_않는다() {
+        // given : 사용자당 버스트 1
+        PointRateLimiter limiter = limiter(new PointRateLimitProperties(true, 10, 1, 4, 1_000, 1_000, 100));
+        PointIdempotencyStore store = new PointIdempotencyStore(new PointIdempotencyProperties(1_000, Duration.ofMinutes(1)));
+        UserPoint first = store.execute("key-1", 1L, TransactionType.CHARGE, 100L,
+                () -> limiter.execute(1L, () -> new UserPoint(1L, 100L, 0L)));
+
+        // when
+        UserPoint replayed = store.execute("key-1", 1L, TransactionType.CHARGE, 100L,
+                () -> limiter.execute(1L, () -> new UserPoint(1L, 200L, 0L)));
+
+        // then
+        assertEquals(first, replayed);
+        assertThrows(PointRejectedException.class, () -> store.execute("key-2", 1L, TransactionType.CHARGE, 100L,
+                () -> limiter.execute(1L, () -> new UserPoint(1L, 200L, 0L))));
+    }
+
+    @Test
+    @DisplayName("제한을 끄면 거절하지 않고 버킷도 만들지 않는다")
+    void 끄면_제한하지_않는다() {
+        // given
+        PointRateLimiter limiter = limiter(PointRateLimitProperties.disabled());
+
+        // when
+        for (int i = 0; i < 1_000; i++) {
+            limiter.acquire(1L);
+        }
+
+        // then
+        assertFalse(limiter.isEnabled());
+        assertEquals(0, limiter.trackedUsers());
+    }
+
+    private PointRateLimiter limiter(PointRateLimitProperties properties) {
+        return new PointRateLimiter(properties, registry, new PointMetrics(registry), clock::get);
+    }
+
+    private void advance(long millis) {
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+}
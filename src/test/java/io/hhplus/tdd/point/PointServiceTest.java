@@ -1,7 +1,6 @@
 package io.hhplus.tdd.point;
 
-import io.hhplus.tdd.database.PointHistoryTable;
-import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.database.*;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -11,10 +10,21 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
 
 public class PointServiceTest {
@@ -280,4 +290,377 @@ public class PointServiceTest {
         assertThrows(PointException.class, () -> pointService.getHistories(id));
         verify(pointHistoryTable, times(1)).selectAllByUserId(id);
     }
+
+    @Test
+    @DisplayName("ACK_ON_INSERT 모드에서 내역 저장이 실패하면 잔고를 바꾸지 않는다.")
+    void 내역_저장_실패시_잔고를_바꾸지_않는다() {
+        // given
+        long id = 0L;
+        AtomicLong balance = storedBalance(id, 100L);
+        when(pointHistoryTable.insert(anyLong(), anyLong(), any(), anyLong())).thenThrow(new RuntimeException());
+        PointHistoryWriter pointHistoryWriter = ackOnInsertWriter();
+        PointService ackOnInsert = serviceWith(pointHistoryWriter);
+
+        // when
+        PointException charge = assertThrows(PointException.class, () -> ackOnInsert.charge(id, 50L));
+        PointException use = assertThrows(PointException.class, () -> ackOnInsert.use(id, 50L));
+        pointHistoryWriter.shutdown();
+
+        // then
+        assertEquals("HISTORY_TABLE_INSERT_FAILED", charge.getCode());
+        assertEquals("HISTORY_TABLE_INSERT_FAILED", use.getCode());
+        assertFalse(charge.isAfterCommit()); // 잔고를 바꾸지 않았으므로 같은 Idempotency-Key 로 다시 처리해도 됨
+        assertEquals(100L, balance.get());
+        verify(userPointTable, never()).insertOrUpdate(anyLong(), anyLong());
+    }
+
+    @Test
+    @DisplayName("ACK_ON_INSERT 모드에서 내역 저장을 기다리는 동안에는 같은 사용자의 다른 요청이 잔고를 바꾸지 못한다.")
+    void 내역_저장은_락_안에서_기다린다() throws Exception {
+        // given
+        long id = 0L;
+        AtomicLong balance = storedBalance(id, 100L);
+        CountDownLatch inserting = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(pointHistoryTable.insert(anyLong(), anyLong(), any(), anyLong())).thenAnswer(invocation -> {
+            inserting.countDown();
+            release.await();
+            return new PointHistory(1L, invocation.getArgument(0), invocation.getArgument(1), invocation.getArgument(2), invocation.getArgument(3));
+        });
+        PointHistoryWriter pointHistoryWriter = ackOnInsertWriter();
+        PointService ackOnInsert = serviceWith(pointHistoryWriter);
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+
+        // when
+        Future<UserPoint> first = executorService.submit(() -> ackOnInsert.charge(id, 50L));
+        assertTrue(inserting.await(5, TimeUnit.SECONDS));
+        Future<UserPoint> second = executorService.submit(() -> ackOnInsert.charge(id, 30L));
+        verify(userPointTable, after(200).never()).insertOrUpdate(anyLong(), anyLong()); // 첫 요청의 내역이 저장되기 전에는 어느 요청도 잔고를 바꾸지 않음
+        release.countDown();
+
+        // then
+        assertEquals(150L, first.get(5, TimeUnit.SECONDS).point());
+        assertEquals(180L, second.get(5, TimeUnit.SECONDS).point());
+        assertEquals(180L, balance.get());
+        executorService.shutdown();
+        pointHistoryWriter.shutdown();
+    }
+
+    @Test
+    @DisplayName("충전/사용 내역은 저장될 때마다 요약에 반영된다.")
+    void 충전_사용_내역이_요약에_반영된다() {
+        // given
+        long id = 0L;
+        long currentTimeMillis = System.currentTimeMillis();
+        when(userPointTable.selectById(id)).thenReturn(new UserPoint(id, 0L, currentTimeMillis), new UserPoint(id, 1000L, currentTimeMillis));
+        when(userPointTable.insertOrUpdate(anyLong(), anyLong())).thenAnswer(invocation -> new UserPoint(id, invocation.getArgument(1), currentTimeMillis));
+        when(pointHistoryTable.insert(eq(id), eq(1000L), eq(TransactionType.CHARGE), anyLong())).thenReturn(new PointHistory(1L, id, 1000L, TransactionType.CHARGE, currentTimeMillis));
+        when(pointHistoryTable.insert(eq(id), eq(300L), eq(TransactionType.USE), anyLong())).thenReturn(new PointHistory(2L, id, 300L, TransactionType.USE, currentTimeMillis));
+
+        // when
+        pointService.charge(id, 1000L);
+        pointService.use(id, 300L);
+        PointLedgerSummary summary = pointService.getSummary(id, false);
+
+        // then
+        assertEquals(new PointLedgerSummary(id, 1000L, 300L, 2L, 2L), summary);
+        assertEquals(700L, summary.balance());
+        verify(pointHistoryTable, never()).selectAllByUserId(id);
+    }
+
+    @Test
+    @DisplayName("일괄 처리는 사용자별로 잔고를 한 번만 읽고 한 번만 저장하며, 실패한 건만 실패로 응답한다.")
+    void 일괄_처리는_사용자별로_한번에_반영된다() {
+        // given
+        long id = 0L;
+        long otherId = 1L;
+        long currentTimeMillis = System.currentTimeMillis();
+        when(userPointTable.selectById(id)).thenReturn(new UserPoint(id, 100L, currentTimeMillis));
+        when(userPointTable.selectById(otherId)).thenReturn(new UserPoint(otherId, 0L, currentTimeMillis));
+        when(userPointTable.insertOrUpdate(anyLong(), anyLong())).thenAnswer(invocation -> new UserPoint(invocation.getArgument(0), invocation.getArgument(1), currentTimeMillis));
+        when(pointHistoryTable.insert(anyLong(), anyLong(), any(), anyLong())).thenAnswer(invocation ->
+                new PointHistory(1L, invocation.getArgument(0), invocation.getArgument(1), invocation.getArgument(2), invocation.getArgument(3)));
+        List<PointBatchOperation> operations = List.of(
+                new PointBatchOperation(id, TransactionType.CHARGE, 500L),
+                new PointBatchOperation(otherId, TransactionType.USE, 10L),
+                new PointBatchOperation(id, TransactionType.USE, 1000L),
+                new PointBatchOperation(id, TransactionType.USE, 200L)
+        );
+
+        // when
+        List<PointBatchResult> results = pointService.applyBatch(operations);
+
+        // then
+        assertEquals(4, results.size());
+        assertEquals(600L, results.get(0).point());
+        assertEquals("NEED_CHARGE_AMOUNT", results.get(1).code());
+        assertEquals("NEED_CHARGE_AMOUNT", results.get(2).code());
+        assertEquals(400L, results.get(3).point());
+        verify(userPointTable, times(1)).selectById(id);
+        verify(userPointTable, times(1)).insertOrUpdate(id, 400L);
+        verify(userPointTable, never()).insertOrUpdate(eq(otherId), anyLong());
+        verify(pointHistoryTable, times(2)).insert(eq(id), anyLong(), any(), anyLong());
+    }
+
+    @Test
+    @DisplayName("일괄 처리는 사용자가 많아도 설정한 수까지만 동시에 저장소를 호출한다.")
+    void 일괄_처리의_동시_처리_수를_제한한다() {
+        // given : 동시에 2명까지
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        when(userPointTable.selectById(anyLong())).thenAnswer(invocation -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            Thread.sleep(5);
+            running.decrementAndGet();
+            return new UserPoint(invocation.getArgument(0), 0L, 0L);
+        });
+        when(userPointTable.insertOrUpdate(anyLong(), anyLong())).thenAnswer(invocation -> new UserPoint(invocation.getArgument(0), invocation.getArgument(1), 0L));
+        when(pointHistoryTable.insert(anyLong(), anyLong(), any(), anyLong())).thenAnswer(invocation ->
+                new PointHistory(1L, invocation.getArgument(0), invocation.getArgument(1), invocation.getArgument(2), invocation.getArgument(3)));
+        PointHistoryRepository pointHistoryRepository = new PointHistoryTableRepository(pointHistoryTable);
+        UserPointRepository userPointRepository = new UserPointTableRepository(userPointTable);
+        PointService batchService = new PointServiceImpl(pointHistoryRepository,
+                new UserPointCache(userPointRepository, UserPointCacheProperties.disabled()),
+                new UserPointWriteBehindBuffer(userPointRepository, UserPointWriteProperties.sync()),
+                new PointHistoryWriter(pointHistoryRepository, PointHistoryWriterProperties.disabled()),
+                new PointLedger(pointHistoryRepository, PointLedgerProperties.disabled()),
+                new RefCountedUserLockRegistry(),
+                PointMetrics.noop(),
+                HotUserDetector.disabled(),
+                PointCommitListener.NONE,
+                new PointBatchProperties(2));
+        List<PointBatchOperation> operations = LongStream.range(0, 20)
+                .mapToObj(id -> new PointBatchOperation(id, TransactionType.CHARGE, 100L))
+                .toList();
+
+        // when
+        List<PointBatchResult> results = batchService.applyBatch(operations);
+
+        // then
+        assertTrue(results.stream().allMatch(result -> result.success()));
+        assertTrue(maxRunning.get() <= 2, "동시에 " + maxRunning.get() + "명 처리");
+    }
+
+    @Test
+    @DisplayName("일괄 처리에서 잔고를 저장하지 못하면 모든 건을 실패로 응답하고 저장된 내역을 되돌린다.")
+    void 일괄_처리_잔고_저장_실패시_내역을_되돌린다() {
+        // given
+        long id = 0L;
+        when(userPointTable.selectById(id)).thenReturn(new UserPoint(id, 100L, 0L));
+        when(userPointTable.insertOrUpdate(anyLong(), anyLong())).thenThrow(new RuntimeException());
+        when(pointHistoryTable.insert(anyLong(), anyLong(), any(), anyLong())).thenAnswer(invocation ->
+                new PointHistory(1L, invocation.getArgument(0), invocation.getArgument(1), invocation.getArgument(2), invocation.getArgument(3)));
+        List<PointBatchOperation> operations = List.of(
+                new PointBatchOperation(id, TransactionType.CHARGE, 500L),
+                new PointBatchOperation(id, TransactionType.USE, 200L)
+        );
+
+        // when
+        List<PointBatchResult> results = pointService.applyBatch(operations);
+
+        // then
+        assertEquals("BATCH_SAVE_FAILED", results.get(0).code());
+        assertEquals("BATCH_SAVE_FAILED", results.get(1).code());
+        verify(pointHistoryTable, times(2)).insert(eq(id), eq(500L), any(), anyLong()); // CHARGE 와 되돌린 USE
+        verify(pointHistoryTable, times(2)).insert(eq(id), eq(200L), any(), anyLong()); // USE 와 되돌린 CHARGE
+        verify(pointHistoryTable).insert(eq(id), eq(500L), eq(TransactionType.USE), anyLong());
+        verify(pointHistoryTable).insert(eq(id), eq(200L), eq(TransactionType.CHARGE), anyLong());
+    }
+
+    @Test
+    @DisplayName("일괄 처리에서 내역을 중간까지만 저장하면 저장된 건까지만 잔고에 반영하고 뒤의 건은 실패로 응답한다.")
+    void 일괄_처리는_저장된_내역까지만_반영한다() {
+        // given : 두 번째 내역부터 저장 실패
+        long id = 0L;
+        when(userPointTable.selectById(id)).thenReturn(new UserPoint(id, 100L, 0L));
+        when(userPointTable.insertOrUpdate(anyLong(), anyLong())).thenAnswer(invocation -> new UserPoint(invocation.getArgument(0), invocation.getArgument(1), 0L));
+        when(pointHistoryTable.insert(anyLong(), anyLong(), any(), anyLong()))
+                .thenAnswer(invocation -> new PointHistory(1L, invocation.getArgument(0), invocation.getArgument(1), invocation.getArgument(2), invocation.getArgument(3)))
+                .thenThrow(new RuntimeException());
+        List<PointBatchOperation> operations = List.of(
+                new PointBatchOperation(id, TransactionType.CHARGE, 500L),
+                new PointBatchOperation(id, TransactionType.USE, 1000L),
+                new PointBatchOperation(id, TransactionType.USE, 200L),
+                new PointBatchOperation(id, TransactionType.CHARGE, 50L)
+        );
+
+        // when
+        List<PointBatchResult> results = pointService.applyBatch(operations);
+
+        // then
+        assertEquals(600L, results.get(0).point());
+        assertEquals("NEED_CHARGE_AMOUNT", results.get(1).code());
+        assertEquals("HISTORY_TABLE_INSERT_FAILED", results.get(2).code());
+        assertEquals("HISTORY_TABLE_INSERT_FAILED", results.get(3).code());
+        verify(userPointTable, times(1)).insertOrUpdate(id, 600L);
+        verify(pointHistoryTable, times(2)).insert(eq(id), anyLong(), any(), anyLong()); // 실패한 뒤의 내역은 넣지 않음
+    }
+
+    @Test
+    @DisplayName("이체하면 보낸 사용자의 USE 내역과 받은 사용자의 CHARGE 내역을 남기고 두 잔고를 함께 바꾼다.")
+    void 포인트를_이체할_수_있다() {
+        // given
+        long fromId = 1L;
+        long toId = 2L;
+        long currentTimeMillis = System.currentTimeMillis();
+        when(userPointTable.selectById(fromId)).thenReturn(new UserPoint(fromId, 1000L, currentTimeMillis));
+        when(userPointTable.selectById(toId)).thenReturn(new UserPoint(toId, 100L, currentTimeMillis));
+        when(userPointTable.insertOrUpdate(anyLong(), anyLong())).thenAnswer(invocation -> new UserPoint(invocation.getArgument(0), invocation.getArgument(1), currentTimeMillis));
+        when(pointHistoryTable.insert(anyLong(), anyLong(), any(), anyLong())).thenAnswer(invocation ->
+                new PointHistory(1L, invocation.getArgument(0), invocation.getArgument(1), invocation.getArgument(2), invocation.getArgument(3)));
+
+        // when
+        PointTransferResult result = pointService.transfer(fromId, toId, 300L);
+
+        // then
+        assertEquals(700L, result.from().point());
+        assertEquals(400L, result.to().point());
+        verify(pointHistoryTable).insert(eq(fromId), eq(300L), eq(TransactionType.USE), anyLong());
+        verify(pointHistoryTable).insert(eq(toId), eq(300L), eq(TransactionType.CHARGE), anyLong());
+        verify(userPointTable).insertOrUpdate(fromId, 700L);
+        verify(userPointTable).insertOrUpdate(toId, 400L);
+    }
+
+    @Test
+    @DisplayName("받는 사용자의 내역을 저장하지 못하면 잔고를 바꾸지 않고 보낸 사용자의 내역을 되돌린다.")
+    void 이체_내역_저장_실패시_되돌린다() {
+        // given
+        long fromId = 1L;
+        long toId = 2L;
+        long currentTimeMillis = System.currentTimeMillis();
+        when(userPointTable.selectById(fromId)).thenReturn(new UserPoint(fromId, 1000L, currentTimeMillis));
+        when(userPointTable.selectById(toId)).thenReturn(new UserPoint(toId, 100L, currentTimeMillis));
+        when(pointHistoryTable.insert(eq(fromId), anyLong(), any(), anyLong())).thenAnswer(invocation ->
+                new PointHistory(1L, fromId, invocation.getArgument(1), invocation.getArgument(2), invocation.getArgument(3)));
+        when(pointHistoryTable.insert(eq(toId), anyLong(), any(), anyLong())).thenThrow(new RuntimeException());
+
+        // when
+        PointException exception = assertThrows(PointException.class, () -> pointService.transfer(fromId, toId, 300L));
+
+        // then
+        assertEquals("HISTORY_TABLE_INSERT_FAILED", exception.getCode());
+        verify(userPointTable, never()).insertOrUpdate(anyLong(), anyLong());
+        verify(pointHistoryTable).insert(eq(fromId), eq(300L), eq(TransactionType.USE), anyLong());
+        verify(pointHistoryTable).insert(eq(fromId), eq(300L), eq(TransactionType.CHARGE), anyLong()); // 반대 내역
+    }
+
+    @Test
+    @DisplayName("기록기를 쓰면 이체 내역도 기록기를 거쳐 저장하고, ACK_ON_INSERT 에서 받은 쪽 내역이 저장되지 않으면 보낸 쪽 내역을 되돌린다.")
+    void 이체_내역도_기록기를_거친다() {
+        // given
+        long fromId = 1L;
+        long toId = 2L;
+        when(userPointTable.selectById(fromId)).thenReturn(new UserPoint(fromId, 1000L, 0L));
+        when(userPointTable.selectById(toId)).thenReturn(new UserPoint(toId, 100L, 0L));
+        when(pointHistoryTable.insert(eq(fromId), anyLong(), any(), anyLong())).thenAnswer(invocation ->
+                new PointHistory(1L, fromId, invocation.getArgument(1), invocation.getArgument(2), invocation.getArgument(3)));
+        when(pointHistoryTable.insert(eq(toId), anyLong(), any(), anyLong())).thenThrow(new RuntimeException());
+        PointHistoryWriter pointHistoryWriter = ackOnInsertWriter();
+        PointService ackOnInsert = serviceWith(pointHistoryWriter);
+
+        // when
+        PointException exception = assertThrows(PointException.class, () -> ackOnInsert.transfer(fromId, toId, 300L));
+        pointHistoryWriter.shutdown(); // 되돌린 내역까지 저장될 때까지
+
+        // then
+        assertEquals("HISTORY_TABLE_INSERT_FAILED", exception.getCode());
+        verify(userPointTable, never()).insertOrUpdate(anyLong(), anyLong());
+        verify(pointHistoryTable).insert(eq(fromId), eq(300L), eq(TransactionType.USE), anyLong());
+        verify(pointHistoryTable).insert(eq(fromId), eq(300L), eq(TransactionType.CHARGE), anyLong()); // 반대 내역
+    }
+
+    @Test
+    @DisplayName("받는 사용자의 잔고를 저장하지 못하면 보낸 사용자의 잔고를 되돌리고 두 내역을 되돌린다.")
+    void 이체_잔고_저장_실패시_되돌린다() {
+        // given
+        long fromId = 1L;
+        long toId = 2L;
+        long currentTimeMillis = System.currentTimeMillis();
+        when(userPointTable.selectById(fromId)).thenReturn(new UserPoint(fromId, 1000L, currentTimeMillis));
+        when(userPointTable.selectById(toId)).thenReturn(new UserPoint(toId, 100L, currentTimeMillis));
+        when(userPointTable.insertOrUpdate(eq(fromId), anyLong())).thenAnswer(invocation -> new UserPoint(fromId, invocation.getArgument(1), currentTimeMillis));
+        when(userPointTable.insertOrUpdate(toId, 400L)).thenThrow(new RuntimeException());
+        when(pointHistoryTable.insert(anyLong(), anyLong(), any(), anyLong())).thenAnswer(invocation ->
+                new PointHistory(1L, invocation.getArgument(0), invocation.getArgument(1), invocation.getArgument(2), invocation.getArgument(3)));
+
+        // when
+        PointException exception = assertThrows(PointException.class, () -> pointService.transfer(fromId, toId, 300L));
+
+        // then
+        assertEquals("TRANSFER_SAVE_FAILED", exception.getCode());
+        verify(userPointTable).insertOrUpdate(fromId, 700L);
+        verify(userPointTable).insertOrUpdate(fromId, 1000L); // 이체 전 잔고로 되돌림
+        verify(userPointTable, never()).insertOrUpdate(toId, 100L); // 저장되지 않은 쪽은 되돌릴 것이 없음
+        verify(pointHistoryTable).insert(eq(fromId), eq(300L), eq(TransactionType.CHARGE), anyLong());
+        verify(pointHistoryTable).insert(eq(toId), eq(300L), eq(TransactionType.USE), anyLong());
+    }
+
+    @Test
+    @DisplayName("보낸 사용자의 잔고를 되돌리지 못하면 그 사용자의 내역은 남겨 두고 TRANSFER_ROLLBACK_FAILED 로 알린다.")
+    void 이체_잔고를_되돌리지_못하면_알린다() {
+        // given
+        long fromId = 1L;
+        long toId = 2L;
+        long currentTimeMillis = System.currentTimeMillis();
+        when(userPointTable.selectById(fromId)).thenReturn(new UserPoint(fromId, 1000L, currentTimeMillis));
+        when(userPointTable.selectById(toId)).thenReturn(new UserPoint(toId, 100L, currentTimeMillis));
+        when(userPointTable.insertOrUpdate(fromId, 700L)).thenReturn(new UserPoint(fromId, 700L, currentTimeMillis));
+        when(userPointTable.insertOrUpdate(fromId, 1000L)).thenThrow(new RuntimeException());
+        when(userPointTable.insertOrUpdate(toId, 400L)).thenThrow(new RuntimeException());
+        when(pointHistoryTable.insert(anyLong(), anyLong(), any(), anyLong())).thenAnswer(invocation ->
+                new PointHistory(1L, invocation.getArgument(0), invocation.getArgument(1), invocation.getArgument(2), invocation.getArgument(3)));
+
+        // when
+        PointException exception = assertThrows(PointException.class, () -> pointService.transfer(fromId, toId, 300L));
+
+        // then : 보낸 쪽은 USE 내역과 빠져나간 잔고가 맞고, 받는 쪽은 CHARGE 내역만 되돌림
+        assertEquals("TRANSFER_ROLLBACK_FAILED", exception.getCode());
+        assertTrue(exception.isAfterCommit());
+        verify(pointHistoryTable).insert(eq(fromId), eq(300L), eq(TransactionType.USE), anyLong());
+        verify(pointHistoryTable, never()).insert(eq(fromId), eq(300L), eq(TransactionType.CHARGE), anyLong());
+        verify(pointHistoryTable).insert(eq(toId), eq(300L), eq(TransactionType.USE), anyLong());
+    }
+
+    @Test
+    @DisplayName("자기 자신에게 이체하거나 잔고보다 많이 이체할 수 없다.")
+    void 이체_실패() {
+        // given
+        when(userPointTable.selectById(anyLong())).thenAnswer(invocation -> new UserPoint(invocation.getArgument(0), 100L, 0L));
+
+        // when & then
+        assertEquals("TRANSFER_TO_SELF", assertThrows(PointException.class, () -> pointService.transfer(1L, 1L, 10L)).getCode());
+        assertEquals("TRANSFER_AMOUNT_IS_OVER_ZERO", assertThrows(PointException.class, () -> pointService.transfer(1L, 2L, 0L)).getCode());
+        assertEquals("NEED_CHARGE_AMOUNT", assertThrows(PointException.class, () -> pointService.transfer(1L, 2L, 101L)).getCode());
+        verify(pointHistoryTable, never()).insert(anyLong(), anyLong(), any(), anyLong());
+    }
+
+    // insertOrUpdate 한 값을 selectById 가 돌려주는 잔고
+    private AtomicLong storedBalance(long id, long initial) {
+        AtomicLong balance = new AtomicLong(initial);
+        when(userPointTable.selectById(id)).thenAnswer(invocation -> new UserPoint(id, balance.get(), 0L));
+        when(userPointTable.insertOrUpdate(eq(id), anyLong())).thenAnswer(invocation -> {
+            balance.set(invocation.getArgument(1));
+            return new UserPoint(id, balance.get(), 0L);
+        });
+        return balance;
+    }
+
+    private PointHistoryWriter ackOnInsertWriter() {
+        return new PointHistoryWriter(new PointHistoryTableRepository(pointHistoryTable),
+                new PointHistoryWriterProperties(true, HistoryDurability.ACK_ON_INSERT, 64, 16, Duration.ofSeconds(1)));
+    }
+
+    private PointService serviceWith(PointHistoryWriter pointHistoryWriter) {
+        PointHistoryRepository pointHistoryRepository = new PointHistoryTableRepository(pointHistoryTable);
+        UserPointRepository userPointRepository = new UserPointTableRepository(userPointTable);
+        return new PointServiceImpl(pointHistoryRepository,
+                new UserPointCache(userPointRepository, UserPointCacheProperties.disabled()),
+                new UserPointWriteBehindBuffer(userPointRepository, UserPointWriteProperties.sync()),
+                pointHistoryWriter,
+                new PointLedger(pointHistoryRepository, PointLedgerProperties.disabled()),
+                new RefCountedUserLockRegistry(),
+                PointMetrics.noop(),
+                HotUserDetector.disabled(),
+                PointCommitListener.NONE);
+    }
 }
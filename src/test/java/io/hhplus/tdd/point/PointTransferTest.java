@@ -0,0 +1,84 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.*;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PointTransferTest {
+
+    @Test
+    @DisplayName("적은 사용자 사이의 양방향 이체가 동시에 몰려도 교착 상태 없이 끝나고 잔고와 내역 합계가 보존된다")
+    void 조밀한_이체도_교착_없이_끝난다() throws InterruptedException {
+        for (UserLockMode mode : UserLockMode.values()) {
+            // given
+            UserPointRepository userPointRepository = new OpenAddressingUserPointRepository(new UserPointStoreProperties(false, 16, 4));
+            PointHistoryRepository pointHistoryRepository = new ColumnarPointHistoryRepository(new PointHistoryStoreProperties(false, 4_096));
+            PointService pointService = new PointServiceImpl(pointHistoryRepository,
+                    new UserPointCache(userPointRepository, UserPointCacheProperties.disabled()),
+                    new UserPointWriteBehindBuffer(userPointRepository, UserPointWriteProperties.sync()),
+                    new PointHistoryWriter(pointHistoryRepository, PointHistoryWriterProperties.disabled()),
+                    new PointLedger(pointHistoryRepository, PointLedgerProperties.disabled()),
+                    UserLockRegistry.of(new UserLockProperties(mode, 4)),
+                    PointMetrics.noop(),
+                    HotUserDetector.disabled(),
+                    PointCommitListener.NONE);
+            int users = 6;
+            for (long id = 0; id < users; id++) {
+                pointService.charge(id, 100L);
+            }
+            int threadCount = 16;
+            AtomicInteger transferred = new AtomicInteger();
+            AtomicInteger unexpected = new AtomicInteger();
+            CountDownLatch startLatch = new CountDownLatch(1);
+            ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+
+            // when
+            for (int i = 0; i < threadCount; i++) {
+                executorService.submit(() -> {
+                    startLatch.await();
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int j = 0; j < 1_000; j++) {
+                        long from = random.nextInt(users);
+                        long to = (from + 1 + random.nextInt(users - 1)) % users;
+                        try {
+                            pointService.transfer(from, to, 1 + random.nextInt(30));
+                            transferred.incrementAndGet();
+                        } catch (PointException e) {
+                            if (!"NEED_CHARGE_AMOUNT".equals(e.getCode())) {
+                                unexpected.incrementAndGet();
+                            }
+                        }
+                    }
+                    return null;
+                });
+            }
+            startLatch.countDown();
+            executorService.shutdown();
+
+            // then
+            assertTrue(executorService.awaitTermination(60, TimeUnit.SECONDS), mode + " 모드에서 끝나지 않았습니다.");
+            long total = 0;
+            for (long id = 0; id < users; id++) {
+                long point = pointService.get(id).point();
+                long sum = pointHistoryRepository.selectAllByUserId(id).stream()
+                        .mapToLong(history -> history.type() == TransactionType.CHARGE ? history.amount() : -history.amount())
+                        .sum();
+                assertTrue(point >= 0);
+                assertEquals(point, sum, mode + " userId=" + id);
+                total += point;
+            }
+            assertEquals(users * 100L, total, mode.name());
+            assertTrue(transferred.get() > 0);
+            assertEquals(0, unexpected.get());
+        }
+    }
+}
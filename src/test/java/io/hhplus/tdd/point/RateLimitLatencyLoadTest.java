@@ -0,0 +1,117 @@
+package io.hhplus.tdd.point;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 한 사용자에게 요청을 쏟아 부을 때 다른 사용자의 충전 p99 가 그대로인지 봅니다.
+ * Tomcat 스레드를 40개로 묶었으므로, 제한이 없으면 몰아치는 요청이 그 사용자의 락 앞에서 요청 스레드를 모두 붙잡아
+ * 다른 사용자의 요청도 함께 기다리게 됩니다. 제한이 있으면 초과 요청은 락 앞에 가기 전에 429 로 끝납니다.
+ */
+@Tag("load")
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"spring.threads.virtual.enabled=false", "server.tomcat.threads.max=40",
+                "point.rate-limit.enabled=true", "point.rate-limit.user-rate=5", "point.rate-limit.user-burst=5",
+                "point.rate-limit.global-rate=100000", "point.rate-limit.global-burst=100000"}
+)
+class RateLimitLatencyLoadTest {
+
+    private static final long FLOODED_USER = 1L;
+    private static final int CLIENTS = 8;
+    private static final int REQUESTS_PER_CLIENT = 25;
+    private static final int FLOODERS = 64;
+
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+
+    @LocalServerPort
+    private int port;
+
+    @Test
+    @DisplayName("한 사용자를 몰아쳐도 다른 사용자의 충전 p99 는 그대로다")
+    void 몰아치는_사용자가_있어도_다른_사용자의_p99_는_그대로다() throws Exception {
+        // given : 몰아치는 요청 없이 잰 p99
+        long baselineP99 = p99Millis(measure(20_000L));
+
+        // when
+        AtomicBoolean flooding = new AtomicBoolean(true);
+        AtomicLong rejected = new AtomicLong();
+        ExecutorService flooders = Executors.newFixedThreadPool(FLOODERS);
+        for (int i = 0; i < FLOODERS; i++) {
+            flooders.submit(() -> {
+                while (flooding.get()) {
+                    if (charge(FLOODED_USER, 1L).statusCode() == 429) {
+                        rejected.incrementAndGet();
+                    }
+                }
+                return null;
+            });
+        }
+        Thread.sleep(500); // 몰아치는 요청이 자리를 잡을 때까지
+        long floodedP99 = p99Millis(measure(40_000L));
+        flooding.set(false);
+        flooders.shutdown();
+
+        // then
+        assertTrue(flooders.awaitTermination(1, TimeUnit.MINUTES));
+        System.out.printf("[rate-limit] 다른 사용자 p99 %d ms -> 몰아칠 때 %d ms / 거절 %d건%n", baselineP99, floodedP99, rejected.get());
+        assertTrue(rejected.get() > 0);
+        assertTrue(floodedP99 <= Math.max(baselineP99 * 3 / 2, baselineP99 + 50),
+                "baseline p99=" + baselineP99 + "ms, flooded p99=" + floodedP99 + "ms");
+    }
+
+    // 클라이언트마다 요청 하나씩 차례로 보내고 응답 시간을 모읍니다. 요청마다 새 사용자라 사용자별 제한에는 걸리지 않습니다.
+    private List<Long> measure(long firstUserId) throws Exception {
+        ExecutorService executorService = Executors.newFixedThreadPool(CLIENTS);
+        List<Future<List<Long>>> results = new ArrayList<>();
+        for (int c = 0; c < CLIENTS; c++) {
+            long base = firstUserId + (long) c * REQUESTS_PER_CLIENT;
+            results.add(executorService.submit(() -> {
+                List<Long> latencies = new ArrayList<>(REQUESTS_PER_CLIENT);
+                for (int j = 0; j < REQUESTS_PER_CLIENT; j++) {
+                    long start = System.nanoTime();
+                    charge(base + j, 100L);
+                    latencies.add(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                }
+                return latencies;
+            }));
+        }
+        List<Long> latencies = new ArrayList<>();
+        for (Future<List<Long>> result : results) {
+            latencies.addAll(result.get(5, TimeUnit.MINUTES));
+        }
+        executorService.shutdown();
+        return latencies;
+    }
+
+    private HttpResponse<String> charge(long id, long amount) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/point/" + id + "/charge"))
+                .header("Content-Type", "application/json")
+                .method("PATCH", HttpRequest.BodyPublishers.ofString(Long.toString(amount)))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static long p99Millis(List<Long> latencies) {
+        List<Long> sorted = new ArrayList<>(latencies);
+        Collections.sort(sorted);
+        return sorted.get((int) Math.ceil(sorted.size() * 0.99) - 1);
+    }
+}
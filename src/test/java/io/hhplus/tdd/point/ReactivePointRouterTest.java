@@ -0,0 +1,108 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.ErrorResponse;
+import io.hhplus.tdd.database.*;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReactivePointRouterTest {
+
+    private final PointHistoryRepository pointHistoryRepository = new ColumnarPointHistoryRepository(new PointHistoryStoreProperties(false, 4_096));
+    private final UserPointRepository userPointRepository = new OpenAddressingUserPointRepository(new UserPointStoreProperties(false, 16, 4));
+    private final ReactivePointServiceImpl reactivePointService = new ReactivePointServiceImpl(new PointServiceImpl(pointHistoryRepository,
+            new UserPointCache(userPointRepository, UserPointCacheProperties.disabled()),
+            new UserPointWriteBehindBuffer(userPointRepository, UserPointWriteProperties.sync()),
+            new PointHistoryWriter(pointHistoryRepository, PointHistoryWriterProperties.disabled()),
+            new PointLedger(pointHistoryRepository, PointLedgerProperties.disabled()),
+            UserLockRegistry.of(new UserLockProperties(UserLockMode.PER_USER, 4)),
+            PointMetrics.noop(),
+            HotUserDetector.disabled(),
+            PointCommitListener.NONE), Schedulers.newBoundedElastic(4, 1_000, "point-reactive-test"), PointMetrics.noop());
+    // 사용자당 초당 1건, 버스트 2
+    private final ReactivePointRouter router = new ReactivePointRouter(reactivePointService,
+            new PointIdempotencyStore(PointIdempotencyProperties.disabled()),
+            new PointRateLimiter(new PointRateLimitProperties(true, 1, 2, 4, 1_000, 1_000, 100), new SimpleMeterRegistry(), PointMetrics.noop()));
+    private final WebTestClient client = WebTestClient.bindToRouterFunction(router.routes()).build();
+
+    @AfterEach
+    void tearDown() {
+        reactivePointService.shutdown();
+    }
+
+    @Test
+    @DisplayName("충전/사용 뒤 잔고를 조회하고 내역은 NDJSON 으로 한 줄에 하나씩 받는다")
+    void 내역은_NDJSON_으로_받는다() {
+        // given
+        client.patch().uri("/point/1/charge").contentType(MediaType.APPLICATION_JSON).bodyValue(100L).exchange().expectStatus().isOk();
+        client.patch().uri("/point/1/use").contentType(MediaType.APPLICATION_JSON).bodyValue(30L).exchange().expectStatus().isOk();
+
+        // when
+        UserPoint userPoint = client.get().uri("/point/1").exchange()
+                .expectStatus().isOk()
+                .expectBody(UserPoint.class).returnResult().getResponseBody();
+        List<PointHistory> histories = client.get().uri("/point/1/histories").exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(PointHistory.class).getResponseBody().collectList().block();
+
+        // then
+        assertEquals(70L, userPoint.point());
+        assertEquals(List.of(TransactionType.CHARGE, TransactionType.USE), histories.stream().map(PointHistory::type).toList());
+    }
+
+    @Test
+    @DisplayName("내역 스트림은 목록을 만들지 않고 조건에 맞는 내역을 하나씩 보낸다")
+    void 내역_스트림은_조건에_맞는_내역을_보낸다() {
+        // given
+        pointHistoryRepository.insert(4L, 100L, TransactionType.CHARGE, 1L);
+        pointHistoryRepository.insert(4L, 30L, TransactionType.USE, 2L);
+        pointHistoryRepository.insert(4L, 50L, TransactionType.CHARGE, 3L);
+
+        // when
+        List<PointHistory> histories = client.get().uri("/point/4/histories/stream?type=CHARGE").exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(PointHistory.class).getResponseBody().collectList().block();
+
+        // then
+        assertEquals(List.of(100L, 50L), histories.stream().map(PointHistory::amount).toList());
+    }
+
+    @Test
+    @DisplayName("요청 수 제한을 넘으면 429 와 오류 코드를, 그 밖의 실패는 500 을 응답한다")
+    void 거절은_429_로_응답한다() {
+        // given
+        client.patch().uri("/point/2/charge").contentType(MediaType.APPLICATION_JSON).bodyValue(100L).exchange().expectStatus().isOk();
+
+        // when : 잔고 부족
+        client.patch().uri("/point/2/use").contentType(MediaType.APPLICATION_JSON).bodyValue(1_000L).exchange()
+                .expectStatus().isEqualTo(500);
+        ErrorResponse rejected = client.patch().uri("/point/2/charge").contentType(MediaType.APPLICATION_JSON).bodyValue(100L).exchange()
+                .expectStatus().isEqualTo(429)
+                .expectBody(ErrorResponse.class).returnResult().getResponseBody();
+
+        // then
+        assertEquals("POINT_RATE_LIMITED", rejected.code());
+    }
+
+    @Test
+    @DisplayName("내역이 없는 사용자의 내역 조회는 MVC 와 같이 검증에 실패해 500 과 오류 본문을 응답한다")
+    void 내역_조회도_검증한다() {
+        // when
+        ErrorResponse error = client.get().uri("/point/3/histories").exchange()
+                .expectStatus().isEqualTo(500)
+                .expectBody(ErrorResponse.class).returnResult().getResponseBody();
+
+        // then
+        assertEquals(new ErrorResponse("500", "에러가 발생했습니다."), error);
+    }
+}
@@ -0,0 +1,136 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscription;
+import reactor.core.publisher.BaseSubscriber;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReactivePointServiceTest {
+
+    private final PointHistoryRepository pointHistoryRepository = new ColumnarPointHistoryRepository(new PointHistoryStoreProperties(false, 4_096));
+    private final UserPointRepository userPointRepository = new OpenAddressingUserPointRepository(new UserPointStoreProperties(false, 16, 4));
+    private final PointService pointService = new PointServiceImpl(pointHistoryRepository,
+            new UserPointCache(userPointRepository, UserPointCacheProperties.disabled()),
+            new UserPointWriteBehindBuffer(userPointRepository, UserPointWriteProperties.sync()),
+            new PointHistoryWriter(pointHistoryRepository, PointHistoryWriterProperties.disabled()),
+            new PointLedger(pointHistoryRepository, PointLedgerProperties.disabled()),
+            UserLockRegistry.of(new UserLockProperties(UserLockMode.PER_USER, 4)),
+            PointMetrics.noop(),
+            HotUserDetector.disabled(),
+            PointCommitListener.NONE);
+    private final ReactivePointServiceImpl reactivePointService =
+            new ReactivePointServiceImpl(pointService, Schedulers.newBoundedElastic(8, 10_000, "point-reactive-test"), PointMetrics.noop());
+
+    @AfterEach
+    void tearDown() {
+        reactivePointService.shutdown();
+    }
+
+    @Test
+    @DisplayName("한 사용자의 충전/사용은 기다리지 않고 이어서 보내도 보낸 순서대로 처리된다")
+    void 한_사용자의_요청은_보낸_순서대로_처리된다() throws Exception {
+        // given : 충전 뒤의 사용이 먼저 처리되면 잔고 부족으로 실패함
+        long id = 1L;
+        int rounds = 500;
+
+        // when
+        List<CompletableFuture<UserPoint>> results = new ArrayList<>();
+        for (int i = 0; i < rounds; i++) {
+            results.add(reactivePointService.charge(id, 10L).toFuture());
+            results.add(reactivePointService.use(id, 10L).toFuture());
+        }
+        CompletableFuture.allOf(results.toArray(CompletableFuture[]::new)).get(30, TimeUnit.SECONDS);
+
+        // then
+        assertEquals(0L, reactivePointService.get(id).block().point());
+        List<PointHistory> histories = reactivePointService.getHistories(id).block();
+        assertEquals(rounds * 2, histories.size());
+        for (int i = 0; i < histories.size(); i++) {
+            assertEquals(i % 2 == 0 ? TransactionType.CHARGE : TransactionType.USE, histories.get(i).type());
+        }
+    }
+
+    @Test
+    @DisplayName("실패한 요청 뒤의 요청도 차례를 이어 받아 처리된다")
+    void 실패한_요청_뒤에도_차례가_이어진다() throws Exception {
+        // given
+        long id = 2L;
+
+        // when
+        CompletableFuture<UserPoint> failed = reactivePointService.use(id, 100L).toFuture();
+        CompletableFuture<UserPoint> charged = reactivePointService.charge(id, 100L).toFuture();
+
+        // then
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> failed.get(10, TimeUnit.SECONDS));
+        assertEquals("NEED_CHARGE_AMOUNT", assertInstanceOf(PointException.class, exception.getCause()).getCode());
+        assertEquals(100L, charged.get(10, TimeUnit.SECONDS).point());
+    }
+
+    @Test
+    @DisplayName("내역 스트림은 페이지를 나눠 읽어도 조건과 limit 에 맞는 내역을 순서대로 보낸다")
+    void 내역_스트림은_페이지를_이어_읽는다() {
+        // given : 한 페이지(256건)보다 많은 내역
+        long id = 3L;
+        for (int i = 0; i < 600; i++) {
+            pointHistoryRepository.insert(id, i, i % 2 == 0 ? TransactionType.CHARGE : TransactionType.USE, i);
+        }
+
+        // when
+        List<PointHistory> histories = reactivePointService.streamHistories(id, new PointHistoryQuery(null, 280, null, null, TransactionType.CHARGE))
+                .collectList().block();
+
+        // then
+        assertEquals(280, histories.size());
+        for (int i = 0; i < histories.size(); i++) {
+            assertEquals(i * 2L, histories.get(i).amount());
+        }
+    }
+
+    @Test
+    @DisplayName("내역 스트림을 받는 쪽이 더 요청하지 않아도 스케줄러 스레드를 붙잡지 않는다")
+    void 멈춘_내역_스트림은_스레드를_붙잡지_않는다() throws Exception {
+        // given : 스레드가 하나뿐인 스케줄러
+        ReactivePointServiceImpl singleThreaded =
+                new ReactivePointServiceImpl(pointService, Schedulers.newBoundedElastic(1, 100, "point-reactive-single"), PointMetrics.noop());
+        long id = 4L;
+        for (int i = 0; i < 600; i++) {
+            pointHistoryRepository.insert(id, 1L, TransactionType.CHARGE, i);
+        }
+        CompletableFuture<PointHistory> first = new CompletableFuture<>();
+        BaseSubscriber<PointHistory> stalled = new BaseSubscriber<>() {
+            @Override
+            protected void hookOnSubscribe(Subscription subscription) {
+                request(1);
+            }
+
+            @Override
+            protected void hookOnNext(PointHistory history) {
+                first.complete(history); // 더 요청하지 않음
+            }
+        };
+
+        try {
+            // when
+            singleThreaded.streamHistories(id, PointHistoryQuery.all()).subscribe(stalled);
+            first.get(10, TimeUnit.SECONDS);
+            UserPoint charged = singleThreaded.charge(id, 100L).toFuture().get(10, TimeUnit.SECONDS);
+
+            // then
+            assertEquals(100L, charged.point());
+        } finally {
+            stalled.dispose();
+            singleThreaded.shutdown();
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+/**
+ * 같은 동시 요청을 Tomcat 대신 WebFlux(Reactor Netty) 포인트 API 로 보냅니다.
+ * 테이블 호출은 200개로 묶인 bounded elastic 스레드에서 하므로 PlatformThreadRequestCapacityLoadTest(Tomcat 200)와 나란히 비교합니다.
+ */
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"spring.threads.virtual.enabled=false", "server.tomcat.threads.max=20",
+                "point.reactive.enabled=true", "point.reactive.port=0", "point.reactive.threads=200"}
+)
+class ReactiveRequestCapacityLoadTest extends RequestCapacityLoadTestSupport {
+
+    @Autowired
+    private ReactivePointServer reactivePointServer;
+
+    @Override
+    String mode() {
+        return "webflux (bounded elastic 200)";
+    }
+
+    @Override
+    int port() {
+        return reactivePointServer.port();
+    }
+}
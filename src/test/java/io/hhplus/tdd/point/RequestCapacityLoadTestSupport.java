@@ -0,0 +1,78 @@
+package io.hhplus.tdd.point;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 서로 다른 사용자에 대한 충전 요청을 한꺼번에 보내고 모두 끝날 때까지의 시간을 잽니다.
+ * 요청 하나가 테이블 지연으로 최대 ~800ms 를 기다리므로, 동시에 처리할 수 있는 요청 수가 곧 처리량입니다.
+ */
+@Tag("load")
+abstract class RequestCapacityLoadTestSupport {
+
+    private static final int CONCURRENT_REQUESTS = 1_000;
+
+    @LocalServerPort
+    private int port;
+
+    abstract String mode();
+
+    // 요청을 보낼 포트. 기본은 Tomcat 포트입니다.
+    int port() {
+        return port;
+    }
+
+    // 요청을 보낼 경로. 기본은 동기 충전 API 입니다.
+    String path(long id) {
+        return "/point/" + id + "/charge";
+    }
+
+    @Test
+    @DisplayName("동시 요청 처리 시간 측정")
+    void 동시_요청_처리_시간() throws Exception {
+        sendConcurrently(mode(), this::path, 10_000);
+    }
+
+    /**
+     * firstId 부터 서로 다른 사용자 CONCURRENT_REQUESTS 명에게 충전 요청을 한꺼번에 보내고, 모두 성공했는지 확인한 뒤 걸린 시간을 돌려줍니다.
+     */
+    long sendConcurrently(String mode, LongFunction<String> path, long firstId) throws Exception {
+        // given
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+        List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>(CONCURRENT_REQUESTS);
+
+        // when
+        long start = System.nanoTime();
+        for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port() + path.apply(firstId + i)))
+                    .header("Content-Type", "application/json")
+                    .method("PATCH", HttpRequest.BodyPublishers.ofString("100"))
+                    .build();
+            responses.add(client.sendAsync(request, HttpResponse.BodyHandlers.ofString()));
+        }
+        CompletableFuture.allOf(responses.toArray(CompletableFuture[]::new)).get(5, TimeUnit.MINUTES);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // then
+        long succeeded = responses.stream().map(CompletableFuture::join).filter(response -> response.statusCode() == 200).count();
+        System.out.printf("[%s] 동시 요청 %d건 / 성공 %d건 / %d ms / %.1f req/s%n",
+                mode, CONCURRENT_REQUESTS, succeeded, elapsedMillis, CONCURRENT_REQUESTS * 1000.0 / elapsedMillis);
+        assertEquals(CONCURRENT_REQUESTS, succeeded);
+        return elapsedMillis;
+    }
+}
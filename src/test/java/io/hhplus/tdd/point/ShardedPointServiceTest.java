@@ -0,0 +1,147 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.*;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.Duration;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.when;
+
+class ShardedPointServiceTest {
+
+    @Mock
+    private PointHistoryTable pointHistoryTable;
+
+    @Mock
+    private UserPointTable userPointTable;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private UserPointWriteBehindBuffer writeBehindBuffer;
+    private ShardedPointService pointService;
+
+    private void setUp(ShardProperties shardProperties) {
+        MockitoAnnotations.openMocks(this);
+        when(userPointTable.selectById(anyLong())).thenAnswer(invocation -> UserPoint.empty(invocation.getArgument(0)));
+        when(pointHistoryTable.insert(anyLong(), anyLong(), any(), anyLong())).thenAnswer(invocation ->
+                new PointHistory(1L, invocation.getArgument(0), invocation.getArgument(1), invocation.getArgument(2), invocation.getArgument(3)));
+
+        PointHistoryRepository pointHistoryRepository = new PointHistoryTableRepository(pointHistoryTable);
+        writeBehindBuffer = new UserPointWriteBehindBuffer(new UserPointTableRepository(userPointTable), UserPointWriteProperties.writeBehind(Duration.ofSeconds(10)));
+        pointService = new ShardedPointService(pointHistoryRepository, new UserPointCache(new UserPointTableRepository(userPointTable), UserPointCacheProperties.disabled()), writeBehindBuffer,
+                new PointHistoryWriter(pointHistoryRepository, PointHistoryWriterProperties.disabled()),
+                new PointLedger(pointHistoryRepository, PointLedgerProperties.disabled()),
+                new PointMetrics(meterRegistry),
+                PointCommitListener.NONE,
+                shardProperties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pointService.shutdown();
+        writeBehindBuffer.shutdown();
+    }
+
+    @Test
+    @DisplayName("락 없이도 같은 사용자의 동시 충전이 모두 반영된다")
+    void 같은_사용자의_동시_충전이_모두_반영된다() throws InterruptedException {
+        // given
+        setUp(new ShardProperties(4, 1024));
+        long id = 1L;
+        int threadCount = 16;
+        int chargesPerThread = 100;
+        CountDownLatch startLatch = new CountDownLatch(1);
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+
+        // when
+        for (int i = 0; i < threadCount; i++) {
+            executorService.submit(() -> {
+                startLatch.await();
+                for (int j = 0; j < chargesPerThread; j++) {
+                    pointService.charge(id, 10L);
+                }
+                return null;
+            });
+        }
+        startLatch.countDown();
+        executorService.shutdown();
+        assertTrue(executorService.awaitTermination(30, TimeUnit.SECONDS));
+
+        // then
+        assertEquals(threadCount * chargesPerThread * 10L, pointService.get(id).point());
+        assertEquals(threadCount * chargesPerThread, pointService.stats().stream().mapToLong(ShardStats::completed).sum());
+    }
+
+    @Test
+    @DisplayName("사용 실패 시 원래 예외가 그대로 전달된다")
+    void 사용_실패_시_원래_예외가_전달된다() {
+        // given
+        setUp(new ShardProperties(2, 16));
+
+        // when & then
+        PointException exception = assertThrows(PointException.class, () -> pointService.use(1L, 100L));
+        assertEquals("NEED_CHARGE_AMOUNT", exception.getCode());
+    }
+
+    @Test
+    @DisplayName("샤드 대기열이 가득 차면 POINT_COMMAND_QUEUE_FULL 로 거절한다")
+    void 대기열이_가득_차면_거절한다() {
+        // given
+        setUp(new ShardProperties(1, 1));
+        CountDownLatch release = new CountDownLatch(1);
+        when(pointHistoryTable.insert(eq(99L), anyLong(), any(), anyLong())).thenAnswer(invocation -> {
+            release.await();
+            return new PointHistory(1L, 99L, invocation.getArgument(1), invocation.getArgument(2), invocation.getArgument(3));
+        });
+
+        // when
+        CompletableFuture<UserPoint> running = pointService.chargeAsync(99L, 10L);
+        CompletableFuture<UserPoint> queued = pointService.chargeAsync(99L, 10L);
+        CompletableFuture<UserPoint> rejected = pointService.chargeAsync(99L, 10L);
+        release.countDown();
+
+        // then
+        CompletionException exception = assertThrows(CompletionException.class, rejected::join);
+        PointRejectedException cause = assertInstanceOf(PointRejectedException.class, exception.getCause());
+        assertEquals("POINT_COMMAND_QUEUE_FULL", cause.getCode());
+        assertEquals(20L, queued.join().point());
+        assertEquals(10L, running.join().point());
+        assertEquals(1L, pointService.stats().get(0).rejected());
+    }
+
+    @Test
+    @DisplayName("샤드별 대기열에 쌓인 명령 수를 point.shard.queue.depth 로 내보낸다")
+    void 샤드별_대기열_길이를_내보낸다() throws Exception {
+        // given : 샤드 2개, 0번 샤드에서 2번 사용자의 내역 저장이 release 전까지 끝나지 않음
+        setUp(new ShardProperties(2, 16));
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        when(pointHistoryTable.insert(eq(2L), anyLong(), any(), anyLong())).thenAnswer(invocation -> {
+            started.countDown();
+            assertTrue(release.await(10, TimeUnit.SECONDS));
+            return new PointHistory(1L, 2L, invocation.getArgument(1), invocation.getArgument(2), invocation.getArgument(3));
+        });
+        CompletableFuture<UserPoint> blocking = pointService.chargeAsync(2L, 100L);
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+
+        // when
+        CompletableFuture<UserPoint> queued1 = pointService.chargeAsync(4L, 100L);
+        CompletableFuture<UserPoint> queued2 = pointService.chargeAsync(6L, 100L);
+        double depth = meterRegistry.get("point.shard.queue.depth").tag("shard", "0").gauge().value();
+        double otherDepth = meterRegistry.get("point.shard.queue.depth").tag("shard", "1").gauge().value();
+        release.countDown();
+        CompletableFuture.allOf(blocking, queued1, queued2).get(10, TimeUnit.SECONDS);
+
+        // then
+        assertEquals(2.0, depth);
+        assertEquals(0.0, otherDepth);
+        assertEquals(0.0, meterRegistry.get("point.shard.queue.depth").tag("shard", "0").gauge().value());
+    }
+}
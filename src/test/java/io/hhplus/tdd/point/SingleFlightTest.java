@@ -0,0 +1,143 @@
+package io.hhplus.tdd.point;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    private final SingleFlight<UserPoint> singleFlight = new SingleFlight<>(PointMetrics.ReadEndpoint.BALANCE, PointMetrics.noop());
+
+    @Test
+    @DisplayName("같은 사용자의 동시 조회는 한 번만 읽고 모두 같은 결과를 받으며, 끝나면 항목을 지운다")
+    void 동시_조회는_한번만_읽는다() throws Exception {
+        // given : 먼저 온 조회가 나머지가 모두 기다릴 때까지 끝나지 않도록 함
+        int threadCount = 8;
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+
+        // when
+        List<Future<UserPoint>> results = new ArrayList<>();
+        for (int i = 0; i < threadCount; i++) {
+            results.add(executorService.submit(() -> singleFlight.load(1L, id -> {
+                loads.incrementAndGet();
+                await(release);
+                return new UserPoint(id, 100L, 0L);
+            })));
+        }
+        while (singleFlight.stats().coalesced() < threadCount - 1) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+
+        // then
+        for (Future<UserPoint> result : results) {
+            assertEquals(new UserPoint(1L, 100L, 0L), result.get(10, TimeUnit.SECONDS));
+        }
+        executorService.shutdown();
+        assertEquals(1, loads.get());
+        assertEquals(new PointReadStats("balance", 1L, threadCount - 1L, 0), singleFlight.stats());
+    }
+
+    @Test
+    @DisplayName("읽는 중에 실패하면 기다리던 조회도 같은 예외를 받고, 다음 조회는 새로 읽는다")
+    void 실패하면_기다리던_조회도_실패한다() throws Exception {
+        // given
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        Future<UserPoint> leader = executorService.submit(() -> singleFlight.load(1L, id -> {
+            await(release);
+            throw new PointException("포인트 조회 중 오류가 발생했습니다.", "POINT_SELECT_FAILED");
+        }));
+        while (singleFlight.stats().inFlight() == 0) {
+            Thread.onSpinWait();
+        }
+
+        // when
+        CompletableFuture<UserPoint> follower = CompletableFuture.supplyAsync(() -> singleFlight.load(1L, id -> UserPoint.empty(id)));
+        while (singleFlight.stats().coalesced() == 0) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+
+        // then
+        ExecutionException leaderFailure = assertThrows(ExecutionException.class, () -> leader.get(10, TimeUnit.SECONDS));
+        assertInstanceOf(PointException.class, leaderFailure.getCause());
+        CompletionException followerFailure = assertThrows(CompletionException.class, follower::join);
+        assertEquals("POINT_SELECT_FAILED", assertInstanceOf(PointException.class, followerFailure.getCause()).getCode());
+        assertEquals(UserPoint.empty(1L), singleFlight.load(1L, UserPoint::empty));
+        executorService.shutdown();
+    }
+
+    @Test
+    @DisplayName("읽는 중에 Error 가 나도 기다리던 조회가 멈추지 않고 같은 Error 를 받는다")
+    void Error_가_나도_기다리던_조회가_멈추지_않는다() throws Exception {
+        // given
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        Future<UserPoint> leader = executorService.submit(() -> singleFlight.load(1L, id -> {
+            await(release);
+            throw new OutOfMemoryError("테스트");
+        }));
+        while (singleFlight.stats().inFlight() == 0) {
+            Thread.onSpinWait();
+        }
+
+        // when
+        CompletableFuture<UserPoint> follower = CompletableFuture.supplyAsync(() -> singleFlight.load(1L, id -> UserPoint.empty(id)));
+        while (singleFlight.stats().coalesced() == 0) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+
+        // then
+        ExecutionException leaderFailure = assertThrows(ExecutionException.class, () -> leader.get(10, TimeUnit.SECONDS));
+        assertInstanceOf(OutOfMemoryError.class, leaderFailure.getCause());
+        ExecutionException followerFailure = assertThrows(ExecutionException.class, () -> follower.get(10, TimeUnit.SECONDS));
+        assertInstanceOf(OutOfMemoryError.class, followerFailure.getCause());
+        assertEquals(0, singleFlight.stats().inFlight());
+        executorService.shutdown();
+    }
+
+    @Test
+    @DisplayName("forget 뒤에 온 조회는 진행 중인 조회를 기다리지 않고 새로 읽는다")
+    void forget_뒤에는_새로_읽는다() throws Exception {
+        // given
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        Future<UserPoint> stale = executorService.submit(() -> singleFlight.load(1L, id -> {
+            await(release);
+            return new UserPoint(id, 100L, 0L);
+        }));
+        while (singleFlight.stats().inFlight() == 0) {
+            Thread.onSpinWait();
+        }
+
+        // when : 잔고가 바뀐 뒤의 조회
+        singleFlight.forget(1L);
+        UserPoint fresh = singleFlight.load(1L, id -> new UserPoint(id, 200L, 1L));
+        release.countDown();
+
+        // then
+        assertEquals(200L, fresh.point());
+        assertEquals(100L, stale.get(10, TimeUnit.SECONDS).point());
+        assertEquals(0L, singleFlight.stats().coalesced());
+        executorService.shutdown();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
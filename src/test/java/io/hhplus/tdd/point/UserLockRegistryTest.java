@@ -0,0 +1,101 @@
+package io.hhplus.tdd.point;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UserLockRegistryTest {
+
+    @Test
+    @DisplayName("REF_COUNTED 모드는 아무도 쓰지 않는 락을 지운다")
+    void 사용하지_않는_락은_지워진다() throws InterruptedException {
+        // given
+        UserLockRegistry registry = new RefCountedUserLockRegistry();
+        int threadCount = 16;
+        int[] counter = {0};
+        CountDownLatch startLatch = new CountDownLatch(1);
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+
+        // when
+        for (int i = 0; i < threadCount; i++) {
+            long userId = i % 4;
+            executorService.submit(() -> {
+                startLatch.await();
+                for (int j = 0; j < 1_000; j++) {
+                    registry.executeWithLock(0L, () -> counter[0]++);
+                    registry.executeWithLock(userId, () -> userId);
+                }
+                return null;
+            });
+        }
+        startLatch.countDown();
+        executorService.shutdown();
+        assertTrue(executorService.awaitTermination(30, TimeUnit.SECONDS));
+
+        // then
+        assertEquals(threadCount * 1_000, counter[0]); // 같은 사용자는 직렬화됨
+        assertEquals(0, registry.size());
+    }
+
+    @Test
+    @DisplayName("STRIPED 모드의 락 수는 사용자 수와 상관없이 고정된다")
+    void 스트라이프_락_수는_고정된다() {
+        // given
+        UserLockRegistry registry = new StripedUserLockRegistry(1000);
+
+        // when
+        for (long userId = 0; userId < 10_000; userId++) {
+            registry.executeWithLock(userId, () -> null);
+        }
+
+        // then
+        assertEquals(1024, registry.size());
+    }
+
+    @Test
+    @DisplayName("두 사용자의 락을 서로 반대 순서로 요청해도 모든 모드에서 교착 상태 없이 끝난다")
+    void 두_락을_반대_순서로_잡아도_끝난다() throws InterruptedException {
+        for (UserLockMode mode : UserLockMode.values()) {
+            // given : STRIPED 는 stripe 를 적게 두어 다른 사용자끼리 락을 나눠 쓰게 함
+            UserLockRegistry registry = UserLockRegistry.of(new UserLockProperties(mode, 4));
+            int threadCount = 16;
+            long users = 8;
+            long[] balances = new long[(int) users];
+            CountDownLatch startLatch = new CountDownLatch(1);
+            ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+
+            // when
+            for (int i = 0; i < threadCount; i++) {
+                executorService.submit(() -> {
+                    startLatch.await();
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int j = 0; j < 2_000; j++) {
+                        int from = random.nextInt((int) users);
+                        int to = (from + 1 + random.nextInt((int) users - 1)) % (int) users;
+                        registry.executeWithLocks(from, to, () -> {
+                            balances[from]--;
+                            balances[to]++;
+                            return null;
+                        });
+                    }
+                    return null;
+                });
+            }
+            startLatch.countDown();
+            executorService.shutdown();
+
+            // then
+            assertTrue(executorService.awaitTermination(30, TimeUnit.SECONDS), mode + " 모드에서 끝나지 않았습니다.");
+            assertEquals(0L, Arrays.stream(balances).sum(), mode.name());
+        }
+    }
+}
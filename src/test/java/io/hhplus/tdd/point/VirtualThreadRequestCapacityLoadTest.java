@@ -0,0 +1,15 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.threads.virtual.enabled=true"
+)
+class VirtualThreadRequestCapacityLoadTest extends RequestCapacityLoadTestSupport {
+
+    @Override
+    String mode() {
+        return "virtual threads";
+    }
+}